@@ -0,0 +1,42 @@
+package com.walletiq.api.advice;
+
+import com.walletiq.api.interceptor.ConditionalGetInterceptor;
+import com.walletiq.common.response.ResponseWrapper;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Puts the ETag {@link ConditionalGetInterceptor} computed on successful responses
+ * only, so clients never revalidate an error.
+ * <p>Works with every {@code ResponseUtil} helper, as they all answer with a
+ * {@link ResponseWrapper}.</p>
+ */
+@ControllerAdvice
+public class ConditionalGetAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (body instanceof ResponseWrapper<?> wrapper && wrapper.success()
+                && request instanceof ServletServerHttpRequest servletRequest
+                && servletRequest.getServletRequest().getAttribute(ConditionalGetInterceptor.ETAG_ATTRIBUTE)
+                instanceof String etag) {
+            response.getHeaders().setETag(etag);
+            response.getHeaders().set(HttpHeaders.CACHE_CONTROL, ConditionalGetInterceptor.CACHE_CONTROL);
+        }
+        return body;
+    }
+}
@@ -0,0 +1,45 @@
+package com.walletiq.api.annotation;
+
+import com.walletiq.dataversion.DataAggregate;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares which of the caller's data a {@code GET} endpoint answers from, so
+ * unchanged responses can be revalidated instead of recomputed.
+ * <p>Enforced at runtime by {@code ConditionalGetInterceptor} when
+ * {@code app.conditional-get.enabled} is set: the ETag is derived from the caller's
+ * version stamps of the listed aggregates, the request URI, query and {@code Accept}
+ * header before the handler runs, and a matching {@code If-None-Match} is answered
+ * with {@code 304} without touching the database or the message converters.
+ * Successful responses carry the ETag and {@code Cache-Control: private, no-cache}.</p>
+ * <p>Only declare aggregates the response is entirely derived from; anything else it
+ * depends on, other than the current date, would be served stale. Likewise only annotate
+ * endpoints that read the aggregates themselves, or copies that catch up within the
+ * settle time: data derived in the background after commit, like the search index,
+ * may lag behind the stamp for longer.</p>
+ *
+ * <p><b>Example usage:</b></p>
+ * <pre>
+ * {@code
+ * @ConditionalGet(DataAggregate.ROLLUPS)
+ * @GetMapping("/dashboard/summary")
+ * public DashboardResponse summary(...) { ... }
+ * }
+ * </pre>
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ConditionalGet {
+
+    /**
+     * Aggregates the response is derived from, a committed write to any of them
+     * changes the ETag.
+     *
+     * @return aggregates the response depends on
+     */
+    DataAggregate[] value();
+}
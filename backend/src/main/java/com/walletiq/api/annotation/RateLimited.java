@@ -8,12 +8,11 @@ import java.lang.annotation.Target;
 /**
  * Declares rate-limit metadata for an API endpoint.
  * <p>This annotation is used to describe how frequently an endpoint can
- * be called within a given time window. It is primarily intended for API
- * documentation and tooling (e.g. OpenAPI / Swagger) and does not enforce
- * rate limiting by itself.</p>
- * <p>Runtime enforcement of rate limits must be handled separately by
- * infrastructure components such as filters, interceptors, gateways, or
- * external rate-limiting services.</p>
+ * be called within a given time window. It is used for API documentation
+ * (e.g. OpenAPI / Swagger) and is enforced at runtime by
+ * {@code RateLimitInterceptor} when {@code app.rate-limit.enabled} is set.</p>
+ * <p>Limits are tracked per endpoint and per caller (API key, user or client
+ * address). Rejected calls receive {@code 429} with {@code retryAfter}.</p>
  * <p><b>Example usage:</b></p>
  * <pre>
  * {@code
@@ -29,7 +28,7 @@ public @interface RateLimited {
 
     /**
      * Maximum number of requests allowed for a regular authenticated user
-     * within the specified time window.
+     * within the specified time window, at least 1 (checked at startup).
      *
      * @return maximum allowed requests
      */
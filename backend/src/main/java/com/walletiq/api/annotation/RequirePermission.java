@@ -9,12 +9,11 @@ import java.lang.annotation.Target;
  * Declares the permissions required to access an API endpoint.
  * <p>This annotation specifies one or more permission identifiers that
  * a caller must possess in order to invoke the annotated endpoint.</p>
- * <p>{@code @RequirePermission} is intended to express the API contract
- * and to support documentation, tooling, and validation. It does not
- * enforce authorization by itself.</p>
- * <p>Actual permission checks must be implemented separately using security
- * mechanisms such as Spring Security, method security, filters, or API gateways.
- * </p>
+ * <p>{@code @RequirePermission} expresses the API contract for documentation
+ * and is enforced at runtime by {@code PermissionInterceptor}: the permission
+ * names are compiled into a bitset once at startup and compared against the
+ * caller's role grants (the {@code role_permissions} table) on each request.
+ * All listed permissions are required.</p>
  *
  * <p><b>Example usage:</b></p>
  * <pre>
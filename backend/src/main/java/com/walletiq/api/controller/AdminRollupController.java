@@ -0,0 +1,52 @@
+package com.walletiq.api.controller;
+
+import com.walletiq.api.annotation.RequirePermission;
+import com.walletiq.common.constant.JobType;
+import com.walletiq.common.response.ResponseWrapper;
+import com.walletiq.common.util.AuthUtil;
+import com.walletiq.common.util.ResponseUtil;
+import com.walletiq.entity.Job;
+import com.walletiq.service.job.JobService;
+import com.walletiq.service.rollup.MonthlyRollupService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/admin/rollups")
+@RequiredArgsConstructor
+@Tag(name = "admin")
+public class AdminRollupController {
+
+    // One GROUP BY per user, the estimate only has to be in the right ballpark
+    private static final int REBUILD_ESTIMATE_SECONDS = 60;
+
+    private final MonthlyRollupService rollupService;
+    private final JobService jobService;
+
+    @PostMapping("/rebuild")
+    @RequirePermission("ADMIN_WRITE")
+    @Operation(summary = "Rebuild monthly rollups", description = "Recomputes dashboard rollups from transactions. "
+            + "With userId the rebuild runs inline, without it every user is rebuilt as a background job")
+    public ResponseEntity<ResponseWrapper<Map<String, Object>>> rebuild(
+            @RequestParam(required = false) String userId
+    ) {
+        if (userId != null && !userId.isBlank()) {
+            rollupService.rebuild(userId);
+            return ResponseUtil.ok("Monthly rollups rebuilt", Map.of("userId", userId));
+        }
+
+        String adminId = AuthUtil.getCurrentUser().getId();
+        Job job = jobService.submit(adminId, JobType.ROLLUP_REBUILD,
+                context -> Map.of("users", rollupService.rebuildAll(rebuilt -> context.progress(rebuilt, null))));
+        return ResponseUtil.async("Monthly rollup rebuild queued", job.getId(), job.getStatus().name(),
+                REBUILD_ESTIMATE_SECONDS, JobController.statusUrl(job.getId()));
+    }
+}
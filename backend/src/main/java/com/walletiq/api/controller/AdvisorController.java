@@ -0,0 +1,52 @@
+package com.walletiq.api.controller;
+
+import com.walletiq.api.annotation.RateLimited;
+import com.walletiq.api.annotation.RequirePermission;
+import com.walletiq.common.response.ResponseWrapper;
+import com.walletiq.common.util.AuthUtil;
+import com.walletiq.common.util.ResponseUtil;
+import com.walletiq.dto.request.AdvisorRequest;
+import com.walletiq.dto.response.AdvisorResponse;
+import com.walletiq.service.advisor.AdvisorService;
+import com.walletiq.service.advisor.AdvisorStreamService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/advisor")
+@RequiredArgsConstructor
+@Tag(name = "advisor")
+public class AdvisorController {
+
+    private final AdvisorService advisorService;
+    private final AdvisorStreamService streamService;
+
+    @PostMapping("/ask")
+    @RequirePermission("ADVISOR_USE")
+    @RateLimited(maxRequests = 20, windowSeconds = 60)
+    @Operation(summary = "Ask the budget advisor", description = "Answers a question about the user's own spending. "
+            + "Similar questions asked before are answered from cache while the user's totals are unchanged")
+    public ResponseEntity<ResponseWrapper<AdvisorResponse>> ask(@RequestBody AdvisorRequest request) {
+        String userId = AuthUtil.getCurrentUser().getId();
+        return ResponseUtil.ok("Answer generated successfully", advisorService.ask(userId, request.question()));
+    }
+
+    @PostMapping(path = "/ask/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @RequirePermission("ADVISOR_USE")
+    @RateLimited(maxRequests = 20, windowSeconds = 60)
+    @Operation(summary = "Ask the budget advisor, streamed", description = "Server-Sent Events: a 'token' event per "
+            + "generated token, then 'done' with the complete answer, or 'error'. Closing the connection cancels "
+            + "the generation")
+    public SseEmitter askStream(@RequestBody AdvisorRequest request) {
+        String userId = AuthUtil.getCurrentUser().getId();
+        return streamService.open(userId, request.question());
+    }
+}
@@ -0,0 +1,45 @@
+package com.walletiq.api.controller;
+
+import com.walletiq.api.annotation.ConditionalGet;
+import com.walletiq.api.annotation.RequirePermission;
+import com.walletiq.common.response.ResponseWrapper;
+import com.walletiq.common.util.AuthUtil;
+import com.walletiq.common.util.ResponseUtil;
+import com.walletiq.dataversion.DataAggregate;
+import com.walletiq.dto.response.DashboardResponse;
+import com.walletiq.service.dashboard.DashboardService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.YearMonth;
+
+@RestController
+@RequestMapping("/dashboard")
+@RequiredArgsConstructor
+@Tag(name = "dashboard")
+public class DashboardController {
+
+    private final DashboardService dashboardService;
+
+    @GetMapping("/summary")
+    @RequirePermission("TRANSACTION_READ")
+    @ConditionalGet(DataAggregate.ROLLUPS)
+    @Operation(summary = "Spending summary", description = "Income, expense and category totals per month (yyyy-MM), "
+            + "defaults to the last 12 months")
+    public ResponseEntity<ResponseWrapper<DashboardResponse>> summary(
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth from,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth to
+    ) {
+        String userId = AuthUtil.getCurrentUser().getId();
+        YearMonth end = to != null ? to : YearMonth.now();
+        YearMonth start = from != null ? from : end.minusMonths(11);
+        return ResponseUtil.ok("Dashboard summary fetched successfully", dashboardService.summary(userId, start, end));
+    }
+}
@@ -0,0 +1,42 @@
+package com.walletiq.api.controller;
+
+import com.walletiq.common.response.ResponseWrapper;
+import com.walletiq.common.util.AuthUtil;
+import com.walletiq.common.util.ResponseUtil;
+import com.walletiq.dto.response.JobResponse;
+import com.walletiq.service.job.JobService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+@RestController
+@RequestMapping("/jobs")
+@RequiredArgsConstructor
+@Tag(name = "jobs")
+public class JobController {
+
+    private final JobService jobService;
+
+    @GetMapping("/{jobId}")
+    @Operation(summary = "Get job status", description = "Progress of a background job, and its result once completed")
+    public ResponseEntity<ResponseWrapper<JobResponse>> get(@PathVariable String jobId) {
+        String userId = AuthUtil.getCurrentUser().getId();
+        return ResponseUtil.ok("Job fetched successfully", jobService.get(userId, jobId));
+    }
+
+    /**
+     * Absolute URL of the status endpoint for a job, for {@code ResponseUtil.async}
+     */
+    public static String statusUrl(String jobId) {
+        return ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path("/jobs/{jobId}")
+                .buildAndExpand(jobId)
+                .toUriString();
+    }
+}
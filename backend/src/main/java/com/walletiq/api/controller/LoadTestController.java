@@ -0,0 +1,36 @@
+package com.walletiq.api.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Endpoints for {@code ThreadModelLoadTest}, only registered with
+ * {@code app.diagnostics.load-test.enabled}: a single caller could otherwise hold
+ * connections at will and drain the pool.
+ */
+@RestController
+@RequestMapping("/test")
+@RequiredArgsConstructor
+@Tag(name = "test")
+@ConditionalOnProperty(prefix = "app.diagnostics.load-test", name = "enabled", havingValue = "true")
+public class LoadTestController {
+    private static final int MAX_BLOCKING_MILLIS = 200;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @GetMapping("/blocking-db")
+    @Operation(summary = "Blocking database call", description = "Holds a connection for the given time (max 200 ms), used by the thread model load test")
+    public ResponseEntity<String> blockingDb(@RequestParam(defaultValue = "20") int millis) {
+        double seconds = Math.clamp(millis, 0, MAX_BLOCKING_MILLIS) / 1000.0;
+        jdbcTemplate.queryForObject("SELECT pg_sleep(?)::text", String.class, seconds);
+        return ResponseEntity.ok("ok");
+    }
+}
@@ -0,0 +1,79 @@
+package com.walletiq.api.controller;
+
+import com.walletiq.api.annotation.PublicEndpoint;
+import com.walletiq.config.properties.OpenApiDocumentProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Serves the OpenAPI document generated at build time on Springdoc's path, for
+ * nodes that run without Springdoc ({@code fast-start} profile).
+ * <p>The document is read once, on the first request, and answered from memory with
+ * an entity tag of its content afterwards. The tag is weak, Tomcat does not compress
+ * responses carrying a strong one.</p>
+ */
+@Slf4j
+@RestController
+@ConditionalOnProperty(prefix = "springdoc.api-docs", name = "enabled", havingValue = "false")
+public class OpenApiDocumentController {
+
+    private final OpenApiDocumentProperties properties;
+    private final CacheControl cacheControl;
+    private volatile Document document;
+
+    public OpenApiDocumentController(OpenApiDocumentProperties properties) {
+        this.properties = properties;
+        this.cacheControl = CacheControl.maxAge(properties.maxAge()).cachePublic();
+    }
+
+    @PublicEndpoint
+    @GetMapping(value = "${springdoc.api-docs.path:/v3/api-docs}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> document(WebRequest request) {
+        Document current = load();
+        if (current == null) {
+            return ResponseEntity.notFound().build();
+        }
+        if (request.checkNotModified(current.etag())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(cacheControl)
+                .eTag(current.etag())
+                .body(current.content());
+    }
+
+    /* ---------------- Helper ---------------- */
+
+    private Document load() {
+        Document current = document;
+        if (current == null && properties.document() != null) {
+            try (InputStream in = properties.document().getInputStream()) {
+                byte[] content = in.readAllBytes();
+                current = new Document(content, "W/\"" + HexFormat.of().formatHex(
+                        MessageDigest.getInstance("SHA-256").digest(content), 0, 16) + "\"");
+                document = current;
+            } catch (IOException ex) {
+                log.warn("OpenAPI document {} not available, build with -Pfast-start to generate it: {}",
+                        properties.document(), ex.getMessage());
+            } catch (NoSuchAlgorithmException ex) {
+                throw new IllegalStateException("SHA-256 not available", ex);
+            }
+        }
+        return current;
+    }
+
+    private record Document(byte[] content, String etag) {
+    }
+}
@@ -0,0 +1,195 @@
+package com.walletiq.api.controller;
+
+import com.walletiq.api.annotation.ConditionalGet;
+import com.walletiq.api.annotation.RateLimited;
+import com.walletiq.api.annotation.RequirePermission;
+import com.walletiq.common.response.ResponseWrapper;
+import com.walletiq.common.util.AuthUtil;
+import com.walletiq.common.util.RequestContextUtil;
+import com.walletiq.common.util.ResponseUtil;
+import com.walletiq.dataversion.DataAggregate;
+import com.walletiq.dto.request.TransactionRequest;
+import com.walletiq.dto.response.TransactionMatchResponse;
+import com.walletiq.dto.response.TransactionResponse;
+import com.walletiq.entity.Job;
+import com.walletiq.service.TransactionService;
+import com.walletiq.service.exporting.ExportFormat;
+import com.walletiq.service.exporting.TransactionExportService;
+import com.walletiq.service.importing.ImportFormat;
+import com.walletiq.service.importing.ImportResult;
+import com.walletiq.service.importing.TransactionImportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@RestController
+@RequestMapping("/transactions")
+@RequiredArgsConstructor
+@Tag(name = "transactions")
+public class TransactionController {
+
+    private static final String EXPORT_STATUS_TRAILER = "X-Export-Status";
+    private static final String EXPORT_COUNT_TRAILER = "X-Export-Count";
+    private static final long IMPORT_BYTES_PER_SECOND = 2L * 1024 * 1024;
+
+    private final TransactionService transactionService;
+    private final TransactionImportService importService;
+    private final TransactionExportService exportService;
+
+    @GetMapping
+    @RequirePermission("TRANSACTION_READ")
+    @ConditionalGet(DataAggregate.TRANSACTIONS)
+    @Operation(summary = "List transactions", description = "Cursor paginated, newest first. Pass the returned nextCursor to get the next page")
+    public ResponseEntity<ResponseWrapper<Map<String, Object>>> list(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal
+    ) {
+        String userId = AuthUtil.getCurrentUser().getId();
+        return ResponseUtil.cursorPaginated("Transactions fetched successfully",
+                transactionService.list(userId, cursor, size, includeTotal));
+    }
+
+    @GetMapping("/search")
+    @RequirePermission("TRANSACTION_READ")
+    @RateLimited(maxRequests = 60, windowSeconds = 60)
+    @Operation(summary = "Search transactions by meaning", description = "Transactions whose type, category, "
+            + "description and month are closest to the query, closest first. Optionally limited to a date range and category")
+    public ResponseEntity<ResponseWrapper<List<TransactionMatchResponse>>> search(
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String category
+    ) {
+        String userId = AuthUtil.getCurrentUser().getId();
+        return ResponseUtil.ok("Transactions fetched successfully",
+                transactionService.search(userId, query, limit, from, to, category));
+    }
+
+    @PostMapping
+    @RequirePermission("TRANSACTION_WRITE")
+    @Operation(summary = "Create a transaction")
+    public ResponseEntity<ResponseWrapper<TransactionResponse>> create(@RequestBody TransactionRequest request) {
+        String userId = AuthUtil.getCurrentUser().getId();
+        return ResponseUtil.created("Transaction created successfully", transactionService.create(userId, request));
+    }
+
+    @PutMapping("/{transactionId}")
+    @RequirePermission("TRANSACTION_WRITE")
+    @Operation(summary = "Update a transaction")
+    public ResponseEntity<ResponseWrapper<TransactionResponse>> update(
+            @PathVariable String transactionId,
+            @RequestBody TransactionRequest request
+    ) {
+        String userId = AuthUtil.getCurrentUser().getId();
+        return ResponseUtil.ok("Transaction updated successfully",
+                transactionService.update(userId, transactionId, request));
+    }
+
+    @DeleteMapping("/{transactionId}")
+    @RequirePermission("TRANSACTION_WRITE")
+    @Operation(summary = "Delete a transaction")
+    public ResponseEntity<Void> delete(@PathVariable String transactionId) {
+        String userId = AuthUtil.getCurrentUser().getId();
+        transactionService.delete(userId, transactionId);
+        return ResponseUtil.noContent();
+    }
+
+    @GetMapping("/export")
+    @RequirePermission("TRANSACTION_READ")
+    @RateLimited(maxRequests = 10, windowSeconds = 60)
+    @Operation(summary = "Export transactions", description = "Streams the full history as NDJSON or CSV, newest first. "
+            + "The NDJSON body ends with the response envelope, both formats carry X-Export-Status and X-Export-Count trailers")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            HttpServletResponse response
+    ) {
+        String userId = AuthUtil.getCurrentUser().getId();
+        ExportFormat exportFormat = ExportFormat.resolve(format);
+        TransactionExportService.validateRange(from, to);
+        String traceId = RequestContextUtil.getOrGenerateRequestId();
+
+        // -1 until the export completes, read when the trailers are written
+        AtomicLong exported = new AtomicLong(-1);
+        response.setTrailerFields(() -> Map.of(
+                EXPORT_STATUS_TRAILER, exported.get() >= 0 ? "success" : "failed",
+                EXPORT_COUNT_TRAILER, String.valueOf(Math.max(0, exported.get()))
+        ));
+
+        StreamingResponseBody body = output -> {
+            try {
+                exported.set(exportService.export(userId, exportFormat, from, to, output, traceId));
+            } catch (IOException | RuntimeException ex) {
+                // Headers are gone already, the trailers and the NDJSON error line report the failure
+                log.warn("Export for user {} failed: {}", userId, ex.getMessage());
+            }
+        };
+
+        String fileName = "transactions-" + LocalDate.now() + "." + exportFormat.extension();
+        return ResponseEntity.ok()
+                .contentType(exportFormat.mediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString())
+                .header(HttpHeaders.TRAILER, EXPORT_STATUS_TRAILER + ", " + EXPORT_COUNT_TRAILER)
+                .body(body);
+    }
+
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @RequirePermission("TRANSACTION_WRITE")
+    @RateLimited(maxRequests = 5, windowSeconds = 60)
+    @Operation(summary = "Import a bank statement", description = "CSV or OFX/QFX. Valid rows are imported, rejected rows are listed with their reason. With async=true the import runs as a background job, poll statusUrl for the result")
+    public ResponseEntity<ResponseWrapper<Map<String, Object>>> importStatement(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(required = false) String format,
+            @RequestParam(defaultValue = "false") boolean async
+    ) throws IOException {
+        String userId = AuthUtil.getCurrentUser().getId();
+        ImportFormat importFormat = ImportFormat.resolve(format, file.getOriginalFilename());
+
+        if (async) {
+            Job job = importService.submit(userId, importFormat, file);
+            return ResponseUtil.async("Statement import queued", job.getId(), job.getStatus().name(),
+                    estimateSeconds(file.getSize()), JobController.statusUrl(job.getId()));
+        }
+
+        ImportResult result;
+        try (InputStream input = file.getInputStream()) {
+            result = importService.importStatement(userId, importFormat, input);
+        }
+        return ResponseUtil.batch("Statement imported", result.total(), result.imported(),
+                result.failed(), result.failures());
+    }
+
+    // Roughly what the COPY pipeline sustains on a warm database
+    private static int estimateSeconds(long bytes) {
+        return (int) Math.max(1, bytes / IMPORT_BYTES_PER_SECOND);
+    }
+}
@@ -0,0 +1,70 @@
+package com.walletiq.api.filter;
+
+import com.walletiq.common.util.RequestContextUtil;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Assigns every request its correlation id once, before anything else runs.
+ * <p>A well-formed {@code X-Request-ID} sent by the client (or a proxy) is kept, any other
+ * request gets a {@link com.walletiq.common.util.TimeOrderedId}. The id is stored as a
+ * request attribute, put in the logging MDC under {@code requestId} and echoed in the
+ * {@code X-Request-ID} response header; error responses carry it as their
+ * {@code traceId}. Async and error dispatches reuse the id of the original request.</p>
+ */
+public class RequestIdFilter extends OncePerRequestFilter {
+    private static final int MAX_LENGTH = 64;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String requestId = (String) request.getAttribute(RequestContextUtil.REQUEST_ID);
+        if (requestId == null) {
+            requestId = accept(request.getHeader(RequestContextUtil.X_REQUEST_ID));
+            request.setAttribute(RequestContextUtil.REQUEST_ID, requestId);
+            response.setHeader(RequestContextUtil.X_REQUEST_ID, requestId);
+        }
+        MDC.put(RequestContextUtil.REQUEST_ID, requestId);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            MDC.remove(RequestContextUtil.REQUEST_ID);
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected boolean shouldNotFilterErrorDispatch() {
+        return false;
+    }
+
+    /* ---------------- Helper ---------------- */
+
+    /**
+     * The client's id if it is short and harmless to log, a new one otherwise
+     */
+    static String accept(String header) {
+        if (header == null || header.isEmpty() || header.length() > MAX_LENGTH) {
+            return RequestContextUtil.generateTraceId();
+        }
+        for (int i = 0; i < header.length(); i++) {
+            char c = header.charAt(i);
+            boolean allowed = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                    || c == '-' || c == '_' || c == '.' || c == ':';
+            if (!allowed) {
+                return RequestContextUtil.generateTraceId();
+            }
+        }
+        return header;
+    }
+}
@@ -0,0 +1,205 @@
+package com.walletiq.api.interceptor;
+
+import com.walletiq.api.annotation.ConditionalGet;
+import com.walletiq.common.util.AuthUtil;
+import com.walletiq.dataversion.DataVersions;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Enforces {@link ConditionalGet} on handler methods.
+ * <p>The ETag is computed from the caller's {@link DataVersions} stamps before the
+ * handler runs. If the request's {@code If-None-Match} matches, the request ends here
+ * with {@code 304}; otherwise the ETag is left in {@link #ETAG_ATTRIBUTE} for
+ * {@code ConditionalGetAdvice} to put on the successful response. If the stamps cannot
+ * be read the request is served as if the endpoint was not annotated.</p>
+ * <p>A stamp bumped less than {@code settleTime} ago gets no ETag either: until then a
+ * near cache on another node, or a replica, may still answer with the data from before
+ * the write, and an ETag would pin that stale response. Stamps in Redis carry the Redis
+ * clock, so the nodes' clocks should not be off from it by a sizable part of the settle
+ * time.</p>
+ * <p>ETags are weak: Tomcat does not compress responses with a strong ETag, and
+ * {@code If-None-Match} compares weakly anyway. Besides the stamps they cover the user,
+ * the URI with its query, the {@code Accept} header (JSON, CBOR or Smile) and the
+ * current date, as endpoints default their ranges to it.</p>
+ * <p>Metrics per endpoint: {@code http.conditional.requests} tagged with
+ * {@code result} ({@code not_modified}, {@code modified}, {@code settling}, {@code unavailable}) and
+ * {@code http.conditional.hit.ratio}, the share answered with {@code 304}.</p>
+ */
+@Slf4j
+public class ConditionalGetInterceptor implements HandlerInterceptor {
+    public static final String ETAG_ATTRIBUTE = ConditionalGetInterceptor.class.getName() + ".etag";
+    public static final String CACHE_CONTROL = "private, no-cache";
+
+    private final DataVersions dataVersions;
+    private final MeterRegistry meterRegistry;
+    private final long settleMicros;
+    private final LongSupplier epochMillisClock;
+    private final Map<Method, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    public ConditionalGetInterceptor(DataVersions dataVersions, MeterRegistry meterRegistry, Duration settleTime) {
+        this(dataVersions, meterRegistry, settleTime, System::currentTimeMillis);
+    }
+
+    ConditionalGetInterceptor(DataVersions dataVersions, MeterRegistry meterRegistry, Duration settleTime,
+                              LongSupplier epochMillisClock) {
+        this.dataVersions = dataVersions;
+        this.meterRegistry = meterRegistry;
+        this.settleMicros = TimeUnit.NANOSECONDS.toMicros(settleTime.toNanos());
+        this.epochMillisClock = epochMillisClock;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod handlerMethod) || request.getDispatcherType() != DispatcherType.REQUEST
+                || !("GET".equals(request.getMethod()) || "HEAD".equals(request.getMethod()))) {
+            return true;
+        }
+        ConditionalGet conditionalGet = handlerMethod.getMethodAnnotation(ConditionalGet.class);
+        if (conditionalGet == null || !AuthUtil.isAuthenticated()) {
+            return true;
+        }
+        Endpoint endpoint = endpoints.computeIfAbsent(handlerMethod.getMethod(), method -> new Endpoint(route(request)));
+
+        String userId = AuthUtil.getCurrentUser().getId();
+        long[] versions;
+        try {
+            versions = dataVersions.current(userId, conditionalGet.value());
+        } catch (RuntimeException ex) {
+            log.debug("Data versions of user {} unavailable, serving {} unconditionally: {}", userId,
+                    request.getRequestURI(), ex.getMessage());
+            endpoint.unavailable.increment();
+            return true;
+        }
+
+        if (settleMicros > 0 && settling(versions)) {
+            endpoint.settling.increment();
+            return true;
+        }
+
+        String etag = etag(userId, versions, request, LocalDate.now());
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            endpoint.notModified.increment();
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            response.setHeader(HttpHeaders.ETAG, etag);
+            response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+            return false;
+        }
+        endpoint.modified.increment();
+        request.setAttribute(ETAG_ATTRIBUTE, etag);
+        return true;
+    }
+
+    /* ---------------- Helper ---------------- */
+
+    private boolean settling(long[] versions) {
+        long settled = TimeUnit.MILLISECONDS.toMicros(epochMillisClock.getAsLong()) - settleMicros;
+        for (long version : versions) {
+            if (version > settled) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static String etag(String userId, long[] versions, HttpServletRequest request, LocalDate today) {
+        StringBuilder key = new StringBuilder(128).append(userId);
+        for (long version : versions) {
+            key.append('\0').append(version);
+        }
+        key.append('\0').append(request.getRequestURI())
+                .append('\0').append(request.getQueryString())
+                .append('\0').append(request.getHeader(HttpHeaders.ACCEPT))
+                .append('\0').append(today);
+        byte[] digest = sha256().digest(key.toString().getBytes(StandardCharsets.UTF_8));
+        return "W/\"" + HexFormat.of().formatHex(digest, 0, 16) + '"';
+    }
+
+    /**
+     * Weak comparison against every entity tag of the header, see RFC 9110 section 13.1.2
+     */
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        String opaque = opaque(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || opaque(tag).equals(opaque)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String opaque(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    private static String route(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern != null ? pattern : "UNKNOWN");
+    }
+
+    /**
+     * Counters of one handler method
+     */
+    private final class Endpoint {
+        private final Counter notModified;
+        private final Counter modified;
+        private final Counter settling;
+        private final Counter unavailable;
+
+        private Endpoint(String route) {
+            this.notModified = counter(route, "not_modified");
+            this.modified = counter(route, "modified");
+            this.settling = counter(route, "settling");
+            this.unavailable = counter(route, "unavailable");
+            Gauge.builder("http.conditional.hit.ratio", this, Endpoint::hitRatio)
+                    .description("Share of requests answered with 304 Not Modified since startup")
+                    .tag("endpoint", route)
+                    .register(meterRegistry);
+        }
+
+        private Counter counter(String route, String result) {
+            return Counter.builder("http.conditional.requests")
+                    .description("Requests to endpoints with conditional GET support")
+                    .tags("endpoint", route, "result", result)
+                    .register(meterRegistry);
+        }
+
+        private double hitRatio() {
+            double total = notModified.count() + modified.count() + settling.count() + unavailable.count();
+            return total == 0 ? 0 : notModified.count() / total;
+        }
+    }
+}
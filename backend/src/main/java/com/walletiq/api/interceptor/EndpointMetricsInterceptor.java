@@ -0,0 +1,204 @@
+package com.walletiq.api.interceptor;
+
+import com.walletiq.api.annotation.PublicEndpoint;
+import com.walletiq.api.annotation.RateLimited;
+import com.walletiq.api.annotation.RequirePermission;
+import com.walletiq.config.properties.EndpointMetricsProperties;
+import com.walletiq.metrics.RequestPhases;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.http.Outcome;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Times every handler method with a timer of its own.
+ * <p>Each endpoint is compiled once: its route (HTTP methods and mapping pattern), the
+ * tags taken from its annotations ({@code access}, {@code permission},
+ * {@code rate_limited}) and its SLO buckets. At request time recording is a map lookup
+ * and three timer updates; no tags are built and the timer of each status is created
+ * on first use.</p>
+ * <p>{@code http.endpoint.latency} covers the whole handling, including the permission
+ * and rate limit checks and writing the body. {@code http.endpoint.phase} splits out the
+ * time spent executing JDBC statements ({@code phase=db}) and writing the JSON body
+ * ({@code phase=serialization}). Streamed responses are timed until the stream ends.</p>
+ */
+@Slf4j
+public class EndpointMetricsInterceptor implements AsyncHandlerInterceptor {
+    private static final String STARTED = EndpointMetricsInterceptor.class.getName() + ".started";
+    private static final String PHASES = EndpointMetricsInterceptor.class.getName() + ".phases";
+    private static final int MAX_STATUS = 599;
+
+    private final MeterRegistry meterRegistry;
+    private final EndpointMetricsProperties properties;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final Map<Method, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    public EndpointMetricsInterceptor(MeterRegistry meterRegistry, EndpointMetricsProperties properties) {
+        this.meterRegistry = meterRegistry;
+        this.properties = properties;
+    }
+
+    /**
+     * Compiles every mapped endpoint up front, with all of its routes
+     */
+    @EventListener
+    public void onContextRefreshed(ContextRefreshedEvent event) {
+        RequestMappingHandlerMapping handlerMapping = event.getApplicationContext()
+                .getBean("requestMappingHandlerMapping", RequestMappingHandlerMapping.class);
+        handlerMapping.getHandlerMethods().forEach((mapping, handlerMethod) -> endpoints.computeIfAbsent(
+                handlerMethod.getMethod(), method -> compile(method, mapping)));
+        log.debug("Compiled latency metrics for {} endpoints", endpoints.size());
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod)) {
+            return true;
+        }
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            // Still timed from the first dispatch, only the phases move to this thread
+            if (request.getAttribute(PHASES) instanceof RequestPhases phases) {
+                RequestPhases.resume(phases);
+            }
+            return true;
+        }
+        request.setAttribute(STARTED, System.nanoTime());
+        request.setAttribute(PHASES, RequestPhases.begin());
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        RequestPhases.end();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        RequestPhases phases = RequestPhases.end();
+        if (!(handler instanceof HandlerMethod handlerMethod) || !(request.getAttribute(STARTED) instanceof Long started)) {
+            return;
+        }
+        long elapsed = System.nanoTime() - started;
+        Endpoint endpoint = endpoints.computeIfAbsent(handlerMethod.getMethod(),
+                method -> compile(method, request));
+        endpoint.record(response.getStatus(), elapsed, phases);
+    }
+
+    /* ---------------- Helper ---------------- */
+
+    private Endpoint compile(Method method, List<String> methods, List<String> patterns) {
+        String route = (methods.isEmpty() ? "ANY" : String.join(",", methods)) + " " + String.join("|", patterns);
+        RequirePermission requirePermission = method.getAnnotation(RequirePermission.class);
+        Tags tags = Tags.of(
+                "access", method.isAnnotationPresent(PublicEndpoint.class) ? "public" : "authenticated",
+                "permission", requirePermission == null || requirePermission.value().length == 0
+                        ? "none" : String.join(",", requirePermission.value()),
+                "rate_limited", String.valueOf(method.isAnnotationPresent(RateLimited.class)));
+        return new Endpoint(route, tags, slo(methods, patterns));
+    }
+
+    private Duration[] slo(List<String> methods, List<String> patterns) {
+        for (EndpointMetricsProperties.RouteProperties route : properties.routes()) {
+            boolean methodMatches = route.method() == null || route.method().isBlank()
+                    || methods.isEmpty() || methods.contains(route.method().toUpperCase());
+            if (methodMatches && route.pattern() != null
+                    && patterns.stream().anyMatch(pattern -> pathMatcher.match(route.pattern(), pattern))) {
+                return toArray(route.slo());
+            }
+        }
+        return toArray(properties.slo());
+    }
+
+    private Endpoint compile(Method method, RequestMappingInfo mapping) {
+        List<String> methods = mapping.getMethodsCondition().getMethods().stream()
+                .map(RequestMethod::name)
+                .sorted()
+                .toList();
+        return compile(method, methods, mapping.getPatternValues().stream().sorted().toList());
+    }
+
+    // Handler that was not mapped at startup, e.g. registered programmatically
+    private Endpoint compile(Method method, HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return compile(method, List.of(request.getMethod()), List.of(pattern != null ? pattern.toString() : "UNKNOWN"));
+    }
+
+    private static Duration[] toArray(List<Duration> slo) {
+        return slo == null ? new Duration[0] : slo.toArray(Duration[]::new);
+    }
+
+    /**
+     * Timers of one handler method
+     */
+    private final class Endpoint {
+        private final Tags tags;
+        private final Duration[] slo;
+        private final AtomicReferenceArray<Timer> latencyByStatus = new AtomicReferenceArray<>(MAX_STATUS + 1);
+        private final Timer database;
+        private final Timer serialization;
+
+        private Endpoint(String route, Tags tags, Duration[] slo) {
+            this.tags = tags.and("endpoint", route);
+            this.slo = slo;
+            this.database = phase(route, "db");
+            this.serialization = phase(route, "serialization");
+        }
+
+        void record(int status, long elapsedNanos, RequestPhases phases) {
+            int index = status < 100 || status > MAX_STATUS ? 0 : status;
+            Timer latency = latencyByStatus.get(index);
+            if (latency == null) {
+                latency = latency(index);
+                latencyByStatus.set(index, latency);
+            }
+            latency.record(elapsedNanos, TimeUnit.NANOSECONDS);
+            if (phases != null) {
+                database.record(phases.databaseNanos(), TimeUnit.NANOSECONDS);
+                serialization.record(phases.serializationNanos(), TimeUnit.NANOSECONDS);
+            }
+        }
+
+        // Registering twice returns the same timer, so racing threads are harmless
+        private Timer latency(int status) {
+            return Timer.builder("http.endpoint.latency")
+                    .description("Time to handle requests to the endpoint")
+                    .tags(tags)
+                    .tag("status", status == 0 ? "UNKNOWN" : String.valueOf(status))
+                    .tag("outcome", Outcome.forStatus(status).name())
+                    .publishPercentileHistogram(properties.percentileHistogram())
+                    .serviceLevelObjectives(slo)
+                    .register(meterRegistry);
+        }
+
+        private Timer phase(String route, String phase) {
+            return Timer.builder("http.endpoint.phase")
+                    .description("Time requests to the endpoint spent executing statements (db) or writing the body (serialization)")
+                    .tag("endpoint", route)
+                    .tag("phase", phase)
+                    .register(meterRegistry);
+        }
+    }
+}
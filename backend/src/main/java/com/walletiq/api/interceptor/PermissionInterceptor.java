@@ -0,0 +1,101 @@
+package com.walletiq.api.interceptor;
+
+import com.walletiq.api.annotation.RequirePermission;
+import com.walletiq.common.util.AuthUtil;
+import com.walletiq.entity.User;
+import com.walletiq.exception.PermissionDeniedException;
+import com.walletiq.security.permission.PermissionRegistry;
+import com.walletiq.security.permission.PermissionSet;
+import com.walletiq.security.permission.RolePermissionStore;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Enforces {@link RequirePermission} on handler methods.
+ * <p>Permission names of every endpoint are compiled to a {@link PermissionSet} once
+ * at startup; at request time the check is the caller's role bits AND the endpoint
+ * bits, with no database access and no string comparison.</p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PermissionInterceptor implements HandlerInterceptor {
+    private static final String ROLE_PREFIX = "ROLE_";
+
+    private final PermissionRegistry permissionRegistry;
+    private final RolePermissionStore rolePermissionStore;
+    private final Map<Method, PermissionSet> endpointPermissions = new ConcurrentHashMap<>();
+
+    /**
+     * Compiles the requirements of every mapped endpoint up front
+     */
+    @EventListener
+    public void onContextRefreshed(ContextRefreshedEvent event) {
+        RequestMappingHandlerMapping handlerMapping = event.getApplicationContext()
+                .getBean("requestMappingHandlerMapping", RequestMappingHandlerMapping.class);
+        handlerMapping.getHandlerMethods().values()
+                .forEach(handlerMethod -> endpointPermissions.computeIfAbsent(handlerMethod.getMethod(), this::compile));
+        log.debug("Compiled permission requirements for {} endpoints", endpointPermissions.size());
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // Async dispatches (streamed responses) were checked when the request first came in
+        if (!(handler instanceof HandlerMethod handlerMethod) || request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+        PermissionSet required = endpointPermissions.computeIfAbsent(handlerMethod.getMethod(), this::compile);
+        if (required.isEmpty()) {
+            return true;
+        }
+        PermissionSet granted = rolePermissionStore.permissionsOf(currentRoles());
+        if (!granted.containsAll(required)) {
+            throw new PermissionDeniedException("You do not have permission to perform this operation");
+        }
+        return true;
+    }
+
+    /* ---------------- Helper ---------------- */
+
+    private PermissionSet compile(Method method) {
+        RequirePermission requirePermission = method.getAnnotation(RequirePermission.class);
+        if (requirePermission == null || requirePermission.value().length == 0) {
+            return PermissionSet.EMPTY;
+        }
+        return permissionRegistry.resolve(Arrays.asList(requirePermission.value()));
+    }
+
+    private static Collection<String> currentRoles() {
+        Authentication authentication = AuthUtil.getAuthentication().orElse(null);
+        if (authentication == null) {
+            return Set.of();
+        }
+        if (authentication.getPrincipal() instanceof User user && user.getRoles() != null) {
+            return user.getRoles();
+        }
+        return authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .filter(authority -> authority.startsWith(ROLE_PREFIX))
+                .map(authority -> authority.substring(ROLE_PREFIX.length()))
+                .collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,181 @@
+package com.walletiq.api.interceptor;
+
+import com.walletiq.api.annotation.RateLimited;
+import com.walletiq.common.constant.ErrorType;
+import com.walletiq.common.response.ErrorResponseTemplate;
+import com.walletiq.common.util.AuthUtil;
+import com.walletiq.exception.ErrorResponseWriter;
+import com.walletiq.exception.RateLimitExceededException;
+import com.walletiq.ratelimit.RateLimitDecision;
+import com.walletiq.ratelimit.RateLimiter;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Enforces {@link RateLimited} on handler methods.
+ * <p>Limits are tracked per endpoint and per principal: the API key when the request
+ * uses {@code Authorization: ApiKey ...}, the authenticated user otherwise, and the
+ * client address for anonymous calls. Every checked response carries the
+ * {@code x-ratelimit-*} headers advertised in the OpenAPI document. Rejections are
+ * answered with {@code 429} directly through the {@link ErrorResponseWriter}, the handler is
+ * never invoked.</p>
+ * <p>The annotations of every mapped endpoint are compiled at startup, and an invalid one
+ * (e.g. {@code maxRequests = 0}) fails the start instead of every request to its route.</p>
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class RateLimitInterceptor implements HandlerInterceptor {
+    public static final String HEADER_LIMIT = "x-ratelimit-limit";
+    public static final String HEADER_REMAINING = "x-ratelimit-remaining";
+    public static final String HEADER_RESET = "x-ratelimit-reset";
+
+    private static final String API_KEY_PREFIX = "ApiKey ";
+    private static final Rule NO_RULE = new Rule(null, 0, 0, 0, 0);
+    private static final ErrorResponseTemplate RATE_LIMITED =
+            ErrorResponseTemplate.of(ErrorType.RATE_LIMIT_ERROR, RateLimitExceededException.CODE);
+
+    private final RateLimiter rateLimiter;
+    private final ErrorResponseWriter errorResponseWriter;
+    private final Map<Method, Rule> rules = new ConcurrentHashMap<>();
+
+    /**
+     * Compiles and validates the limits of every mapped endpoint up front
+     */
+    @EventListener
+    public void onContextRefreshed(ContextRefreshedEvent event) {
+        RequestMappingHandlerMapping handlerMapping = event.getApplicationContext()
+                .getBean("requestMappingHandlerMapping", RequestMappingHandlerMapping.class);
+        handlerMapping.getHandlerMethods().values()
+                .forEach(handlerMethod -> rules.computeIfAbsent(handlerMethod.getMethod(), RateLimitInterceptor::compile));
+        log.debug("Compiled rate limits for {} endpoints", rules.size());
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws IOException {
+        // Async dispatches (streamed responses) were checked when the request first came in
+        if (!(handler instanceof HandlerMethod handlerMethod) || request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+        Rule rule = rules.computeIfAbsent(handlerMethod.getMethod(), RateLimitInterceptor::compile);
+        if (rule == NO_RULE) {
+            return true;
+        }
+
+        String apiKey = extractApiKey(request);
+        RateLimitDecision decision;
+        if (apiKey != null && rule.apiKeyMaxRequests() > 0) {
+            decision = rateLimiter.tryAcquire(rule.endpoint() + ":key:" + digest(apiKey),
+                    rule.apiKeyMaxRequests(), rule.apiKeyWindowMillis());
+        } else {
+            String principal = apiKey != null ? "key:" + digest(apiKey) : resolvePrincipal(request);
+            decision = rateLimiter.tryAcquire(rule.endpoint() + ":" + principal,
+                    rule.maxRequests(), rule.windowMillis());
+        }
+
+        response.setHeader(HEADER_LIMIT, Integer.toString(decision.limit()));
+        response.setHeader(HEADER_REMAINING, Integer.toString(decision.remaining()));
+        response.setHeader(HEADER_RESET, Long.toString(decision.resetEpochSeconds()));
+
+        if (!decision.allowed()) {
+            // Answered right here: no exception resolution and no Jackson for a rejection
+            errorResponseWriter.write(request, response, RATE_LIMITED,
+                    "Too many requests, retry after " + decision.retryAfterSeconds() + " seconds",
+                    decision.retryAfterSeconds());
+            return false;
+        }
+        return true;
+    }
+
+    /* ---------------- Helper ---------------- */
+
+    private static Rule compile(Method method) {
+        RateLimited rateLimited = method.getAnnotation(RateLimited.class);
+        if (rateLimited == null) {
+            return NO_RULE;
+        }
+        String endpoint = method.getDeclaringClass().getSimpleName() + "#" + method.getName();
+        // The limiters divide the window by the limit
+        require(rateLimited.maxRequests() >= 1, endpoint, "maxRequests must be at least 1", rateLimited.maxRequests());
+        require(rateLimited.windowSeconds() >= 1, endpoint, "windowSeconds must be at least 1",
+                rateLimited.windowSeconds());
+        require(rateLimited.apiKeyMaxRequests() >= 0, endpoint, "apiKeyMaxRequests must not be negative",
+                rateLimited.apiKeyMaxRequests());
+        require(rateLimited.apiKeyMaxRequests() == 0 || rateLimited.apiKeyWindowSeconds() >= 1, endpoint,
+                "apiKeyWindowSeconds must be at least 1", rateLimited.apiKeyWindowSeconds());
+        return new Rule(
+                endpoint,
+                rateLimited.maxRequests(),
+                rateLimited.windowSeconds() * 1000,
+                rateLimited.apiKeyMaxRequests(),
+                rateLimited.apiKeyWindowSeconds() * 1000
+        );
+    }
+
+    private static void require(boolean valid, String endpoint, String rule, long value) {
+        if (!valid) {
+            throw new IllegalStateException("Invalid @RateLimited on " + endpoint + ": " + rule + ", was " + value);
+        }
+    }
+
+    private static String resolvePrincipal(HttpServletRequest request) {
+        Authentication authentication = AuthUtil.getAuthentication().orElse(null);
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return "user:" + AuthUtil.getUsername().orElseGet(authentication::getName);
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private static String extractApiKey(HttpServletRequest request) {
+        String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (authorization != null && authorization.regionMatches(true, 0, API_KEY_PREFIX, 0, API_KEY_PREFIX.length())) {
+            return authorization.substring(API_KEY_PREFIX.length()).trim();
+        }
+        return null;
+    }
+
+    /**
+     * API keys never leave the process in clear text, not even as a counter key
+     */
+    private static String digest(String apiKey) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(apiKey.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash, 0, 16);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+
+    /**
+     * Limits of a single handler method, resolved once from its annotation
+     */
+    private record Rule(
+            String endpoint,
+            int maxRequests,
+            long windowMillis,
+            int apiKeyMaxRequests,
+            long apiKeyWindowMillis
+    ) {
+    }
+}
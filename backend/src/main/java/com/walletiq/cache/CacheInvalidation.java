@@ -0,0 +1,40 @@
+package com.walletiq.cache;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Message telling other nodes to drop near cache entries.
+ * <p>Encoded as four newline separated fields, the key last so it may contain anything.</p>
+ *
+ * @param origin Node that made the change, it ignores its own messages
+ * @param key    Cache key, key prefix or {@code null} for {@link Kind#CLEAR}
+ */
+public record CacheInvalidation(String origin, String cache, Kind kind, String key) {
+
+    public enum Kind {
+        KEY,
+        PREFIX,
+        CLEAR
+    }
+
+    public byte[] encode() {
+        return String.join("\n", origin, cache, kind.name(), key == null ? "" : key)
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return the message, or {@code null} if it is not a cache invalidation
+     */
+    public static CacheInvalidation decode(byte[] body) {
+        String[] parts = new String(body, StandardCharsets.UTF_8).split("\n", 4);
+        if (parts.length != 4) {
+            return null;
+        }
+        try {
+            Kind kind = Kind.valueOf(parts[2]);
+            return new CacheInvalidation(parts[0], parts[1], kind, kind == Kind.CLEAR ? null : parts[3]);
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+}
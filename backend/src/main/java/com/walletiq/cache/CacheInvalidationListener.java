@@ -0,0 +1,33 @@
+package com.walletiq.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.SubscriptionListener;
+
+/**
+ * Receives invalidations from the Redis channel and applies them to the near caches.
+ * <p>Pub/sub delivery is at most once: messages sent while this node was disconnected
+ * are lost. Every (re)subscription therefore clears the near caches, and the near
+ * cache time-to-live bounds staleness should a single message go missing.</p>
+ */
+@Slf4j
+public class CacheInvalidationListener implements MessageListener, SubscriptionListener {
+
+    private final TwoTierCacheManager cacheManager;
+
+    public CacheInvalidationListener(TwoTierCacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        cacheManager.onInvalidation(CacheInvalidation.decode(message.getBody()));
+    }
+
+    @Override
+    public void onChannelSubscribed(byte[] channel, long count) {
+        log.debug("Subscribed to cache invalidations, clearing near caches");
+        cacheManager.clearNear();
+    }
+}
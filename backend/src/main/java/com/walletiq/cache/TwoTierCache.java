@@ -0,0 +1,235 @@
+package com.walletiq.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Spring {@link org.springframework.cache.Cache} with an in-heap near tier in front of
+ * a shared remote tier (Redis).
+ * <p>Reads are served from the near tier when possible and fall through to the remote
+ * tier, whose hits are copied into the near tier. Writes go to both tiers and are
+ * announced on the invalidation channel so other nodes drop their near copy. Values
+ * are shared between threads as-is and must be immutable.</p>
+ * <p>If the remote tier fails the cache degrades to the near tier alone: reads count
+ * as remote misses and writes only reach this node.</p>
+ * <p>Keys are converted with {@link String#valueOf(Object)}, which is also the form
+ * used in Redis and in invalidation messages.</p>
+ */
+@Slf4j
+public class TwoTierCache extends AbstractValueAdaptingCache {
+    private static final long WARN_INTERVAL_NANOS = 60_000_000_000L;
+
+    private final String name;
+    private final String origin;
+    private final Cache<String, Object> near;
+    private final org.springframework.cache.Cache remote;
+    private final Consumer<CacheInvalidation> publisher;
+
+    private final LongAdder remoteHits = new LongAdder();
+    private final LongAdder remoteMisses = new LongAdder();
+    private final LongAdder remoteErrors = new LongAdder();
+    private final LongAdder invalidationsReceived = new LongAdder();
+    private final AtomicLong lastWarning = new AtomicLong(System.nanoTime() - WARN_INTERVAL_NANOS);
+
+    /**
+     * @param remote    Remote tier, {@code null} to run with the near tier only
+     * @param publisher Sends invalidations to the other nodes
+     */
+    public TwoTierCache(String name, String origin, Cache<String, Object> near,
+                        org.springframework.cache.Cache remote, Consumer<CacheInvalidation> publisher) {
+        super(false);
+        this.name = name;
+        this.origin = origin;
+        this.near = near;
+        this.remote = remote;
+        this.publisher = publisher;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return near;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        String cacheKey = String.valueOf(key);
+        Object value = near.getIfPresent(cacheKey);
+        if (value != null || remote == null) {
+            return value;
+        }
+        value = remoteGet(cacheKey);
+        if (value != null) {
+            near.put(cacheKey, value);
+        }
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        // Loads of the same key on this node are collapsed into one by the near cache
+        return (T) fromStoreValue(near.get(String.valueOf(key), cacheKey -> {
+            Object value = remote == null ? null : remoteGet(cacheKey);
+            if (value != null) {
+                return value;
+            }
+            try {
+                value = toStoreValue(valueLoader.call());
+            } catch (Exception ex) {
+                throw new ValueRetrievalException(key, valueLoader, ex);
+            }
+            remotePut(cacheKey, value);
+            publish(CacheInvalidation.Kind.KEY, cacheKey);
+            return value;
+        }));
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        String cacheKey = String.valueOf(key);
+        Object stored = toStoreValue(value);
+        remotePut(cacheKey, stored);
+        near.put(cacheKey, stored);
+        publish(CacheInvalidation.Kind.KEY, cacheKey);
+    }
+
+    @Override
+    public void evict(Object key) {
+        String cacheKey = String.valueOf(key);
+        if (remote != null) {
+            remote(() -> remote.evict(cacheKey));
+        }
+        near.invalidate(cacheKey);
+        publish(CacheInvalidation.Kind.KEY, cacheKey);
+    }
+
+    /**
+     * Evicts every entry whose key starts with the prefix, e.g. everything cached for
+     * one user when keys start with the user id. Redis walks the matching keys with
+     * {@code SCAN} in {@code app.cache.scan-batch-size} steps
+     */
+    public void evictByPrefix(String prefix) {
+        if (remote instanceof org.springframework.data.redis.cache.RedisCache redisCache) {
+            remote(() -> redisCache.clear(escapeGlob(prefix) + "*"));
+        }
+        near.asMap().keySet().removeIf(cacheKey -> cacheKey.startsWith(prefix));
+        publish(CacheInvalidation.Kind.PREFIX, prefix);
+    }
+
+    @Override
+    public void clear() {
+        if (remote != null) {
+            remote(remote::clear);
+        }
+        near.invalidateAll();
+        publish(CacheInvalidation.Kind.CLEAR, null);
+    }
+
+    /**
+     * Applies an invalidation sent by another node, only the near tier is touched
+     */
+    void onInvalidation(CacheInvalidation invalidation) {
+        invalidationsReceived.increment();
+        switch (invalidation.kind()) {
+            case KEY -> near.invalidate(invalidation.key());
+            case PREFIX -> near.asMap().keySet().removeIf(cacheKey -> cacheKey.startsWith(invalidation.key()));
+            case CLEAR -> near.invalidateAll();
+        }
+    }
+
+    /* ---------------- Statistics ---------------- */
+
+    Cache<String, Object> near() {
+        return near;
+    }
+
+    boolean hasRemote() {
+        return remote != null;
+    }
+
+    long remoteHits() {
+        return remoteHits.sum();
+    }
+
+    long remoteMisses() {
+        return remoteMisses.sum();
+    }
+
+    long remoteErrors() {
+        return remoteErrors.sum();
+    }
+
+    long invalidationsReceived() {
+        return invalidationsReceived.sum();
+    }
+
+    /* ---------------- Helper ---------------- */
+
+    private Object remoteGet(String cacheKey) {
+        try {
+            ValueWrapper wrapper = remote.get(cacheKey);
+            if (wrapper != null && wrapper.get() != null) {
+                remoteHits.increment();
+                return wrapper.get();
+            }
+        } catch (RuntimeException ex) {
+            remoteFailed(ex);
+        }
+        remoteMisses.increment();
+        return null;
+    }
+
+    private void remotePut(String cacheKey, Object value) {
+        if (remote != null) {
+            remote(() -> remote.put(cacheKey, value));
+        }
+    }
+
+    private void remote(Runnable operation) {
+        try {
+            operation.run();
+        } catch (RuntimeException ex) {
+            remoteFailed(ex);
+        }
+    }
+
+    private void publish(CacheInvalidation.Kind kind, String key) {
+        try {
+            publisher.accept(new CacheInvalidation(origin, name, kind, key));
+        } catch (RuntimeException ex) {
+            remoteFailed(ex);
+        }
+    }
+
+    private void remoteFailed(RuntimeException ex) {
+        remoteErrors.increment();
+        long last = lastWarning.get();
+        long now = System.nanoTime();
+        if (now - last >= WARN_INTERVAL_NANOS && lastWarning.compareAndSet(last, now)) {
+            log.warn("Remote cache unavailable, cache '{}' continues with the near tier only: {}", name, ex.getMessage());
+        }
+    }
+
+    private static String escapeGlob(String value) {
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '*' || c == '?' || c == '[' || c == ']' || c == '\\') {
+                escaped.append('\\');
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+}
@@ -0,0 +1,158 @@
+package com.walletiq.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.walletiq.config.properties.CachingProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.support.AbstractCacheManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Creates a {@link TwoTierCache} per cache name on first use.
+ * <p>Every cache exports its statistics: {@code cache.tier.gets} (tags {@code tier}
+ * near/remote and {@code result} hit/miss), {@code cache.tier.hit.ratio} (tier
+ * near/remote/overall), {@code cache.near.size}, {@code cache.near.evictions},
+ * {@code cache.remote.errors} and {@code cache.invalidations.received}.</p>
+ */
+public class TwoTierCacheManager extends AbstractCacheManager {
+
+    private final CachingProperties properties;
+    private final CacheManager remote;
+    private final MeterRegistry meterRegistry;
+    private final String origin = UUID.randomUUID().toString();
+    private volatile Consumer<CacheInvalidation> publisher = invalidation -> {
+    };
+
+    /**
+     * @param remote Creates the remote tier of each cache, {@code null} for near caches only
+     */
+    public TwoTierCacheManager(CachingProperties properties, CacheManager remote, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.remote = remote;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Identifies this node in invalidation messages
+     */
+    public String origin() {
+        return origin;
+    }
+
+    public void setInvalidationPublisher(Consumer<CacheInvalidation> publisher) {
+        this.publisher = publisher;
+    }
+
+    @Override
+    public TwoTierCache getCache(String name) {
+        return (TwoTierCache) super.getCache(name);
+    }
+
+    /**
+     * Applies an invalidation received from the channel, messages of this node and of
+     * caches this node never used are ignored
+     */
+    public void onInvalidation(CacheInvalidation invalidation) {
+        if (invalidation == null || origin.equals(invalidation.origin())) {
+            return;
+        }
+        Cache cache = lookupCache(invalidation.cache());
+        if (cache instanceof TwoTierCache twoTierCache) {
+            twoTierCache.onInvalidation(invalidation);
+        }
+    }
+
+    /**
+     * Drops every near entry, for when invalidation messages may have been missed
+     */
+    public void clearNear() {
+        getCacheNames().forEach(name -> getCache(name).near().invalidateAll());
+    }
+
+    @Override
+    protected Collection<? extends Cache> loadCaches() {
+        return List.of();
+    }
+
+    @Override
+    protected Cache getMissingCache(String name) {
+        Duration remoteTtl = properties.timeToLive(name);
+        Duration nearTtl = properties.near().timeToLive();
+        if (remoteTtl != null && remoteTtl.compareTo(nearTtl) < 0) {
+            nearTtl = remoteTtl;
+        }
+        com.github.benmanes.caffeine.cache.Cache<String, Object> near = Caffeine.newBuilder()
+                .maximumSize(properties.near().maximumSize())
+                .expireAfterWrite(nearTtl)
+                .recordStats()
+                .build();
+        TwoTierCache cache = new TwoTierCache(name, origin, near,
+                remote == null ? null : remote.getCache(name),
+                invalidation -> publisher.accept(invalidation));
+        bindMetrics(cache);
+        return cache;
+    }
+
+    /* ---------------- Helper ---------------- */
+
+    private void bindMetrics(TwoTierCache cache) {
+        Tags tags = Tags.of("cache", cache.getName());
+        gets(cache, tags, "near", "hit", c -> c.near().stats().hitCount());
+        gets(cache, tags, "near", "miss", c -> c.near().stats().missCount());
+        ratio(cache, tags, "near", c -> c.near().stats().hitCount(), c -> c.near().stats().requestCount());
+        Gauge.builder("cache.near.size", cache, c -> c.near().estimatedSize())
+                .tags(tags)
+                .description("Entries in the near cache")
+                .register(meterRegistry);
+        FunctionCounter.builder("cache.near.evictions", cache, c -> c.near().stats().evictionCount())
+                .tags(tags)
+                .description("Near cache entries evicted for size or age")
+                .register(meterRegistry);
+        FunctionCounter.builder("cache.invalidations.received", cache, TwoTierCache::invalidationsReceived)
+                .tags(tags)
+                .description("Invalidations received from other nodes")
+                .register(meterRegistry);
+
+        // A request is an overall hit unless both tiers missed
+        ratio(cache, tags, "overall",
+                c -> c.near().stats().requestCount() - (c.hasRemote() ? c.remoteMisses() : c.near().stats().missCount()),
+                c -> c.near().stats().requestCount());
+        if (cache.hasRemote()) {
+            gets(cache, tags, "remote", "hit", TwoTierCache::remoteHits);
+            gets(cache, tags, "remote", "miss", TwoTierCache::remoteMisses);
+            ratio(cache, tags, "remote", TwoTierCache::remoteHits, c -> c.remoteHits() + c.remoteMisses());
+            FunctionCounter.builder("cache.remote.errors", cache, TwoTierCache::remoteErrors)
+                    .tags(tags)
+                    .description("Failed remote cache operations, served by the near tier alone")
+                    .register(meterRegistry);
+        }
+    }
+
+    private void gets(TwoTierCache cache, Tags tags, String tier, String result, ToDoubleFunction<TwoTierCache> count) {
+        FunctionCounter.builder("cache.tier.gets", cache, count)
+                .tags(tags.and("tier", tier, "result", result))
+                .description("Cache lookups per tier")
+                .register(meterRegistry);
+    }
+
+    private void ratio(TwoTierCache cache, Tags tags, String tier,
+                       ToDoubleFunction<TwoTierCache> hits, ToDoubleFunction<TwoTierCache> requests) {
+        Gauge.builder("cache.tier.hit.ratio", cache, c -> {
+                    double total = requests.applyAsDouble(c);
+                    return total == 0 ? 0 : hits.applyAsDouble(c) / total;
+                })
+                .tags(tags.and("tier", tier))
+                .description("Share of lookups answered by the tier since startup")
+                .register(meterRegistry);
+    }
+}
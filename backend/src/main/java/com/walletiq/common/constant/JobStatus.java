@@ -0,0 +1,15 @@
+package com.walletiq.common.constant;
+
+/**
+ * Lifecycle of a background job
+ */
+public enum JobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED;
+
+    public boolean isFinished() {
+        return this == COMPLETED || this == FAILED;
+    }
+}
@@ -0,0 +1,11 @@
+package com.walletiq.common.constant;
+
+/**
+ * Kinds of long-running work executed by the job runner
+ */
+public enum JobType {
+    TRANSACTION_IMPORT,
+    STATEMENT_EXPORT,
+    ADVISOR_REINDEX,
+    ROLLUP_REBUILD
+}
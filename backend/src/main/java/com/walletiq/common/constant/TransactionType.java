@@ -0,0 +1,9 @@
+package com.walletiq.common.constant;
+
+/**
+ * Direction of a transaction
+ */
+public enum TransactionType {
+    INCOME,
+    EXPENSE
+}
@@ -0,0 +1,49 @@
+package com.walletiq.common.pagination;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A page of a keyset (seek) paginated query.
+ * <p>Unlike Spring Data's {@code Page} it needs neither an {@code OFFSET} scan nor a
+ * {@code COUNT(*)}: repositories fetch {@code size + 1} rows after the cursor and
+ * the extra row only tells whether there is a next page.</p>
+ *
+ * @param content          Rows of this page
+ * @param size             Requested page size
+ * @param hasNext          Whether more rows follow
+ * @param nextCursor       Cursor for the next page, {@code null} on the last page
+ * @param approximateTotal Estimated total number of rows, {@code null} if not requested
+ */
+public record CursorPage<T>(
+        List<T> content,
+        int size,
+        boolean hasNext,
+        String nextCursor,
+        Long approximateTotal
+) {
+    /**
+     * Builds a page from rows fetched with a limit of {@code size + 1}
+     *
+     * @param rows     Rows in seek order, at most {@code size + 1}
+     * @param size     Requested page size
+     * @param cursorOf Extracts the seek position of a row
+     */
+    public static <T> CursorPage<T> of(List<T> rows, int size, Function<T, SeekCursor> cursorOf) {
+        boolean hasNext = rows.size() > size;
+        List<T> content = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? cursorOf.apply(content.get(content.size() - 1)).encode() : null;
+        return new CursorPage<>(List.copyOf(content), size, hasNext, nextCursor, null);
+    }
+
+    /**
+     * Same page with its rows converted, e.g. entity to response DTO
+     */
+    public <R> CursorPage<R> map(Function<T, R> mapper) {
+        return new CursorPage<>(content.stream().map(mapper).toList(), size, hasNext, nextCursor, approximateTotal);
+    }
+
+    public CursorPage<T> withApproximateTotal(Long approximateTotal) {
+        return new CursorPage<>(content, size, hasNext, nextCursor, approximateTotal);
+    }
+}
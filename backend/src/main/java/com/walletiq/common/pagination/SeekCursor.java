@@ -0,0 +1,55 @@
+package com.walletiq.common.pagination;
+
+import com.walletiq.common.constant.ErrorType;
+import com.walletiq.exception.ApplicationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position after the last row of a page, ordered by {@code (date DESC, id DESC)}.
+ * <p>Clients receive it as an opaque URL-safe string and send it back unchanged to
+ * fetch the next page.</p>
+ *
+ * @param date Sort date of the last row
+ * @param id   Id of the last row, breaks ties between rows of the same date
+ */
+public record SeekCursor(
+        LocalDate date,
+        String id
+) {
+    private static final char SEPARATOR = '|';
+
+    /**
+     * Encodes the cursor for clients
+     */
+    public String encode() {
+        String raw = date.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a client supplied cursor, {@code null} or blank means first page
+     */
+    public static SeekCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0 || separator == raw.length() - 1) {
+                throw invalid();
+            }
+            return new SeekCursor(LocalDate.parse(raw.substring(0, separator)), raw.substring(separator + 1));
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            throw invalid();
+        }
+    }
+
+    private static ApplicationException invalid() {
+        return new ApplicationException(ErrorType.BAD_REQUEST, "PAGINATION.INVALID_CURSOR", "Invalid page cursor");
+    }
+}
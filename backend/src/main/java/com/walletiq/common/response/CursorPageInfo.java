@@ -0,0 +1,39 @@
+package com.walletiq.common.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.walletiq.common.pagination.CursorPage;
+
+/**
+ * Record representing pagination metadata for cursor (keyset) paginated responses.
+ *
+ * @param size             Number of items per page
+ * @param hasNext          Whether another page exists
+ * @param nextCursor       Opaque cursor to request the next page
+ * @param approximateTotal Estimated total number of items (only when requested)
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonPropertyOrder(value = {
+        "size",
+        "hasNext",
+        "nextCursor",
+        "approximateTotal"
+})
+public record CursorPageInfo(
+        int size,
+        boolean hasNext,
+        String nextCursor,
+        Long approximateTotal
+) {
+    /**
+     * Creates CursorPageInfo from a CursorPage
+     */
+    public static CursorPageInfo from(CursorPage<?> page) {
+        return new CursorPageInfo(
+                page.size(),
+                page.hasNext(),
+                page.nextCursor(),
+                page.approximateTotal()
+        );
+    }
+}
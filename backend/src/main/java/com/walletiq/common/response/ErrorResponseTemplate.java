@@ -0,0 +1,192 @@
+package com.walletiq.common.response;
+
+import com.walletiq.common.constant.ErrorType;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Writes an {@link ErrorResponse} body without building an {@link ErrorResponse.ErrorDetail}
+ * or going through Jackson, for the rejections that arrive in floods: 401, 403, 429 and 503.
+ * <p>Everything fixed by the error type and code is encoded to bytes once; a write only
+ * appends the detail, timestamp, path, trace id and retry-after, and hands the bytes to
+ * the response in one call. The body is the one Jackson would produce, field for field,
+ * except that the timestamp is truncated to the millisecond (it is formatted at most once
+ * per millisecond and shared by every response of that millisecond).</p>
+ */
+public final class ErrorResponseTemplate {
+    private static final int MAX_CACHED = 256;
+    private static final Map<Key, ErrorResponseTemplate> TEMPLATES = new ConcurrentHashMap<>();
+    private static final byte[] DETAIL = bytes(",\"detail\":");
+    private static final byte[] TIMESTAMP = bytes(",\"timestamp\":\"");
+    private static final byte[] PATH = bytes("\",\"path\":");
+    private static final byte[] TRACE_ID = bytes(",\"traceId\":");
+    private static final byte[] RETRY_AFTER = bytes(",\"retryAfter\":");
+    private static final byte[] END = bytes("}}");
+    private static final byte[] HEX = bytes("0123456789ABCDEF");
+
+    private static volatile Timestamp timestamp = new Timestamp(Long.MIN_VALUE, new byte[0]);
+
+    private final ErrorType errorType;
+    private final String code;
+    private final int status;
+    private final byte[] head;
+
+    private ErrorResponseTemplate(ErrorType errorType, String code) {
+        this.errorType = errorType;
+        this.code = code;
+        this.status = errorType.getStatusCode();
+        ByteArrayOutputStream head = new ByteArrayOutputStream(128);
+        head.writeBytes(bytes("{\"success\":false,\"error\":{\"type\":"));
+        appendString(head, errorType.toString());
+        if (code != null) {
+            head.writeBytes(bytes(",\"code\":"));
+            appendString(head, code);
+        }
+        head.writeBytes(bytes(",\"title\":"));
+        appendString(head, errorType.getTitle());
+        head.writeBytes(bytes(",\"status\":" + status));
+        this.head = head.toByteArray();
+    }
+
+    /**
+     * The template of an error type and code, created on first use
+     */
+    public static ErrorResponseTemplate of(ErrorType errorType, String code) {
+        Key key = new Key(errorType, code);
+        ErrorResponseTemplate template = TEMPLATES.get(key);
+        if (template != null) {
+            return template;
+        }
+        template = new ErrorResponseTemplate(errorType, code);
+        // Codes are constants, the bound only guards against one built from input
+        if (TEMPLATES.size() < MAX_CACHED) {
+            TEMPLATES.putIfAbsent(key, template);
+        }
+        return template;
+    }
+
+    public ErrorType errorType() {
+        return errorType;
+    }
+
+    public String code() {
+        return code;
+    }
+
+    public int status() {
+        return status;
+    }
+
+    /**
+     * Sets status and content type and writes the body, with {@code Retry-After} if
+     * {@code retryAfter} is set
+     */
+    public void write(HttpServletResponse response, String detail, String path, String traceId,
+                      Integer retryAfter) throws IOException {
+        byte[] body = render(detail, path, traceId, retryAfter);
+        response.setStatus(status);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(body.length);
+        if (retryAfter != null) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, retryAfter.toString());
+        }
+        response.getOutputStream().write(body);
+    }
+
+    /**
+     * The body, as Jackson would serialize the same {@link ErrorResponse}
+     */
+    public byte[] render(String detail, String path, String traceId, Integer retryAfter) {
+        ByteArrayOutputStream body = new ByteArrayOutputStream(head.length + 160);
+        body.writeBytes(head);
+        if (detail != null) {
+            body.writeBytes(DETAIL);
+            appendString(body, detail);
+        }
+        body.writeBytes(TIMESTAMP);
+        body.writeBytes(timestamp());
+        if (path != null) {
+            body.writeBytes(PATH);
+            appendString(body, path);
+        } else {
+            body.write('"');
+        }
+        if (traceId != null) {
+            body.writeBytes(TRACE_ID);
+            appendString(body, traceId);
+        }
+        if (retryAfter != null) {
+            body.writeBytes(RETRY_AFTER);
+            body.writeBytes(bytes(retryAfter.toString()));
+        }
+        body.writeBytes(END);
+        return body.toByteArray();
+    }
+
+    /* ---------------- Helper ---------------- */
+
+    private static byte[] timestamp() {
+        long now = System.currentTimeMillis();
+        Timestamp current = timestamp;
+        if (current.millis() != now) {
+            current = new Timestamp(now, bytes(DateTimeFormatter.ISO_INSTANT.format(Instant.ofEpochMilli(now))));
+            timestamp = current;
+        }
+        return current.text();
+    }
+
+    /**
+     * Quoted JSON string, escaped the way Jackson escapes by default
+     */
+    private static void appendString(ByteArrayOutputStream out, String value) {
+        out.write('"');
+        int plainFrom = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= 0x20 && c != '"' && c != '\\') {
+                continue;
+            }
+            out.writeBytes(value.substring(plainFrom, i).getBytes(StandardCharsets.UTF_8));
+            plainFrom = i + 1;
+            out.write('\\');
+            switch (c) {
+                case '"', '\\' -> out.write(c);
+                case '\n' -> out.write('n');
+                case '\r' -> out.write('r');
+                case '\t' -> out.write('t');
+                case '\b' -> out.write('b');
+                case '\f' -> out.write('f');
+                default -> {
+                    out.writeBytes(bytes("u00"));
+                    out.write(HEX[c >> 4]);
+                    out.write(HEX[c & 0xF]);
+                }
+            }
+        }
+        if (plainFrom == 0) {
+            out.writeBytes(value.getBytes(StandardCharsets.UTF_8));
+        } else {
+            out.writeBytes(value.substring(plainFrom).getBytes(StandardCharsets.UTF_8));
+        }
+        out.write('"');
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private record Key(ErrorType errorType, String code) {
+    }
+
+    private record Timestamp(long millis, byte[] text) {
+    }
+}
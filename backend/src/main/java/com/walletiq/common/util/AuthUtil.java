@@ -64,6 +64,16 @@ public final class AuthUtil {
                 );
     }
 
+    /**
+     * Get id of current user
+     */
+    public static Optional<String> getUserId() {
+        return getAuthentication()
+                .filter(auth -> auth.getPrincipal() instanceof User)
+                .map(auth -> (User) auth.getPrincipal())
+                .map(User::getId);
+    }
+
     /**
      * Get username(email) of current user
      */
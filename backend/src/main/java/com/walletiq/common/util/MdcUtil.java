@@ -0,0 +1,69 @@
+package com.walletiq.common.util;
+
+import org.slf4j.MDC;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+
+/**
+ * Carries the logging {@link MDC} of the submitting thread into work that runs on
+ * another thread: executor tasks, {@code @Async} methods, {@code CompletableFuture}
+ * stages and virtual threads started by hand.
+ * <p>The MDC is copied when the task is wrapped, installed for the duration of the task
+ * and the worker's own MDC is restored afterwards, so a pooled thread never leaks one
+ * request's id into the next task.</p>
+ */
+public final class MdcUtil {
+
+    private MdcUtil() {
+    }
+
+    public static Runnable wrap(Runnable task) {
+        Map<String, String> context = MDC.getCopyOfContextMap();
+        return () -> {
+            Map<String, String> previous = install(context);
+            try {
+                task.run();
+            } finally {
+                install(previous);
+            }
+        };
+    }
+
+    /**
+     * {@link #wrap(Runnable)} for tasks with a result, named apart so an expression lambda
+     * never silently resolves to this overload
+     */
+    public static <T> Callable<T> wrapCallable(Callable<T> task) {
+        Map<String, String> context = MDC.getCopyOfContextMap();
+        return () -> {
+            Map<String, String> previous = install(context);
+            try {
+                return task.call();
+            } finally {
+                install(previous);
+            }
+        };
+    }
+
+    /**
+     * An executor that runs every task with the MDC of the thread that submitted it,
+     * pass it to {@code CompletableFuture.*Async} so every stage keeps the request's id
+     */
+    public static Executor propagating(Executor executor) {
+        return task -> executor.execute(wrap(task));
+    }
+
+    /* ---------------- Helper ---------------- */
+
+    private static Map<String, String> install(Map<String, String> context) {
+        Map<String, String> previous = MDC.getCopyOfContextMap();
+        if (context == null || context.isEmpty()) {
+            MDC.clear();
+        } else {
+            MDC.setContextMap(context);
+        }
+        return previous;
+    }
+}
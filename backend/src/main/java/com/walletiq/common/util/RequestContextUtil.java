@@ -1,18 +1,22 @@
 package com.walletiq.common.util;
 
 import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.MDC;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
 import java.util.Optional;
-import java.util.UUID;
 
 /**
  * Utility class for accessing HTTP request context information,
  * Used in exception handling to capture request metadata.
  */
 public final class RequestContextUtil {
-    private static final String X_REQUEST_ID = "X-Request-ID";
+    public static final String X_REQUEST_ID = "X-Request-ID";
+    /**
+     * MDC key and request attribute holding the id assigned by {@code RequestIdFilter}
+     */
+    public static final String REQUEST_ID = "requestId";
 
     private RequestContextUtil() {
     }
@@ -34,19 +38,25 @@ public final class RequestContextUtil {
     }
 
     /**
-     * Generate a unique trace ID for request tracking
+     * Generate a unique, time-ordered trace ID for request tracking
      */
     public static String generateTraceId() {
-        return UUID.randomUUID().toString();
+        return TimeOrderedId.next();
     }
 
     /**
-     * Gets request ID from header or generates new one
+     * Gets the id of the request being handled: the one assigned on the way in, else the
+     * one in the MDC (job and stream threads inherit it from the request that started
+     * them), else a new one
      */
     public static String getOrGenerateRequestId() {
+        String requestId = MDC.get(REQUEST_ID);
+        if (requestId != null) {
+            return requestId;
+        }
         return getHttpServletRequest()
-                .map(request -> request.getHeader(X_REQUEST_ID))
-                .filter(id -> id != null && !id.isBlank())
+                .map(request -> request.getAttribute(REQUEST_ID))
+                .map(String.class::cast)
                 .orElseGet(RequestContextUtil::generateTraceId);
     }
 }
@@ -1,5 +1,7 @@
 package com.walletiq.common.util;
 
+import com.walletiq.common.pagination.CursorPage;
+import com.walletiq.common.response.CursorPageInfo;
 import com.walletiq.common.response.PageInfo;
 import com.walletiq.common.response.ResponseWrapper;
 import org.springframework.data.domain.Page;
@@ -87,6 +89,35 @@ public final class ResponseUtil {
         return ResponseEntity.ok(ResponseWrapper.ok(message, data));
     }
 
+    /**
+     * Creates cursor (keyset) paginated response, no OFFSET or COUNT(*) involved
+     */
+    public static <T> ResponseEntity<ResponseWrapper<Map<String, Object>>> cursorPaginated(
+            String message, CursorPage<T> page
+    ) {
+        Map<String, Object> data = Map.of(
+                "content", page.content(),
+                "page", CursorPageInfo.from(page)
+        );
+
+        return ResponseEntity.ok(ResponseWrapper.ok(message, data));
+    }
+
+    /**
+     * Creates cursor (keyset) paginated response with filters
+     */
+    public static <T> ResponseEntity<ResponseWrapper<Map<String, Object>>> cursorPaginatedWithFilters(
+            String message, CursorPage<T> page, Map<String, Object> filters
+    ) {
+        Map<String, Object> data = Map.of(
+                "content", page.content(),
+                "page", CursorPageInfo.from(page),
+                "filters", filters
+        );
+
+        return ResponseEntity.ok(ResponseWrapper.ok(message, data));
+    }
+
     /**
      * Creates empty collection response
      */
@@ -122,6 +153,28 @@ public final class ResponseUtil {
         return ResponseEntity.ok(ResponseWrapper.ok(message, data));
     }
 
+    /**
+     * Creates batch operation response from counts, for bulk operations where listing
+     * every successful item is not practical. {@code failed} may hold only the first
+     * failures, the summary always carries the full count.
+     */
+    public static ResponseEntity<ResponseWrapper<Map<String, Object>>> batch(
+            String message, int total, int successful, int failedCount, List<Map<String, Object>> failed
+    ) {
+        Map<String, Object> summary = Map.of(
+                "total", total,
+                "successful", successful,
+                "failed", failedCount
+        );
+
+        Map<String, Object> data = Map.of(
+                "summary", summary,
+                "failed", failed
+        );
+
+        return ResponseEntity.ok(ResponseWrapper.ok(message, data));
+    }
+
     /**
      * Creates async operation response
      */
@@ -0,0 +1,50 @@
+package com.walletiq.common.util;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Generates 26 character, time-ordered identifiers in the ULID layout: 48 bits of epoch
+ * milliseconds followed by 80 random bits, encoded as Crockford base32.
+ * <p>Ids sort by creation time to the millisecond, so log lines and traces line up
+ * when sorted by id. The random part comes from {@link ThreadLocalRandom}, which never
+ * blocks or contends between threads unlike the {@code SecureRandom} behind
+ * {@link java.util.UUID#randomUUID()}. The ids are unique, not unguessable: never use
+ * them as secrets.</p>
+ */
+public final class TimeOrderedId {
+    public static final int LENGTH = 26;
+
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final long FORTY_BITS = (1L << 40) - 1;
+
+    private TimeOrderedId() {
+    }
+
+    /**
+     * A new id for the current time
+     */
+    public static String next() {
+        return next(System.currentTimeMillis());
+    }
+
+    static String next(long epochMillis) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        char[] id = new char[LENGTH];
+        encode(id, 0, 10, epochMillis);
+        encode(id, 10, 8, random.nextLong() & FORTY_BITS);
+        encode(id, 18, 8, random.nextLong() & FORTY_BITS);
+        return new String(id);
+    }
+
+    /* ---------------- Helper ---------------- */
+
+    /**
+     * Writes the low {@code 5 * length} bits of the value, most significant first
+     */
+    private static void encode(char[] id, int offset, int length, long value) {
+        for (int i = offset + length - 1; i >= offset; i--) {
+            id[i] = ALPHABET[(int) (value & 31)];
+            value >>>= 5;
+        }
+    }
+}
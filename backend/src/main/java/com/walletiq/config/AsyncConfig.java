@@ -0,0 +1,21 @@
+package com.walletiq.config;
+
+import com.walletiq.common.util.MdcUtil;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+/**
+ * Enables {@code @Async} methods. Boot applies the decorator to the task executor it
+ * auto-configures, so async work logs under the request id of the caller.
+ */
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+
+    @Bean
+    public TaskDecorator mdcTaskDecorator() {
+        return MdcUtil::wrap;
+    }
+}
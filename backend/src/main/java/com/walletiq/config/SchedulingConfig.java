@@ -0,0 +1,12 @@
+package com.walletiq.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables {@code @Scheduled} housekeeping tasks
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,29 @@
+package com.walletiq.config.advisor;
+
+import com.walletiq.config.properties.AdvisorProperties;
+import com.walletiq.config.properties.LlmProperties;
+import com.walletiq.llm.LanguageModel;
+import com.walletiq.llm.LocalLanguageModel;
+import com.walletiq.service.advisor.SemanticAnswerCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Language model and advisor answer cache wiring
+ */
+@Configuration
+public class AdvisorConfig {
+
+    @Bean
+    public LanguageModel languageModel(LlmProperties properties) {
+        return switch (properties.provider()) {
+            case LOCAL -> new LocalLanguageModel(properties.localFirstTokenDelay(), properties.localTokenDelay());
+        };
+    }
+
+    @Bean
+    public SemanticAnswerCache semanticAnswerCache(AdvisorProperties properties, MeterRegistry meterRegistry) {
+        return new SemanticAnswerCache(properties.answerCache(), meterRegistry);
+    }
+}
@@ -0,0 +1,113 @@
+package com.walletiq.config.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
+import com.walletiq.cache.CacheInvalidationListener;
+import com.walletiq.cache.TwoTierCacheManager;
+import com.walletiq.config.properties.CachingProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.cache.BatchStrategies;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * {@code @Cacheable} wiring.
+ * <p>In {@code LOCAL} mode every node only has its near caches. In {@code REDIS} mode
+ * the near caches sit in front of Redis, and nodes tell each other about changes over
+ * a pub/sub channel so near copies do not outlive the Redis entry they came from.</p>
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    @Bean
+    public TwoTierCacheManager cacheManager(
+            CachingProperties properties,
+            MeterRegistry meterRegistry,
+            ObjectMapper objectMapper,
+            ObjectProvider<RedisConnectionFactory> connectionFactory
+    ) {
+        RedisCacheManager remote = properties.mode() == CachingProperties.Mode.REDIS
+                ? redisCacheManager(properties, objectMapper, connectionFactory.getObject())
+                : null;
+        return new TwoTierCacheManager(properties, remote, meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.cache", name = "mode", havingValue = "redis")
+    public RedisMessageListenerContainer cacheInvalidationContainer(
+            CachingProperties properties,
+            RedisConnectionFactory connectionFactory,
+            StringRedisTemplate redisTemplate,
+            TwoTierCacheManager cacheManager
+    ) {
+        String channel = properties.invalidationChannel();
+        cacheManager.setInvalidationPublisher(invalidation ->
+                redisTemplate.execute(connection -> connection.publish(
+                        channel.getBytes(StandardCharsets.UTF_8), invalidation.encode()), true));
+
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(new CacheInvalidationListener(cacheManager), new ChannelTopic(channel));
+        return container;
+    }
+
+    /* ---------------- Helper ---------------- */
+
+    // Pattern evictions (evictByPrefix) walk the keyspace with SCAN, the default KEYS blocks Redis for every node
+    static RedisCacheManager redisCacheManager(
+            CachingProperties properties,
+            ObjectMapper objectMapper,
+            RedisConnectionFactory connectionFactory
+    ) {
+        RedisCacheConfiguration defaults = RedisCacheConfiguration.defaultCacheConfig()
+                .prefixCacheNameWith(properties.keyPrefix())
+                .entryTtl(properties.timeToLive())
+                .disableCachingNullValues()
+                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(valueSerializer(objectMapper)));
+
+        Map<String, RedisCacheConfiguration> overrides = new HashMap<>();
+        if (properties.timeToLiveOverrides() != null) {
+            properties.timeToLiveOverrides().forEach((name, ttl) -> overrides.put(name, defaults.entryTtl(ttl)));
+        }
+
+        RedisCacheWriter cacheWriter = RedisCacheWriter.nonLockingRedisCacheWriter(connectionFactory,
+                BatchStrategies.scan(properties.scanBatchSize()));
+        RedisCacheManager manager = RedisCacheManager.builder(cacheWriter)
+                .cacheDefaults(defaults)
+                .withInitialCacheConfigurations(overrides)
+                .build();
+        manager.afterPropertiesSet();
+        return manager;
+    }
+
+    // JSON with type information, restricted to application and JDK value types. Spring Data's
+    // default typing also tags records and other final classes, which NON_FINAL would leave out
+    static GenericJackson2JsonRedisSerializer valueSerializer(ObjectMapper objectMapper) {
+        ObjectMapper mapper = objectMapper.copy();
+        mapper.setPolymorphicTypeValidator(BasicPolymorphicTypeValidator.builder()
+                .allowIfSubType("com.walletiq.")
+                .allowIfSubType("java.")
+                .build());
+        return GenericJackson2JsonRedisSerializer.builder()
+                .objectMapper(mapper)
+                .defaultTyping(true)
+                .build();
+    }
+}
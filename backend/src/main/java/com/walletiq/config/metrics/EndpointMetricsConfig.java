@@ -0,0 +1,52 @@
+package com.walletiq.config.metrics;
+
+import com.walletiq.api.interceptor.EndpointMetricsInterceptor;
+import com.walletiq.config.persistence.StatementTimingDataSource;
+import com.walletiq.config.properties.EndpointMetricsProperties;
+import com.walletiq.metrics.TimedJsonHttpMessageConverter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Per-endpoint latency metrics: the interceptor timing handler methods (registered in
+ * {@code WebMvcConfig}) and the hooks measuring the database and serialization phases
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.metrics.endpoints", name = "enabled", havingValue = "true")
+public class EndpointMetricsConfig implements WebMvcConfigurer {
+
+    @Bean
+    public EndpointMetricsInterceptor endpointMetricsInterceptor(MeterRegistry meterRegistry,
+                                                                 EndpointMetricsProperties properties) {
+        return new EndpointMetricsInterceptor(meterRegistry, properties);
+    }
+
+    @Bean
+    public static BeanPostProcessor statementTimingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof StatementTimingDataSource)) {
+                    return new StatementTimingDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.replaceAll(converter -> converter.getClass() == MappingJackson2HttpMessageConverter.class
+                ? new TimedJsonHttpMessageConverter(((MappingJackson2HttpMessageConverter) converter).getObjectMapper())
+                : converter);
+    }
+}
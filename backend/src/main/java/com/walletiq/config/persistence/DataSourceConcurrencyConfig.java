@@ -0,0 +1,59 @@
+package com.walletiq.config.persistence;
+
+import com.walletiq.config.properties.DatabaseConcurrencyProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * Puts the {@link ConcurrencyLimitingDataSource} in front of the pooled {@code DataSource},
+ * so JPA, {@code JdbcTemplate} and {@code COPY} imports all go through the same limiter
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.concurrency", name = "enabled", havingValue = "true")
+public class DataSourceConcurrencyConfig {
+
+    @Bean
+    public static BeanPostProcessor concurrencyLimitingDataSourcePostProcessor(
+            ObjectProvider<DatabaseConcurrencyProperties> properties
+    ) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ConcurrencyLimitingDataSource)) {
+                    DatabaseConcurrencyProperties config = properties.getObject();
+                    return new ConcurrencyLimitingDataSource(dataSource, config.maxConcurrent(), config.acquireTimeout());
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder dataSourceLimiterMetrics(DataSource dataSource) throws SQLException {
+        ConcurrencyLimitingDataSource limiter = dataSource.unwrap(ConcurrencyLimitingDataSource.class);
+        return registry -> {
+            Gauge.builder("db.limiter.active", limiter, ConcurrencyLimitingDataSource::active)
+                    .description("Connections checked out through the limiter")
+                    .register(registry);
+            Gauge.builder("db.limiter.waiting", limiter, ConcurrencyLimitingDataSource::waiting)
+                    .description("Threads waiting for a connection permit")
+                    .register(registry);
+            FunctionCounter.builder("db.limiter.rejected", limiter, ConcurrencyLimitingDataSource::rejected)
+                    .description("Requests that gave up waiting for a connection permit")
+                    .register(registry);
+            FunctionCounter.builder("db.limiter.wait", limiter, ConcurrencyLimitingDataSource::waitSeconds)
+                    .description("Total time spent waiting for a connection permit")
+                    .baseUnit("seconds")
+                    .register(registry);
+        };
+    }
+}
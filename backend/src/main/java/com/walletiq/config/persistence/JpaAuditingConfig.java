@@ -0,0 +1,24 @@
+package com.walletiq.config.persistence;
+
+import com.walletiq.common.util.AuthUtil;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+
+import java.util.Optional;
+
+/**
+ * Fills the audit columns of {@code BaseEntity}, writes made outside a user
+ * request are attributed to {@code system}
+ */
+@Configuration
+@EnableJpaAuditing(auditorAwareRef = "auditorAware")
+public class JpaAuditingConfig {
+    private static final String SYSTEM = "system";
+
+    @Bean
+    public AuditorAware<String> auditorAware() {
+        return () -> Optional.of(AuthUtil.getUsername().orElse(SYSTEM));
+    }
+}
@@ -0,0 +1,28 @@
+package com.walletiq.config.persistence;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Lets the read-only transactions run by the annotated method read from the replica.
+ * <p>Enforced by {@link ReplicaRouter} when {@code app.datasource.replica.enabled} is
+ * set; without it, and for every read-only transaction outside such a method, reads go
+ * to the primary. Only annotate reads that tolerate replication lag up to
+ * {@code max-lag}, apart from the current user's own recent writes, which are read
+ * from the primary. Background work has no current user and should never be annotated.</p>
+ *
+ * <p><b>Example usage:</b></p>
+ * <pre>
+ * {@code
+ * @ReadFromReplica
+ * @Transactional(readOnly = true)
+ * public DashboardResponse summary(...) { ... }
+ * }
+ * </pre>
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ReadFromReplica {
+}
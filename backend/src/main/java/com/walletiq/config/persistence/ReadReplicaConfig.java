@@ -0,0 +1,97 @@
+package com.walletiq.config.persistence;
+
+import com.walletiq.config.properties.ReadReplicaProperties;
+import com.walletiq.dataversion.DataVersions;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.function.SingletonSupplier;
+
+import javax.sql.DataSource;
+
+/**
+ * Sends read-only transactions to a replica pool, see {@link ReplicaRouter}.
+ * <p>The pooled {@code DataSource} is wrapped in a {@link LazyConnectionDataSourceProxy},
+ * which only fetches a physical connection on the first statement, once the transaction
+ * is known to be read-only; {@link ReadFromReplica} methods may then get it from the
+ * replica. The proxy is applied before the statement timing and the concurrency limiter,
+ * so both keep covering every connection: with a replica, size
+ * {@code app.datasource.concurrency.max-concurrent} for both pools.</p>
+ * <p>The replica pool is not a {@code DataSource} bean, which would replace the
+ * auto-configured primary. It connects on first use, so the application starts
+ * with the replica down and reads from the primary until it comes up.</p>
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.replica", name = "enabled", havingValue = "true")
+public class ReadReplicaConfig {
+    private static final String REPLICA_POOL_NAME = "WalletIQReplicaPool";
+
+    @Bean
+    public ReplicaRouter replicaRouter(ReadReplicaProperties properties, ObjectProvider<DataVersions> dataVersions,
+                                       MeterRegistry meterRegistry) {
+        HikariDataSource replica = new HikariDataSource();
+        replica.setPoolName(REPLICA_POOL_NAME);
+        replica.setJdbcUrl(properties.url());
+        replica.setUsername(properties.username());
+        replica.setPassword(properties.password());
+        replica.setMaximumPoolSize(properties.maximumPoolSize());
+        replica.setConnectionTimeout(properties.connectionTimeout().toMillis());
+        replica.setReadOnly(true);
+        replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        return new ReplicaRouter(replica, properties, dataVersions.getIfAvailable(), meterRegistry);
+    }
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor readFromReplicaAdvisor() {
+        return new DefaultPointcutAdvisor(AnnotationMatchingPointcut.forMethodAnnotation(ReadFromReplica.class),
+                (MethodInterceptor) ReplicaRouter::invokeReadingFromReplica);
+    }
+
+    @Bean
+    public static ReplicaRoutingPostProcessor replicaRoutingDataSourcePostProcessor(
+            ObjectProvider<ReplicaRouter> router
+    ) {
+        return new ReplicaRoutingPostProcessor(router);
+    }
+
+    /**
+     * Ordered, so it runs before the other {@code DataSource} post-processors and ends up innermost
+     */
+    static final class ReplicaRoutingPostProcessor implements BeanPostProcessor, Ordered {
+        private final ObjectProvider<ReplicaRouter> router;
+
+        ReplicaRoutingPostProcessor(ObjectProvider<ReplicaRouter> router) {
+            this.router = router;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof DataSource primary && !(bean instanceof LazyConnectionDataSourceProxy)) {
+                LazyConnectionDataSourceProxy routing = new LazyConnectionDataSourceProxy(primary);
+                routing.setReadOnlyDataSource(ReplicaRouter.readOnlyDataSource(primary,
+                        SingletonSupplier.of(router::getObject)));
+                return routing;
+            }
+            return bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.LOWEST_PRECEDENCE;
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package com.walletiq.config.persistence;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.walletiq.common.util.AuthUtil;
+import com.walletiq.config.properties.ReadReplicaProperties;
+import com.walletiq.dataversion.DataAggregate;
+import com.walletiq.dataversion.DataVersions;
+import com.walletiq.service.TransactionsChangedEvent;
+import com.walletiq.service.rollup.RollupsChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Decides whether a read-only transaction reads from the replica or the primary.
+ * <p>{@link #readOnlyDataSource} is the read-only side of a {@link LazyConnectionDataSourceProxy}:
+ * transactions marked read-only get their physical connection from it on their first
+ * statement, everything else uses the primary. Read-only transactions only go to the
+ * replica inside a {@link ReadFromReplica} method, others, such as the reads Spring
+ * Data repositories run by default, stay on the primary. It hands out a replica
+ * connection unless</p>
+ * <ul>
+ *     <li>the last lag check failed, or there was none yet ({@code unavailable})</li>
+ *     <li>the replica is more than {@code maxLag} behind ({@code lag})</li>
+ *     <li>the current user wrote within {@code readYourWritesWindow}, so the replica may
+ *     not have their write yet ({@code read_your_writes})</li>
+ * </ul>
+ * <p>in which case the read uses the primary. A replica that refuses connections is
+ * treated as unavailable until the next successful lag check. Writes served by this
+ * node are recorded as their transaction commits. Writes served by other nodes are
+ * found through the {@link DataVersions} stamps, which tell when the user's data last
+ * changed; without conditional GET there are no stamps, and only this node's writes
+ * count. Stamps that cannot be read count as a recent write.</p>
+ * <p>Metrics: {@code db.replica.reads} ({@code route}: replica, unavailable, lag,
+ * read_your_writes) and {@code db.replica.lag} in seconds, {@code NaN} while unavailable.
+ * Each pool reports its own {@code hikaricp.*} metrics, tagged with its pool name.</p>
+ */
+@Slf4j
+public class ReplicaRouter implements AutoCloseable {
+    // A replica that replayed everything it received is caught up however old its last transaction
+    private static final String LAG_SQL = """
+            SELECT CASE
+                       WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                       ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0)
+                   END
+            """;
+    // Set while a @ReadFromReplica method runs on the thread
+    private static final ThreadLocal<Boolean> REPLICA_READS = new ThreadLocal<>();
+
+    private final DataSource replica;
+    private final double maxLagSeconds;
+    private final Cache<String, Boolean> recentWriters;
+    private final DataVersions dataVersions;
+    private final long readYourWritesMicros;
+    private final LongSupplier epochMillisClock;
+
+    private volatile double lagSeconds = Double.NaN;
+
+    private final Counter toReplica;
+    private final Counter unavailable;
+    private final Counter lagging;
+    private final Counter readYourWrites;
+
+    /**
+     * @param dataVersions Stamps shared with the other nodes, {@code null} without conditional GET
+     */
+    public ReplicaRouter(DataSource replica, ReadReplicaProperties properties, DataVersions dataVersions,
+                         MeterRegistry meterRegistry) {
+        this(replica, properties, dataVersions, meterRegistry, Ticker.systemTicker(), System::currentTimeMillis);
+    }
+
+    ReplicaRouter(DataSource replica, ReadReplicaProperties properties, DataVersions dataVersions,
+                  MeterRegistry meterRegistry, Ticker ticker, LongSupplier epochMillisClock) {
+        this.replica = replica;
+        this.dataVersions = dataVersions;
+        this.readYourWritesMicros = TimeUnit.NANOSECONDS.toMicros(properties.readYourWritesWindow().toNanos());
+        this.epochMillisClock = epochMillisClock;
+        this.maxLagSeconds = properties.maxLag().toNanos() / 1e9;
+        this.recentWriters = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(properties.readYourWritesWindow())
+                .ticker(ticker)
+                .build();
+
+        this.toReplica = reads(meterRegistry, "replica");
+        this.unavailable = reads(meterRegistry, "unavailable");
+        this.lagging = reads(meterRegistry, "lag");
+        this.readYourWrites = reads(meterRegistry, "read_your_writes");
+        Gauge.builder("db.replica.lag", this, router -> router.lagSeconds)
+                .description("Replication lag measured by the last check, NaN while the replica is unavailable")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * The {@code DataSource} read-only transactions get their connection from. The router
+     * is looked up on first use, so it is not created along with the primary
+     */
+    public static DataSource readOnlyDataSource(DataSource primary, Supplier<ReplicaRouter> router) {
+        return new DelegatingDataSource(primary) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                return router.get().readOnlyConnection(obtainTargetDataSource());
+            }
+        };
+    }
+
+    /**
+     * Runs a {@link ReadFromReplica} method, letting its read-only transactions use the replica
+     */
+    static Object invokeReadingFromReplica(MethodInvocation invocation) throws Throwable {
+        Boolean outer = REPLICA_READS.get();
+        REPLICA_READS.set(Boolean.TRUE);
+        try {
+            return invocation.proceed();
+        } finally {
+            if (outer == null) {
+                REPLICA_READS.remove();
+            }
+        }
+    }
+
+    /**
+     * Measures the replication lag, reads fall back to the primary while it cannot be measured
+     */
+    @Scheduled(fixedDelayString = "${app.datasource.replica.lag-check-interval:PT1S}")
+    public void checkLag() {
+        double previous = lagSeconds;
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery(LAG_SQL)) {
+            result.next();
+            lagSeconds = result.getDouble(1);
+        } catch (SQLException ex) {
+            lagSeconds = Double.NaN;
+            if (!Double.isNaN(previous)) {
+                log.warn("Replica unavailable, reading from the primary: {}", ex.getMessage());
+            }
+            return;
+        }
+        if (lagSeconds > maxLagSeconds && !(previous > maxLagSeconds)) {
+            log.warn("Replica is {}s behind, reading from the primary", lagSeconds);
+        } else if (lagSeconds <= maxLagSeconds && !(previous <= maxLagSeconds)) {
+            log.info("Replica is {}s behind, reading from the replica", lagSeconds);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTransactionsChanged(TransactionsChangedEvent event) {
+        recentWriters.put(event.userId(), Boolean.TRUE);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRollupsChanged(RollupsChangedEvent event) {
+        event.userIds().forEach(userId -> recentWriters.put(userId, Boolean.TRUE));
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (replica instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    /* ---------------- Helper ---------------- */
+
+    private Connection readOnlyConnection(DataSource primary) throws SQLException {
+        if (REPLICA_READS.get() == null) {
+            return primary.getConnection();
+        }
+        Counter route = route();
+        if (route == toReplica) {
+            try {
+                Connection connection = replica.getConnection();
+                toReplica.increment();
+                return connection;
+            } catch (SQLException ex) {
+                log.warn("No replica connection, reading from the primary until the next lag check: {}",
+                        ex.getMessage());
+                lagSeconds = Double.NaN;
+                route = unavailable;
+            }
+        }
+        route.increment();
+        return primary.getConnection();
+    }
+
+    private Counter route() {
+        double lag = lagSeconds;
+        if (Double.isNaN(lag)) {
+            return unavailable;
+        }
+        if (lag > maxLagSeconds) {
+            return lagging;
+        }
+        boolean wroteRecently = AuthUtil.getUserId()
+                .filter(this::wroteRecently)
+                .isPresent();
+        return wroteRecently ? readYourWrites : toReplica;
+    }
+
+    private boolean wroteRecently(String userId) {
+        if (recentWriters.getIfPresent(userId) != null) {
+            return true;
+        }
+        if (dataVersions == null) {
+            return false;
+        }
+        long[] stamps;
+        try {
+            stamps = dataVersions.current(userId, DataAggregate.values());
+        } catch (RuntimeException ex) {
+            log.debug("Data versions of user {} unavailable, reading from the primary: {}", userId, ex.getMessage());
+            return true;
+        }
+        long since = TimeUnit.MILLISECONDS.toMicros(epochMillisClock.getAsLong()) - readYourWritesMicros;
+        for (long stamp : stamps) {
+            if (stamp > since) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Counter reads(MeterRegistry meterRegistry, String route) {
+        return Counter.builder("db.replica.reads")
+                .description("Read-only transactions of @ReadFromReplica methods by the pool they read from, and why")
+                .tag("route", route)
+                .register(meterRegistry);
+    }
+}
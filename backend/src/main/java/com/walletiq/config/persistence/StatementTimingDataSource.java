@@ -0,0 +1,87 @@
+package com.walletiq.config.persistence;
+
+import com.walletiq.metrics.RequestPhases;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Adds the time spent executing JDBC statements to the {@link RequestPhases} of the
+ * request on the calling thread.
+ * <p>Only the {@code execute*} calls are timed: fetching the rows of a large result set
+ * beyond the driver's first batch counts as application time. Statements run outside of
+ * a request (jobs, scheduled tasks) are not timed at all.</p>
+ */
+public class StatementTimingDataSource extends DelegatingDataSource {
+
+    public StatementTimingDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return timed(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return timed(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    /* ---------------- Helper ---------------- */
+
+    private static Connection timed(Connection connection) {
+        return proxy(Connection.class, connection, (method, args) -> {
+            Object result = invoke(connection, method, args);
+            if (result instanceof Statement statement && Statement.class.isAssignableFrom(method.getReturnType())) {
+                return timed(method.getReturnType().asSubclass(Statement.class), statement);
+            }
+            return result;
+        });
+    }
+
+    private static <S extends Statement> S timed(Class<S> type, Statement statement) {
+        return proxy(type, type.cast(statement), (method, args) -> {
+            RequestPhases phases = method.getName().startsWith("execute") ? RequestPhases.current() : null;
+            if (phases == null) {
+                return invoke(statement, method, args);
+            }
+            long started = System.nanoTime();
+            try {
+                return invoke(statement, method, args);
+            } finally {
+                phases.addDatabase(System.nanoTime() - started);
+            }
+        });
+    }
+
+    private static <T> T proxy(Class<T> type, T target, Call call) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "unwrap" -> ((Class<?>) args[0]).isInstance(target) ? target : invoke(target, method, args);
+                    case "isWrapperFor" -> ((Class<?>) args[0]).isInstance(target) || (boolean) invoke(target, method, args);
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    default -> call.invoke(method, args);
+                }));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getTargetException();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Call {
+        Object invoke(Method method, Object[] args) throws Throwable;
+    }
+}
@@ -0,0 +1,48 @@
+package com.walletiq.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Budget advisor properties
+ *
+ * @param contextTransactions Transactions closest to the question that are put into the prompt
+ * @param summaryMonths       Months of totals, up to the current one, put into the prompt
+ * @param answerCache         Per-user cache of answers to similar questions
+ * @param streaming           Answers streamed token by token as Server-Sent Events
+ */
+@ConfigurationProperties(prefix = "app.advisor")
+public record AdvisorProperties(
+        int contextTransactions,
+        int summaryMonths,
+        AnswerCacheProperties answerCache,
+        StreamingProperties streaming
+) {
+
+    /**
+     * @param enabled             {@code false} sends every question to the model
+     * @param similarityThreshold Cosine similarity from which a question counts as already answered
+     * @param maxEntriesPerUser   Answers kept per user, least recently used go first
+     * @param maxUsers            Users with cached answers on this node
+     * @param timeToLive          Longest an answer is served, even if the user's data did not change
+     */
+    public record AnswerCacheProperties(
+            boolean enabled,
+            double similarityThreshold,
+            int maxEntriesPerUser,
+            long maxUsers,
+            Duration timeToLive
+    ) {
+    }
+
+    /**
+     * @param maxConcurrent Streams generating at once on this node, more are rejected with {@code 503}
+     * @param timeout       Longest a stream stays open, generation is cancelled then
+     */
+    public record StreamingProperties(
+            int maxConcurrent,
+            Duration timeout
+    ) {
+    }
+}
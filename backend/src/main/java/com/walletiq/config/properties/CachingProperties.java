@@ -0,0 +1,50 @@
+package com.walletiq.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.convert.DurationUnit;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+
+/**
+ * Application cache ({@code @Cacheable}) properties
+ *
+ * @param mode                LOCAL (near cache only) or REDIS (near cache in front of Redis)
+ * @param keyPrefix           Prefix for cache keys in Redis
+ * @param timeToLive          Default Redis entry lifetime, plain numbers are seconds
+ * @param timeToLiveOverrides Redis entry lifetime per cache name
+ * @param invalidationChannel Redis pub/sub channel nodes use to drop stale near entries
+ * @param scanBatchSize       Keys per SCAN step when evicting by key pattern, Redis never runs KEYS
+ * @param near                In-heap cache kept by every node
+ */
+@ConfigurationProperties(prefix = "app.cache")
+public record CachingProperties(
+        Mode mode,
+        String keyPrefix,
+        @DurationUnit(ChronoUnit.SECONDS) Duration timeToLive,
+        Map<String, Duration> timeToLiveOverrides,
+        String invalidationChannel,
+        int scanBatchSize,
+        NearCacheProperties near
+) {
+    public enum Mode {
+        LOCAL,
+        REDIS
+    }
+
+    public Duration timeToLive(String cacheName) {
+        return timeToLiveOverrides == null ? timeToLive : timeToLiveOverrides.getOrDefault(cacheName, timeToLive);
+    }
+
+    /**
+     * @param maximumSize Entries per cache, evicted by frequency and recency (W-TinyLFU)
+     * @param timeToLive  Upper bound on how long a node can serve an entry without
+     *                    asking Redis, in case an invalidation message is lost
+     */
+    public record NearCacheProperties(
+            long maximumSize,
+            Duration timeToLive
+    ) {
+    }
+}
@@ -0,0 +1,33 @@
+package com.walletiq.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Conditional GET properties, the data an endpoint depends on is declared per
+ * endpoint using {@code @ConditionalGet}
+ *
+ * @param enabled     Whether {@code @ConditionalGet} is enforced at runtime
+ * @param mode        LOCAL (per node, in memory) or REDIS (version stamps shared by every node)
+ * @param keyPrefix   Prefix for version stamp keys in Redis
+ * @param timeToLive  How long an untouched stamp is kept, an evicted one starts over
+ *                    and costs its user one full response per endpoint
+ * @param maximumSize Stamps kept in memory in LOCAL mode
+ * @param settleTime  How long after a write responses go without an ETag, keep above how
+ *                    far near caches and the read replica may lag behind a commit
+ */
+@ConfigurationProperties(prefix = "app.conditional-get")
+public record ConditionalGetProperties(
+        boolean enabled,
+        Mode mode,
+        String keyPrefix,
+        Duration timeToLive,
+        long maximumSize,
+        Duration settleTime
+) {
+    public enum Mode {
+        LOCAL,
+        REDIS
+    }
+}
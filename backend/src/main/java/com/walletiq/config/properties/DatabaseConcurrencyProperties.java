@@ -0,0 +1,20 @@
+package com.walletiq.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Database concurrency limiter properties
+ *
+ * @param enabled        Whether connections are handed out through the limiter
+ * @param maxConcurrent  Connections that may be checked out at once, keep at or below the pool size
+ * @param acquireTimeout How long a caller waits for a permit before failing with {@code 503}
+ */
+@ConfigurationProperties(prefix = "app.datasource.concurrency")
+public record DatabaseConcurrencyProperties(
+        boolean enabled,
+        int maxConcurrent,
+        Duration acquireTimeout
+) {
+}
@@ -0,0 +1,47 @@
+package com.walletiq.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Text embedding properties
+ *
+ * @param provider     LOCAL: deterministic hashing model that needs no network
+ * @param dimensions   Vector size, changing it invalidates every stored vector
+ * @param localLatency Simulated round trip per call of the local model, zero to answer immediately
+ * @param pipeline     Micro-batching of embedding calls for changed transactions
+ */
+@ConfigurationProperties(prefix = "app.embedding")
+public record EmbeddingProperties(
+        Provider provider,
+        int dimensions,
+        Duration localLatency,
+        PipelineProperties pipeline
+) {
+    public enum Provider {
+        LOCAL
+    }
+
+    /**
+     * @param maxBatchSize   Keys per embedding call
+     * @param maxWait        Longest a key waits for its batch to fill up
+     * @param maxInFlight    Embedding calls running at once
+     * @param maxQueued      Keys waiting before submitters are held back
+     * @param submitTimeout  How long a submitter waits for room in a full queue before the key is rejected
+     * @param maxAttempts    Attempts per batch, including the first
+     * @param initialBackoff Upper bound of the first retry delay, doubled per attempt
+     * @param maxBackoff     Upper bound of any retry delay
+     */
+    public record PipelineProperties(
+            int maxBatchSize,
+            Duration maxWait,
+            int maxInFlight,
+            int maxQueued,
+            Duration submitTimeout,
+            int maxAttempts,
+            Duration initialBackoff,
+            Duration maxBackoff
+    ) {
+    }
+}
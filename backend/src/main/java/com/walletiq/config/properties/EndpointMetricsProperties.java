@@ -0,0 +1,42 @@
+package com.walletiq.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Per-endpoint latency metrics
+ *
+ * @param enabled             Whether handler methods are timed ({@code http.endpoint.latency} and
+ *                            {@code http.endpoint.phase})
+ * @param percentileHistogram Whether latency timers publish histogram buckets for percentile queries
+ * @param slo                 SLO buckets of every endpoint, each counts the requests answered within it
+ * @param routes              SLO buckets of specific routes, the first matching entry wins
+ */
+@ConfigurationProperties(prefix = "app.metrics.endpoints")
+public record EndpointMetricsProperties(
+        boolean enabled,
+        boolean percentileHistogram,
+        List<Duration> slo,
+        List<RouteProperties> routes
+) {
+
+    public EndpointMetricsProperties {
+        slo = slo == null ? List.of() : List.copyOf(slo);
+        routes = routes == null ? List.of() : List.copyOf(routes);
+    }
+
+    /**
+     * @param method  HTTP method, any when unset
+     * @param pattern Ant-style pattern matched against the endpoint's mapping, without the
+     *                context path, e.g. {@code /advisor/**}
+     * @param slo     SLO buckets of the matching endpoints, replacing the default ones
+     */
+    public record RouteProperties(
+            String method,
+            String pattern,
+            List<Duration> slo
+    ) {
+    }
+}
@@ -0,0 +1,14 @@
+package com.walletiq.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Streaming export properties
+ *
+ * @param fetchSize Rows fetched per cursor round trip, bounds memory per export
+ */
+@ConfigurationProperties(prefix = "app.export")
+public record ExportProperties(
+        int fetchSize
+) {
+}
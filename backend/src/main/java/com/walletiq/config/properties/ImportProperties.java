@@ -0,0 +1,18 @@
+package com.walletiq.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Bulk transaction import properties
+ *
+ * @param chunkSize           Rows sent per {@code COPY} round
+ * @param queueCapacity       Validated chunks buffered ahead of the database writer
+ * @param maxReportedFailures Row failures returned in the response, the rest are only counted
+ */
+@ConfigurationProperties(prefix = "app.import")
+public record ImportProperties(
+        int chunkSize,
+        int queueCapacity,
+        int maxReportedFailures
+) {
+}
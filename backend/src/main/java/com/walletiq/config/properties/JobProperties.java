@@ -0,0 +1,28 @@
+package com.walletiq.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Background job runner properties
+ *
+ * @param maxConcurrent        Jobs running at once across all users, bounds database connections taken by batch work
+ * @param maxConcurrentPerUser Jobs of one user running at once, the rest wait in {@code QUEUED}
+ * @param maxActivePerUser     Queued plus running jobs allowed per user before new submissions are rejected
+ * @param progressInterval     Minimum time between two progress writes of a job
+ * @param retention            How long finished jobs stay queryable
+ * @param nodeId               Identifies this node as the owner of the jobs it runs, stable across restarts
+ * @param heartbeatTimeout     Active jobs whose owner has not confirmed them for this long are failed by any node
+ */
+@ConfigurationProperties(prefix = "app.jobs")
+public record JobProperties(
+        int maxConcurrent,
+        int maxConcurrentPerUser,
+        int maxActivePerUser,
+        Duration progressInterval,
+        Duration retention,
+        String nodeId,
+        Duration heartbeatTimeout
+) {
+}
@@ -2,6 +2,8 @@ package com.walletiq.config.properties;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
+
 @ConfigurationProperties(prefix = "security.jwt")
 public record JwtProperties(
         String issuer,
@@ -10,7 +12,8 @@ public record JwtProperties(
         AccessTokenProperties accessToken,
         RefreshTokenProperties refreshToken,
         PasswordProperties password,
-        RSAProperties rsa
+        RSAProperties rsa,
+        VerificationCacheProperties verificationCache
 ) {
     public record AccessTokenProperties(
             long expiration
@@ -25,7 +28,22 @@ public record JwtProperties(
     public record PasswordProperties(
             int encoderStrength,
             int maxLoginAttempts,
-            long lockoutDuration
+            long lockoutDuration,
+            HashingProperties hashing
+    ) {
+    }
+
+    /**
+     * Executor that hashes and verifies passwords apart from the request threads
+     *
+     * @param threads       Hashes computed at once, {@code 0} for half the available cores
+     * @param queueCapacity Hashes waiting for a thread before new ones are refused with {@code 503}
+     * @param maxWait       Longest a caller waits for its hash, queueing included
+     */
+    public record HashingProperties(
+            int threads,
+            int queueCapacity,
+            Duration maxWait
     ) {
     }
 
@@ -36,4 +54,17 @@ public record JwtProperties(
             String publicKeyPath
     ) {
     }
+
+    /**
+     * Cache of already verified access tokens, saves the RSA signature check
+     * on repeated requests with the same token
+     *
+     * @param enabled     Whether verified tokens are cached
+     * @param maximumSize Maximum number of cached tokens
+     */
+    public record VerificationCacheProperties(
+            boolean enabled,
+            long maximumSize
+    ) {
+    }
 }
@@ -0,0 +1,23 @@
+package com.walletiq.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Language model properties
+ *
+ * @param provider             LOCAL: deterministic model that restates the prompt, needs no network
+ * @param localFirstTokenDelay Simulated time to first token of the local model
+ * @param localTokenDelay      Simulated time between two tokens of the local model
+ */
+@ConfigurationProperties(prefix = "app.llm")
+public record LlmProperties(
+        Provider provider,
+        Duration localFirstTokenDelay,
+        Duration localTokenDelay
+) {
+    public enum Provider {
+        LOCAL
+    }
+}
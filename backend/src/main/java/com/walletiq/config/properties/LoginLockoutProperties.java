@@ -0,0 +1,32 @@
+package com.walletiq.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Login lockout properties. Failures per account and the lockout window come from
+ * {@code security.jwt.password.max-login-attempts} and {@code lockout-duration}
+ *
+ * @param enabled               Whether failed logins are counted and lockouts enforced
+ * @param mode                  LOCAL (per node, in memory) or REDIS (counts shared by every node)
+ * @param keyPrefix             Prefix for sketch keys in Redis
+ * @param maxAttemptsPerAddress Failed logins per client address within the window, at most 127
+ * @param slices                Slices the window is split into, failures age out a slice at a time
+ * @param depth                 Rows per sketch, more rows make false lockouts rarer
+ * @param width                 Counters per row, the number of distinct failing accounts per window
+ *                              the sketch tells apart reliably
+ */
+@ConfigurationProperties(prefix = "app.security.login-lockout")
+public record LoginLockoutProperties(
+        boolean enabled,
+        Mode mode,
+        String keyPrefix,
+        int maxAttemptsPerAddress,
+        int slices,
+        int depth,
+        int width
+) {
+    public enum Mode {
+        LOCAL,
+        REDIS
+    }
+}
@@ -0,0 +1,20 @@
+package com.walletiq.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.core.io.Resource;
+
+import java.time.Duration;
+
+/**
+ * Precomputed OpenAPI document, served instead of Springdoc when
+ * {@code springdoc.api-docs.enabled} is false
+ *
+ * @param document Document generated at build time ({@code ./mvnw -Pfast-start package})
+ * @param maxAge   How long clients may cache it
+ */
+@ConfigurationProperties(prefix = "app.openapi")
+public record OpenApiDocumentProperties(
+        Resource document,
+        Duration maxAge
+) {
+}
@@ -0,0 +1,20 @@
+package com.walletiq.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Virtual thread pinning detection properties
+ *
+ * @param enabled      Whether a JFR stream for {@code jdk.VirtualThreadPinned} is kept open
+ * @param threshold    Pins shorter than this are ignored
+ * @param maxLocations Distinct code locations tracked, later ones are counted as {@code other}
+ */
+@ConfigurationProperties(prefix = "app.diagnostics.pinning")
+public record PinningProperties(
+        boolean enabled,
+        Duration threshold,
+        int maxLocations
+) {
+}
@@ -0,0 +1,27 @@
+package com.walletiq.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Rate limiting properties, Limits themselves are declared per endpoint
+ * using {@code @RateLimited}
+ *
+ * @param enabled         Whether {@code @RateLimited} is enforced at runtime
+ * @param mode            LOCAL (per node, in memory) or REDIS (cluster-wide sliding window)
+ * @param keyPrefix       Prefix for counter keys in the shared store
+ * @param cleanupInterval How often idle local buckets are evicted
+ */
+@ConfigurationProperties(prefix = "app.rate-limit")
+public record RateLimitProperties(
+        boolean enabled,
+        Mode mode,
+        String keyPrefix,
+        Duration cleanupInterval
+) {
+    public enum Mode {
+        LOCAL,
+        REDIS
+    }
+}
@@ -0,0 +1,31 @@
+package com.walletiq.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Read replica properties, read-only transactions use the replica while it keeps up
+ *
+ * @param enabled              Whether read-only transactions are routed to the replica
+ * @param url                  JDBC url of the replica
+ * @param username             Replica user
+ * @param password             Replica password
+ * @param maximumPoolSize      Connections of the replica pool
+ * @param connectionTimeout    How long a read waits for a replica connection before using the primary
+ * @param maxLag               Replication lag above which reads go to the primary
+ * @param readYourWritesWindow How long a user's reads go to the primary after their own write,
+ *                             keep above {@code maxLag}
+ */
+@ConfigurationProperties(prefix = "app.datasource.replica")
+public record ReadReplicaProperties(
+        boolean enabled,
+        String url,
+        String username,
+        String password,
+        int maximumPoolSize,
+        Duration connectionTimeout,
+        Duration maxLag,
+        Duration readYourWritesWindow
+) {
+}
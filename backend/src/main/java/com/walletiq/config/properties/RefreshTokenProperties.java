@@ -0,0 +1,34 @@
+package com.walletiq.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Refresh token store properties. Token lifetime comes from
+ * {@code security.jwt.refresh-token.expiration}
+ *
+ * @param enabled                Whether refresh tokens are issued and access tokens are
+ *                               checked against revoked sessions
+ * @param mode                   LOCAL (other nodes learn of a revocation with their next rebuild)
+ *                               or REDIS (revocations are broadcast to every node right away)
+ * @param revocationChannel      Redis pub/sub channel revoked sessions are broadcast on
+ * @param expectedRevocations    Revoked, unexpired sessions the filter is sized for, it is
+ *                               sized up on rebuild if there are more
+ * @param falsePositiveRate      Share of live sessions the filter still sends to the database
+ * @param confirmationTimeToLive How long the database answer for a filter hit is reused
+ */
+@ConfigurationProperties(prefix = "app.security.refresh-tokens")
+public record RefreshTokenProperties(
+        boolean enabled,
+        Mode mode,
+        String revocationChannel,
+        long expectedRevocations,
+        double falsePositiveRate,
+        Duration confirmationTimeToLive
+) {
+    public enum Mode {
+        LOCAL,
+        REDIS
+    }
+}
@@ -0,0 +1,35 @@
+package com.walletiq.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Transaction vector index (RAG retrieval) properties
+ *
+ * @param directory            Where partition vector files are memory-mapped, scratch space cleared on use
+ * @param m                    HNSW links per node and layer, twice as many on the bottom layer
+ * @param efConstruction       Candidates considered when inserting, higher builds a better graph more slowly
+ * @param efSearch             Candidates kept while searching, trades latency for recall
+ * @param exactSearchThreshold Filtered searches matching at most this many transactions scan them exactly
+ * @param maxDeletedRatio      Share of deleted nodes at which a partition is compacted
+ * @param buildBatchSize       Transactions embedded per call while building a partition from PostgreSQL
+ * @param idleTimeout          Partitions unused this long are dropped, and rebuilt on next use
+ * @param maxAge               Partitions built this long ago are dropped too, bounds staleness should a change be missed
+ * @param changeChannel        Redis channel nodes tell each other about changed transactions on
+ */
+@ConfigurationProperties(prefix = "app.vector-index")
+public record VectorIndexProperties(
+        Path directory,
+        int m,
+        int efConstruction,
+        int efSearch,
+        int exactSearchThreshold,
+        double maxDeletedRatio,
+        int buildBatchSize,
+        Duration idleTimeout,
+        Duration maxAge,
+        String changeChannel
+) {
+}
@@ -0,0 +1,54 @@
+package com.walletiq.config.ratelimit;
+
+import com.walletiq.api.interceptor.RateLimitInterceptor;
+import com.walletiq.config.properties.RateLimitProperties;
+import com.walletiq.exception.ErrorResponseWriter;
+import com.walletiq.ratelimit.LocalRateLimiter;
+import com.walletiq.ratelimit.RateLimiter;
+import com.walletiq.ratelimit.RedisSlidingWindowLog;
+import com.walletiq.ratelimit.SlidingWindowRateLimiter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Rate limiter wiring.
+ * <p>The local limiter is always present: it is the limiter in {@code LOCAL} mode and
+ * the fallback when the shared store is unreachable in {@code REDIS} mode.</p>
+ */
+@Configuration
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "app.rate-limit", name = "enabled", havingValue = "true")
+public class RateLimiterConfig {
+
+    private final RateLimitProperties properties;
+
+    @Bean
+    public LocalRateLimiter localRateLimiter() {
+        return new LocalRateLimiter();
+    }
+
+    @Bean
+    @Primary
+    @ConditionalOnProperty(prefix = "app.rate-limit", name = "mode", havingValue = "redis")
+    public RateLimiter distributedRateLimiter(StringRedisTemplate redisTemplate, LocalRateLimiter localRateLimiter) {
+        return new SlidingWindowRateLimiter(
+                new RedisSlidingWindowLog(redisTemplate, properties.keyPrefix()),
+                localRateLimiter
+        );
+    }
+
+    @Bean
+    public RateLimitInterceptor rateLimitInterceptor(RateLimiter rateLimiter, ErrorResponseWriter errorResponseWriter) {
+        return new RateLimitInterceptor(rateLimiter, errorResponseWriter);
+    }
+
+    @Scheduled(fixedDelayString = "${app.rate-limit.cleanup-interval:PT1M}")
+    public void evictIdleBuckets() {
+        localRateLimiter().evictIdle();
+    }
+}
@@ -0,0 +1,67 @@
+package com.walletiq.config.retrieval;
+
+import com.walletiq.config.properties.EmbeddingProperties;
+import com.walletiq.config.properties.VectorIndexProperties;
+import com.walletiq.embedding.EmbeddingModel;
+import com.walletiq.embedding.HashingEmbeddingModel;
+import com.walletiq.service.retrieval.TransactionVectorIndex;
+import com.walletiq.service.retrieval.VectorIndexChangeListener;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Embedding model and transaction vector index wiring.
+ * <p>With {@code app.vector-index.broadcast-changes}, nodes tell each other about
+ * changed transactions over a Redis pub/sub channel, so partitions loaded on other
+ * nodes re-embed them as well.</p>
+ */
+@Configuration
+public class RetrievalConfig {
+
+    @Bean
+    public EmbeddingModel embeddingModel(EmbeddingProperties properties) {
+        return switch (properties.provider()) {
+            case LOCAL -> new HashingEmbeddingModel(properties.dimensions(), properties.localLatency());
+        };
+    }
+
+    @Bean
+    public MeterBinder vectorIndexMetrics(TransactionVectorIndex vectorIndex) {
+        return registry -> {
+            Gauge.builder("vector.index.partitions", vectorIndex, TransactionVectorIndex::partitionCount)
+                    .description("User partitions loaded on this node")
+                    .register(registry);
+            Gauge.builder("vector.index.vectors", vectorIndex, TransactionVectorIndex::vectorCount)
+                    .description("Vectors in the loaded partitions")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.vector-index", name = "broadcast-changes", havingValue = "true")
+    public RedisMessageListenerContainer vectorIndexChangeContainer(
+            VectorIndexProperties properties,
+            RedisConnectionFactory connectionFactory,
+            StringRedisTemplate redisTemplate,
+            TransactionVectorIndex vectorIndex
+    ) {
+        String channel = properties.changeChannel();
+        vectorIndex.setChangePublisher(change ->
+                redisTemplate.execute(connection -> connection.publish(
+                        channel.getBytes(StandardCharsets.UTF_8), change.encode()), true));
+
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(new VectorIndexChangeListener(vectorIndex), new ChannelTopic(channel));
+        return container;
+    }
+}
@@ -0,0 +1,56 @@
+package com.walletiq.config.security;
+
+import com.walletiq.config.properties.JwtProperties;
+import com.walletiq.config.properties.LoginLockoutProperties;
+import com.walletiq.security.lockout.FailureCounter;
+import com.walletiq.security.lockout.LoginAttemptService;
+import com.walletiq.security.lockout.RedisCountMinSketch;
+import com.walletiq.security.lockout.WindowedCountMinSketch;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+
+/**
+ * Login lockout wiring.
+ * <p>Every node keeps its own sketches: they are the counters in {@code LOCAL} mode
+ * and the fallback when Redis is unreachable in {@code REDIS} mode.</p>
+ */
+@Configuration
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "app.security.login-lockout", name = "enabled", havingValue = "true")
+public class LoginLockoutConfig {
+
+    private final LoginLockoutProperties properties;
+    private final JwtProperties jwtProperties;
+
+    @Bean
+    public LoginAttemptService loginAttemptService(ObjectProvider<StringRedisTemplate> redisTemplate,
+                                                   MeterRegistry meterRegistry) {
+        Duration window = Duration.ofMillis(jwtProperties.password().lockoutDuration());
+        return new LoginAttemptService(
+                failureCounter("account", window, redisTemplate),
+                failureCounter("address", window, redisTemplate),
+                jwtProperties.password().maxLoginAttempts(),
+                properties.maxAttemptsPerAddress(),
+                meterRegistry
+        );
+    }
+
+    /* ---------------- Helper ---------------- */
+
+    private FailureCounter failureCounter(String name, Duration window, ObjectProvider<StringRedisTemplate> redisTemplate) {
+        FailureCounter local = new WindowedCountMinSketch(window, properties.slices(), properties.depth(),
+                properties.width());
+        if (properties.mode() != LoginLockoutProperties.Mode.REDIS) {
+            return local;
+        }
+        return new RedisCountMinSketch(redisTemplate.getObject(), properties.keyPrefix(), name, window,
+                properties.slices(), properties.depth(), properties.width(), local);
+    }
+}
@@ -0,0 +1,40 @@
+package com.walletiq.config.security;
+
+import com.walletiq.config.properties.JwtProperties;
+import com.walletiq.security.password.IsolatedPasswordEncoder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Password encoder wiring.
+ * <p>Hashing runs on a fixed pool of platform threads, never more than there are
+ * cores, with a bounded queue that rejects instead of growing. The pool is owned by
+ * the encoder and not a bean of its own, which would displace Boot's default task
+ * executor.</p>
+ */
+@Configuration
+public class PasswordEncoderConfig {
+
+    @Bean
+    public IsolatedPasswordEncoder passwordEncoder(JwtProperties jwtProperties, MeterRegistry meterRegistry) {
+        JwtProperties.PasswordProperties password = jwtProperties.password();
+        JwtProperties.HashingProperties hashing = password.hashing();
+        int cores = Runtime.getRuntime().availableProcessors();
+        int threads = hashing.threads() > 0 ? Math.min(hashing.threads(), cores) : Math.max(1, cores / 2);
+
+        ExecutorService executor = ExecutorServiceMetrics.monitor(meterRegistry, new ThreadPoolExecutor(
+                threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(hashing.queueCapacity()),
+                Thread.ofPlatform().name("password-hash-", 0).daemon(true).factory(),
+                new ThreadPoolExecutor.AbortPolicy()), "password.hashing");
+        return new IsolatedPasswordEncoder(password.encoderStrength(), executor, hashing.maxWait(), meterRegistry);
+    }
+}
@@ -0,0 +1,65 @@
+package com.walletiq.config.security;
+
+import com.walletiq.config.properties.JwtProperties;
+import com.walletiq.config.properties.RefreshTokenProperties;
+import com.walletiq.repository.RefreshTokenRepository;
+import com.walletiq.security.refresh.RefreshTokenService;
+import com.walletiq.security.refresh.RevocationListener;
+import com.walletiq.security.refresh.RevokedSessions;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+/**
+ * Refresh token wiring.
+ * <p>Every node keeps its own revocation filter. In {@code REDIS} mode nodes tell each
+ * other about revoked sessions over a pub/sub channel, in {@code LOCAL} mode the others
+ * only learn of them with their next rebuild.</p>
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.security.refresh-tokens", name = "enabled", havingValue = "true")
+public class RefreshTokenConfig {
+
+    @Bean
+    public RevokedSessions revokedSessions(RefreshTokenRepository repository, RefreshTokenProperties properties,
+                                           MeterRegistry meterRegistry) {
+        return new RevokedSessions(repository, properties, meterRegistry);
+    }
+
+    @Bean
+    public RefreshTokenService refreshTokenService(RefreshTokenRepository repository,
+                                                   ApplicationEventPublisher eventPublisher,
+                                                   JwtProperties jwtProperties,
+                                                   MeterRegistry meterRegistry) {
+        return new RefreshTokenService(repository, eventPublisher,
+                Duration.ofMillis(jwtProperties.refreshToken().expiration()), meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.security.refresh-tokens", name = "mode", havingValue = "redis")
+    public RedisMessageListenerContainer revocationContainer(
+            RefreshTokenProperties properties,
+            RedisConnectionFactory connectionFactory,
+            StringRedisTemplate redisTemplate,
+            RevokedSessions revokedSessions
+    ) {
+        byte[] channel = properties.revocationChannel().getBytes(StandardCharsets.UTF_8);
+        revokedSessions.setPublisher(familyIds -> redisTemplate.execute(connection ->
+                connection.publish(channel, RevocationListener.encode(familyIds)), true));
+
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(new RevocationListener(revokedSessions),
+                new ChannelTopic(properties.revocationChannel()));
+        return container;
+    }
+}
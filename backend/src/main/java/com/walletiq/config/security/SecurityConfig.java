@@ -0,0 +1,66 @@
+package com.walletiq.config.security;
+
+import com.walletiq.config.properties.JwtProperties;
+import com.walletiq.security.handler.RestAccessDeniedHandler;
+import com.walletiq.security.handler.RestAuthenticationEntryPoint;
+import com.walletiq.security.jwt.JwtAuthenticationFilter;
+import com.walletiq.security.jwt.JwtService;
+import com.walletiq.security.jwt.VerifiedTokenCache;
+import com.walletiq.security.refresh.RevokedSessions;
+import jakarta.servlet.DispatcherType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+
+/**
+ * Stateless JWT security configuration
+ */
+@Configuration
+@RequiredArgsConstructor
+public class SecurityConfig {
+    private static final String[] PUBLIC_PATHS = {
+            "/auth/**",
+            "/api-docs/**",
+            "/swagger-ui/**",
+            "/swagger-ui.html",
+            "/actuator/health/**",
+            "/actuator/info",
+            "/error"
+    };
+
+    private final JwtProperties jwtProperties;
+    private final JwtService jwtService;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final ObjectProvider<RevokedSessions> revokedSessions;
+    private final RestAuthenticationEntryPoint authenticationEntryPoint;
+    private final RestAccessDeniedHandler accessDeniedHandler;
+
+    @Bean
+    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+        // Not a bean on purpose, otherwise Boot would also register it as a plain servlet filter
+        JwtAuthenticationFilter jwtFilter = new JwtAuthenticationFilter(jwtService, verifiedTokenCache,
+                revokedSessions.getIfAvailable(), jwtProperties);
+
+        return http
+                .csrf(AbstractHttpConfigurer::disable)
+                .httpBasic(AbstractHttpConfigurer::disable)
+                .formLogin(AbstractHttpConfigurer::disable)
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .exceptionHandling(exceptions -> exceptions
+                        .authenticationEntryPoint(authenticationEntryPoint)
+                        .accessDeniedHandler(accessDeniedHandler))
+                .authorizeHttpRequests(auth -> auth
+                        // The JWT filter skips async dispatches, the request was authorized before it went async
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                        .requestMatchers(PUBLIC_PATHS).permitAll()
+                        .anyRequest().authenticated())
+                .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class)
+                .build();
+    }
+}
@@ -0,0 +1,46 @@
+package com.walletiq.config.web;
+
+import com.walletiq.api.interceptor.ConditionalGetInterceptor;
+import com.walletiq.config.properties.ConditionalGetProperties;
+import com.walletiq.dataversion.DataVersionListener;
+import com.walletiq.dataversion.DataVersions;
+import com.walletiq.dataversion.LocalDataVersions;
+import com.walletiq.dataversion.RedisDataVersions;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * Conditional GET ({@code @ConditionalGet}) wiring.
+ * <p>In {@code LOCAL} mode every node keeps its own version stamps, which only works
+ * for a single node. In {@code REDIS} mode the stamps are shared, so any node can
+ * revalidate an ETag another node handed out.</p>
+ */
+@Configuration
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "app.conditional-get", name = "enabled", havingValue = "true")
+public class ConditionalGetConfig {
+
+    private final ConditionalGetProperties properties;
+
+    @Bean
+    public DataVersions dataVersions(ObjectProvider<StringRedisTemplate> redisTemplate) {
+        return properties.mode() == ConditionalGetProperties.Mode.REDIS
+                ? new RedisDataVersions(redisTemplate.getObject(), properties.keyPrefix(), properties.timeToLive())
+                : new LocalDataVersions(properties.maximumSize(), properties.timeToLive());
+    }
+
+    @Bean
+    public DataVersionListener dataVersionListener(DataVersions dataVersions) {
+        return new DataVersionListener(dataVersions);
+    }
+
+    @Bean
+    public ConditionalGetInterceptor conditionalGetInterceptor(DataVersions dataVersions, MeterRegistry meterRegistry) {
+        return new ConditionalGetInterceptor(dataVersions, meterRegistry, properties.settleTime());
+    }
+}
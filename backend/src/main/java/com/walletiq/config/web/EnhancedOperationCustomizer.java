@@ -9,6 +9,7 @@ import io.swagger.v3.oas.models.headers.Header;
 import io.swagger.v3.oas.models.media.IntegerSchema;
 import io.swagger.v3.oas.models.responses.ApiResponse;
 import org.springdoc.core.customizers.OperationCustomizer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 import org.springframework.web.method.HandlerMethod;
 
@@ -17,9 +18,12 @@ import java.util.List;
 import java.util.Map;
 
 /**
- * Customizes OpenAPI operations with additional information
+ * Customizes OpenAPI operations with additional information.
+ * <p>Not created when Springdoc is disabled, the {@code fast-start} profile serves the
+ * document customized at build time instead.</p>
  */
 @Component
+@ConditionalOnProperty(prefix = "springdoc.api-docs", name = "enabled", matchIfMissing = true)
 public class EnhancedOperationCustomizer implements OperationCustomizer {
 
     @Override
@@ -11,6 +11,7 @@ import io.swagger.v3.oas.models.security.SecurityScheme;
 import io.swagger.v3.oas.models.servers.Server;
 import io.swagger.v3.oas.models.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
@@ -20,8 +21,12 @@ import java.util.List;
 import java.util.Map;
 import java.util.stream.Stream;
 
+/**
+ * OpenAPI document metadata, only needed while Springdoc generates the document
+ */
 @Configuration
 @RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "springdoc.api-docs", name = "enabled", matchIfMissing = true)
 public class OpenAPIConfig {
     private static final String BEARER_AUTH = "BearerAuth";
     private static final String API_KEY_AUTH = "ApiKeyAuth";
@@ -115,6 +120,9 @@ public class OpenAPIConfig {
                 createTag("test", "Test", "Test endpoints.", true),
                 createTag("users", "User Management", "User account data and profile management.", true),
                 createTag("authentication", "Authentication", "User authentication and authorization endpoints.", true),
+                createTag("transactions", "Transactions", "Income and expense records.", true),
+                createTag("dashboard", "Dashboard", "Spending summaries served from monthly rollups.", true),
+                createTag("jobs", "Jobs", "Status of long-running background operations.", true),
                 createTag("admin", "Administration", "Administrative endpoints. Require admin permissions.", false),
                 createTag("configuration", "Server Configuration", "Server configuration and settings.", true),
                 createTag("public", "Public", "Public endpoints that don't require authentication.", true)
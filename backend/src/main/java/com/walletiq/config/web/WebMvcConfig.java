@@ -0,0 +1,49 @@
+package com.walletiq.config.web;
+
+import com.walletiq.api.filter.RequestIdFilter;
+import com.walletiq.api.interceptor.ConditionalGetInterceptor;
+import com.walletiq.api.interceptor.EndpointMetricsInterceptor;
+import com.walletiq.api.interceptor.PermissionInterceptor;
+import com.walletiq.api.interceptor.RateLimitInterceptor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Spring MVC configuration, registers the interceptors that enforce the
+ * endpoint annotations in {@code com.walletiq.api.annotation} and the request id filter
+ */
+@Configuration
+@RequiredArgsConstructor
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    private final ObjectProvider<EndpointMetricsInterceptor> endpointMetricsInterceptor;
+    private final ObjectProvider<RateLimitInterceptor> rateLimitInterceptor;
+    private final PermissionInterceptor permissionInterceptor;
+    private final ObjectProvider<ConditionalGetInterceptor> conditionalGetInterceptor;
+
+    /**
+     * First filter of the chain, so security, error handling and every log line see the id
+     */
+    @Bean
+    public FilterRegistrationBean<RequestIdFilter> requestIdFilter() {
+        FilterRegistrationBean<RequestIdFilter> registration = new FilterRegistrationBean<>(new RequestIdFilter());
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // First, so the latency includes the checks below and rejected requests are timed too
+        endpointMetricsInterceptor.ifAvailable(registry::addInterceptor);
+        rateLimitInterceptor.ifAvailable(registry::addInterceptor);
+        registry.addInterceptor(permissionInterceptor);
+        // Last, a 304 is only ever sent to a caller allowed to see the response
+        conditionalGetInterceptor.ifAvailable(registry::addInterceptor);
+    }
+}
@@ -0,0 +1,21 @@
+package com.walletiq.dataversion;
+
+/**
+ * Data of a user that responses are derived from and that is versioned as a whole
+ */
+public enum DataAggregate {
+    /**
+     * The user's transactions, changed by every create, update, delete and import
+     */
+    TRANSACTIONS,
+    /**
+     * The user's monthly rollups, changed with the transactions and by rebuilds
+     */
+    ROLLUPS;
+
+    private final String key = name().toLowerCase();
+
+    public String key() {
+        return key;
+    }
+}
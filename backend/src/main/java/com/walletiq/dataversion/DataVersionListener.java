@@ -0,0 +1,41 @@
+package com.walletiq.dataversion;
+
+import com.walletiq.service.TransactionsChangedEvent;
+import com.walletiq.service.rollup.RollupsChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Bumps the stamps of the aggregates a committed write changed.
+ * <p>Runs after commit, in the writing request, so a client reading its own write
+ * always sees the new stamp. Near caches and replicas on other nodes may still answer
+ * with the old data for a moment, which is why responses only carry the new stamp's
+ * ETag once it settled. A bump that fails leaves the old stamp in place; responses
+ * derived from it carry the date in their ETag, which bounds how long they can be
+ * revalidated.</p>
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class DataVersionListener {
+
+    private final DataVersions dataVersions;
+
+    @TransactionalEventListener
+    public void onTransactionsChanged(TransactionsChangedEvent event) {
+        bump(event.userId(), DataAggregate.TRANSACTIONS);
+    }
+
+    @TransactionalEventListener
+    public void onRollupsChanged(RollupsChangedEvent event) {
+        event.userIds().forEach(userId -> bump(userId, DataAggregate.ROLLUPS));
+    }
+
+    private void bump(String userId, DataAggregate aggregate) {
+        try {
+            dataVersions.bump(userId, aggregate);
+        } catch (RuntimeException ex) {
+            log.warn("Could not bump the {} version of user {}: {}", aggregate.key(), userId, ex.getMessage());
+        }
+    }
+}
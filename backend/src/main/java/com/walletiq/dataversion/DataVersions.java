@@ -0,0 +1,24 @@
+package com.walletiq.dataversion;
+
+/**
+ * Per-user version stamps of {@link DataAggregate}s, bumped once a write to the
+ * aggregate committed.
+ * <p>A stamp is the time of its last bump in microseconds, or one past the stamp before
+ * if that is later, so it also tells how long ago the aggregate changed. Stamps are
+ * never reused, not even after one was evicted or the store restarted: a missing stamp
+ * starts at the current time, past every stamp handed out before as long as a user
+ * makes fewer than a million writes per second.</p>
+ */
+public interface DataVersions {
+
+    /**
+     * Current stamps of the user's aggregates, in the order asked for
+     */
+    long[] current(String userId, DataAggregate... aggregates);
+
+    /**
+     * Moves the stamp of the user's aggregate to the current time, and past every value
+     * read so far
+     */
+    void bump(String userId, DataAggregate aggregate);
+}
@@ -0,0 +1,48 @@
+package com.walletiq.dataversion;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Stamps kept in memory, for a single node.
+ * <p>Stamps idle for the time-to-live, or beyond the maximum size, are evicted and
+ * start over from the clock.</p>
+ */
+public class LocalDataVersions implements DataVersions {
+
+    private final Cache<String, AtomicLong> stamps;
+
+    public LocalDataVersions(long maximumSize, Duration timeToLive) {
+        this.stamps = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterAccess(timeToLive)
+                .build();
+    }
+
+    @Override
+    public long[] current(String userId, DataAggregate... aggregates) {
+        long[] versions = new long[aggregates.length];
+        for (int i = 0; i < aggregates.length; i++) {
+            versions[i] = stamp(userId, aggregates[i]).get();
+        }
+        return versions;
+    }
+
+    @Override
+    public void bump(String userId, DataAggregate aggregate) {
+        stamp(userId, aggregate).accumulateAndGet(nowMicros(), (current, now) -> Math.max(current + 1, now));
+    }
+
+    private AtomicLong stamp(String userId, DataAggregate aggregate) {
+        return stamps.get(userId + ':' + aggregate.key(),
+                key -> new AtomicLong(nowMicros()));
+    }
+
+    private static long nowMicros() {
+        return TimeUnit.MILLISECONDS.toMicros(System.currentTimeMillis());
+    }
+}
@@ -0,0 +1,79 @@
+package com.walletiq.dataversion;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Stamps shared by every node, one Redis string per user and aggregate.
+ * <p>Reading all stamps of a request is one round trip. Missing stamps are started
+ * from the Redis server clock inside the same script, so nodes never disagree about
+ * them, and bumps take the time from there as well. A user's keys share a hash tag and
+ * thereby a cluster slot.</p>
+ */
+public class RedisDataVersions implements DataVersions {
+
+    private static final RedisScript<List> CURRENT_SCRIPT = new DefaultRedisScript<>("""
+            local t = redis.call('TIME')
+            local now = t[1] .. string.format('%06d', tonumber(t[2]))
+            local versions = {}
+            for i, key in ipairs(KEYS) do
+                local version = redis.call('GET', key)
+                if not version then
+                    version = now
+                    redis.call('SET', key, now, 'PX', ARGV[1])
+                end
+                versions[i] = version
+            end
+            return versions
+            """, List.class);
+
+    private static final RedisScript<Long> BUMP_SCRIPT = new DefaultRedisScript<>("""
+            local t = redis.call('TIME')
+            local now = tonumber(t[1]) * 1000000 + tonumber(t[2])
+            local version = math.max(tonumber(redis.call('GET', KEYS[1]) or '0') + 1, now)
+            redis.call('SET', KEYS[1], string.format('%d', version), 'PX', ARGV[1])
+            return version
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final String keyPrefix;
+    private final String timeToLive;
+
+    public RedisDataVersions(StringRedisTemplate redisTemplate, String keyPrefix, Duration timeToLive) {
+        this.redisTemplate = redisTemplate;
+        this.keyPrefix = keyPrefix;
+        this.timeToLive = Long.toString(timeToLive.toMillis());
+    }
+
+    @Override
+    public long[] current(String userId, DataAggregate... aggregates) {
+        List<String> keys = new ArrayList<>(aggregates.length);
+        for (DataAggregate aggregate : aggregates) {
+            keys.add(key(userId, aggregate));
+        }
+        List<?> result = redisTemplate.execute(CURRENT_SCRIPT, keys, timeToLive);
+
+        if (result == null || result.size() != aggregates.length) {
+            throw new IllegalStateException("Unexpected data version script result: " + result);
+        }
+        long[] versions = new long[aggregates.length];
+        for (int i = 0; i < versions.length; i++) {
+            versions[i] = Long.parseLong(result.get(i).toString());
+        }
+        return versions;
+    }
+
+    @Override
+    public void bump(String userId, DataAggregate aggregate) {
+        redisTemplate.execute(BUMP_SCRIPT, List.of(key(userId, aggregate)), timeToLive);
+    }
+
+    private String key(String userId, DataAggregate aggregate) {
+        return keyPrefix + '{' + userId + "}:" + aggregate.key();
+    }
+}
@@ -0,0 +1,28 @@
+package com.walletiq.diagnostics;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * {@code /actuator/pinning}, virtual thread pinning locations recorded by {@link PinningMonitor}
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.diagnostics.pinning", name = "enabled", havingValue = "true")
+@Endpoint(id = "pinning")
+public class PinningEndpoint {
+
+    private final PinningMonitor monitor;
+
+    public PinningEndpoint(PinningMonitor monitor) {
+        this.monitor = monitor;
+    }
+
+    @ReadOperation
+    public List<PinningReport> pinning() {
+        return monitor.report();
+    }
+}
@@ -0,0 +1,148 @@
+package com.walletiq.diagnostics;
+
+import com.walletiq.config.properties.PinningProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Reports virtual threads pinned to their carrier thread.
+ * <p>A virtual thread that blocks inside {@code synchronized} or a native frame keeps
+ * its carrier busy, and with only as many carriers as cores a few of those stall every
+ * other request. This keeps an in-process JFR stream on {@code jdk.VirtualThreadPinned}
+ * and attributes each event to the innermost {@code com.walletiq} frame, falling back
+ * to the top frame when the pin happens entirely in library code.</p>
+ * <p>Each location is logged once, counted in {@code jvm.threads.virtual.pinned} and
+ * listed by the {@code pinning} actuator endpoint.</p>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.diagnostics.pinning", name = "enabled", havingValue = "true")
+public class PinningMonitor implements SmartLifecycle {
+    private static final String EVENT = "jdk.VirtualThreadPinned";
+    private static final String APP_PACKAGE = "com.walletiq.";
+    private static final String OTHER = "other";
+    private static final int REPORTED_FRAMES = 8;
+
+    private final PinningProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentHashMap<String, Location> locations = new ConcurrentHashMap<>();
+    private volatile RecordingStream stream;
+
+    public PinningMonitor(PinningProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void start() {
+        RecordingStream recording = new RecordingStream();
+        recording.enable(EVENT).withThreshold(properties.threshold()).withStackTrace();
+        recording.onEvent(EVENT, this::record);
+        recording.startAsync();
+        stream = recording;
+        log.info("Virtual thread pinning detection started (threshold {} ms)", properties.threshold().toMillis());
+    }
+
+    @Override
+    public void stop() {
+        RecordingStream recording = stream;
+        stream = null;
+        if (recording != null) {
+            recording.close();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return stream != null;
+    }
+
+    /**
+     * Pinning locations seen so far, most frequent first
+     */
+    public List<PinningReport> report() {
+        return locations.values().stream()
+                .map(Location::toReport)
+                .sorted(Comparator.comparingLong(PinningReport::count).reversed())
+                .toList();
+    }
+
+    /* ---------------- Helper ---------------- */
+
+    void record(RecordedEvent event) {
+        RecordedStackTrace trace = event.getStackTrace();
+        List<RecordedFrame> frames = trace == null ? List.of() : trace.getFrames();
+        String key = locate(frames);
+        if (!locations.containsKey(key) && locations.size() >= properties.maxLocations()) {
+            key = OTHER;
+        }
+
+        Location location = locations.computeIfAbsent(key, name -> {
+            List<String> stack = frames.stream().limit(REPORTED_FRAMES).map(PinningMonitor::describe).toList();
+            log.warn("Virtual thread pinned for {} ms at {}\n\t{}", event.getDuration().toMillis(), name,
+                    String.join("\n\t", stack));
+            return new Location(name, stack, Counter.builder("jvm.threads.virtual.pinned")
+                    .description("Virtual thread pinning events above the configured threshold")
+                    .tag("location", name)
+                    .register(meterRegistry));
+        });
+        location.record(event.getDuration());
+    }
+
+    private static String locate(List<RecordedFrame> frames) {
+        for (RecordedFrame frame : frames) {
+            if (frame.getMethod().getType().getName().startsWith(APP_PACKAGE)) {
+                return describe(frame);
+            }
+        }
+        return frames.isEmpty() ? "unknown" : describe(frames.getFirst());
+    }
+
+    private static String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+
+    private static final class Location {
+        private final String name;
+        private final List<String> stack;
+        private final Counter counter;
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        Location(String name, List<String> stack, Counter counter) {
+            this.name = name;
+            this.stack = stack;
+            this.counter = counter;
+        }
+
+        void record(Duration duration) {
+            long nanos = duration.toNanos();
+            counter.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+
+        PinningReport toReport() {
+            long count = (long) counter.count();
+            return new PinningReport(name, count,
+                    count == 0 ? 0 : totalNanos.sum() / count / 1_000_000.0,
+                    maxNanos.get() / 1_000_000.0,
+                    stack);
+        }
+    }
+}
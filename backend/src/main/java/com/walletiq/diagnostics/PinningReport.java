@@ -0,0 +1,21 @@
+package com.walletiq.diagnostics;
+
+import java.util.List;
+
+/**
+ * Aggregated pinning events for one code location
+ *
+ * @param location  Innermost application frame, or the top frame if none
+ * @param count     Events above the threshold
+ * @param avgMillis Average pinned time
+ * @param maxMillis Longest pinned time
+ * @param stack     Top frames of the first event seen at this location
+ */
+public record PinningReport(
+        String location,
+        long count,
+        double avgMillis,
+        double maxMillis,
+        List<String> stack
+) {
+}
@@ -0,0 +1,11 @@
+package com.walletiq.dto.request;
+
+/**
+ * Body of a question to the budget advisor
+ *
+ * @param question Free text about the user's own finances
+ */
+public record AdvisorRequest(
+        String question
+) {
+}
@@ -0,0 +1,21 @@
+package com.walletiq.dto.request;
+
+import com.walletiq.common.constant.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Body for creating or replacing a transaction
+ *
+ * @param amount   Positive amount with at most two decimals, the type gives the direction
+ * @param category Defaults to {@code UNCATEGORIZED}
+ */
+public record TransactionRequest(
+        TransactionType type,
+        BigDecimal amount,
+        String category,
+        String description,
+        LocalDate transactionDate
+) {
+}
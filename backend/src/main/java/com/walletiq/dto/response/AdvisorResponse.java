@@ -0,0 +1,16 @@
+package com.walletiq.dto.response;
+
+import java.time.Instant;
+
+/**
+ * Budget advisor answer
+ *
+ * @param cached      {@code true} if a similar question was answered before from the same data
+ * @param generatedAt When the model produced the answer
+ */
+public record AdvisorResponse(
+        String answer,
+        boolean cached,
+        Instant generatedAt
+) {
+}
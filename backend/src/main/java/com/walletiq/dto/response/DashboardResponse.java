@@ -0,0 +1,30 @@
+package com.walletiq.dto.response;
+
+import com.walletiq.common.constant.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Income and expense totals of a range of months, per month and per category
+ *
+ * @param months     Every month of the range, oldest first, including months without transactions
+ * @param categories Category totals over the whole range, largest first
+ */
+public record DashboardResponse(
+        YearMonth from,
+        YearMonth to,
+        BigDecimal totalIncome,
+        BigDecimal totalExpense,
+        BigDecimal net,
+        List<MonthlyTotal> months,
+        List<CategoryTotal> categories
+) {
+
+    public record MonthlyTotal(YearMonth month, BigDecimal income, BigDecimal expense) {
+    }
+
+    public record CategoryTotal(String category, TransactionType type, BigDecimal total, long count) {
+    }
+}
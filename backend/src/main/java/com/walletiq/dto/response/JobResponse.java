@@ -0,0 +1,52 @@
+package com.walletiq.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.walletiq.common.constant.JobStatus;
+import com.walletiq.common.constant.JobType;
+import com.walletiq.entity.Job;
+
+import java.time.LocalDateTime;
+
+/**
+ * Background job state as returned by the status endpoint
+ *
+ * @param progress Percentage done, {@code null} while the total is unknown
+ * @param result   Handler result once {@code COMPLETED}, already JSON
+ */
+public record JobResponse(
+        String id,
+        JobType type,
+        JobStatus status,
+        long processed,
+        Long total,
+        Integer progress,
+        @JsonRawValue String result,
+        String errorCode,
+        String errorMessage,
+        LocalDateTime createdAt,
+        LocalDateTime startedAt,
+        LocalDateTime finishedAt
+) {
+    public static JobResponse from(Job job) {
+        Integer progress = null;
+        if (job.getStatus() == JobStatus.COMPLETED) {
+            progress = 100;
+        } else if (job.getTotal() != null && job.getTotal() > 0) {
+            progress = (int) Math.min(99, job.getProcessed() * 100 / job.getTotal());
+        }
+        return new JobResponse(
+                job.getId(),
+                job.getType(),
+                job.getStatus(),
+                job.getProcessed(),
+                job.getTotal(),
+                progress,
+                job.getResult(),
+                job.getErrorCode(),
+                job.getErrorMessage(),
+                job.getCreatedAt(),
+                job.getStartedAt(),
+                job.getFinishedAt()
+        );
+    }
+}
@@ -0,0 +1,12 @@
+package com.walletiq.dto.response;
+
+/**
+ * Transaction found by a similarity search
+ *
+ * @param score Cosine similarity to the query, higher is closer
+ */
+public record TransactionMatchResponse(
+        TransactionResponse transaction,
+        float score
+) {
+}
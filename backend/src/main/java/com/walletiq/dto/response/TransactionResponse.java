@@ -0,0 +1,30 @@
+package com.walletiq.dto.response;
+
+import com.walletiq.common.constant.TransactionType;
+import com.walletiq.entity.Transaction;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Transaction as returned to clients
+ */
+public record TransactionResponse(
+        String id,
+        TransactionType type,
+        BigDecimal amount,
+        String category,
+        String description,
+        LocalDate transactionDate
+) {
+    public static TransactionResponse from(Transaction transaction) {
+        return new TransactionResponse(
+                transaction.getId(),
+                transaction.getType(),
+                transaction.getAmount(),
+                transaction.getCategory(),
+                transaction.getDescription(),
+                transaction.getTransactionDate()
+        );
+    }
+}
@@ -0,0 +1,28 @@
+package com.walletiq.embedding;
+
+import java.util.List;
+
+/**
+ * Turns text into fixed-size vectors for similarity search.
+ * <p>Vectors are unit length, so the dot product of two vectors is their cosine
+ * similarity. Vectors of different models, or of one model with a different
+ * {@link #dimensions()}, are not comparable.</p>
+ */
+public interface EmbeddingModel {
+
+    /**
+     * Identifies the model and its configuration
+     */
+    String name();
+
+    int dimensions();
+
+    /**
+     * @return one vector per text, in the same order
+     */
+    List<float[]> embed(List<String> texts);
+
+    default float[] embed(String text) {
+        return embed(List.of(text)).getFirst();
+    }
+}
@@ -0,0 +1,346 @@
+package com.walletiq.embedding;
+
+import com.walletiq.config.properties.EmbeddingProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Micro-batching stage in front of an embedding provider.
+ * <p>Keys of changed items are queued and a dispatcher hands them to the handler in
+ * batches: a batch leaves once {@code max-batch-size} keys are waiting, or once the
+ * oldest has waited {@code max-wait}. The handler loads the items, embeds them with one
+ * provider call and applies the vectors. At most {@code max-in-flight} batches run at
+ * once, each on its own virtual thread, and a failed batch is retried with exponential
+ * backoff and jitter before the handler is told it failed for good.</p>
+ * <p>A key that is already queued is not queued twice, and a key is never in two
+ * batches at once: a key changed while its batch is running waits for that batch to
+ * finish. Handlers can therefore read the item's current state and apply it without
+ * being overtaken by an older batch.</p>
+ * <p>Backpressure: while every in-flight slot is taken the dispatcher stops forming
+ * batches, the queue fills up, and {@link #submit} waits up to {@code submit-timeout}
+ * for room before it rejects the key.</p>
+ *
+ * @param <K> Key identifying an item, with value based equality
+ */
+@Slf4j
+public class EmbeddingPipeline<K> implements AutoCloseable {
+
+    /**
+     * Processes one batch, typically one embedding call for all of its items
+     */
+    public interface BatchHandler<K> {
+
+        void handle(List<K> batch) throws Exception;
+
+        /**
+         * Called once the last attempt of a batch failed
+         */
+        default void failed(List<K> batch, Exception error) {
+        }
+    }
+
+    private final String name;
+    private final EmbeddingProperties.PipelineProperties properties;
+    private final BatchHandler<K> handler;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+    // Guarded by lock. Enqueue time per key, oldest first
+    private final LinkedHashMap<K, Long> pending = new LinkedHashMap<>();
+    private final Set<K> inFlight = new HashSet<>();
+    private int runningBatches;
+    private volatile boolean running = true;
+
+    private final Thread dispatcher;
+    private final Timer latency;
+    private final DistributionSummary batchSizes;
+    private final Counter retries;
+    private final Counter failures;
+    private final Counter rejections;
+
+    public EmbeddingPipeline(String name, EmbeddingProperties.PipelineProperties properties,
+                             BatchHandler<K> handler, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.properties = properties;
+        this.handler = handler;
+
+        Tags tags = Tags.of("pipeline", name);
+        Gauge.builder("embedding.pipeline.queue.depth", this, EmbeddingPipeline::queued)
+                .tags(tags)
+                .description("Keys waiting for a batch")
+                .register(meterRegistry);
+        Gauge.builder("embedding.pipeline.in.flight", this, EmbeddingPipeline::inFlightBatches)
+                .tags(tags)
+                .description("Batches being embedded")
+                .register(meterRegistry);
+        Gauge.builder("embedding.pipeline.lag", this, pipeline -> pipeline.lagNanos() / 1e9)
+                .tags(tags)
+                .baseUnit("seconds")
+                .description("How long the oldest waiting key has been queued")
+                .register(meterRegistry);
+        this.latency = Timer.builder("embedding.pipeline.latency")
+                .tags(tags)
+                .description("Time from submit until the key's batch was applied")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("embedding.pipeline.batch.size")
+                .tags(tags)
+                .description("Keys per batch")
+                .register(meterRegistry);
+        this.retries = Counter.builder("embedding.pipeline.retries")
+                .tags(tags)
+                .description("Batch attempts that failed and were retried")
+                .register(meterRegistry);
+        this.failures = Counter.builder("embedding.pipeline.failed")
+                .tags(tags)
+                .description("Keys whose batch failed on every attempt")
+                .register(meterRegistry);
+        this.rejections = Counter.builder("embedding.pipeline.rejected")
+                .tags(tags)
+                .description("Keys rejected because the queue stayed full")
+                .register(meterRegistry);
+
+        this.dispatcher = Thread.ofVirtual().name("embedding-pipeline-" + name).start(this::dispatch);
+    }
+
+    /**
+     * Queues the key, waiting up to {@code submit-timeout} while the queue is full
+     *
+     * @return {@code false} if the key was rejected, the caller has to catch up some other way
+     */
+    public boolean submit(K key) {
+        long now = System.nanoTime();
+        long remaining = properties.submitTimeout().toNanos();
+        lock.lock();
+        try {
+            if (pending.containsKey(key)) {
+                return true;
+            }
+            while (running && pending.size() >= properties.maxQueued()) {
+                if (remaining <= 0) {
+                    rejections.increment();
+                    return false;
+                }
+                remaining = notFull.awaitNanos(remaining);
+            }
+            if (!running) {
+                rejections.increment();
+                return false;
+            }
+            pending.put(key, now);
+            changed.signalAll();
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            rejections.increment();
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int queued() {
+        lock.lock();
+        try {
+            return pending.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int inFlightBatches() {
+        lock.lock();
+        try {
+            return runningBatches;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stops dispatching and waits up to the given time for running batches, keys still
+     * queued are dropped
+     */
+    public void close(long timeout, TimeUnit unit) {
+        running = false;
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        lock.lock();
+        try {
+            changed.signalAll();
+            notFull.signalAll();
+            long remaining;
+            while (runningBatches > 0 && (remaining = deadline - System.nanoTime()) > 0) {
+                changed.awaitNanos(remaining);
+            }
+            if (!pending.isEmpty()) {
+                log.info("Embedding pipeline '{}' closed with {} key(s) still queued", name, pending.size());
+                pending.clear();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } finally {
+            lock.unlock();
+        }
+        dispatcher.interrupt();
+    }
+
+    @Override
+    public void close() {
+        close(properties.maxBackoff().toMillis() + 1_000, TimeUnit.MILLISECONDS);
+    }
+
+    /* ---------------- Dispatcher ---------------- */
+
+    private void dispatch() {
+        while (running) {
+            List<Map.Entry<K, Long>> batch;
+            lock.lock();
+            try {
+                batch = nextBatch();
+                if (batch == null) {
+                    continue;
+                }
+                runningBatches++;
+            } catch (InterruptedException ex) {
+                return;
+            } finally {
+                lock.unlock();
+            }
+            Thread.ofVirtual().name("embedding-batch-" + name).start(() -> run(batch));
+        }
+    }
+
+    /**
+     * Waits for a full batch, or for the oldest key to reach its deadline, and for a free
+     * in-flight slot. Called with the lock held.
+     *
+     * @return {@code null} if the pipeline was closed while waiting
+     */
+    private List<Map.Entry<K, Long>> nextBatch() throws InterruptedException {
+        long maxWait = properties.maxWait().toNanos();
+        while (running) {
+            if (runningBatches >= properties.maxInFlight()) {
+                changed.await();
+                continue;
+            }
+            int eligible = 0;
+            long oldest = 0;
+            for (Map.Entry<K, Long> entry : pending.entrySet()) {
+                if (!inFlight.contains(entry.getKey())) {
+                    if (eligible++ == 0) {
+                        oldest = entry.getValue();
+                    }
+                    if (eligible >= properties.maxBatchSize()) {
+                        break;
+                    }
+                }
+            }
+            if (eligible == 0) {
+                changed.await();
+                continue;
+            }
+            long wait = oldest + maxWait - System.nanoTime();
+            if (eligible < properties.maxBatchSize() && wait > 0) {
+                changed.awaitNanos(wait);
+                continue;
+            }
+            return take(properties.maxBatchSize());
+        }
+        return null;
+    }
+
+    private List<Map.Entry<K, Long>> take(int max) {
+        List<Map.Entry<K, Long>> batch = new ArrayList<>(max);
+        Iterator<Map.Entry<K, Long>> iterator = pending.entrySet().iterator();
+        while (iterator.hasNext() && batch.size() < max) {
+            Map.Entry<K, Long> entry = iterator.next();
+            if (inFlight.add(entry.getKey())) {
+                batch.add(Map.entry(entry.getKey(), entry.getValue()));
+                iterator.remove();
+            }
+        }
+        notFull.signalAll();
+        return batch;
+    }
+
+    /* ---------------- Batch ---------------- */
+
+    private void run(List<Map.Entry<K, Long>> batch) {
+        List<K> keys = batch.stream().map(Map.Entry::getKey).toList();
+        batchSizes.record(keys.size());
+        try {
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    handler.handle(keys);
+                    long now = System.nanoTime();
+                    batch.forEach(entry -> latency.record(now - entry.getValue(), TimeUnit.NANOSECONDS));
+                    return;
+                } catch (Exception ex) {
+                    if (attempt >= properties.maxAttempts() || !running) {
+                        fail(keys, ex);
+                        return;
+                    }
+                    retries.increment();
+                    log.debug("Embedding batch of {} key(s) failed (attempt {}), retrying: {}", keys.size(), attempt,
+                            ex.getMessage());
+                    Thread.sleep(backoffMillis(attempt));
+                }
+            }
+        } catch (InterruptedException ex) {
+            fail(keys, ex);
+        } finally {
+            lock.lock();
+            try {
+                keys.forEach(inFlight::remove);
+                runningBatches--;
+                changed.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void fail(List<K> keys, Exception error) {
+        failures.increment(keys.size());
+        log.warn("Embedding batch of {} key(s) in pipeline '{}' failed: {}", keys.size(), name, error.getMessage());
+        try {
+            handler.failed(keys, error);
+        } catch (RuntimeException ex) {
+            log.warn("Failure handler of pipeline '{}' threw: {}", name, ex.getMessage());
+        }
+    }
+
+    // Full jitter: uniformly between zero and the exponential bound
+    private long backoffMillis(int attempt) {
+        long bound = Math.min(properties.maxBackoff().toMillis(),
+                properties.initialBackoff().toMillis() << Math.min(attempt - 1, 20));
+        return ThreadLocalRandom.current().nextLong(bound + 1);
+    }
+
+    private long lagNanos() {
+        lock.lock();
+        try {
+            return pending.isEmpty() ? 0 : System.nanoTime() - pending.firstEntry().getValue();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.walletiq.embedding;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Deterministic local stand-in for an embedding provider.
+ * <p>Words and their character trigrams are hashed into signed buckets (the hashing
+ * trick), so texts sharing words or word stems ("grocery", "groceries") end up close.
+ * It captures no meaning beyond that, but it needs no network, costs microseconds and
+ * always returns the same vector for the same text, which is what tests, benchmarks
+ * and offline development need.</p>
+ * <p>An optional latency is added to every call, one round trip regardless of the
+ * number of texts, so batching can be exercised as it would behave against a remote
+ * provider.</p>
+ */
+public class HashingEmbeddingModel implements EmbeddingModel {
+    private static final float WORD_WEIGHT = 1.0f;
+    private static final float TRIGRAM_WEIGHT = 0.5f;
+
+    private final int dimensions;
+    private final Duration latency;
+
+    public HashingEmbeddingModel(int dimensions) {
+        this(dimensions, Duration.ZERO);
+    }
+
+    public HashingEmbeddingModel(int dimensions, Duration latency) {
+        if (dimensions <= 0) {
+            throw new IllegalArgumentException("dimensions must be positive");
+        }
+        this.dimensions = dimensions;
+        this.latency = latency == null ? Duration.ZERO : latency;
+    }
+
+    @Override
+    public String name() {
+        return "local-hashing-" + dimensions;
+    }
+
+    @Override
+    public int dimensions() {
+        return dimensions;
+    }
+
+    @Override
+    public List<float[]> embed(List<String> texts) {
+        if (latency.isPositive()) {
+            try {
+                Thread.sleep(latency);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while embedding", ex);
+            }
+        }
+        List<float[]> vectors = new ArrayList<>(texts.size());
+        for (String text : texts) {
+            vectors.add(embedOne(text));
+        }
+        return vectors;
+    }
+
+    /* ---------------- Helper ---------------- */
+
+    private float[] embedOne(String text) {
+        float[] vector = new float[dimensions];
+        String normalized = text == null ? "" : text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= normalized.length(); i++) {
+            boolean wordChar = i < normalized.length() && Character.isLetterOrDigit(normalized.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                addWord(vector, normalized, start, i);
+                start = -1;
+            }
+        }
+        normalize(vector);
+        return vector;
+    }
+
+    private void addWord(float[] vector, String text, int start, int end) {
+        add(vector, hash(text, start, end, 0x9E3779B9), WORD_WEIGHT);
+        // Padded trigrams, "food" -> " fo", "foo", "ood", "od "
+        for (int i = start - 1; i + 3 <= end + 1; i++) {
+            int h = 0x85EBCA6B;
+            for (int j = i; j < i + 3; j++) {
+                char c = j < start || j >= end ? ' ' : text.charAt(j);
+                h = mix(h ^ c);
+            }
+            add(vector, h, TRIGRAM_WEIGHT);
+        }
+    }
+
+    private void add(float[] vector, int hash, float weight) {
+        int bucket = Math.floorMod(hash, dimensions);
+        // An independent bit picks the sign, so collisions cancel out instead of piling up
+        vector[bucket] += (mix(hash) & 1) == 0 ? weight : -weight;
+    }
+
+    private static int hash(String text, int start, int end, int seed) {
+        int h = seed;
+        for (int i = start; i < end; i++) {
+            h = mix(h ^ text.charAt(i));
+        }
+        return h;
+    }
+
+    // murmur3 finalizer
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    private static void normalize(float[] vector) {
+        double norm = 0;
+        for (float v : vector) {
+            norm += v * v;
+        }
+        if (norm == 0) {
+            // No words at all, any fixed unit vector will do
+            vector[0] = 1;
+            return;
+        }
+        float scale = (float) (1 / Math.sqrt(norm));
+        for (int i = 0; i < vector.length; i++) {
+            vector[i] *= scale;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.walletiq.entity;
+
+import com.walletiq.common.constant.JobStatus;
+import com.walletiq.common.constant.JobType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@Entity
+@Table(name = "jobs", indexes = {
+        @Index(name = "idx_jobs_status_finished", columnList = "status, finished_at")
+})
+public class Job extends BaseEntity {
+
+    @Column(name = "user_id", nullable = false)
+    private String userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false, length = 30)
+    private JobType type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private JobStatus status;
+
+    @Column(name = "processed", nullable = false)
+    private long processed;
+
+    @Column(name = "total")
+    private Long total;
+
+    /**
+     * Handler result serialized as JSON, returned verbatim by the status endpoint
+     */
+    @Column(name = "result", columnDefinition = "TEXT")
+    private String result;
+
+    @Column(name = "error_code", length = 100)
+    private String errorCode;
+
+    @Column(name = "error_message", length = 1000)
+    private String errorMessage;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    /**
+     * Node running the job, see {@code app.jobs.node-id}
+     */
+    @Column(name = "owner_node", length = 100)
+    private String ownerNode;
+
+    /**
+     * Last time the owner node confirmed the job is still queued or running
+     */
+    @Column(name = "heartbeat_at")
+    private LocalDateTime heartbeatAt;
+}
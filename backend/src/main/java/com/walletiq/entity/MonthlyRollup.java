@@ -0,0 +1,31 @@
+package com.walletiq.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+
+/**
+ * Sum and count of a user's transactions per (month, category, type).
+ * <p>Written only through {@code MonthlyRollupService}, in the same database
+ * transaction as the transaction rows it summarizes.</p>
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "monthly_rollups")
+public class MonthlyRollup {
+
+    @EmbeddedId
+    private MonthlyRollupId id;
+
+    @Column(name = "total", nullable = false, precision = 19, scale = 2)
+    private BigDecimal total;
+
+    @Column(name = "tx_count", nullable = false)
+    private long txCount;
+}
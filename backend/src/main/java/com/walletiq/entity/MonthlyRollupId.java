@@ -0,0 +1,38 @@
+package com.walletiq.entity;
+
+import com.walletiq.common.constant.TransactionType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Getter
+@Embeddable
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class MonthlyRollupId implements Serializable {
+
+    @Column(name = "user_id", nullable = false)
+    private String userId;
+
+    /**
+     * First day of the month
+     */
+    @Column(name = "month", nullable = false)
+    private LocalDate month;
+
+    @Column(name = "category", nullable = false, length = 100)
+    private String category;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false, length = 20)
+    private TransactionType type;
+}
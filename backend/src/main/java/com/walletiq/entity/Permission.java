@@ -0,0 +1,17 @@
+package com.walletiq.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Entity
+@Table(name = "permissions")
+public class Permission extends BaseEntity {
+
+    @Column(name = "name", nullable = false, unique = true)
+    private String name;
+}
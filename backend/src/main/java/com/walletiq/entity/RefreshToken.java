@@ -0,0 +1,49 @@
+package com.walletiq.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * One issued refresh token. Tokens rotated from the same login share a family, and
+ * the family is what gets revoked.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "refresh_tokens", indexes = {
+        @Index(name = "idx_refresh_tokens_family", columnList = "family_id"),
+        @Index(name = "idx_refresh_tokens_user", columnList = "user_id"),
+        @Index(name = "idx_refresh_tokens_expires", columnList = "expires_at")
+})
+public class RefreshToken extends BaseEntity {
+
+    @Column(name = "user_id", nullable = false)
+    private String userId;
+
+    @Column(name = "family_id", nullable = false, length = 26)
+    private String familyId;
+
+    /**
+     * Hex SHA-256 of the token's secret part, the secret itself is never stored
+     */
+    @Column(name = "token_hash", nullable = false, length = 64)
+    private String tokenHash;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    /**
+     * Set when the token was exchanged for its successor
+     */
+    @Column(name = "used_at")
+    private LocalDateTime usedAt;
+
+    @Column(name = "revoked_at")
+    private LocalDateTime revokedAt;
+}
@@ -1,8 +1,18 @@
 package com.walletiq.entity;
 
+import lombok.AllArgsConstructor;
+import lombok.Builder;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.Set;
 
 @Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
 public class User {
+    private String id;
     private String email;
+    private Set<String> roles;
 }
@@ -0,0 +1,28 @@
+package com.walletiq.exception;
+
+import com.walletiq.common.constant.ErrorType;
+import lombok.Getter;
+
+/**
+ * Base class for all exceptions that map to a well known {@link ErrorType}.
+ * <p>Handled by {@link GlobalExceptionHandler}, which turns it into an
+ * {@code ErrorResponse} with the matching HTTP status.</p>
+ */
+@Getter
+public class ApplicationException extends RuntimeException {
+
+    private final ErrorType errorType;
+    private final String code;
+
+    public ApplicationException(ErrorType errorType, String code, String message) {
+        super(message);
+        this.errorType = errorType;
+        this.code = code;
+    }
+
+    public ApplicationException(ErrorType errorType, String code, String message, Throwable cause) {
+        super(message, cause);
+        this.errorType = errorType;
+        this.code = code;
+    }
+}
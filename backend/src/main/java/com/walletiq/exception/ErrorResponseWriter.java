@@ -0,0 +1,101 @@
+package com.walletiq.exception;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.walletiq.common.response.ErrorResponse;
+import com.walletiq.common.response.ErrorResponseTemplate;
+import com.walletiq.common.util.RequestContextUtil;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Writes error bodies that bypass MVC's content negotiation: those of the security
+ * handlers, the rate limit interceptor and the pre-serialized exception handlers.
+ * <p>JSON, by far the common case, comes from the {@link ErrorResponseTemplate}. A client
+ * preferring CBOR or Smile in its {@code Accept} header gets the same
+ * {@link ErrorResponse} serialized in that format, as the exception handlers' regular
+ * responses are.</p>
+ */
+@Component
+public class ErrorResponseWriter {
+    private static final MediaType SMILE = MediaType.valueOf("application/x-jackson-smile");
+
+    private final ObjectMapper cborMapper;
+    private final ObjectMapper smileMapper;
+
+    public ErrorResponseWriter(MappingJackson2CborHttpMessageConverter cborConverter,
+                               MappingJackson2SmileHttpMessageConverter smileConverter) {
+        this.cborMapper = cborConverter.getObjectMapper();
+        this.smileMapper = smileConverter.getObjectMapper();
+    }
+
+    /**
+     * Writes the error of the template for the current request, with {@code Retry-After}
+     * if {@code retryAfter} is set
+     */
+    public void write(HttpServletRequest request, HttpServletResponse response, ErrorResponseTemplate template,
+                      String detail, Integer retryAfter) throws IOException {
+        String path = request.getRequestURI();
+        String traceId = RequestContextUtil.getOrGenerateRequestId();
+        MediaType binary = binaryFormat(request.getHeader(HttpHeaders.ACCEPT));
+        if (binary == null) {
+            template.write(response, detail, path, traceId, retryAfter);
+            return;
+        }
+
+        ErrorResponse.ErrorDetail body = ErrorResponse.ErrorDetail.builder()
+                .type(template.errorType())
+                .code(template.code())
+                .detail(detail)
+                .path(path)
+                .traceId(traceId)
+                .retryAfter(retryAfter)
+                .build();
+        response.setStatus(body.status());
+        response.setContentType(binary.toString());
+        if (retryAfter != null) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, retryAfter.toString());
+        }
+        (binary == SMILE ? smileMapper : cborMapper).writeValue(response.getOutputStream(), ErrorResponse.of(body));
+    }
+
+    /* ---------------- Helper ---------------- */
+
+    /**
+     * CBOR or Smile if the client prefers one of them over JSON, {@code null} for JSON
+     */
+    static MediaType binaryFormat(String accept) {
+        // Skips parsing for the usual JSON, wildcard and missing headers
+        if (accept == null || (!accept.contains("cbor") && !accept.contains("smile"))) {
+            return null;
+        }
+        List<MediaType> accepted;
+        try {
+            accepted = MediaType.parseMediaTypes(accept);
+            MimeTypeUtils.sortBySpecificity(accepted);
+        } catch (IllegalArgumentException ex) {
+            // Malformed or absurdly long header, answer in JSON
+            return null;
+        }
+        for (MediaType mediaType : accepted) {
+            if (mediaType.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+                return null;
+            }
+            if (MediaType.APPLICATION_CBOR.includes(mediaType)) {
+                return MediaType.APPLICATION_CBOR;
+            }
+            if (SMILE.includes(mediaType)) {
+                return SMILE;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,98 @@
+package com.walletiq.exception;
+
+import com.walletiq.common.constant.ErrorType;
+import com.walletiq.common.response.ErrorResponse;
+import com.walletiq.common.response.ErrorResponseTemplate;
+import com.walletiq.common.util.RequestContextUtil;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.io.IOException;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Translates exceptions into the standard {@link ErrorResponse} body
+ */
+@Slf4j
+@RestControllerAdvice
+@RequiredArgsConstructor
+public class GlobalExceptionHandler {
+    private static final int DATABASE_BUSY_RETRY_AFTER_SECONDS = 1;
+    private static final ErrorResponseTemplate DATABASE_BUSY =
+            ErrorResponseTemplate.of(ErrorType.SERVICE_UNAVAILABLE, "DATABASE.BUSY");
+    /**
+     * Rejections that come in floods (credential stuffing, retry storms, overload),
+     * written from pre-serialized templates
+     */
+    private static final Set<ErrorType> PRESERIALIZED = EnumSet.of(ErrorType.AUTHENTICATION_ERROR,
+            ErrorType.AUTHORIZATION_ERROR, ErrorType.RATE_LIMIT_ERROR, ErrorType.SERVICE_UNAVAILABLE);
+
+    private final ErrorResponseWriter errorResponseWriter;
+
+    @ExceptionHandler(RateLimitExceededException.class)
+    public void handleRateLimitExceeded(RateLimitExceededException ex, HttpServletRequest request,
+                                        HttpServletResponse response) throws IOException {
+        write(ex, request, response, ex.getRetryAfterSeconds());
+    }
+
+    @ExceptionHandler(LoginLockedException.class)
+    public void handleLoginLocked(LoginLockedException ex, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        write(ex, request, response, ex.getRetryAfterSeconds());
+    }
+
+    @ExceptionHandler(ApplicationException.class)
+    public ResponseEntity<ErrorResponse> handleApplicationException(ApplicationException ex, HttpServletRequest request,
+                                                                    HttpServletResponse response) throws IOException {
+        if (ex.getErrorType().getStatusCode() >= 500) {
+            log.error("Request failed: {}", ex.getMessage(), ex);
+        }
+        if (PRESERIALIZED.contains(ex.getErrorType())) {
+            write(ex, request, response, null);
+            // Body already written, a null entity marks the request as handled
+            return null;
+        }
+        ErrorResponse.ErrorDetail detail = baseDetail(ex).build();
+        return ResponseEntity.status(detail.status()).body(ErrorResponse.of(detail));
+    }
+
+    /**
+     * No connection within the limiter or pool timeout, the client should retry shortly
+     */
+    @ExceptionHandler({CannotGetJdbcConnectionException.class, CannotCreateTransactionException.class})
+    public void handleDatabaseBusy(Exception ex, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        log.warn("No database connection available: {}", ex.getMessage());
+        errorResponseWriter.write(request, response, DATABASE_BUSY, "The service is busy, please retry shortly",
+                DATABASE_BUSY_RETRY_AFTER_SECONDS);
+    }
+
+    /* ---------------- Helper ---------------- */
+
+    /**
+     * Writes the body from the template of the exception's type and code, skipping Jackson for JSON
+     */
+    private void write(ApplicationException ex, HttpServletRequest request, HttpServletResponse response,
+                       Integer retryAfter) throws IOException {
+        errorResponseWriter.write(request, response, ErrorResponseTemplate.of(ex.getErrorType(), ex.getCode()),
+                ex.getMessage(), retryAfter);
+    }
+
+    private ErrorResponse.ErrorDetail.Builder baseDetail(ApplicationException ex) {
+        ErrorType errorType = ex.getErrorType();
+        return ErrorResponse.ErrorDetail.builder()
+                .type(errorType)
+                .code(ex.getCode())
+                .detail(ex.getMessage())
+                .path(RequestContextUtil.getCurrentRequestPath())
+                .traceId(RequestContextUtil.getOrGenerateRequestId());
+    }
+}
@@ -0,0 +1,17 @@
+package com.walletiq.exception;
+
+import com.walletiq.common.constant.ErrorType;
+
+/**
+ * Thrown when a JWT is malformed, badly signed, expired or revoked
+ */
+public class InvalidTokenException extends ApplicationException {
+
+    public InvalidTokenException(String message) {
+        super(ErrorType.AUTHENTICATION_ERROR, "AUTH.INVALID_TOKEN", message);
+    }
+
+    public InvalidTokenException(String message, Throwable cause) {
+        super(ErrorType.AUTHENTICATION_ERROR, "AUTH.INVALID_TOKEN", message, cause);
+    }
+}
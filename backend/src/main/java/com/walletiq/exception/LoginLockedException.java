@@ -0,0 +1,21 @@
+package com.walletiq.exception;
+
+import com.walletiq.common.constant.ErrorType;
+import lombok.Getter;
+
+/**
+ * Thrown when a login is refused because of too many recent failures, for the
+ * account ({@code 401}) or for the client address ({@code 429})
+ */
+@Getter
+public class LoginLockedException extends ApplicationException {
+    public static final String ACCOUNT_LOCKED = "AUTH.ACCOUNT_LOCKED";
+    public static final String TOO_MANY_ATTEMPTS = "AUTH.TOO_MANY_ATTEMPTS";
+
+    private final int retryAfterSeconds;
+
+    public LoginLockedException(ErrorType errorType, String code, String message, int retryAfterSeconds) {
+        super(errorType, code, message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
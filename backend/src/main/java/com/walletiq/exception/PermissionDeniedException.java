@@ -0,0 +1,13 @@
+package com.walletiq.exception;
+
+import com.walletiq.common.constant.ErrorType;
+
+/**
+ * Thrown when the caller lacks a permission declared by {@code @RequirePermission}
+ */
+public class PermissionDeniedException extends ApplicationException {
+
+    public PermissionDeniedException(String message) {
+        super(ErrorType.AUTHORIZATION_ERROR, "AUTH.PERMISSION_DENIED", message);
+    }
+}
@@ -0,0 +1,19 @@
+package com.walletiq.exception;
+
+import com.walletiq.common.constant.ErrorType;
+import lombok.Getter;
+
+/**
+ * Thrown when a caller exceeds the limit declared by {@code @RateLimited}
+ */
+@Getter
+public class RateLimitExceededException extends ApplicationException {
+    public static final String CODE = "RATE_LIMIT.EXCEEDED";
+
+    private final int retryAfterSeconds;
+
+    public RateLimitExceededException(String message, int retryAfterSeconds) {
+        super(ErrorType.RATE_LIMIT_ERROR, CODE, message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
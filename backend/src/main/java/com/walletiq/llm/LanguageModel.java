@@ -0,0 +1,53 @@
+package com.walletiq.llm;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Generates text from a prompt, the answering step of the advisor.
+ * <p>Calls are slow (seconds) and billed per token, callers should avoid repeating
+ * them for questions they already answered.</p>
+ */
+public interface LanguageModel {
+
+    /**
+     * Receives generated text as it is produced
+     */
+    @FunctionalInterface
+    interface TokenSink {
+
+        /**
+         * @throws IOException if the text can no longer be delivered, generation stops
+         */
+        void accept(String token) throws IOException;
+    }
+
+    /**
+     * Identifies the model and its configuration
+     */
+    String name();
+
+    /**
+     * Generates the answer to the prompt, handing every token to the sink as soon as the
+     * model produced it. Blocks the calling thread until the answer is complete.
+     * <p>Interrupting the calling thread cancels the generation upstream, the call then
+     * throws a {@link java.util.concurrent.CancellationException}. Model failures are
+     * unchecked.</p>
+     *
+     * @throws IOException the sink's exception, generation was stopped
+     */
+    void stream(String prompt, TokenSink sink) throws IOException;
+
+    /**
+     * @return the complete answer to the prompt
+     */
+    default String complete(String prompt) {
+        StringBuilder answer = new StringBuilder();
+        try {
+            stream(prompt, answer::append);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return answer.toString();
+    }
+}
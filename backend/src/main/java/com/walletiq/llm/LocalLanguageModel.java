@@ -0,0 +1,73 @@
+package com.walletiq.llm;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Deterministic local stand-in for a hosted language model.
+ * <p>It answers by restating the facts of the prompt, its lines starting with
+ * {@code "- "}, so the advisor can be developed and load tested without network or
+ * API keys. Tokens are words with their trailing whitespace, emitted after
+ * {@code firstTokenDelay} and then every {@code tokenDelay}, to mimic the time to first
+ * token and the generation speed of a real model.</p>
+ */
+public class LocalLanguageModel implements LanguageModel {
+    private static final int MAX_FACTS = 8;
+    private static final Pattern TOKEN = Pattern.compile("\\S+\\s*|\\s+");
+
+    private final Duration firstTokenDelay;
+    private final Duration tokenDelay;
+
+    public LocalLanguageModel(Duration firstTokenDelay, Duration tokenDelay) {
+        this.firstTokenDelay = firstTokenDelay == null ? Duration.ZERO : firstTokenDelay;
+        this.tokenDelay = tokenDelay == null ? Duration.ZERO : tokenDelay;
+    }
+
+    @Override
+    public String name() {
+        return "local-echo";
+    }
+
+    @Override
+    public void stream(String prompt, TokenSink sink) throws IOException {
+        Matcher tokens = TOKEN.matcher(answer(prompt));
+        Duration delay = firstTokenDelay;
+        while (tokens.find()) {
+            pause(delay);
+            sink.accept(tokens.group());
+            delay = tokenDelay;
+        }
+    }
+
+    /* ---------------- Helper ---------------- */
+
+    private static String answer(String prompt) {
+        List<String> facts = prompt.lines()
+                .filter(line -> line.startsWith("- "))
+                .limit(MAX_FACTS)
+                .toList();
+        if (facts.isEmpty()) {
+            return "I could not find any transactions that help answer this question.";
+        }
+        StringBuilder answer = new StringBuilder("Here is what your records show:");
+        facts.forEach(fact -> answer.append('\n').append(fact));
+        return answer.toString();
+    }
+
+    private static void pause(Duration delay) {
+        try {
+            if (delay.isPositive()) {
+                Thread.sleep(delay);
+            } else if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Generation cancelled");
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.walletiq.metrics;
+
+/**
+ * Time a request spent in phases worth telling apart from the rest of its handling:
+ * executing JDBC statements and writing the JSON body.
+ * <p>Bound to the thread handling the request, so the code measuring a phase needs no
+ * reference to the request. Work the request hands to other threads is not counted.
+ * Nothing is measured on threads that are not handling a request.</p>
+ */
+public final class RequestPhases {
+    private static final ThreadLocal<RequestPhases> CURRENT = new ThreadLocal<>();
+
+    private long databaseNanos;
+    private long serializationNanos;
+
+    private RequestPhases() {
+    }
+
+    /**
+     * Starts measuring a request on the calling thread
+     */
+    public static RequestPhases begin() {
+        RequestPhases phases = new RequestPhases();
+        CURRENT.set(phases);
+        return phases;
+    }
+
+    /**
+     * Continues measuring a request on the thread of its async dispatch
+     */
+    public static void resume(RequestPhases phases) {
+        CURRENT.set(phases);
+    }
+
+    /**
+     * Stops measuring on the calling thread
+     *
+     * @return the phases measured so far, {@code null} if no request was being measured
+     */
+    public static RequestPhases end() {
+        RequestPhases phases = CURRENT.get();
+        if (phases != null) {
+            CURRENT.remove();
+        }
+        return phases;
+    }
+
+    /**
+     * The request measured on the calling thread, {@code null} if there is none
+     */
+    public static RequestPhases current() {
+        return CURRENT.get();
+    }
+
+    public void addDatabase(long nanos) {
+        databaseNanos += nanos;
+    }
+
+    public void addSerialization(long nanos) {
+        serializationNanos += nanos;
+    }
+
+    public long databaseNanos() {
+        return databaseNanos;
+    }
+
+    public long serializationNanos() {
+        return serializationNanos;
+    }
+}
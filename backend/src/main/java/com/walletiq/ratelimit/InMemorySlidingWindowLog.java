@@ -0,0 +1,42 @@
+package com.walletiq.ratelimit;
+
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Local stand-in for {@link RedisSlidingWindowLog} with identical semantics.
+ * <p>Used by tests and for running the distributed mode without a Redis server.
+ * Every key is guarded by its own monitor, mirroring the atomicity of the Lua script.</p>
+ */
+public class InMemorySlidingWindowLog implements SlidingWindowLog {
+
+    private final Map<String, ArrayDeque<Long>> logs = new ConcurrentHashMap<>();
+    private final LongSupplier clock;
+
+    public InMemorySlidingWindowLog() {
+        this(System::currentTimeMillis);
+    }
+
+    public InMemorySlidingWindowLog(LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public Result admit(String key, int limit, long windowMillis) {
+        ArrayDeque<Long> log = logs.computeIfAbsent(key, k -> new ArrayDeque<>());
+        synchronized (log) {
+            long now = clock.getAsLong();
+            while (!log.isEmpty() && log.peekFirst() <= now - windowMillis) {
+                log.pollFirst();
+            }
+            boolean admitted = log.size() < limit;
+            if (admitted) {
+                log.addLast(now);
+            }
+            long oldest = log.isEmpty() ? now : log.peekFirst();
+            return new Result(admitted, log.size(), now, oldest);
+        }
+    }
+}
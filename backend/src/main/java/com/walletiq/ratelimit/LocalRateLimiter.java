@@ -0,0 +1,92 @@
+package com.walletiq.ratelimit;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * In-memory, per node rate limiter based on GCRA (Generic Cell Rate Algorithm).
+ * <p>Each key holds a single {@link AtomicLong} with its "theoretical arrival time"
+ * (TAT). A request advances the TAT by one emission interval ({@code window / limit})
+ * and is admitted if the new TAT is no further than one window ahead of now. This
+ * behaves like a token bucket of capacity {@code limit} refilled continuously.</p>
+ * <p>Buckets live in a {@link ConcurrentHashMap}, whose bins are striped, and are
+ * updated with a CAS loop, so the hot path takes no locks. The only allocation is
+ * the bucket itself on the first request of a key.</p>
+ */
+public class LocalRateLimiter implements RateLimiter {
+
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final LongSupplier nanoClock;
+    private final LongSupplier epochMillisClock;
+
+    public LocalRateLimiter() {
+        this(System::nanoTime, System::currentTimeMillis);
+    }
+
+    LocalRateLimiter(LongSupplier nanoClock, LongSupplier epochMillisClock) {
+        this.nanoClock = nanoClock;
+        this.epochMillisClock = epochMillisClock;
+    }
+
+    @Override
+    public RateLimitDecision tryAcquire(String key, int limit, long windowMillis) {
+        long windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+        long interval = windowNanos / limit;
+
+        AtomicLong tat = buckets.get(key);
+        if (tat == null) {
+            tat = buckets.computeIfAbsent(key, k -> new AtomicLong(Long.MIN_VALUE));
+        }
+
+        while (true) {
+            long now = nanoClock.getAsLong();
+            long current = tat.get();
+            long base = current == Long.MIN_VALUE || current - now < 0 ? now : current;
+            long next = base + interval;
+            long ahead = next - now;
+
+            if (ahead > windowNanos) {
+                long retryNanos = ahead - windowNanos;
+                return RateLimitDecision.reject(limit, resetEpochSeconds(base - now),
+                        (int) ceilSeconds(retryNanos));
+            }
+            if (tat.compareAndSet(current, next)) {
+                int remaining = (int) ((windowNanos - ahead) / interval);
+                return RateLimitDecision.allow(limit, remaining, resetEpochSeconds(ahead));
+            }
+        }
+    }
+
+    /**
+     * Removes buckets that are fully replenished, they are indistinguishable from
+     * a fresh bucket. A request racing with the removal may update a detached
+     * bucket, which at worst admits one extra request for that key.
+     */
+    public void evictIdle() {
+        long now = nanoClock.getAsLong();
+        buckets.values().removeIf(tat -> {
+            long current = tat.get();
+            return current == Long.MIN_VALUE || current - now <= 0;
+        });
+    }
+
+    /**
+     * Number of keys currently tracked
+     */
+    public int size() {
+        return buckets.size();
+    }
+
+    /* ---------------- Helper ---------------- */
+
+    private long resetEpochSeconds(long nanosFromNow) {
+        long millis = epochMillisClock.getAsLong() + TimeUnit.NANOSECONDS.toMillis(Math.max(0, nanosFromNow));
+        return (millis + 999) / 1000;
+    }
+
+    private static long ceilSeconds(long nanos) {
+        return (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+    }
+}
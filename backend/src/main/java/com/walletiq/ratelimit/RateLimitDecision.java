@@ -0,0 +1,26 @@
+package com.walletiq.ratelimit;
+
+/**
+ * Outcome of a single rate limit check.
+ *
+ * @param allowed           Whether the request may proceed
+ * @param limit             Maximum requests in the window
+ * @param remaining         Requests left in the current window
+ * @param resetEpochSeconds Epoch second at which the window is fully replenished
+ * @param retryAfterSeconds Seconds to wait before retrying (0 when allowed)
+ */
+public record RateLimitDecision(
+        boolean allowed,
+        int limit,
+        int remaining,
+        long resetEpochSeconds,
+        int retryAfterSeconds
+) {
+    public static RateLimitDecision allow(int limit, int remaining, long resetEpochSeconds) {
+        return new RateLimitDecision(true, limit, remaining, resetEpochSeconds, 0);
+    }
+
+    public static RateLimitDecision reject(int limit, long resetEpochSeconds, int retryAfterSeconds) {
+        return new RateLimitDecision(false, limit, 0, resetEpochSeconds, Math.max(1, retryAfterSeconds));
+    }
+}
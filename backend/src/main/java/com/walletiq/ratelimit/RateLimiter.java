@@ -0,0 +1,20 @@
+package com.walletiq.ratelimit;
+
+/**
+ * Admits or rejects a request for a given key against a limit of
+ * {@code limit} requests per {@code windowMillis}.
+ * <p>Implementations must be thread-safe and must not block the calling
+ * request thread for longer than a single store round trip.</p>
+ */
+public interface RateLimiter {
+
+    /**
+     * Records one request for {@code key} and returns whether it is admitted.
+     *
+     * @param key          Bucket key (endpoint + principal)
+     * @param limit        Maximum requests in the window
+     * @param windowMillis Window length in milliseconds
+     * @return the decision, including values for the rate limit headers
+     */
+    RateLimitDecision tryAcquire(String key, int limit, long windowMillis);
+}
@@ -0,0 +1,71 @@
+package com.walletiq.ratelimit;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Redis backed sliding window log, one sorted set per key scored by request time.
+ * <p>The whole check runs as a single Lua script using the Redis server clock, so
+ * the limit holds across every node of the cluster regardless of local clock skew.</p>
+ */
+public class RedisSlidingWindowLog implements SlidingWindowLog {
+
+    private static final RedisScript<List> SCRIPT = new DefaultRedisScript<>("""
+            local t = redis.call('TIME')
+            local now = tonumber(t[1]) * 1000 + math.floor(tonumber(t[2]) / 1000)
+            local window = tonumber(ARGV[1])
+            local limit = tonumber(ARGV[2])
+            redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', now - window)
+            local count = redis.call('ZCARD', KEYS[1])
+            local admitted = 0
+            if count < limit then
+                redis.call('ZADD', KEYS[1], now, now .. ':' .. ARGV[3])
+                redis.call('PEXPIRE', KEYS[1], window)
+                count = count + 1
+                admitted = 1
+            end
+            local oldest = redis.call('ZRANGE', KEYS[1], 0, 0, 'WITHSCORES')
+            local oldestScore = now
+            if oldest[2] then
+                oldestScore = tonumber(oldest[2])
+            end
+            return {admitted, count, now, oldestScore}
+            """, List.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final String keyPrefix;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final AtomicLong sequence = new AtomicLong();
+
+    public RedisSlidingWindowLog(StringRedisTemplate redisTemplate, String keyPrefix) {
+        this.redisTemplate = redisTemplate;
+        this.keyPrefix = keyPrefix;
+    }
+
+    @Override
+    public Result admit(String key, int limit, long windowMillis) {
+        // Member has to be unique, otherwise two requests in the same millisecond collapse into one
+        String member = nodeId + ':' + sequence.incrementAndGet();
+        List<?> result = redisTemplate.execute(SCRIPT, List.of(keyPrefix + key),
+                Long.toString(windowMillis), Integer.toString(limit), member);
+
+        if (result == null || result.size() < 4) {
+            throw new IllegalStateException("Unexpected rate limit script result: " + result);
+        }
+        return new Result(
+                toLong(result.get(0)) == 1L,
+                (int) toLong(result.get(1)),
+                toLong(result.get(2)),
+                toLong(result.get(3))
+        );
+    }
+
+    private static long toLong(Object value) {
+        return value instanceof Number number ? number.longValue() : Long.parseLong(value.toString());
+    }
+}
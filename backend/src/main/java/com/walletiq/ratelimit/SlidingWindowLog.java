@@ -0,0 +1,30 @@
+package com.walletiq.ratelimit;
+
+/**
+ * Shared store of request timestamps used by {@link SlidingWindowRateLimiter}.
+ * <p>{@link #admit} must trim expired entries, count, and conditionally record the
+ * request as one atomic step, so that concurrent nodes never admit more than
+ * {@code limit} requests within any window.</p>
+ */
+public interface SlidingWindowLog {
+
+    /**
+     * Atomically admits a request if fewer than {@code limit} requests were
+     * recorded for {@code key} in the last {@code windowMillis}.
+     */
+    Result admit(String key, int limit, long windowMillis);
+
+    /**
+     * @param admitted     Whether the request was recorded
+     * @param count        Requests in the window after this call
+     * @param nowMillis    Store clock at the time of the call (epoch millis)
+     * @param oldestMillis Timestamp of the oldest request still in the window
+     */
+    record Result(
+            boolean admitted,
+            int count,
+            long nowMillis,
+            long oldestMillis
+    ) {
+    }
+}
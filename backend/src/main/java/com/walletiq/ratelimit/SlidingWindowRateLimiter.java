@@ -0,0 +1,41 @@
+package com.walletiq.ratelimit;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Cluster-wide rate limiter on top of a shared {@link SlidingWindowLog}.
+ * <p>If the shared store cannot be reached the request is checked against the
+ * {@code fallback} limiter instead, so an outage of the store degrades to per node
+ * limits rather than rejecting or admitting everything.</p>
+ */
+@Slf4j
+public class SlidingWindowRateLimiter implements RateLimiter {
+
+    private final SlidingWindowLog windowLog;
+    private final RateLimiter fallback;
+
+    public SlidingWindowRateLimiter(SlidingWindowLog windowLog, RateLimiter fallback) {
+        this.windowLog = windowLog;
+        this.fallback = fallback;
+    }
+
+    @Override
+    public RateLimitDecision tryAcquire(String key, int limit, long windowMillis) {
+        SlidingWindowLog.Result result;
+        try {
+            result = windowLog.admit(key, limit, windowMillis);
+        } catch (RuntimeException ex) {
+            log.warn("Shared rate limit store unavailable, using local limits: {}", ex.getMessage());
+            return fallback.tryAcquire(key, limit, windowMillis);
+        }
+
+        // The window frees its next slot once the oldest recorded request expires
+        long resetMillis = result.oldestMillis() + windowMillis;
+        long resetEpochSeconds = (resetMillis + 999) / 1000;
+        if (result.admitted()) {
+            return RateLimitDecision.allow(limit, Math.max(0, limit - result.count()), resetEpochSeconds);
+        }
+        long retryMillis = resetMillis - result.nowMillis();
+        return RateLimitDecision.reject(limit, resetEpochSeconds, (int) ((retryMillis + 999) / 1000));
+    }
+}
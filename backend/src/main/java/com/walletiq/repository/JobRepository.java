@@ -0,0 +1,59 @@
+package com.walletiq.repository;
+
+import com.walletiq.common.constant.JobStatus;
+import com.walletiq.entity.Job;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+
+public interface JobRepository extends JpaRepository<Job, String> {
+
+    Optional<Job> findByIdAndUserId(String id, String userId);
+
+    /**
+     * Progress updates bypass the persistence context, they are frequent and only touch two columns.
+     * Committed on their own so pollers see progress while the job's work transaction is still open.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Modifying
+    @Query("UPDATE Job j SET j.processed = :processed, j.total = :total WHERE j.id = :id")
+    int updateProgress(@Param("id") String id, @Param("processed") long processed, @Param("total") Long total);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Job j SET j.status = :failed, j.errorCode = :errorCode, j.errorMessage = :errorMessage, "
+            + "j.finishedAt = :now WHERE j.status IN :statuses AND j.ownerNode = :owner")
+    int failOwnedBy(@Param("owner") String owner, @Param("statuses") Collection<JobStatus> statuses,
+                    @Param("failed") JobStatus failed, @Param("errorCode") String errorCode,
+                    @Param("errorMessage") String errorMessage, @Param("now") LocalDateTime now);
+
+    /**
+     * Fails jobs whose owner stopped confirming them, it is gone for good (or under a new node id).
+     * Jobs created before owners were recorded count from their creation time
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Job j SET j.status = :failed, j.errorCode = :errorCode, j.errorMessage = :errorMessage, "
+            + "j.finishedAt = :now WHERE j.status IN :statuses AND coalesce(j.heartbeatAt, j.createdAt) < :before")
+    int failAbandoned(@Param("before") LocalDateTime before, @Param("statuses") Collection<JobStatus> statuses,
+                      @Param("failed") JobStatus failed, @Param("errorCode") String errorCode,
+                      @Param("errorMessage") String errorMessage, @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Job j SET j.heartbeatAt = :now WHERE j.status IN :statuses AND j.ownerNode = :owner")
+    int heartbeat(@Param("owner") String owner, @Param("statuses") Collection<JobStatus> statuses,
+                  @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM Job j WHERE j.status IN :statuses AND j.finishedAt < :before")
+    int deleteFinishedBefore(@Param("statuses") Collection<JobStatus> statuses, @Param("before") LocalDateTime before);
+}
@@ -0,0 +1,26 @@
+package com.walletiq.repository;
+
+import com.walletiq.entity.MonthlyRollup;
+import com.walletiq.entity.MonthlyRollupId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface MonthlyRollupRepository extends JpaRepository<MonthlyRollup, MonthlyRollupId> {
+
+    /**
+     * Rollup rows of a user between two months (inclusive), served by the primary key
+     */
+    @Query("""
+            select r from MonthlyRollup r
+            where r.id.userId = :userId
+              and r.id.month between :from and :to
+            order by r.id.month
+            """)
+    List<MonthlyRollup> findByUserAndMonths(@Param("userId") String userId,
+                                            @Param("from") LocalDate from,
+                                            @Param("to") LocalDate to);
+}
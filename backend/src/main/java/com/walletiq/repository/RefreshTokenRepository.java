@@ -0,0 +1,43 @@
+package com.walletiq.repository;
+
+import com.walletiq.entity.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, String> {
+
+    /**
+     * Claims the token for rotation, only one caller can ever get {@code 1} back for a token
+     */
+    @Modifying
+    @Query("UPDATE RefreshToken t SET t.usedAt = :now WHERE t.id = :id AND t.usedAt IS NULL AND t.revokedAt IS NULL")
+    int markUsed(@Param("id") String id, @Param("now") LocalDateTime now);
+
+    @Query("SELECT DISTINCT t.familyId FROM RefreshToken t "
+            + "WHERE t.userId = :userId AND t.revokedAt IS NULL AND t.expiresAt > :now")
+    List<String> findActiveFamilies(@Param("userId") String userId, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE RefreshToken t SET t.revokedAt = :now WHERE t.familyId IN :familyIds AND t.revokedAt IS NULL")
+    int revokeFamilies(@Param("familyIds") List<String> familyIds, @Param("now") LocalDateTime now);
+
+    /**
+     * Families with a revoked token that could still be presented, tokens of a family
+     * are revoked together
+     */
+    @Query("SELECT DISTINCT t.familyId FROM RefreshToken t WHERE t.revokedAt IS NOT NULL AND t.expiresAt > :now")
+    List<String> findRevokedFamilies(@Param("now") LocalDateTime now);
+
+    boolean existsByFamilyIdAndRevokedAtIsNotNull(String familyId);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM RefreshToken t WHERE t.expiresAt < :before")
+    int deleteExpiredBefore(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,29 @@
+package com.walletiq.repository;
+
+import com.walletiq.entity.Role;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface RoleRepository extends JpaRepository<Role, String> {
+
+    Optional<Role> findByName(String name);
+
+    /**
+     * Every (role, permission) grant, roles without permissions are included
+     * with a {@code null} permission
+     */
+    @Query("""
+            select r.name as role, p.name as permission
+            from Role r left join r.permissions p
+            """)
+    List<RolePermissionView> findAllGrants();
+
+    interface RolePermissionView {
+        String getRole();
+
+        String getPermission();
+    }
+}
@@ -0,0 +1,59 @@
+package com.walletiq.repository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+
+/**
+ * Approximate number of transactions per user, taken from PostgreSQL planner
+ * statistics instead of {@code COUNT(*)}.
+ * <p>The planner's row estimate is obtained with {@code EXPLAIN}, which does not touch
+ * the table, and is cached per user for a few minutes. The figure is meant for
+ * "about N results" style UI hints, never for arithmetic.</p>
+ */
+@Slf4j
+@Repository
+public class TransactionCountEstimator {
+    private static final String ESTIMATE_SQL =
+            "EXPLAIN (FORMAT JSON) SELECT 1 FROM transactions WHERE user_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final Cache<String, Long> estimates = Caffeine.newBuilder()
+            .maximumSize(100_000)
+            .expireAfterWrite(Duration.ofMinutes(10))
+            .build();
+
+    public TransactionCountEstimator(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Estimated number of transactions of the user, or {@code null} if unavailable
+     */
+    public Long estimate(String userId) {
+        return estimates.get(userId, this::queryPlanner);
+    }
+
+    public void invalidate(String userId) {
+        estimates.invalidate(userId);
+    }
+
+    private Long queryPlanner(String userId) {
+        try {
+            String plan = jdbcTemplate.queryForObject(ESTIMATE_SQL, String.class, userId);
+            JsonNode root = objectMapper.readTree(plan);
+            return root.path(0).path("Plan").path("Plan Rows").asLong();
+        } catch (Exception ex) {
+            log.debug("Unable to estimate transaction count for {}: {}", userId, ex.getMessage());
+            return null;
+        }
+    }
+}
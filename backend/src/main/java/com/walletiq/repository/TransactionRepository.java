@@ -0,0 +1,51 @@
+package com.walletiq.repository;
+
+import com.walletiq.entity.Transaction;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+public interface TransactionRepository extends JpaRepository<Transaction, String> {
+
+    /**
+     * First keyset page of a user's transactions, newest first
+     */
+    @Query("""
+            select t from Transaction t
+            where t.userId = :userId
+            order by t.transactionDate desc, t.id desc
+            """)
+    List<Transaction> findKeysetFirst(@Param("userId") String userId, Limit limit);
+
+    /**
+     * Keyset page following the row {@code (date, id)}. The row value comparison
+     * lets PostgreSQL seek straight into {@code idx_transactions_user_date_id}
+     */
+    @Query("""
+            select t from Transaction t
+            where t.userId = :userId
+              and (t.transactionDate, t.id) < (:date, :id)
+            order by t.transactionDate desc, t.id desc
+            """)
+    List<Transaction> findKeysetAfter(@Param("userId") String userId,
+                                      @Param("date") LocalDate date,
+                                      @Param("id") String id,
+                                      Limit limit);
+
+    /**
+     * The user's transaction, locked with {@code SELECT ... FOR UPDATE} until the caller's
+     * transaction ends. Updates and deletes read the row through it before computing
+     * rollup deltas from its old values, so writers of the same row serialize and each
+     * sees the values the previous one committed
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t from Transaction t where t.id = :id and t.userId = :userId")
+    Optional<Transaction> findOwnedForUpdate(@Param("userId") String userId, @Param("id") String id);
+}
@@ -0,0 +1,34 @@
+package com.walletiq.security.handler;
+
+import com.walletiq.common.constant.ErrorType;
+import com.walletiq.common.response.ErrorResponse;
+import com.walletiq.common.response.ErrorResponseTemplate;
+import com.walletiq.exception.ErrorResponseWriter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.web.access.AccessDeniedHandler;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * Answers authenticated requests lacking the required authority with a 403 {@link ErrorResponse},
+ * JSON from a pre-serialized template unless the client asked for CBOR or Smile
+ */
+@Component
+@RequiredArgsConstructor
+public class RestAccessDeniedHandler implements AccessDeniedHandler {
+    private static final ErrorResponseTemplate ACCESS_DENIED =
+            ErrorResponseTemplate.of(ErrorType.AUTHORIZATION_ERROR, "AUTH.ACCESS_DENIED");
+
+    private final ErrorResponseWriter errorResponseWriter;
+
+    @Override
+    public void handle(HttpServletRequest request, HttpServletResponse response,
+                       AccessDeniedException accessDeniedException) throws IOException {
+        errorResponseWriter.write(request, response, ACCESS_DENIED,
+                "You do not have permission to access this resource", null);
+    }
+}
@@ -0,0 +1,34 @@
+package com.walletiq.security.handler;
+
+import com.walletiq.common.constant.ErrorType;
+import com.walletiq.common.response.ErrorResponse;
+import com.walletiq.common.response.ErrorResponseTemplate;
+import com.walletiq.exception.ErrorResponseWriter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.web.AuthenticationEntryPoint;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * Answers unauthenticated requests to protected endpoints with a 401 {@link ErrorResponse},
+ * JSON from a pre-serialized template unless the client asked for CBOR or Smile
+ */
+@Component
+@RequiredArgsConstructor
+public class RestAuthenticationEntryPoint implements AuthenticationEntryPoint {
+    private static final ErrorResponseTemplate UNAUTHORIZED =
+            ErrorResponseTemplate.of(ErrorType.AUTHENTICATION_ERROR, "AUTH.UNAUTHORIZED");
+
+    private final ErrorResponseWriter errorResponseWriter;
+
+    @Override
+    public void commence(HttpServletRequest request, HttpServletResponse response,
+                         AuthenticationException authException) throws IOException {
+        errorResponseWriter.write(request, response, UNAUTHORIZED,
+                "Full authentication is required to access this resource", null);
+    }
+}
@@ -0,0 +1,85 @@
+package com.walletiq.security.jwt;
+
+import com.walletiq.config.properties.JwtProperties;
+import com.walletiq.exception.InvalidTokenException;
+import com.walletiq.security.refresh.RevokedSessions;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Instant;
+
+/**
+ * Authenticates requests carrying {@code Authorization: Bearer <jwt>}.
+ * <p>The token digest is looked up in {@link VerifiedTokenCache} first; the RSA
+ * signature is only checked on a miss. Requests with a missing or invalid token
+ * continue unauthenticated and are rejected later by the entry point if the
+ * endpoint requires authentication. Tokens bound to a session are also checked
+ * against {@link RevokedSessions}, when refresh tokens are enabled.</p>
+ */
+@Slf4j
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+
+    private final JwtService jwtService;
+    private final VerifiedTokenCache tokenCache;
+    private final RevokedSessions revokedSessions;
+    private final String header;
+    private final String prefix;
+
+    public JwtAuthenticationFilter(JwtService jwtService, VerifiedTokenCache tokenCache,
+                                   RevokedSessions revokedSessions, JwtProperties jwtProperties) {
+        this.jwtService = jwtService;
+        this.tokenCache = tokenCache;
+        this.revokedSessions = revokedSessions;
+        this.header = jwtProperties.header();
+        this.prefix = jwtProperties.prefix() + " ";
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String authorization = request.getHeader(header);
+        if (authorization != null && authorization.regionMatches(true, 0, prefix, 0, prefix.length())) {
+            VerifiedToken token = resolve(authorization.substring(prefix.length()).trim());
+            if (token != null) {
+                SecurityContext context = SecurityContextHolder.createEmptyContext();
+                context.setAuthentication(UsernamePasswordAuthenticationToken.authenticated(
+                        token.principal(), null, token.authorities()));
+                SecurityContextHolder.setContext(context);
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private VerifiedToken resolve(String rawToken) {
+        if (rawToken.isEmpty()) {
+            return null;
+        }
+        TokenDigest digest = TokenDigest.of(rawToken);
+        VerifiedToken token = tokenCache.get(digest);
+        if (token == null) {
+            try {
+                token = jwtService.verify(rawToken);
+            } catch (InvalidTokenException ex) {
+                log.debug("Rejected bearer token: {}", ex.getMessage());
+                return null;
+            }
+            tokenCache.put(digest, token);
+        }
+        if (token.isExpired(Instant.now()) || tokenCache.isRevoked(token)) {
+            return null;
+        }
+        if (revokedSessions != null && revokedSessions.isRevoked(token.sessionId())) {
+            log.debug("Rejected bearer token of revoked session {}", token.sessionId());
+            return null;
+        }
+        return token;
+    }
+}
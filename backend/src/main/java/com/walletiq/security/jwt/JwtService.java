@@ -0,0 +1,142 @@
+package com.walletiq.security.jwt;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSSigner;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.crypto.RSASSAVerifier;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.walletiq.config.properties.JwtProperties;
+import com.walletiq.entity.User;
+import com.walletiq.exception.InvalidTokenException;
+import org.springframework.stereotype.Service;
+
+import java.text.ParseException;
+import java.time.Instant;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Issues and verifies RSA signed access tokens.
+ * <p>{@link #verify} always performs the full signature check, callers on the request
+ * path should go through {@link VerifiedTokenCache} first.</p>
+ */
+@Service
+public class JwtService {
+    static final String CLAIM_EMAIL = "email";
+    static final String CLAIM_ROLES = "roles";
+    static final String CLAIM_SESSION = "sid";
+
+    private final JwtProperties jwtProperties;
+    private final JWSAlgorithm algorithm;
+    private final JWSSigner signer;
+    private final JWSVerifier verifier;
+
+    public JwtService(JwtProperties jwtProperties, RsaKeyProvider keyProvider) {
+        this.jwtProperties = jwtProperties;
+        this.algorithm = toJwsAlgorithm(jwtProperties.rsa().algorithm());
+        this.signer = new RSASSASigner(keyProvider.getPrivateKey());
+        this.verifier = new RSASSAVerifier(keyProvider.getPublicKey());
+    }
+
+    /**
+     * Issues a signed access token for the user
+     */
+    public String issueAccessToken(User user) {
+        return issueAccessToken(user, null);
+    }
+
+    /**
+     * Issues a signed access token bound to a session, it stops being accepted once
+     * the session's refresh tokens are revoked
+     *
+     * @param sessionId Refresh token family, see {@code RefreshTokenService}
+     */
+    public String issueAccessToken(User user, String sessionId) {
+        Instant now = Instant.now();
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .jwtID(UUID.randomUUID().toString())
+                .issuer(jwtProperties.issuer())
+                .subject(user.getId())
+                .claim(CLAIM_EMAIL, user.getEmail())
+                .claim(CLAIM_ROLES, List.copyOf(user.getRoles()))
+                .claim(CLAIM_SESSION, sessionId)
+                .issueTime(Date.from(now))
+                .expirationTime(Date.from(now.plusMillis(jwtProperties.accessToken().expiration())))
+                .build();
+        try {
+            SignedJWT jwt = new SignedJWT(new JWSHeader(algorithm), claims);
+            jwt.sign(signer);
+            return jwt.serialize();
+        } catch (JOSEException ex) {
+            throw new IllegalStateException("Unable to sign access token", ex);
+        }
+    }
+
+    /**
+     * Parses the token and checks signature, issuer and expiry
+     *
+     * @throws InvalidTokenException if any check fails
+     */
+    public VerifiedToken verify(String token) {
+        SignedJWT jwt;
+        JWTClaimsSet claims;
+        try {
+            jwt = SignedJWT.parse(token);
+            claims = jwt.getJWTClaimsSet();
+        } catch (ParseException ex) {
+            throw new InvalidTokenException("Malformed token", ex);
+        }
+        if (!algorithm.equals(jwt.getHeader().getAlgorithm())) {
+            throw new InvalidTokenException("Unexpected token algorithm");
+        }
+        try {
+            if (!jwt.verify(verifier)) {
+                throw new InvalidTokenException("Invalid token signature");
+            }
+        } catch (JOSEException ex) {
+            throw new InvalidTokenException("Unable to verify token", ex);
+        }
+        if (!jwtProperties.issuer().equals(claims.getIssuer())) {
+            throw new InvalidTokenException("Unexpected token issuer");
+        }
+        Date expiration = claims.getExpirationTime();
+        Date issuedAt = claims.getIssueTime();
+        if (expiration == null || issuedAt == null || !expiration.toInstant().isAfter(Instant.now())) {
+            throw new InvalidTokenException("Token expired");
+        }
+
+        try {
+            List<String> roles = claims.getStringListClaim(CLAIM_ROLES);
+            Set<String> roleSet = roles == null ? Set.of() : new HashSet<>(roles);
+            return VerifiedToken.of(
+                    claims.getJWTID(),
+                    claims.getStringClaim(CLAIM_SESSION),
+                    claims.getSubject(),
+                    claims.getStringClaim(CLAIM_EMAIL),
+                    roleSet,
+                    issuedAt.toInstant(),
+                    expiration.toInstant()
+            );
+        } catch (ParseException ex) {
+            throw new InvalidTokenException("Malformed token claims", ex);
+        }
+    }
+
+    /* ---------------- Helper ---------------- */
+
+    private static JWSAlgorithm toJwsAlgorithm(String algorithm) {
+        return switch (algorithm) {
+            case "SHA256withRSA", "RS256" -> JWSAlgorithm.RS256;
+            case "SHA384withRSA", "RS384" -> JWSAlgorithm.RS384;
+            case "SHA512withRSA", "RS512" -> JWSAlgorithm.RS512;
+            default -> throw new IllegalArgumentException("Unsupported JWT algorithm: " + algorithm);
+        };
+    }
+}
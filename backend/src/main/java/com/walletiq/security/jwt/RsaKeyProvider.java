@@ -0,0 +1,104 @@
+package com.walletiq.security.jwt;
+
+import com.walletiq.config.properties.JwtProperties;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+
+/**
+ * Loads the RSA key pair used to sign and verify JWTs.
+ * <p>Keys are read from PEM files ({@code PKCS#8} private key, {@code X.509} public key).
+ * When the files are missing an ephemeral key pair is generated, tokens issued with it
+ * do not survive a restart, so this is only meant for local development and tests.</p>
+ */
+@Slf4j
+@Getter
+@Component
+public class RsaKeyProvider {
+
+    private final RSAPublicKey publicKey;
+    private final RSAPrivateKey privateKey;
+
+    @Autowired
+    public RsaKeyProvider(JwtProperties jwtProperties, ResourceLoader resourceLoader) {
+        JwtProperties.RSAProperties rsa = jwtProperties.rsa();
+        Resource privateResource = resourceLoader.getResource(rsa.privateKeyPath());
+        Resource publicResource = resourceLoader.getResource(rsa.publicKeyPath());
+
+        if (privateResource.exists() && publicResource.exists()) {
+            this.privateKey = readPrivateKey(privateResource);
+            this.publicKey = readPublicKey(publicResource);
+        } else {
+            log.warn("RSA key files not found ({}, {}), using an ephemeral key pair",
+                    rsa.privateKeyPath(), rsa.publicKeyPath());
+            KeyPair keyPair = generate(rsa.keySize());
+            this.privateKey = (RSAPrivateKey) keyPair.getPrivate();
+            this.publicKey = (RSAPublicKey) keyPair.getPublic();
+        }
+    }
+
+    public RsaKeyProvider(RSAPublicKey publicKey, RSAPrivateKey privateKey) {
+        this.publicKey = publicKey;
+        this.privateKey = privateKey;
+    }
+
+    /**
+     * Generates a fresh key pair
+     */
+    public static KeyPair generate(int keySize) {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+            generator.initialize(keySize);
+            return generator.generateKeyPair();
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("Unable to generate RSA key pair", ex);
+        }
+    }
+
+    /* ---------------- Helper ---------------- */
+
+    private static RSAPrivateKey readPrivateKey(Resource resource) {
+        try {
+            byte[] der = decodePem(resource);
+            return (RSAPrivateKey) KeyFactory.getInstance("RSA").generatePrivate(new PKCS8EncodedKeySpec(der));
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("Invalid RSA private key: " + resource.getDescription(), ex);
+        }
+    }
+
+    private static RSAPublicKey readPublicKey(Resource resource) {
+        try {
+            byte[] der = decodePem(resource);
+            return (RSAPublicKey) KeyFactory.getInstance("RSA").generatePublic(new X509EncodedKeySpec(der));
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("Invalid RSA public key: " + resource.getDescription(), ex);
+        }
+    }
+
+    private static byte[] decodePem(Resource resource) {
+        try (InputStream in = resource.getInputStream()) {
+            String pem = new String(in.readAllBytes(), StandardCharsets.US_ASCII)
+                    .replaceAll("-----(BEGIN|END) [A-Z ]+-----", "")
+                    .replaceAll("\\s", "");
+            return Base64.getDecoder().decode(pem);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Unable to read key: " + resource.getDescription(), ex);
+        }
+    }
+}
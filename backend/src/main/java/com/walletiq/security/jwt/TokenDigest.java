@@ -0,0 +1,28 @@
+package com.walletiq.security.jwt;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * First 128 bits of the SHA-256 hash of a raw token.
+ * <p>Used as cache key so raw tokens are never kept in memory longer than the request,
+ * and so equality is two {@code long} comparisons instead of a full string compare.</p>
+ */
+public record TokenDigest(long high, long low) {
+
+    public static TokenDigest of(String token) {
+        byte[] hash = sha256().digest(token.getBytes(StandardCharsets.US_ASCII));
+        ByteBuffer buffer = ByteBuffer.wrap(hash);
+        return new TokenDigest(buffer.getLong(), buffer.getLong());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.walletiq.security.jwt;
+
+import java.time.Instant;
+
+/**
+ * Published when access tokens must stop being accepted (logout, password change,
+ * account lock). Listeners drop any cached verification result for them.
+ *
+ * @param subject   User whose tokens are revoked
+ * @param tokenId   Single token to revoke, or {@code null} for every token of the subject
+ *                  issued before {@code revokedAt}
+ * @param revokedAt Revocation time
+ * @param expiresAt Expiry of the revoked token, after which nothing has to be remembered
+ */
+public record TokenRevokedEvent(
+        String subject,
+        String tokenId,
+        Instant revokedAt,
+        Instant expiresAt
+) {
+    public static TokenRevokedEvent ofToken(String subject, String tokenId, Instant expiresAt) {
+        return new TokenRevokedEvent(subject, tokenId, Instant.now(), expiresAt);
+    }
+
+    public static TokenRevokedEvent ofSubject(String subject) {
+        return new TokenRevokedEvent(subject, null, Instant.now(), null);
+    }
+}
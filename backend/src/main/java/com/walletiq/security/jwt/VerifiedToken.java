@@ -0,0 +1,51 @@
+package com.walletiq.security.jwt;
+
+import com.walletiq.entity.User;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Claims of an access token whose signature, issuer and expiry were checked.
+ * <p>Immutable and shared between request threads, the principal and authorities
+ * are built once at verification time so a cache hit allocates nothing else.</p>
+ *
+ * @param tokenId     JWT ID ({@code jti})
+ * @param sessionId   Refresh token family the token was issued with ({@code sid}), {@code null} if none
+ * @param principal   Authenticated user built from the claims
+ * @param authorities Granted authorities ({@code ROLE_*})
+ * @param issuedAt    Issue time ({@code iat})
+ * @param expiresAt   Expiry time ({@code exp})
+ */
+public record VerifiedToken(
+        String tokenId,
+        String sessionId,
+        User principal,
+        List<GrantedAuthority> authorities,
+        Instant issuedAt,
+        Instant expiresAt
+) {
+    public static VerifiedToken of(String tokenId, String sessionId, String subject, String email, Set<String> roles,
+                                   Instant issuedAt, Instant expiresAt) {
+        User principal = User.builder()
+                .id(subject)
+                .email(email)
+                .roles(Set.copyOf(roles))
+                .build();
+        List<GrantedAuthority> authorities = roles.stream()
+                .<GrantedAuthority>map(role -> new SimpleGrantedAuthority("ROLE_" + role))
+                .toList();
+        return new VerifiedToken(tokenId, sessionId, principal, authorities, issuedAt, expiresAt);
+    }
+
+    public String subject() {
+        return principal.getId();
+    }
+
+    public boolean isExpired(Instant now) {
+        return !expiresAt.isAfter(now);
+    }
+}
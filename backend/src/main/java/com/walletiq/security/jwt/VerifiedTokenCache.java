@@ -0,0 +1,144 @@
+package com.walletiq.security.jwt;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.walletiq.config.properties.JwtProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded cache of verified access tokens keyed by {@link TokenDigest}.
+ * <p>Every entry expires together with its token, so a cached result can never outlive
+ * the token itself. Revocation is tracked here as well, and it is checked on every
+ * lookup, cached or not, so a revoked token is rejected even if it was verified
+ * before the revocation. Revocations arrive as {@link TokenRevokedEvent}s and are
+ * kept by this node only. Hit and miss counts are exported as {@code cache.gets}
+ * with {@code cache=jwtVerification}.</p>
+ */
+@Component
+public class VerifiedTokenCache {
+    private static final String CACHE_NAME = "jwtVerification";
+
+    private final boolean enabled;
+    private final Duration maxTokenLifetime;
+    private final LongSupplier epochMillisClock;
+    private final Cache<TokenDigest, VerifiedToken> cache;
+
+    // jti -> token expiry, and subject -> tokens issued up to this second are revoked
+    private final Map<String, Instant> revokedTokens = new ConcurrentHashMap<>();
+    private final Map<String, Instant> revokedSubjects = new ConcurrentHashMap<>();
+
+    @Autowired
+    public VerifiedTokenCache(JwtProperties jwtProperties, MeterRegistry meterRegistry) {
+        this(jwtProperties, meterRegistry, Ticker.systemTicker(), System::currentTimeMillis);
+    }
+
+    VerifiedTokenCache(JwtProperties jwtProperties, MeterRegistry meterRegistry, Ticker ticker,
+                       LongSupplier epochMillisClock) {
+        JwtProperties.VerificationCacheProperties properties = jwtProperties.verificationCache();
+        this.enabled = properties != null && properties.enabled();
+        this.maxTokenLifetime = Duration.ofMillis(jwtProperties.accessToken().expiration());
+        this.epochMillisClock = epochMillisClock;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties != null ? properties.maximumSize() : 10_000)
+                .expireAfter(new TokenExpiry())
+                .ticker(ticker)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Returns the cached verification result, or {@code null} on a miss
+     */
+    public VerifiedToken get(TokenDigest digest) {
+        return enabled ? cache.getIfPresent(digest) : null;
+    }
+
+    public void put(TokenDigest digest, VerifiedToken token) {
+        if (enabled) {
+            cache.put(digest, token);
+        }
+    }
+
+    /**
+     * Whether the token was revoked after it was issued
+     */
+    public boolean isRevoked(VerifiedToken token) {
+        if (!revokedTokens.isEmpty() && token.tokenId() != null && revokedTokens.containsKey(token.tokenId())) {
+            return true;
+        }
+        if (revokedSubjects.isEmpty()) {
+            return false;
+        }
+        Instant cutoff = revokedSubjects.get(token.subject());
+        return cutoff != null && !token.issuedAt().isAfter(cutoff);
+    }
+
+    /**
+     * Revocation hook, see {@link TokenRevokedEvent}. A subject revocation covers every
+     * token issued up to the revocation's second, {@code iat} has no finer precision
+     */
+    @EventListener
+    public void onTokenRevoked(TokenRevokedEvent event) {
+        if (event.tokenId() != null) {
+            Instant expiresAt = event.expiresAt() != null ? event.expiresAt() : event.revokedAt().plus(maxTokenLifetime);
+            revokedTokens.put(event.tokenId(), expiresAt);
+            cache.asMap().values().removeIf(token -> event.tokenId().equals(token.tokenId()));
+        } else {
+            Instant cutoff = event.revokedAt().truncatedTo(ChronoUnit.SECONDS);
+            revokedSubjects.merge(event.subject(), cutoff, (a, b) -> a.isAfter(b) ? a : b);
+            cache.asMap().values().removeIf(token -> event.subject().equals(token.subject()));
+        }
+    }
+
+    /**
+     * Forgets revocations that no longer matter because the tokens they cover expired
+     */
+    @Scheduled(fixedDelayString = "PT5M")
+    public void purgeExpiredRevocations() {
+        Instant now = Instant.ofEpochMilli(epochMillisClock.getAsLong());
+        revokedTokens.values().removeIf(expiresAt -> expiresAt.isBefore(now));
+        revokedSubjects.values().removeIf(cutoff -> cutoff.plus(maxTokenLifetime).isBefore(now));
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    /**
+     * Expires each entry at its token's {@code exp} claim
+     */
+    private final class TokenExpiry implements Expiry<TokenDigest, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(TokenDigest key, VerifiedToken value, long currentTime) {
+            long millis = value.expiresAt().toEpochMilli() - epochMillisClock.getAsLong();
+            return Math.max(0, TimeUnit.MILLISECONDS.toNanos(millis));
+        }
+
+        @Override
+        public long expireAfterUpdate(TokenDigest key, VerifiedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(TokenDigest key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.walletiq.security.lockout;
+
+import java.time.Duration;
+
+/**
+ * Approximate count of recent failures per key in a fixed amount of memory.
+ * <p>Estimates never undercount, but keys sharing counters inflate each other's
+ * estimates. How much is told by {@link Snapshot#load()}, the average count per
+ * counter within the window.</p>
+ */
+public interface FailureCounter {
+
+    /**
+     * Counts a failure of the key
+     *
+     * @return estimated failures of the key within the window, this one included
+     */
+    int increment(String key);
+
+    /**
+     * The key's counters within the window
+     */
+    Snapshot snapshot(String key);
+
+    /**
+     * Counters of one key in every slice of the window
+     *
+     * @param counts       Counter per slice and row, oldest slice first
+     * @param total        Failures of all keys within the window
+     * @param width        Counters per row
+     * @param currentSlice Number of the newest slice, slices start every {@code sliceMillis}
+     * @param nowMillis    When the snapshot was taken
+     */
+    record Snapshot(int[][] counts, long total, int width, long currentSlice, long sliceMillis, long nowMillis) {
+
+        /**
+         * Estimated failures of the key within the window, the smallest row sum
+         */
+        public int estimate() {
+            return estimate(0);
+        }
+
+        /**
+         * Average failures per counter within the window
+         */
+        public double load() {
+            return (double) total / width;
+        }
+
+        /**
+         * How long until fewer than {@code limit} of the key's failures are left in the
+         * window, {@link Duration#ZERO} if that is already the case
+         */
+        public Duration lockedFor(int limit) {
+            // Every slice that expires drops its counts from the estimate
+            for (int expired = 0; expired < counts.length; expired++) {
+                if (estimate(expired) < limit) {
+                    return expired == 0 ? Duration.ZERO
+                            : Duration.ofMillis((currentSlice + expired) * sliceMillis - nowMillis);
+                }
+            }
+            return Duration.ofMillis((currentSlice + counts.length) * sliceMillis - nowMillis);
+        }
+
+        private int estimate(int fromSlice) {
+            int estimate = Integer.MAX_VALUE;
+            for (int row = 0; row < counts[0].length; row++) {
+                int sum = 0;
+                for (int slice = fromSlice; slice < counts.length; slice++) {
+                    sum += counts[slice][row];
+                }
+                estimate = Math.min(estimate, sum);
+            }
+            return estimate;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.walletiq.security.lockout;
+
+import com.walletiq.common.constant.ErrorType;
+import com.walletiq.exception.LoginLockedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.authentication.event.AuthenticationFailureBadCredentialsEvent;
+import org.springframework.security.web.authentication.WebAuthenticationDetails;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Locks out logins after repeated failures, per account and per client address.
+ * <p>A login calls {@link #checkAllowed} before verifying the password and
+ * {@link #loginFailed} when it was wrong; failures reported by Spring Security as
+ * {@link AuthenticationFailureBadCredentialsEvent}s are counted as well. Failures are
+ * kept in {@link FailureCounter}s, so memory stays fixed however many accounts an
+ * attacker sprays, and they age out of the window on their own: a successful login
+ * does not reset them.</p>
+ * <p>Counters are shared, so a spray raises every estimate a little. The limit is
+ * raised by twice the average count per counter, which keeps a spray from locking
+ * out accounts it never targeted, at the price of letting a targeted account try a
+ * few more passwords while the spray lasts.</p>
+ * <p>Metrics: {@code auth.login.failures} and {@code auth.login.rejected} tagged with
+ * {@code reason} ({@code account}, {@code address}).</p>
+ */
+public class LoginAttemptService {
+
+    private final FailureCounter accountFailures;
+    private final FailureCounter addressFailures;
+    private final int maxAttemptsPerAccount;
+    private final int maxAttemptsPerAddress;
+
+    private final Counter failures;
+    private final Counter accountRejections;
+    private final Counter addressRejections;
+
+    public LoginAttemptService(FailureCounter accountFailures, FailureCounter addressFailures,
+                               int maxAttemptsPerAccount, int maxAttemptsPerAddress, MeterRegistry meterRegistry) {
+        this.accountFailures = accountFailures;
+        this.addressFailures = addressFailures;
+        this.maxAttemptsPerAccount = maxAttemptsPerAccount;
+        this.maxAttemptsPerAddress = maxAttemptsPerAddress;
+
+        this.failures = Counter.builder("auth.login.failures")
+                .description("Failed logins counted towards lockouts")
+                .register(meterRegistry);
+        this.accountRejections = rejections(meterRegistry, "account");
+        this.addressRejections = rejections(meterRegistry, "address");
+    }
+
+    /**
+     * Refuses the login if the client address or the account failed too often recently
+     *
+     * @throws LoginLockedException {@code 429} for the address, {@code 401} for the account,
+     *                              both with {@code retryAfter}
+     */
+    public void checkAllowed(String email, String clientAddress) {
+        if (clientAddress != null) {
+            Duration locked = lockedFor(addressFailures, clientAddress, maxAttemptsPerAddress);
+            if (!locked.isZero()) {
+                addressRejections.increment();
+                int retryAfter = seconds(locked);
+                throw new LoginLockedException(ErrorType.RATE_LIMIT_ERROR, LoginLockedException.TOO_MANY_ATTEMPTS,
+                        "Too many failed logins, retry after " + retryAfter + " seconds", retryAfter);
+            }
+        }
+        Duration locked = lockedFor(accountFailures, normalize(email), maxAttemptsPerAccount);
+        if (!locked.isZero()) {
+            accountRejections.increment();
+            int retryAfter = seconds(locked);
+            throw new LoginLockedException(ErrorType.AUTHENTICATION_ERROR, LoginLockedException.ACCOUNT_LOCKED,
+                    "Account temporarily locked after too many failed logins, retry after " + retryAfter + " seconds",
+                    retryAfter);
+        }
+    }
+
+    /**
+     * Counts a wrong password for the account, and for the address if known
+     */
+    public void loginFailed(String email, String clientAddress) {
+        failures.increment();
+        accountFailures.increment(normalize(email));
+        if (clientAddress != null) {
+            addressFailures.increment(clientAddress);
+        }
+    }
+
+    @EventListener
+    public void onBadCredentials(AuthenticationFailureBadCredentialsEvent event) {
+        String clientAddress = event.getAuthentication().getDetails() instanceof WebAuthenticationDetails details
+                ? details.getRemoteAddress()
+                : null;
+        loginFailed(event.getAuthentication().getName(), clientAddress);
+    }
+
+    /* ---------------- Helper ---------------- */
+
+    private static Duration lockedFor(FailureCounter counter, String key, int limit) {
+        FailureCounter.Snapshot snapshot = counter.snapshot(key);
+        return snapshot.lockedFor(limit + (int) (2 * snapshot.load()));
+    }
+
+    private static String normalize(String email) {
+        return email == null ? "" : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static int seconds(Duration duration) {
+        return (int) Math.max(1, (duration.toMillis() + 999) / 1000);
+    }
+
+    private static Counter rejections(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("auth.login.rejected")
+                .description("Logins refused because of too many recent failures")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,160 @@
+package com.walletiq.security.lockout;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+/**
+ * {@link FailureCounter} shared by every node, the same sliding window of count-min
+ * sketches as {@link WindowedCountMinSketch} kept in Redis.
+ * <p>Every slice is one hash of at most {@code depth x width} counters plus its total,
+ * expiring once it left the window, so Redis memory is bounded the same way. A
+ * conservative increment runs as a single script. Slices are numbered by the node's
+ * clock; skew between nodes only shifts when a failure ages out by that much. All
+ * slices share a hash tag, and thereby a cluster slot.</p>
+ * <p>If Redis cannot be reached the {@code fallback} sketch of this node is used, so
+ * lockouts degrade to per node counts rather than being lifted.</p>
+ */
+@Slf4j
+public class RedisCountMinSketch implements FailureCounter {
+
+    private static final RedisScript<Long> INCREMENT_SCRIPT = new DefaultRedisScript<>("""
+            local depth = #ARGV - 1
+            local sums = {}
+            for row = 1, depth do
+                sums[row] = 0
+            end
+            for slice = 1, #KEYS do
+                local values = redis.call('HMGET', KEYS[slice], unpack(ARGV, 2))
+                for row = 1, depth do
+                    sums[row] = sums[row] + (tonumber(values[row]) or 0)
+                end
+            end
+            local min = math.huge
+            for row = 1, depth do
+                min = math.min(min, sums[row])
+            end
+            local current = KEYS[#KEYS]
+            for row = 1, depth do
+                if sums[row] == min then
+                    redis.call('HINCRBY', current, ARGV[row + 1], 1)
+                end
+            end
+            redis.call('HINCRBY', current, 'total', 1)
+            redis.call('PEXPIRE', current, ARGV[1])
+            return min + 1
+            """, Long.class);
+
+    private static final RedisScript<List> SNAPSHOT_SCRIPT = new DefaultRedisScript<>("""
+            local counts = {}
+            for slice = 1, #KEYS do
+                local values = redis.call('HMGET', KEYS[slice], 'total', unpack(ARGV))
+                for i = 1, #values do
+                    counts[#counts + 1] = tonumber(values[i]) or 0
+                end
+            end
+            return counts
+            """, List.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final String keyPrefix;
+    private final int slices;
+    private final int depth;
+    private final int width;
+    private final long sliceMillis;
+    private final long seed;
+    private final String expiry;
+    private final FailureCounter fallback;
+    private final LongSupplier clock;
+
+    public RedisCountMinSketch(StringRedisTemplate redisTemplate, String keyPrefix, String name, Duration window,
+                               int slices, int depth, int width, FailureCounter fallback) {
+        this(redisTemplate, keyPrefix, name, window, slices, depth, width, fallback, System::currentTimeMillis);
+    }
+
+    RedisCountMinSketch(StringRedisTemplate redisTemplate, String keyPrefix, String name, Duration window,
+                        int slices, int depth, int width, FailureCounter fallback, LongSupplier clock) {
+        this.redisTemplate = redisTemplate;
+        this.keyPrefix = keyPrefix + '{' + name + "}:";
+        this.slices = slices;
+        this.depth = depth;
+        this.width = width;
+        this.sliceMillis = Math.max(1, window.toMillis() / slices);
+        // Every node has to hash a key to the same counters
+        this.seed = this.keyPrefix.hashCode();
+        this.expiry = Long.toString(sliceMillis * (slices + 1));
+        this.fallback = fallback;
+        this.clock = clock;
+    }
+
+    @Override
+    public int increment(String key) {
+        long current = clock.getAsLong() / sliceMillis;
+        List<String> args = new ArrayList<>(depth + 1);
+        args.add(expiry);
+        args.addAll(fields(key));
+        try {
+            Long estimate = redisTemplate.execute(INCREMENT_SCRIPT, sliceKeys(current), args.toArray());
+            if (estimate == null) {
+                throw new IllegalStateException("Unexpected failure count script result");
+            }
+            return estimate.intValue();
+        } catch (RuntimeException ex) {
+            log.warn("Shared failure counts unavailable, counting on this node: {}", ex.getMessage());
+            return fallback.increment(key);
+        }
+    }
+
+    @Override
+    public Snapshot snapshot(String key) {
+        long now = clock.getAsLong();
+        long current = now / sliceMillis;
+        List<?> result;
+        try {
+            result = redisTemplate.execute(SNAPSHOT_SCRIPT, sliceKeys(current), fields(key).toArray());
+        } catch (RuntimeException ex) {
+            log.warn("Shared failure counts unavailable, using this node's: {}", ex.getMessage());
+            return fallback.snapshot(key);
+        }
+        if (result == null || result.size() != slices * (depth + 1)) {
+            throw new IllegalStateException("Unexpected failure count script result: " + result);
+        }
+
+        int[][] counts = new int[slices][depth];
+        long total = 0;
+        for (int slice = 0; slice < slices; slice++) {
+            int offset = slice * (depth + 1);
+            total += ((Number) result.get(offset)).longValue();
+            for (int row = 0; row < depth; row++) {
+                counts[slice][row] = ((Number) result.get(offset + 1 + row)).intValue();
+            }
+        }
+        return new Snapshot(counts, total, width, current, sliceMillis, now);
+    }
+
+    /* ---------------- Helper ---------------- */
+
+    // Slices of the window, oldest first
+    private List<String> sliceKeys(long current) {
+        List<String> keys = new ArrayList<>(slices);
+        for (long id = current - slices + 1; id <= current; id++) {
+            keys.add(keyPrefix + id);
+        }
+        return keys;
+    }
+
+    private List<String> fields(String key) {
+        int[] columns = WindowedCountMinSketch.columns(key, seed, depth, width);
+        List<String> fields = new ArrayList<>(depth);
+        for (int row = 0; row < depth; row++) {
+            fields.add(row + ":" + columns[row]);
+        }
+        return fields;
+    }
+}
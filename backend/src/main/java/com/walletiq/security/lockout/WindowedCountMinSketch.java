@@ -0,0 +1,145 @@
+package com.walletiq.security.lockout;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Per node {@link FailureCounter}: a count-min sketch per slice of a sliding window.
+ * <p>The window is split into {@code slices}; a failure is counted in the newest
+ * slice and a whole slice is dropped once it leaves the window, so counts decay
+ * without any per-key state. Every slice has {@code depth} rows of {@code width} one
+ * byte counters, which is all the memory the sketch ever takes, however many keys
+ * fail. Counters saturate at {@value #MAX_COUNT}.</p>
+ * <p>Increments are conservative: only the rows holding the key's current minimum are
+ * raised, which keeps colliding keys from inflating each other more than needed.</p>
+ */
+public class WindowedCountMinSketch implements FailureCounter {
+    static final int MAX_COUNT = Byte.MAX_VALUE;
+
+    private final int depth;
+    private final int width;
+    private final long sliceMillis;
+    private final long seed;
+    private final LongSupplier clock;
+    private final byte[][] counters;
+    private final long[] sliceIds;
+    private final long[] totals;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public WindowedCountMinSketch(Duration window, int slices, int depth, int width) {
+        this(window, slices, depth, width, ThreadLocalRandom.current().nextLong(), System::currentTimeMillis);
+    }
+
+    WindowedCountMinSketch(Duration window, int slices, int depth, int width, long seed, LongSupplier clock) {
+        this.depth = depth;
+        this.width = width;
+        this.sliceMillis = Math.max(1, window.toMillis() / slices);
+        this.seed = seed;
+        this.clock = clock;
+        this.counters = new byte[slices][depth * width];
+        this.sliceIds = new long[slices];
+        this.totals = new long[slices];
+        Arrays.fill(sliceIds, Long.MIN_VALUE);
+    }
+
+    @Override
+    public int increment(String key) {
+        int[] columns = columns(key, seed, depth, width);
+        lock.lock();
+        try {
+            long current = clock.getAsLong() / sliceMillis;
+            int slot = slot(current);
+            if (sliceIds[slot] != current) {
+                Arrays.fill(counters[slot], (byte) 0);
+                sliceIds[slot] = current;
+                totals[slot] = 0;
+            }
+            int[] sums = new int[depth];
+            for (int age = 0; age < sliceIds.length; age++) {
+                byte[] slice = live(current, age);
+                for (int row = 0; slice != null && row < depth; row++) {
+                    sums[row] += slice[row * width + columns[row]];
+                }
+            }
+            int min = Arrays.stream(sums).min().orElse(0);
+            byte[] slice = counters[slot];
+            for (int row = 0; row < depth; row++) {
+                int cell = row * width + columns[row];
+                if (sums[row] == min && slice[cell] < MAX_COUNT) {
+                    slice[cell]++;
+                }
+            }
+            totals[slot]++;
+            return min + 1;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Snapshot snapshot(String key) {
+        int[] columns = columns(key, seed, depth, width);
+        int[][] counts = new int[sliceIds.length][depth];
+        long total = 0;
+        lock.lock();
+        try {
+            long now = clock.getAsLong();
+            long current = now / sliceMillis;
+            for (int age = 0; age < sliceIds.length; age++) {
+                byte[] slice = live(current, age);
+                if (slice == null) {
+                    continue;
+                }
+                for (int row = 0; row < depth; row++) {
+                    counts[age][row] = slice[row * width + columns[row]];
+                }
+                total += totals[slot(current - sliceIds.length + 1 + age)];
+            }
+            return new Snapshot(counts, total, width, current, sliceMillis, now);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /* ---------------- Helper ---------------- */
+
+    /**
+     * Column of the key in every row, derived from two 64-bit hashes (Kirsch-Mitzenmacher)
+     */
+    static int[] columns(String key, long seed, int depth, int width) {
+        long hash = seed;
+        for (int i = 0; i < key.length(); i++) {
+            hash = (hash ^ key.charAt(i)) * 0x100000001B3L;
+        }
+        long first = mix(hash);
+        long second = mix(first ^ 0x9E3779B97F4A7C15L) | 1;
+        int[] columns = new int[depth];
+        for (int row = 0; row < depth; row++) {
+            columns[row] = (int) Math.floorMod(first + row * second, (long) width);
+        }
+        return columns;
+    }
+
+    // Finalizer of MurmurHash3
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB93FE53B4C2DL;
+        return hash ^ (hash >>> 33);
+    }
+
+    // Slice of the given age within the window (0 is the oldest), null if it holds nothing of this window
+    private byte[] live(long current, int age) {
+        long id = current - sliceIds.length + 1 + age;
+        int slot = slot(id);
+        return sliceIds[slot] == id ? counters[slot] : null;
+    }
+
+    private int slot(long sliceId) {
+        return (int) Math.floorMod(sliceId, (long) sliceIds.length);
+    }
+}
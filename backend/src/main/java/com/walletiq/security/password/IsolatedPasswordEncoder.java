@@ -0,0 +1,151 @@
+package com.walletiq.security.password;
+
+import com.walletiq.common.constant.ErrorType;
+import com.walletiq.exception.ApplicationException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * BCrypt {@link PasswordEncoder} that hashes on its own bounded executor instead of
+ * the calling thread.
+ * <p>A check at strength 12 burns a core for a few hundred milliseconds. Run on request
+ * threads, a login storm would take every core and stall all other endpoints; here it
+ * takes at most the executor's threads, and excess logins wait in its bounded queue.
+ * Once the queue is full, or the hash is not done within {@code maxWait}, the caller
+ * gets {@code 503 AUTH.BUSY} right away instead of piling up.</p>
+ * <p>{@link #upgradeEncoding} is true for hashes of any other strength than the
+ * configured one, so Spring Security's {@code DaoAuthenticationProvider} rehashes them
+ * through its {@code UserDetailsPasswordService} on the next successful login.</p>
+ * <p>Metrics: {@code auth.password.hash} (time on the executor, tagged with
+ * {@code operation}), {@code auth.password.wait} (time queued) and
+ * {@code auth.password.rejected}.</p>
+ */
+public class IsolatedPasswordEncoder implements PasswordEncoder, AutoCloseable {
+    private static final Pattern BCRYPT_STRENGTH = Pattern.compile("^\\$2[abxy]?\\$(\\d{2})\\$");
+
+    private final PasswordEncoder delegate;
+    private final int strength;
+    private final ExecutorService executor;
+    private final long maxWaitNanos;
+
+    private final Timer encodeTime;
+    private final Timer matchTime;
+    private final Timer waitTime;
+    private final Counter rejected;
+
+    public IsolatedPasswordEncoder(int strength, ExecutorService executor, Duration maxWait, MeterRegistry meterRegistry) {
+        this(new BCryptPasswordEncoder(strength), strength, executor, maxWait, meterRegistry);
+    }
+
+    IsolatedPasswordEncoder(PasswordEncoder delegate, int strength, ExecutorService executor, Duration maxWait,
+                            MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.strength = strength;
+        this.executor = executor;
+        this.maxWaitNanos = maxWait.toNanos();
+
+        this.encodeTime = hashTimer(meterRegistry, "encode");
+        this.matchTime = hashTimer(meterRegistry, "matches");
+        this.waitTime = Timer.builder("auth.password.wait")
+                .description("Time password hashes waited for a hashing thread")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("auth.password.rejected")
+                .description("Password hashes refused because the hashing executor was saturated")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(encodeTime, () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(matchTime, () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return encodedPassword != null && strengthOf(encodedPassword) != strength;
+    }
+
+    /**
+     * Stops the hashing threads, hashes still queued are dropped
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    /* ---------------- Helper ---------------- */
+
+    /**
+     * Cost factor of a BCrypt hash, {@code -1} if it is not one
+     */
+    static int strengthOf(String encodedPassword) {
+        Matcher matcher = BCRYPT_STRENGTH.matcher(encodedPassword);
+        return matcher.find() ? Integer.parseInt(matcher.group(1)) : -1;
+    }
+
+    private <T> T run(Timer hashTime, Callable<T> hash) {
+        long submitted = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long started = System.nanoTime();
+                waitTime.record(started - submitted, TimeUnit.NANOSECONDS);
+                try {
+                    return hash.call();
+                } finally {
+                    hashTime.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            rejected.increment();
+            throw busy(ex);
+        }
+
+        try {
+            return future.get(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException ex) {
+            future.cancel(true);
+            rejected.increment();
+            throw busy(ex);
+        } catch (InterruptedException ex) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw busy(ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Password hashing failed", ex.getCause());
+        }
+    }
+
+    private static ApplicationException busy(Exception cause) {
+        return new ApplicationException(ErrorType.SERVICE_UNAVAILABLE, "AUTH.BUSY",
+                "Too many sign-ins at the moment, please retry shortly", cause);
+    }
+
+    private static Timer hashTimer(MeterRegistry meterRegistry, String operation) {
+        return Timer.builder("auth.password.hash")
+                .description("Time a hashing thread spent hashing or verifying a password")
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+}
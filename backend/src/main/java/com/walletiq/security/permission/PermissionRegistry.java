@@ -0,0 +1,48 @@
+package com.walletiq.security.permission;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Assigns a stable bit position to every permission name.
+ * <p>Positions are append-only: once a name has a bit it keeps it for the lifetime of
+ * the process, so endpoint requirements compiled at startup stay valid when role
+ * grants are reloaded. Reads go to an immutable copy of the map and never lock.</p>
+ */
+@Component
+public class PermissionRegistry {
+
+    private volatile Map<String, Integer> positions = Map.of();
+
+    /**
+     * Returns the set for the given names, registering unknown names first
+     */
+    public PermissionSet resolve(Collection<String> names) {
+        Map<String, Integer> current = positions;
+        if (!current.keySet().containsAll(names)) {
+            current = register(names);
+        }
+        int[] bits = new int[names.size()];
+        int i = 0;
+        for (String name : names) {
+            bits[i++] = current.get(name);
+        }
+        return PermissionSet.of(bits);
+    }
+
+    public int size() {
+        return positions.size();
+    }
+
+    private synchronized Map<String, Integer> register(Collection<String> names) {
+        Map<String, Integer> next = new HashMap<>(positions);
+        for (String name : names) {
+            next.putIfAbsent(name, next.size());
+        }
+        positions = Map.copyOf(next);
+        return positions;
+    }
+}
@@ -0,0 +1,75 @@
+package com.walletiq.security.permission;
+
+import java.util.Arrays;
+
+/**
+ * Immutable set of permission bits, positions are assigned by {@link PermissionRegistry}.
+ * <p>With up to 64 permissions the whole set is a single {@code long}, so
+ * {@link #containsAll} is one AND and one compare.</p>
+ */
+public final class PermissionSet {
+    public static final PermissionSet EMPTY = new PermissionSet(new long[0]);
+
+    private final long[] words;
+
+    private PermissionSet(long[] words) {
+        this.words = words;
+    }
+
+    public static PermissionSet of(int... bits) {
+        if (bits.length == 0) {
+            return EMPTY;
+        }
+        int max = Arrays.stream(bits).max().orElse(0);
+        long[] words = new long[(max >> 6) + 1];
+        for (int bit : bits) {
+            words[bit >> 6] |= 1L << bit;
+        }
+        return new PermissionSet(words);
+    }
+
+    /**
+     * Union of both sets
+     */
+    public PermissionSet or(PermissionSet other) {
+        if (other.words.length == 0) {
+            return this;
+        }
+        if (words.length == 0) {
+            return other;
+        }
+        long[] larger = words.length >= other.words.length ? words : other.words;
+        long[] smaller = larger == words ? other.words : words;
+        long[] result = larger.clone();
+        for (int i = 0; i < smaller.length; i++) {
+            result[i] |= smaller[i];
+        }
+        return new PermissionSet(result);
+    }
+
+    /**
+     * Whether every bit of {@code required} is set in this set
+     */
+    public boolean containsAll(PermissionSet required) {
+        long[] req = required.words;
+        if (req.length == 1 && words.length >= 1) {
+            return (words[0] & req[0]) == req[0];
+        }
+        for (int i = 0; i < req.length; i++) {
+            long granted = i < words.length ? words[i] : 0L;
+            if ((granted & req[i]) != req[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public boolean isEmpty() {
+        for (long word : words) {
+            if (word != 0L) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,85 @@
+package com.walletiq.security.permission;
+
+import com.walletiq.repository.RoleRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Role to permission grants, compiled into {@link PermissionSet}s.
+ * <p>The grants are loaded into an immutable map which is replaced as a whole on
+ * reload. Request threads only ever read the current map through a volatile field,
+ * so a role change becomes visible to all of them without any locking. Until the
+ * first successful load every role has no permissions (fail closed).</p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RolePermissionStore {
+
+    private final RoleRepository roleRepository;
+    private final PermissionRegistry permissionRegistry;
+
+    private volatile Map<String, PermissionSet> rolePermissions = Map.of();
+
+    /**
+     * Union of the permissions of all given roles
+     */
+    public PermissionSet permissionsOf(Collection<String> roles) {
+        Map<String, PermissionSet> current = rolePermissions;
+        if (roles.size() == 1) {
+            return current.getOrDefault(roles.iterator().next(), PermissionSet.EMPTY);
+        }
+        PermissionSet result = PermissionSet.EMPTY;
+        for (String role : roles) {
+            result = result.or(current.getOrDefault(role, PermissionSet.EMPTY));
+        }
+        return result;
+    }
+
+    /**
+     * Reloads the grants from the database and swaps them in
+     */
+    @Scheduled(fixedDelayString = "${app.security.permission-refresh-interval:PT5M}")
+    public void reload() {
+        List<RoleRepository.RolePermissionView> grants;
+        try {
+            grants = roleRepository.findAllGrants();
+        } catch (RuntimeException ex) {
+            log.warn("Unable to load role permissions, keeping current grants: {}", ex.getMessage());
+            return;
+        }
+
+        Map<String, List<String>> byRole = new HashMap<>();
+        for (RoleRepository.RolePermissionView grant : grants) {
+            List<String> permissions = byRole.computeIfAbsent(grant.getRole(), role -> new ArrayList<>());
+            if (grant.getPermission() != null) {
+                permissions.add(grant.getPermission());
+            }
+        }
+
+        Map<String, PermissionSet> compiled = new HashMap<>();
+        byRole.forEach((role, permissions) -> compiled.put(role, permissionRegistry.resolve(permissions)));
+        rolePermissions = Map.copyOf(compiled);
+        log.debug("Loaded permissions for {} roles ({} distinct permissions)", compiled.size(), permissionRegistry.size());
+    }
+
+    /**
+     * Changes made inside a transaction are only visible once committed, events
+     * published outside a transaction are handled immediately
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRolePermissionsChanged(RolePermissionsChangedEvent event) {
+        log.info("Role permissions changed ({}), reloading", event.reason());
+        reload();
+    }
+}
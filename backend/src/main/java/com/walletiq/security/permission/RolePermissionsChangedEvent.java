@@ -0,0 +1,9 @@
+package com.walletiq.security.permission;
+
+/**
+ * Published after roles or their permission grants were modified, triggers a
+ * reload of {@link RolePermissionStore} on this node. Other nodes pick the change
+ * up on their next scheduled refresh.
+ */
+public record RolePermissionsChangedEvent(String reason) {
+}
@@ -0,0 +1,104 @@
+package com.walletiq.security.refresh;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter of strings: {@link #mightContain} never misses an added key, and
+ * wrongly reports an absent one with about the false-positive rate it was sized for.
+ * <p>Bits live in an {@link AtomicLongArray}, so keys can be added while request threads
+ * read without any locking. Bit positions come from two 64-bit hashes combined as
+ * {@code h1 + i * h2}, seeded per instance, so a key that collides on one node does
+ * not collide on the others.</p>
+ */
+final class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bits;
+    private final int hashes;
+    private final long seed;
+    private final AtomicLong count = new AtomicLong();
+
+    private BloomFilter(long bits, int hashes) {
+        this.words = new AtomicLongArray((int) ((bits + 63) >>> 6));
+        this.bits = (long) words.length() << 6;
+        this.hashes = hashes;
+        this.seed = ThreadLocalRandom.current().nextLong();
+    }
+
+    /**
+     * Filter holding {@code expectedKeys} keys at the given false-positive rate,
+     * more keys raise the rate
+     */
+    static BloomFilter create(long expectedKeys, double falsePositiveRate) {
+        long keys = Math.max(1, expectedKeys);
+        long bits = (long) Math.ceil(-keys * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int hashes = (int) Math.max(1, Math.round((double) bits / keys * Math.log(2)));
+        return new BloomFilter(Math.max(64, bits), hashes);
+    }
+
+    void add(String key) {
+        long first = first(key);
+        long second = second(first);
+        for (int i = 0; i < hashes; i++) {
+            long bit = Math.floorMod(first + i * second, bits);
+            int index = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long word = words.get(index);
+            while ((word & mask) == 0 && !words.weakCompareAndSetVolatile(index, word, word | mask)) {
+                word = words.get(index);
+            }
+        }
+        count.incrementAndGet();
+    }
+
+    boolean mightContain(String key) {
+        long first = first(key);
+        long second = second(first);
+        for (int i = 0; i < hashes; i++) {
+            long bit = Math.floorMod(first + i * second, bits);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Keys added so far, a key added twice counts twice
+     */
+    long count() {
+        return count.get();
+    }
+
+    /**
+     * False-positive rate expected at the current number of keys
+     */
+    double expectedFalsePositiveRate() {
+        return Math.pow(1 - Math.exp(-hashes * (double) count.get() / bits), hashes);
+    }
+
+    /* ---------------- Helper ---------------- */
+
+    private long first(String key) {
+        long hash = seed;
+        for (int i = 0; i < key.length(); i++) {
+            hash = (hash ^ key.charAt(i)) * 0x100000001B3L;
+        }
+        return mix(hash);
+    }
+
+    private static long second(long first) {
+        return mix(first ^ 0x9E3779B97F4A7C15L) | 1;
+    }
+
+    // Finalizer of MurmurHash3
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB93FE53B4C2DL;
+        return hash ^ (hash >>> 33);
+    }
+}
@@ -0,0 +1,19 @@
+package com.walletiq.security.refresh;
+
+import java.time.LocalDateTime;
+
+/**
+ * Refresh token handed to the client
+ *
+ * @param token     Raw token, returned to the client once and never stored
+ * @param userId    Owner of the token
+ * @param sessionId Token family, put into the access tokens issued along with it
+ * @param expiresAt Expiry of this token, a refresh issues the next one with a new expiry
+ */
+public record IssuedRefreshToken(
+        String token,
+        String userId,
+        String sessionId,
+        LocalDateTime expiresAt
+) {
+}
@@ -0,0 +1,165 @@
+package com.walletiq.security.refresh;
+
+import com.walletiq.common.util.TimeOrderedId;
+import com.walletiq.entity.RefreshToken;
+import com.walletiq.exception.InvalidTokenException;
+import com.walletiq.repository.RefreshTokenRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Issues, rotates and revokes refresh tokens.
+ * <p>A token reads {@code <id>.<secret>}: the row id and 32 random bytes, of which only
+ * the SHA-256 is stored. A refresh exchanges the token for the next one of the same
+ * family, claiming the old one with a single conditional update, so of two refreshes
+ * with the same token only one succeeds. A used token presented again has leaked: the
+ * whole family is revoked, and with it the access tokens issued from it, whose
+ * {@code sid} claim is checked through {@link RevokedSessions}.</p>
+ * <p>Metrics: {@code auth.refresh.rotations} and {@code auth.refresh.reuse}.</p>
+ */
+@Slf4j
+public class RefreshTokenService {
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final int SECRET_BYTES = 32;
+
+    private final RefreshTokenRepository repository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration lifetime;
+
+    private final Counter rotations;
+    private final Counter reuse;
+
+    public RefreshTokenService(RefreshTokenRepository repository, ApplicationEventPublisher eventPublisher,
+                               Duration lifetime, MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.eventPublisher = eventPublisher;
+        this.lifetime = lifetime;
+        this.rotations = Counter.builder("auth.refresh.rotations")
+                .description("Refresh tokens exchanged for their successor")
+                .register(meterRegistry);
+        this.reuse = Counter.builder("auth.refresh.reuse")
+                .description("Used refresh tokens presented again, each revoked its session")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Starts a new session (token family) for the user, on login
+     */
+    @Transactional
+    public IssuedRefreshToken issue(String userId) {
+        return create(userId, TimeOrderedId.next());
+    }
+
+    /**
+     * Exchanges the token for the next one of its session
+     *
+     * @throws InvalidTokenException if the token is unknown, expired, revoked or already used;
+     *                               reuse revokes the session
+     */
+    @Transactional(noRollbackFor = InvalidTokenException.class)
+    public IssuedRefreshToken rotate(String rawToken) {
+        RefreshToken token = find(rawToken);
+        LocalDateTime now = LocalDateTime.now();
+        if (!token.getExpiresAt().isAfter(now)) {
+            throw new InvalidTokenException("Refresh token expired");
+        }
+        if (repository.markUsed(token.getId(), now) == 0) {
+            if (token.getRevokedAt() != null) {
+                throw new InvalidTokenException("Refresh token revoked");
+            }
+            reuse.increment();
+            log.warn("Refresh token {} of user {} was presented again, revoking session {}",
+                    token.getId(), token.getUserId(), token.getFamilyId());
+            revokeFamilies(token.getUserId(), List.of(token.getFamilyId()), now);
+            throw new InvalidTokenException("Refresh token already used");
+        }
+        rotations.increment();
+        return create(token.getUserId(), token.getFamilyId());
+    }
+
+    /**
+     * Ends the token's session, on logout
+     */
+    @Transactional
+    public void revoke(String rawToken) {
+        RefreshToken token = find(rawToken);
+        revokeFamilies(token.getUserId(), List.of(token.getFamilyId()), LocalDateTime.now());
+    }
+
+    /**
+     * Ends every session of the user, on password reset or account lock
+     */
+    @Transactional
+    public void revokeAll(String userId) {
+        LocalDateTime now = LocalDateTime.now();
+        List<String> familyIds = repository.findActiveFamilies(userId, now);
+        if (!familyIds.isEmpty()) {
+            revokeFamilies(userId, familyIds, now);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.security.refresh-tokens.cleanup-interval:PT1H}")
+    public void purgeExpired() {
+        int deleted = repository.deleteExpiredBefore(LocalDateTime.now());
+        if (deleted > 0) {
+            log.debug("Purged {} expired refresh token(s)", deleted);
+        }
+    }
+
+    /* ---------------- Helper ---------------- */
+
+    private IssuedRefreshToken create(String userId, String familyId) {
+        byte[] secret = new byte[SECRET_BYTES];
+        RANDOM.nextBytes(secret);
+        String encodedSecret = Base64.getUrlEncoder().withoutPadding().encodeToString(secret);
+
+        RefreshToken token = new RefreshToken();
+        token.setUserId(userId);
+        token.setFamilyId(familyId);
+        token.setTokenHash(hash(encodedSecret));
+        token.setExpiresAt(LocalDateTime.now().plus(lifetime));
+        repository.save(token);
+        return new IssuedRefreshToken(token.getId() + "." + encodedSecret, userId, familyId, token.getExpiresAt());
+    }
+
+    private RefreshToken find(String rawToken) {
+        int separator = rawToken == null ? -1 : rawToken.indexOf('.');
+        if (separator <= 0 || separator == rawToken.length() - 1) {
+            throw new InvalidTokenException("Malformed refresh token");
+        }
+        String secretHash = hash(rawToken.substring(separator + 1));
+        return repository.findById(rawToken.substring(0, separator))
+                .filter(token -> MessageDigest.isEqual(
+                        secretHash.getBytes(StandardCharsets.US_ASCII),
+                        token.getTokenHash().getBytes(StandardCharsets.US_ASCII)))
+                .orElseThrow(() -> new InvalidTokenException("Unknown refresh token"));
+    }
+
+    private void revokeFamilies(String userId, List<String> familyIds, LocalDateTime now) {
+        repository.revokeFamilies(familyIds, now);
+        eventPublisher.publishEvent(new SessionsRevokedEvent(userId, List.copyOf(familyIds)));
+    }
+
+    private static String hash(String secret) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                    .digest(secret.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.walletiq.security.refresh;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.SubscriptionListener;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Receives sessions revoked on other nodes from the Redis channel.
+ * <p>Messages are the family ids separated by newlines. Pub/sub delivery is at most
+ * once, so every (re)subscription rebuilds the filter from the database.</p>
+ */
+@Slf4j
+public class RevocationListener implements MessageListener, SubscriptionListener {
+
+    private final RevokedSessions revokedSessions;
+
+    public RevocationListener(RevokedSessions revokedSessions) {
+        this.revokedSessions = revokedSessions;
+    }
+
+    public static byte[] encode(Iterable<String> familyIds) {
+        return String.join("\n", familyIds).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        if (!body.isEmpty()) {
+            revokedSessions.onReplicated(List.of(body.split("\n")));
+        }
+    }
+
+    @Override
+    public void onChannelSubscribed(byte[] channel, long count) {
+        log.debug("Subscribed to session revocations, rebuilding the filter");
+        revokedSessions.rebuild();
+    }
+}
@@ -0,0 +1,211 @@
+package com.walletiq.security.refresh;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.walletiq.config.properties.RefreshTokenProperties;
+import com.walletiq.repository.RefreshTokenRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Refresh token families (sessions) that were revoked, checked for every access token.
+ * <p>Each node keeps a {@link BloomFilter} of the revoked sessions whose tokens have not
+ * expired yet. A miss proves the session is live, so nearly every check ends there
+ * without going to the database or Redis. Only a hit is confirmed against the
+ * database, and that answer is reused for {@code confirmationTimeToLive}.</p>
+ * <p>The filter is rebuilt from the database periodically, which also forgets expired
+ * sessions. Revocations in between are added as their transaction commits, and in
+ * {@code REDIS} mode broadcast to the other nodes. Until the first rebuild, and
+ * whenever the database cannot confirm a hit, checks fail closed.</p>
+ * <p>Metrics: {@code auth.revocation.checks} ({@code result}: live, revoked,
+ * false_positive), {@code auth.revocation.lookup} ({@code path}: filter, database),
+ * {@code auth.revocation.filter.keys} and {@code auth.revocation.filter.false.positive.rate},
+ * the rate expected at the filter's current fill.</p>
+ */
+@Slf4j
+public class RevokedSessions {
+
+    private final RefreshTokenRepository repository;
+    private final long expectedRevocations;
+    private final double falsePositiveRate;
+    private final Cache<String, Boolean> confirmed;
+
+    private volatile BloomFilter filter;
+    // Added since the running rebuild started, with System.nanoTime() at the time
+    private final Map<String, Long> recent = new ConcurrentHashMap<>();
+    private volatile Consumer<Collection<String>> publisher = familyIds -> {
+    };
+
+    private final Counter live;
+    private final Counter revoked;
+    private final Counter falsePositive;
+    private final Timer filterLookup;
+    private final Timer databaseLookup;
+
+    public RevokedSessions(RefreshTokenRepository repository, RefreshTokenProperties properties,
+                           MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.expectedRevocations = properties.expectedRevocations();
+        this.falsePositiveRate = properties.falsePositiveRate();
+        this.confirmed = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(properties.confirmationTimeToLive())
+                .build();
+
+        this.live = checks(meterRegistry, "live");
+        this.revoked = checks(meterRegistry, "revoked");
+        this.falsePositive = checks(meterRegistry, "false_positive");
+        this.filterLookup = lookup(meterRegistry, "filter");
+        this.databaseLookup = lookup(meterRegistry, "database");
+        Gauge.builder("auth.revocation.filter.keys", this, sessions -> {
+                    BloomFilter current = sessions.filter;
+                    return current == null ? 0 : current.count();
+                })
+                .description("Revoked sessions in this node's filter")
+                .register(meterRegistry);
+        Gauge.builder("auth.revocation.filter.false.positive.rate", this, sessions -> {
+                    BloomFilter current = sessions.filter;
+                    return current == null ? 1 : current.expectedFalsePositiveRate();
+                })
+                .description("Share of live sessions the filter is expected to send to the database")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Whether the session was revoked, {@code null} (tokens issued without a session) never is
+     */
+    public boolean isRevoked(String familyId) {
+        if (familyId == null) {
+            return false;
+        }
+        long started = System.nanoTime();
+        BloomFilter current = filter;
+        if (current != null && !current.mightContain(familyId)) {
+            filterLookup.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            live.increment();
+            return false;
+        }
+
+        boolean result = confirm(familyId);
+        databaseLookup.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        (result ? revoked : current != null ? falsePositive : live).increment();
+        return result;
+    }
+
+    /**
+     * Sends revocations made on this node to the other nodes
+     */
+    public void setPublisher(Consumer<Collection<String>> publisher) {
+        this.publisher = publisher;
+    }
+
+    /**
+     * Revocations are only visible to the database check once committed, events
+     * published outside a transaction are handled immediately
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSessionsRevoked(SessionsRevokedEvent event) {
+        add(event.familyIds());
+        try {
+            publisher.accept(event.familyIds());
+        } catch (RuntimeException ex) {
+            log.warn("Unable to broadcast {} revoked session(s), other nodes see them after their next rebuild: {}",
+                    event.familyIds().size(), ex.getMessage());
+        }
+    }
+
+    /**
+     * Revocations broadcast by another node
+     */
+    public void onReplicated(Collection<String> familyIds) {
+        add(familyIds);
+    }
+
+    /**
+     * Builds a new filter from the database and swaps it in
+     */
+    @Scheduled(fixedDelayString = "${app.security.refresh-tokens.rebuild-interval:PT10M}")
+    public void rebuild() {
+        long started = System.nanoTime();
+        List<String> familyIds;
+        try {
+            familyIds = repository.findRevokedFamilies(LocalDateTime.now());
+        } catch (RuntimeException ex) {
+            log.warn("Unable to load revoked sessions, keeping current filter: {}", ex.getMessage());
+            return;
+        }
+
+        BloomFilter rebuilt = BloomFilter.create(Math.max(expectedRevocations, 2L * familyIds.size()),
+                falsePositiveRate);
+        familyIds.forEach(rebuilt::add);
+        filter = rebuilt;
+        // Revocations committed while the query ran may be missing from its result
+        recent.forEach((familyId, added) -> {
+            if (added - started >= 0) {
+                rebuilt.add(familyId);
+            } else {
+                recent.remove(familyId, added);
+            }
+        });
+        log.debug("Rebuilt revocation filter with {} session(s)", familyIds.size());
+    }
+
+    /* ---------------- Helper ---------------- */
+
+    private void add(Collection<String> familyIds) {
+        long now = System.nanoTime();
+        for (String familyId : familyIds) {
+            // Recorded before reading the filter, so a concurrent rebuild either sees it or is read here
+            recent.put(familyId, now);
+            BloomFilter current = filter;
+            if (current != null) {
+                current.add(familyId);
+            }
+            confirmed.put(familyId, Boolean.TRUE);
+        }
+    }
+
+    private boolean confirm(String familyId) {
+        Boolean cached = confirmed.getIfPresent(familyId);
+        if (cached != null) {
+            return cached;
+        }
+        try {
+            boolean result = repository.existsByFamilyIdAndRevokedAtIsNotNull(familyId);
+            confirmed.put(familyId, result);
+            return result;
+        } catch (RuntimeException ex) {
+            log.warn("Unable to check session {}, treating it as revoked: {}", familyId, ex.getMessage());
+            return true;
+        }
+    }
+
+    private static Counter checks(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("auth.revocation.checks")
+                .description("Session revocation checks by outcome")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static Timer lookup(MeterRegistry meterRegistry, String path) {
+        return Timer.builder("auth.revocation.lookup")
+                .description("Time to check whether a session was revoked")
+                .tag("path", path)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+}
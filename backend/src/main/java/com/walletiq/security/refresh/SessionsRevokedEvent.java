@@ -0,0 +1,17 @@
+package com.walletiq.security.refresh;
+
+import java.util.List;
+
+/**
+ * Published when refresh token families were revoked (logout, password reset, token reuse).
+ * Access tokens carrying one of these sessions stop being accepted once the revoking
+ * transaction commits.
+ *
+ * @param userId    Owner of the sessions
+ * @param familyIds Revoked refresh token families, the {@code sid} claim of their access tokens
+ */
+public record SessionsRevokedEvent(
+        String userId,
+        List<String> familyIds
+) {
+}
@@ -0,0 +1,197 @@
+package com.walletiq.service;
+
+import com.walletiq.common.constant.ErrorType;
+import com.walletiq.common.pagination.CursorPage;
+import com.walletiq.common.pagination.SeekCursor;
+import com.walletiq.config.persistence.ReadFromReplica;
+import com.walletiq.dto.request.TransactionRequest;
+import com.walletiq.dto.response.TransactionMatchResponse;
+import com.walletiq.dto.response.TransactionResponse;
+import com.walletiq.entity.Transaction;
+import com.walletiq.exception.ApplicationException;
+import com.walletiq.repository.TransactionCountEstimator;
+import com.walletiq.repository.TransactionRepository;
+import com.walletiq.service.retrieval.TransactionVectorIndex;
+import com.walletiq.service.rollup.MonthlyRollupService;
+import com.walletiq.service.rollup.RollupDeltas;
+import com.walletiq.vector.VectorFilter;
+import com.walletiq.vector.VectorHit;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class TransactionService {
+    public static final int MAX_PAGE_SIZE = 100;
+    public static final int MAX_SEARCH_RESULTS = 50;
+    private static final int MAX_QUERY_LENGTH = 500;
+    private static final String DEFAULT_CATEGORY = "UNCATEGORIZED";
+    private static final BigDecimal MAX_AMOUNT = new BigDecimal("99999999999999999.99");
+
+    private final TransactionRepository transactionRepository;
+    private final TransactionCountEstimator countEstimator;
+    private final MonthlyRollupService rollupService;
+    private final TransactionVectorIndex vectorIndex;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Returns one keyset page of the user's transactions, newest first
+     *
+     * @param cursor       Cursor returned with the previous page, {@code null} for the first page
+     * @param size         Page size, capped at {@link #MAX_PAGE_SIZE}
+     * @param includeTotal Whether to attach an approximate total
+     */
+    @ReadFromReplica
+    @Transactional(readOnly = true)
+    public CursorPage<TransactionResponse> list(String userId, String cursor, int size, boolean includeTotal) {
+        int pageSize = Math.clamp(size, 1, MAX_PAGE_SIZE);
+        SeekCursor seek = SeekCursor.decode(cursor);
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<Transaction> rows = seek == null
+                ? transactionRepository.findKeysetFirst(userId, limit)
+                : transactionRepository.findKeysetAfter(userId, seek.date(), seek.id(), limit);
+
+        CursorPage<TransactionResponse> page = CursorPage.of(rows, pageSize,
+                        row -> new SeekCursor(row.getTransactionDate(), row.getId()))
+                .map(TransactionResponse::from);
+        return includeTotal ? page.withApproximateTotal(countEstimator.estimate(userId)) : page;
+    }
+
+    /**
+     * The user's transactions closest in meaning to the query, closest first
+     *
+     * @param limit    Number of matches, capped at {@link #MAX_SEARCH_RESULTS}
+     * @param from     First date included, {@code null} for no lower bound
+     * @param to       Last date included, {@code null} for no upper bound
+     * @param category Only this category, {@code null} for any
+     */
+    public List<TransactionMatchResponse> search(String userId, String query, int limit,
+                                                 LocalDate from, LocalDate to, String category) {
+        if (query == null || query.isBlank() || query.length() > MAX_QUERY_LENGTH) {
+            throw new ApplicationException(ErrorType.VALIDATION_ERROR, "TRANSACTION.INVALID_QUERY",
+                    "Query must be between 1 and " + MAX_QUERY_LENGTH + " characters");
+        }
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new ApplicationException(ErrorType.BAD_REQUEST, "TRANSACTION.INVALID_RANGE",
+                    "'from' must not be after 'to'");
+        }
+        VectorFilter filter = new VectorFilter(from, to,
+                category == null || category.isBlank() ? null : Set.of(category.trim()));
+        List<VectorHit> hits = vectorIndex.search(userId, query, Math.clamp(limit, 1, MAX_SEARCH_RESULTS), filter);
+
+        // The index lags commits slightly, drop hits whose row is gone or no longer the user's
+        Map<String, Transaction> rows = transactionRepository.findAllById(hits.stream().map(VectorHit::id).toList())
+                .stream()
+                .filter(transaction -> transaction.getUserId().equals(userId))
+                .collect(Collectors.toMap(Transaction::getId, Function.identity()));
+        return hits.stream()
+                .filter(hit -> rows.containsKey(hit.id()))
+                .map(hit -> new TransactionMatchResponse(TransactionResponse.from(rows.get(hit.id())), hit.score()))
+                .toList();
+    }
+
+    @Transactional
+    public TransactionResponse create(String userId, TransactionRequest request) {
+        validate(request);
+        Transaction transaction = new Transaction();
+        transaction.setUserId(userId);
+        copy(request, transaction);
+        transaction = transactionRepository.save(transaction);
+
+        RollupDeltas deltas = new RollupDeltas();
+        add(deltas, transaction);
+        rollupService.apply(deltas);
+        eventPublisher.publishEvent(TransactionsChangedEvent.of(userId, transaction.getId()));
+        return TransactionResponse.from(transaction);
+    }
+
+    @Transactional
+    public TransactionResponse update(String userId, String transactionId, TransactionRequest request) {
+        validate(request);
+        Transaction transaction = findOwned(userId, transactionId);
+
+        RollupDeltas deltas = new RollupDeltas();
+        remove(deltas, transaction);
+        copy(request, transaction);
+        add(deltas, transaction);
+        rollupService.apply(deltas);
+        eventPublisher.publishEvent(TransactionsChangedEvent.of(userId, transactionId));
+        return TransactionResponse.from(transaction);
+    }
+
+    @Transactional
+    public void delete(String userId, String transactionId) {
+        Transaction transaction = findOwned(userId, transactionId);
+        transactionRepository.delete(transaction);
+
+        RollupDeltas deltas = new RollupDeltas();
+        remove(deltas, transaction);
+        rollupService.apply(deltas);
+        eventPublisher.publishEvent(TransactionsChangedEvent.of(userId, transactionId));
+    }
+
+    /* ---------------- Helper ---------------- */
+
+    private Transaction findOwned(String userId, String transactionId) {
+        return transactionRepository.findOwnedForUpdate(userId, transactionId)
+                .orElseThrow(() -> new ApplicationException(ErrorType.RESOURCE_NOT_FOUND, "TRANSACTION.NOT_FOUND",
+                        "Transaction not found"));
+    }
+
+    private static void copy(TransactionRequest request, Transaction transaction) {
+        transaction.setType(request.type());
+        transaction.setAmount(request.amount());
+        transaction.setCategory(request.category() == null || request.category().isBlank()
+                ? DEFAULT_CATEGORY : request.category().trim());
+        transaction.setDescription(request.description());
+        transaction.setTransactionDate(request.transactionDate());
+    }
+
+    private static void add(RollupDeltas deltas, Transaction transaction) {
+        deltas.add(transaction.getUserId(), transaction.getTransactionDate(), transaction.getCategory(),
+                transaction.getType(), transaction.getAmount());
+    }
+
+    private static void remove(RollupDeltas deltas, Transaction transaction) {
+        deltas.remove(transaction.getUserId(), transaction.getTransactionDate(), transaction.getCategory(),
+                transaction.getType(), transaction.getAmount());
+    }
+
+    private static void validate(TransactionRequest request) {
+        if (request.type() == null) {
+            throw invalid("Type is required");
+        }
+        if (request.transactionDate() == null) {
+            throw invalid("Transaction date is required");
+        }
+        BigDecimal amount = request.amount();
+        if (amount == null || amount.signum() <= 0 || amount.compareTo(MAX_AMOUNT) > 0) {
+            throw invalid("Amount must be positive and below 10^17");
+        }
+        if (amount.stripTrailingZeros().scale() > 2) {
+            throw invalid("Amount must have at most 2 decimal places");
+        }
+        if (request.category() != null && request.category().length() > 100) {
+            throw invalid("Category must be at most 100 characters");
+        }
+        if (request.description() != null && request.description().length() > 500) {
+            throw invalid("Description must be at most 500 characters");
+        }
+    }
+
+    private static ApplicationException invalid(String message) {
+        return new ApplicationException(ErrorType.VALIDATION_ERROR, "TRANSACTION.INVALID", message);
+    }
+}
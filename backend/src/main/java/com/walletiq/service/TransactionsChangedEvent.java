@@ -0,0 +1,20 @@
+package com.walletiq.service;
+
+import java.util.Set;
+
+/**
+ * Published inside the transaction that created, updated, deleted or imported a
+ * user's transactions, listeners that derive data from them react after commit
+ *
+ * @param transactionIds Changed transactions, {@code null} when too many changed to list (imports)
+ */
+public record TransactionsChangedEvent(String userId, Set<String> transactionIds) {
+
+    public static TransactionsChangedEvent of(String userId, String transactionId) {
+        return new TransactionsChangedEvent(userId, Set.of(transactionId));
+    }
+
+    public static TransactionsChangedEvent bulk(String userId) {
+        return new TransactionsChangedEvent(userId, null);
+    }
+}
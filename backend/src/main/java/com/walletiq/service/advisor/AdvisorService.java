@@ -0,0 +1,178 @@
+package com.walletiq.service.advisor;
+
+import com.walletiq.common.constant.ErrorType;
+import com.walletiq.config.properties.AdvisorProperties;
+import com.walletiq.dto.response.AdvisorResponse;
+import com.walletiq.dto.response.DashboardResponse;
+import com.walletiq.dto.response.TransactionMatchResponse;
+import com.walletiq.dto.response.TransactionResponse;
+import com.walletiq.embedding.EmbeddingModel;
+import com.walletiq.exception.ApplicationException;
+import com.walletiq.llm.LanguageModel;
+import com.walletiq.service.TransactionService;
+import com.walletiq.service.dashboard.DashboardService;
+import com.walletiq.service.rollup.MonthlyRollupService;
+import com.walletiq.service.rollup.RollupsChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Budget advisor: answers questions about the user's own spending with a language
+ * model, grounded in their monthly totals and the transactions closest to the question.
+ * <p>Answers are cached in a {@link SemanticAnswerCache} under the user's data version,
+ * the {@link MonthlyRollupService#fingerprint rollup fingerprint} plus the current date,
+ * so a cached answer is only served while the totals it was based on are unchanged and
+ * "this month" still means the same month. The fingerprint is read from PostgreSQL, so
+ * a write on any node is seen by every node; local entries are also dropped as soon as
+ * a {@link RollupsChangedEvent} commits, to free them early.</p>
+ */
+@Slf4j
+@Service
+public class AdvisorService {
+    public static final int MAX_QUESTION_LENGTH = 500;
+    private static final int MAX_CATEGORIES = 10;
+
+    private final EmbeddingModel embeddingModel;
+    private final LanguageModel languageModel;
+    private final SemanticAnswerCache answerCache;
+    private final MonthlyRollupService rollupService;
+    private final DashboardService dashboardService;
+    private final TransactionService transactionService;
+    private final AdvisorProperties properties;
+    private final Timer cachedLatency;
+    private final Timer generatedLatency;
+
+    public AdvisorService(EmbeddingModel embeddingModel, LanguageModel languageModel, SemanticAnswerCache answerCache,
+                          MonthlyRollupService rollupService, DashboardService dashboardService,
+                          TransactionService transactionService, AdvisorProperties properties,
+                          MeterRegistry meterRegistry) {
+        this.embeddingModel = embeddingModel;
+        this.languageModel = languageModel;
+        this.answerCache = answerCache;
+        this.rollupService = rollupService;
+        this.dashboardService = dashboardService;
+        this.transactionService = transactionService;
+        this.properties = properties;
+        this.cachedLatency = latency(meterRegistry, "cache");
+        this.generatedLatency = latency(meterRegistry, "model");
+    }
+
+    public AdvisorResponse ask(String userId, String question) {
+        try {
+            return stream(userId, question, token -> {
+            });
+        } catch (IOException ex) {
+            // The sink above never fails
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Like {@link #ask}, but hands the answer to the sink token by token while the model
+     * generates it, a cached answer arrives as a single token. Only complete answers are
+     * cached.
+     *
+     * @throws IOException           the sink's exception, generation was stopped
+     * @throws CancellationException the calling thread was interrupted, generation was stopped
+     */
+    public AdvisorResponse stream(String userId, String question, LanguageModel.TokenSink sink) throws IOException {
+        validateQuestion(question);
+        long started = System.nanoTime();
+        String normalized = question.strip();
+        float[] vector = embeddingModel.embed(normalized);
+        // Read before generating: a write committed meanwhile yields a new version, never a stale hit
+        String dataVersion = rollupService.fingerprint(userId) + "@" + LocalDate.now();
+
+        Optional<CachedAnswer> cached = answerCache.lookup(userId, vector, dataVersion);
+        if (cached.isPresent()) {
+            sink.accept(cached.get().answer());
+            cachedLatency.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            return new AdvisorResponse(cached.get().answer(), true, cached.get().generatedAt());
+        }
+
+        String prompt = prompt(userId, normalized);
+        long generationStarted = System.nanoTime();
+        StringBuilder answer = new StringBuilder();
+        try {
+            languageModel.stream(prompt, token -> {
+                answer.append(token);
+                sink.accept(token);
+            });
+        } catch (CancellationException ex) {
+            throw ex;
+        } catch (RuntimeException ex) {
+            log.warn("Language model {} failed: {}", languageModel.name(), ex.getMessage());
+            throw new ApplicationException(ErrorType.SERVICE_UNAVAILABLE, "ADVISOR.UNAVAILABLE",
+                    "The advisor is temporarily unavailable", ex);
+        }
+        Duration generationTime = Duration.ofNanos(System.nanoTime() - generationStarted);
+        answerCache.put(userId, vector, dataVersion, answer.toString(), generationTime);
+        generatedLatency.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        return new AdvisorResponse(answer.toString(), false, Instant.now());
+    }
+
+    @TransactionalEventListener
+    public void onRollupsChanged(RollupsChangedEvent event) {
+        event.userIds().forEach(answerCache::invalidate);
+    }
+
+    /* ---------------- Helper ---------------- */
+
+    static void validateQuestion(String question) {
+        if (question == null || question.isBlank() || question.length() > MAX_QUESTION_LENGTH) {
+            throw new ApplicationException(ErrorType.VALIDATION_ERROR, "ADVISOR.INVALID_QUESTION",
+                    "Question must be between 1 and " + MAX_QUESTION_LENGTH + " characters");
+        }
+    }
+
+    private String prompt(String userId, String question) {
+        YearMonth to = YearMonth.now();
+        DashboardResponse summary = dashboardService.summary(userId, to.minusMonths(properties.summaryMonths() - 1L), to);
+        StringBuilder prompt = new StringBuilder()
+                .append("You are a budgeting assistant. Answer the question using only the facts below, ")
+                .append("and say so if they are not enough.\n")
+                .append("Today is ").append(LocalDate.now()).append(".\n\nMonthly totals:\n");
+        summary.months().forEach(month -> prompt.append("- ").append(month.month())
+                .append(": income ").append(month.income().toPlainString())
+                .append(", expense ").append(month.expense().toPlainString()).append('\n'));
+        prompt.append("\nLargest categories:\n");
+        summary.categories().stream().limit(MAX_CATEGORIES).forEach(category -> prompt.append("- ")
+                .append(category.category()).append(' ').append(category.type()).append(": ")
+                .append(category.total().toPlainString()).append(" in ").append(category.count())
+                .append(" transactions\n"));
+        prompt.append("\nRelated transactions:\n");
+        for (TransactionMatchResponse match : transactionService.search(userId, question,
+                properties.contextTransactions(), null, null, null)) {
+            TransactionResponse transaction = match.transaction();
+            prompt.append("- ").append(transaction.transactionDate()).append(' ').append(transaction.type())
+                    .append(' ').append(transaction.amount().toPlainString()).append(' ')
+                    .append(transaction.category());
+            if (transaction.description() != null && !transaction.description().isBlank()) {
+                prompt.append(" \"").append(transaction.description().strip()).append('"');
+            }
+            prompt.append('\n');
+        }
+        return prompt.append("\nQuestion: ").append(question).append('\n').toString();
+    }
+
+    private static Timer latency(MeterRegistry meterRegistry, String source) {
+        return Timer.builder("advisor.answer.latency")
+                .tag("source", source)
+                .description("Time to answer an advisor question")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,196 @@
+package com.walletiq.service.advisor;
+
+import com.walletiq.common.constant.ErrorType;
+import com.walletiq.common.util.MdcUtil;
+import com.walletiq.common.util.RequestContextUtil;
+import com.walletiq.config.properties.AdvisorProperties;
+import com.walletiq.dto.response.AdvisorResponse;
+import com.walletiq.exception.ApplicationException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Streams advisor answers to the client as Server-Sent Events while the model
+ * generates them.
+ * <p>The servlet thread is released as soon as the stream is opened and every answer is
+ * generated on its own virtual thread, so an open stream holds no platform thread while
+ * it waits for the model. When the client disconnects, or the stream times out, that
+ * thread is interrupted and the generation is cancelled upstream. A disconnect is
+ * noticed by the container or at the latest by the next write, that is within one
+ * token.</p>
+ * <p>Events: {@code token} ({@code {"text": ...}}) per generated token, then one
+ * {@code done} carrying the complete {@link AdvisorResponse}, or one {@code error}
+ * ({@code {"code": ..., "message": ..., "traceId": ...}}) if the answer failed after the stream opened.</p>
+ */
+@Slf4j
+@Service
+public class AdvisorStreamService {
+
+    private final AdvisorService advisorService;
+    private final AdvisorProperties.StreamingProperties properties;
+    private final Semaphore permits;
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("advisor-stream-", 0).factory());
+
+    private final Timer firstToken;
+    private final Counter cancelled;
+
+    public AdvisorStreamService(AdvisorService advisorService, AdvisorProperties properties,
+                                MeterRegistry meterRegistry) {
+        this.advisorService = advisorService;
+        this.properties = properties.streaming();
+        this.permits = new Semaphore(this.properties.maxConcurrent());
+
+        Gauge.builder("advisor.stream.open", this, service -> service.properties.maxConcurrent()
+                        - service.permits.availablePermits())
+                .description("Answers being streamed on this node")
+                .register(meterRegistry);
+        this.firstToken = Timer.builder("advisor.stream.first.token")
+                .description("Time from opening a stream until its first token was sent")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.cancelled = Counter.builder("advisor.stream.cancelled")
+                .description("Streams whose generation was cancelled because the client went away or timed out")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Opens a stream answering the question
+     *
+     * @throws ApplicationException {@code 400} for an invalid question, {@code 503} if too many
+     *                              answers are being streamed already
+     */
+    public SseEmitter open(String userId, String question) {
+        AdvisorService.validateQuestion(question);
+        if (!permits.tryAcquire()) {
+            throw new ApplicationException(ErrorType.SERVICE_UNAVAILABLE, "ADVISOR.BUSY",
+                    "The advisor is busy, please retry shortly");
+        }
+        SseEmitter emitter = new SseEmitter(properties.timeout().toMillis());
+        Generation generation = new Generation(emitter, userId, question);
+        emitter.onCompletion(generation::cancel);
+        emitter.onTimeout(generation::cancel);
+        emitter.onError(error -> generation.cancel());
+        try {
+            executor.execute(MdcUtil.wrap(generation));
+        } catch (RejectedExecutionException ex) {
+            permits.release();
+            throw new ApplicationException(ErrorType.SERVICE_UNAVAILABLE, "ADVISOR.UNAVAILABLE",
+                    "The advisor is temporarily unavailable", ex);
+        }
+        return emitter;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Interrupts every generation, clients see their stream end without a done event
+        executor.shutdownNow();
+    }
+
+    /**
+     * One answer being generated, cancelled by interrupting its thread
+     */
+    private final class Generation implements Runnable {
+        private final SseEmitter emitter;
+        private final String userId;
+        private final String question;
+        private final long opened = System.nanoTime();
+        private volatile Thread thread;
+        private volatile boolean cancelled;
+        // Set once the answer is complete, before the emitter's completion callback runs
+        private volatile boolean finished;
+        private boolean started;
+
+        private Generation(SseEmitter emitter, String userId, String question) {
+            this.emitter = emitter;
+            this.userId = userId;
+            this.question = question;
+        }
+
+        @Override
+        public void run() {
+            // Publish the thread before checking the flag, so cancel() either sees it or run() sees the flag
+            thread = Thread.currentThread();
+            try {
+                if (!cancelled) {
+                    generate();
+                }
+            } finally {
+                finished = true;
+                permits.release();
+            }
+        }
+
+        void cancel() {
+            if (finished || cancelled) {
+                return;
+            }
+            cancelled = true;
+            AdvisorStreamService.this.cancelled.increment();
+            Thread current = thread;
+            if (current != null) {
+                current.interrupt();
+            }
+        }
+
+        private void generate() {
+            try {
+                AdvisorResponse response = advisorService.stream(userId, question, token -> {
+                    if (!started) {
+                        started = true;
+                        firstToken.record(System.nanoTime() - opened, TimeUnit.NANOSECONDS);
+                    }
+                    emitter.send(SseEmitter.event().name("token").data(Map.of("text", token),
+                            MediaType.APPLICATION_JSON));
+                });
+                emitter.send(SseEmitter.event().name("done").data(response, MediaType.APPLICATION_JSON));
+                finished = true;
+                emitter.complete();
+            } catch (IOException ex) {
+                // Written to a connection the client closed, the container completes the emitter
+                log.debug("Advisor stream of user {} closed by the client: {}", userId, ex.getMessage());
+                cancel();
+            } catch (CancellationException ex) {
+                log.debug("Advisor stream of user {} cancelled", userId);
+            } catch (ApplicationException ex) {
+                fail(ex.getCode(), ex.getMessage());
+            } catch (RuntimeException ex) {
+                if (cancelled) {
+                    // Whatever was running when the thread got interrupted
+                    log.debug("Advisor stream of user {} cancelled: {}", userId, ex.getMessage());
+                    return;
+                }
+                log.error("Advisor stream of user {} failed", userId, ex);
+                fail("ADVISOR.FAILED", "The answer could not be completed");
+            }
+        }
+
+        private void fail(String code, String message) {
+            try {
+                emitter.send(SseEmitter.event().name("error").data(Map.of("code", code, "message", message,
+                                "traceId", RequestContextUtil.getOrGenerateRequestId()),
+                        MediaType.APPLICATION_JSON));
+                finished = true;
+                emitter.complete();
+            } catch (IOException | IllegalStateException ex) {
+                log.debug("Could not report the failure to the client: {}", ex.getMessage());
+            }
+        }
+    }
+}
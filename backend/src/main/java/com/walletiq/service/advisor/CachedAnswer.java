@@ -0,0 +1,19 @@
+package com.walletiq.service.advisor;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Answer served from the {@link SemanticAnswerCache}
+ *
+ * @param similarity     Cosine similarity of the question it was generated for to the one asked
+ * @param generatedAt    When the model produced it
+ * @param generationTime How long the model took, the latency saved by serving it again
+ */
+public record CachedAnswer(
+        String answer,
+        float similarity,
+        Instant generatedAt,
+        Duration generationTime
+) {
+}
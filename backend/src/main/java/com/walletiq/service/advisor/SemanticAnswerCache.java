@@ -0,0 +1,205 @@
+package com.walletiq.service.advisor;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.walletiq.config.properties.AdvisorProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Optional;
+
+/**
+ * Per-user cache of advisor answers, looked up by meaning instead of exact text.
+ * <p>Every answer is stored with the embedding of its question and the version of the
+ * user's data it was generated from. A question whose embedding is at least
+ * {@code similarity-threshold} similar to a stored one is answered from the cache, as
+ * long as the user's data is still at that version. "How much did I spend on food this
+ * month?" and "how much did I spend on food this month" share one model call, while no
+ * answer outlives the numbers it was based on.</p>
+ * <p>Exports {@code advisor.answer.cache.lookups} (tag {@code result} hit/miss),
+ * {@code advisor.answer.cache.hit.ratio}, {@code advisor.answer.cache.saved} (generation
+ * time of every answer served again, the latency saved), {@code advisor.answer.cache.similarity}
+ * (best similarity per lookup, to tune the threshold) and {@code advisor.answer.cache.size}.</p>
+ */
+public class SemanticAnswerCache {
+
+    private final AdvisorProperties.AnswerCacheProperties properties;
+    private final Ticker ticker;
+    private final Cache<String, UserAnswers> users;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Timer saved;
+    private final DistributionSummary similarity;
+
+    public SemanticAnswerCache(AdvisorProperties.AnswerCacheProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, Ticker.systemTicker());
+    }
+
+    SemanticAnswerCache(AdvisorProperties.AnswerCacheProperties properties, MeterRegistry meterRegistry,
+                        Ticker ticker) {
+        this.properties = properties;
+        this.ticker = ticker;
+        this.users = Caffeine.newBuilder()
+                .maximumSize(properties.maxUsers())
+                .expireAfterAccess(properties.timeToLive())
+                .ticker(ticker)
+                .build();
+
+        this.hits = lookups(meterRegistry, "hit");
+        this.misses = lookups(meterRegistry, "miss");
+        Gauge.builder("advisor.answer.cache.hit.ratio", this, SemanticAnswerCache::hitRatio)
+                .description("Share of questions answered from the cache since startup")
+                .register(meterRegistry);
+        Gauge.builder("advisor.answer.cache.size", this, SemanticAnswerCache::size)
+                .description("Answers cached on this node")
+                .register(meterRegistry);
+        this.saved = Timer.builder("advisor.answer.cache.saved")
+                .description("Model time saved per answer served from the cache")
+                .register(meterRegistry);
+        this.similarity = DistributionSummary.builder("advisor.answer.cache.similarity")
+                .description("Similarity of the closest cached question per lookup")
+                .publishPercentiles(0.5, 0.9, 0.99)
+                .register(meterRegistry);
+    }
+
+    /**
+     * The answer to the most similar question the user asked at this data version, if
+     * it is similar enough
+     *
+     * @param question    Unit length embedding of the question
+     * @param dataVersion Fingerprint of the data an answer has to be based on
+     */
+    public Optional<CachedAnswer> lookup(String userId, float[] question, String dataVersion) {
+        if (!properties.enabled()) {
+            return Optional.empty();
+        }
+        UserAnswers answers = users.getIfPresent(userId);
+        Optional<CachedAnswer> answer = answers == null ? Optional.empty() : answers.lookup(question, dataVersion);
+        if (answer.isPresent()) {
+            hits.increment();
+            saved.record(answer.get().generationTime());
+        } else {
+            misses.increment();
+        }
+        return answer;
+    }
+
+    /**
+     * Stores an answer the model generated from the given data version
+     */
+    public void put(String userId, float[] question, String dataVersion, String answer, Duration generationTime) {
+        if (!properties.enabled()) {
+            return;
+        }
+        users.get(userId, key -> new UserAnswers())
+                .put(new Entry(question, dataVersion, answer, Instant.now(), generationTime, ticker.read()));
+    }
+
+    /**
+     * Drops all of the user's answers on this node
+     */
+    public void invalidate(String userId) {
+        users.invalidate(userId);
+    }
+
+    public long size() {
+        long size = 0;
+        for (UserAnswers answers : users.asMap().values()) {
+            size += answers.size();
+        }
+        return size;
+    }
+
+    /* ---------------- Helper ---------------- */
+
+    private static Counter lookups(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("advisor.answer.cache.lookups")
+                .tag("result", result)
+                .description("Advisor questions looked up in the answer cache")
+                .register(meterRegistry);
+    }
+
+    private double hitRatio() {
+        double total = hits.count() + misses.count();
+        return total == 0 ? 0 : hits.count() / total;
+    }
+
+    private static float dot(float[] left, float[] right) {
+        float sum = 0;
+        for (int i = 0; i < left.length; i++) {
+            sum += left[i] * right[i];
+        }
+        return sum;
+    }
+
+    private record Entry(float[] question, String dataVersion, String answer, Instant generatedAt,
+                         Duration generationTime, long storedAt) {
+    }
+
+    /**
+     * One user's answers, most recently used first. Users ask a handful of questions, so
+     * a linear scan beats any index.
+     */
+    private final class UserAnswers {
+        private final ArrayDeque<Entry> entries = new ArrayDeque<>();
+
+        synchronized Optional<CachedAnswer> lookup(float[] question, String dataVersion) {
+            evictStale(dataVersion);
+            Entry best = null;
+            float bestSimilarity = -1;
+            for (Entry entry : entries) {
+                float score = dot(question, entry.question());
+                if (score > bestSimilarity) {
+                    best = entry;
+                    bestSimilarity = score;
+                }
+            }
+            if (best == null) {
+                return Optional.empty();
+            }
+            similarity.record(bestSimilarity);
+            if (bestSimilarity < properties.similarityThreshold()) {
+                return Optional.empty();
+            }
+            entries.remove(best);
+            entries.addFirst(best);
+            return Optional.of(new CachedAnswer(best.answer(), bestSimilarity, best.generatedAt(),
+                    best.generationTime()));
+        }
+
+        synchronized void put(Entry entry) {
+            evictStale(entry.dataVersion());
+            // A concurrent miss may have answered the same question already, keep the newer answer
+            entries.removeIf(existing -> dot(entry.question(), existing.question()) >= properties.similarityThreshold());
+            entries.addFirst(entry);
+            while (entries.size() > properties.maxEntriesPerUser()) {
+                entries.removeLast();
+            }
+        }
+
+        synchronized int size() {
+            return entries.size();
+        }
+
+        // Answers of other data versions can never be served again
+        private void evictStale(String dataVersion) {
+            long cutoff = ticker.read() - properties.timeToLive().toNanos();
+            Iterator<Entry> iterator = entries.iterator();
+            while (iterator.hasNext()) {
+                Entry entry = iterator.next();
+                if (!entry.dataVersion().equals(dataVersion) || entry.storedAt() - cutoff < 0) {
+                    iterator.remove();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.walletiq.service.dashboard;
+
+import com.walletiq.common.constant.ErrorType;
+import com.walletiq.common.constant.TransactionType;
+import com.walletiq.config.persistence.ReadFromReplica;
+import com.walletiq.dto.response.DashboardResponse;
+import com.walletiq.dto.response.DashboardResponse.CategoryTotal;
+import com.walletiq.dto.response.DashboardResponse.MonthlyTotal;
+import com.walletiq.entity.MonthlyRollup;
+import com.walletiq.entity.MonthlyRollupId;
+import com.walletiq.exception.ApplicationException;
+import com.walletiq.cache.TwoTierCacheManager;
+import com.walletiq.repository.MonthlyRollupRepository;
+import com.walletiq.service.rollup.RollupsChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dashboard totals, answered from {@code monthly_rollups} alone.
+ * <p>A range reads at most months x categories x types rollup rows, so the cost
+ * depends on the range asked for and not on how many transactions the user has.</p>
+ * <p>Summaries are cached per user and range in {@value #CACHE}, keyed by user id
+ * first, and all of a user's entries are evicted once a change to their rollups
+ * commits.</p>
+ */
+@Service
+@RequiredArgsConstructor
+public class DashboardService {
+    public static final int MAX_MONTHS = 120;
+    public static final String CACHE = "dashboard";
+
+    private final MonthlyRollupRepository rollupRepository;
+    private final TwoTierCacheManager cacheManager;
+
+    /**
+     * Totals of the user's transactions from the first day of {@code from} to the
+     * last day of {@code to}
+     */
+    @ReadFromReplica
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CACHE, key = "#userId + ':' + #from + ':' + #to", sync = true)
+    public DashboardResponse summary(String userId, YearMonth from, YearMonth to) {
+        if (from.isAfter(to)) {
+            throw new ApplicationException(ErrorType.BAD_REQUEST, "DASHBOARD.INVALID_RANGE",
+                    "'from' must not be after 'to'");
+        }
+        if (from.plusMonths(MAX_MONTHS).isBefore(to.plusMonths(1))) {
+            throw new ApplicationException(ErrorType.BAD_REQUEST, "DASHBOARD.INVALID_RANGE",
+                    "The range must not exceed " + MAX_MONTHS + " months");
+        }
+
+        Map<YearMonth, BigDecimal[]> months = new LinkedHashMap<>();
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            months.put(month, new BigDecimal[]{BigDecimal.ZERO, BigDecimal.ZERO});
+        }
+        Map<CategoryKey, CategoryTotal> categories = new HashMap<>();
+        BigDecimal income = BigDecimal.ZERO;
+        BigDecimal expense = BigDecimal.ZERO;
+
+        List<MonthlyRollup> rollups = rollupRepository.findByUserAndMonths(userId,
+                from.atDay(1), to.atDay(1));
+        for (MonthlyRollup rollup : rollups) {
+            MonthlyRollupId id = rollup.getId();
+            int slot = id.getType() == TransactionType.INCOME ? 0 : 1;
+            BigDecimal[] month = months.get(YearMonth.from(id.getMonth()));
+            month[slot] = month[slot].add(rollup.getTotal());
+            if (slot == 0) {
+                income = income.add(rollup.getTotal());
+            } else {
+                expense = expense.add(rollup.getTotal());
+            }
+            categories.merge(new CategoryKey(id.getCategory(), id.getType()),
+                    new CategoryTotal(id.getCategory(), id.getType(), rollup.getTotal(), rollup.getTxCount()),
+                    (left, right) -> new CategoryTotal(left.category(), left.type(),
+                            left.total().add(right.total()), left.count() + right.count()));
+        }
+
+        List<MonthlyTotal> monthly = new ArrayList<>(months.size());
+        months.forEach((month, totals) -> monthly.add(new MonthlyTotal(month, totals[0], totals[1])));
+        List<CategoryTotal> byCategory = new ArrayList<>(categories.values());
+        byCategory.sort(Comparator.comparing(CategoryTotal::total).reversed()
+                .thenComparing(CategoryTotal::category));
+
+        return new DashboardResponse(from, to, income, expense, income.subtract(expense), monthly, byCategory);
+    }
+
+    @TransactionalEventListener
+    public void onRollupsChanged(RollupsChangedEvent event) {
+        event.userIds().forEach(userId -> cacheManager.getCache(CACHE).evictByPrefix(userId + ":"));
+    }
+
+    private record CategoryKey(String category, TransactionType type) {
+    }
+}
@@ -0,0 +1,81 @@
+package com.walletiq.service.exporting;
+
+import com.walletiq.common.response.ErrorResponse;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * RFC 4180 CSV with a header row, in the column layout the importer accepts.
+ * <p>CSV has no room for an envelope; the outcome travels in HTTP trailer fields
+ * set by the controller.</p>
+ * <p>User-entered cells starting with a character spreadsheets read as a formula get a
+ * leading {@code '}, so opening an export never evaluates one (CSV injection).</p>
+ */
+class CsvExportWriter implements ExportWriter {
+    private static final String FORMULA_PREFIXES = "=+-@\t\r";
+
+    private final Writer writer;
+
+    CsvExportWriter(OutputStream output) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), 16 * 1024);
+    }
+
+    @Override
+    public void begin() throws IOException {
+        writer.write("id,type,amount,category,description,date\r\n");
+    }
+
+    @Override
+    public void row(ResultSet resultSet) throws IOException, SQLException {
+        writer.write(resultSet.getString(1));
+        writer.write(',');
+        writer.write(resultSet.getString(2));
+        writer.write(',');
+        writer.write(resultSet.getBigDecimal(3).toPlainString());
+        writer.write(',');
+        quote(resultSet.getString(4));
+        writer.write(',');
+        quote(resultSet.getString(5));
+        writer.write(',');
+        writer.write(resultSet.getString(6));
+        writer.write("\r\n");
+    }
+
+    @Override
+    public void finish(long count) throws IOException {
+        writer.flush();
+    }
+
+    @Override
+    public void fail(ErrorResponse error) throws IOException {
+        writer.flush();
+    }
+
+    private void quote(String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (!value.isEmpty() && FORMULA_PREFIXES.indexOf(value.charAt(0)) >= 0) {
+            value = "'" + value;
+        }
+        boolean needsQuotes = false;
+        for (int i = 0; i < value.length() && !needsQuotes; i++) {
+            char c = value.charAt(i);
+            needsQuotes = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!needsQuotes) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,40 @@
+package com.walletiq.service.exporting;
+
+import com.walletiq.common.constant.ErrorType;
+import com.walletiq.exception.ApplicationException;
+import org.springframework.http.MediaType;
+
+import java.util.Locale;
+
+/**
+ * Streaming export formats
+ */
+public enum ExportFormat {
+    NDJSON(MediaType.parseMediaType("application/x-ndjson"), "ndjson"),
+    CSV(MediaType.parseMediaType("text/csv;charset=UTF-8"), "csv");
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    ExportFormat(MediaType mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public MediaType mediaType() {
+        return mediaType;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    public static ExportFormat resolve(String format) {
+        try {
+            return valueOf(format.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException | NullPointerException ex) {
+            throw new ApplicationException(ErrorType.BAD_REQUEST, "EXPORT.UNSUPPORTED_FORMAT",
+                    "Unsupported export format, expected ndjson or csv");
+        }
+    }
+}
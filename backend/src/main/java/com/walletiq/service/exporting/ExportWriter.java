@@ -0,0 +1,27 @@
+package com.walletiq.service.exporting;
+
+import com.walletiq.common.response.ErrorResponse;
+
+import java.io.IOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Encodes exported rows straight from the JDBC cursor, one row at a time
+ */
+interface ExportWriter {
+
+    void begin() throws IOException;
+
+    void row(ResultSet resultSet) throws IOException, SQLException;
+
+    /**
+     * Writes the success trailer, if the format has one
+     */
+    void finish(long count) throws IOException;
+
+    /**
+     * Writes the error trailer, if the format has one, after a failure mid-stream
+     */
+    void fail(ErrorResponse error) throws IOException;
+}
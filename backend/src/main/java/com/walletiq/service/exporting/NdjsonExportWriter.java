@@ -0,0 +1,70 @@
+package com.walletiq.service.exporting;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.walletiq.common.response.ErrorResponse;
+import com.walletiq.common.response.ResponseWrapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Map;
+
+/**
+ * One {@code TransactionResponse} shaped JSON object per line. The last line is the
+ * usual envelope, a {@code ResponseWrapper} on success or an {@code ErrorResponse}
+ * if the export broke off, so clients can tell a complete export from a truncated one.
+ */
+class NdjsonExportWriter implements ExportWriter {
+    private final ObjectMapper objectMapper;
+    private final JsonGenerator generator;
+
+    NdjsonExportWriter(ObjectMapper objectMapper, OutputStream output) throws IOException {
+        this.objectMapper = objectMapper;
+        this.generator = objectMapper.getFactory().createGenerator(output);
+        this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        // Lines are terminated explicitly, no separator between root values
+        this.generator.setRootValueSeparator(null);
+    }
+
+    @Override
+    public void begin() {
+        // no header line
+    }
+
+    @Override
+    public void row(ResultSet resultSet) throws IOException, SQLException {
+        generator.writeStartObject();
+        generator.writeStringField("id", resultSet.getString(1));
+        generator.writeStringField("type", resultSet.getString(2));
+        generator.writeFieldName("amount");
+        generator.writeNumber(resultSet.getBigDecimal(3));
+        generator.writeStringField("category", resultSet.getString(4));
+        String description = resultSet.getString(5);
+        if (description == null) {
+            generator.writeNullField("description");
+        } else {
+            generator.writeStringField("description", description);
+        }
+        generator.writeStringField("transactionDate", resultSet.getString(6));
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    @Override
+    public void finish(long count) throws IOException {
+        trailer(ResponseWrapper.ok("Transactions exported successfully", Map.of("count", count)));
+    }
+
+    @Override
+    public void fail(ErrorResponse error) throws IOException {
+        trailer(error);
+    }
+
+    private void trailer(Object envelope) throws IOException {
+        objectMapper.writeValue(generator, envelope);
+        generator.writeRaw('\n');
+        generator.flush();
+    }
+}
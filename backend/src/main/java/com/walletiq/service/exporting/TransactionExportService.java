@@ -0,0 +1,139 @@
+package com.walletiq.service.exporting;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.walletiq.common.constant.ErrorType;
+import com.walletiq.common.response.ErrorResponse;
+import com.walletiq.config.properties.ExportProperties;
+import com.walletiq.exception.ApplicationException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streams a user's transactions to an output stream with constant memory.
+ * <p>Rows come from a forward-only, read-only cursor: inside a transaction the
+ * PostgreSQL driver fetches {@code app.export.fetch-size} rows per round trip instead
+ * of the whole result, and each row is encoded straight from the {@code ResultSet}
+ * without an entity or DTO in between.</p>
+ */
+@Slf4j
+@Service
+public class TransactionExportService {
+    private static final String SELECT = "SELECT id, type, amount, category, description, transaction_date "
+            + "FROM transactions WHERE user_id = ?";
+    private static final String ORDER = " ORDER BY transaction_date DESC, id DESC";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectMapper objectMapper;
+    private final ExportProperties properties;
+
+    public TransactionExportService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                    ObjectMapper objectMapper, ExportProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+    }
+
+    /**
+     * Writes the user's transactions, newest first, optionally limited to a date range.
+     * If the export fails after rows were written, the format's error trailer is
+     * written before the exception is rethrown.
+     *
+     * @param traceId Reported in the error trailer
+     * @return number of rows written
+     */
+    public long export(String userId, ExportFormat format, LocalDate from, LocalDate to,
+                       OutputStream output, String traceId) throws IOException {
+        ExportWriter writer = switch (format) {
+            case NDJSON -> new NdjsonExportWriter(objectMapper, output);
+            case CSV -> new CsvExportWriter(output);
+        };
+
+        long started = System.nanoTime();
+        long count;
+        writer.begin();
+        try {
+            Long written = readOnlyTransaction.execute(status -> stream(userId, from, to, writer));
+            count = written == null ? 0 : written;
+        } catch (RuntimeException ex) {
+            IOException io = ex instanceof UncheckedIOException unchecked ? unchecked.getCause() : null;
+            if (io == null) {
+                // Still connected, tell the client the export is incomplete
+                writer.fail(ErrorResponse.of(ErrorResponse.ErrorDetail.builder()
+                        .type(ErrorType.INTERNAL_SERVER_ERROR)
+                        .code("EXPORT.FAILED")
+                        .detail("The export was interrupted, the data received so far is incomplete")
+                        .traceId(traceId)
+                        .build()));
+                throw ex;
+            }
+            throw io;
+        }
+        writer.finish(count);
+        log.debug("Exported {} {} rows for user {} in {} ms", count, format, userId,
+                (System.nanoTime() - started) / 1_000_000);
+        return count;
+    }
+
+    /**
+     * Validates a requested range before any byte is written
+     */
+    public static void validateRange(LocalDate from, LocalDate to) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new ApplicationException(ErrorType.BAD_REQUEST, "EXPORT.INVALID_RANGE",
+                    "'from' must not be after 'to'");
+        }
+    }
+
+    /* ---------------- Helper ---------------- */
+
+    private long stream(String userId, LocalDate from, LocalDate to, ExportWriter writer) {
+        StringBuilder sql = new StringBuilder(SELECT);
+        List<Object> args = new ArrayList<>(3);
+        args.add(userId);
+        if (from != null) {
+            sql.append(" AND transaction_date >= ?");
+            args.add(Date.valueOf(from));
+        }
+        if (to != null) {
+            sql.append(" AND transaction_date <= ?");
+            args.add(Date.valueOf(to));
+        }
+        sql.append(ORDER);
+
+        long[] count = {0};
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql.toString(),
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(properties.fetchSize());
+            for (int i = 0; i < args.size(); i++) {
+                statement.setObject(i + 1, args.get(i));
+            }
+            return statement;
+        }, resultSet -> {
+            try {
+                writer.row(resultSet);
+            } catch (IOException ex) {
+                // Client went away, abort the query
+                throw new UncheckedIOException(ex);
+            }
+            count[0]++;
+        });
+        return count[0];
+    }
+}
@@ -0,0 +1,154 @@
+package com.walletiq.service.importing;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Streaming RFC 4180 CSV parser for bank statements.
+ * <p>The first record is a header. Recognised columns (case-insensitive):
+ * {@code date}, {@code amount}, {@code type}, {@code category} and {@code description}
+ * (also {@code narration}, {@code memo}, {@code payee}). Quoted fields may contain
+ * separators, escaped quotes and line breaks.</p>
+ */
+class CsvStatementParser implements StatementParser {
+    private static final Map<String, String> HEADER_ALIASES = Map.ofEntries(
+            Map.entry("date", "date"),
+            Map.entry("transaction_date", "date"),
+            Map.entry("transactiondate", "date"),
+            Map.entry("amount", "amount"),
+            Map.entry("type", "type"),
+            Map.entry("category", "category"),
+            Map.entry("description", "description"),
+            Map.entry("narration", "description"),
+            Map.entry("memo", "description"),
+            Map.entry("payee", "description")
+    );
+
+    @Override
+    public void parse(Reader reader, Consumer<ParsedRow> consumer) throws IOException {
+        RecordReader records = new RecordReader(reader);
+        List<String> header = records.next();
+        if (header == null) {
+            throw new StatementFormatException("The file is empty");
+        }
+        Map<String, Integer> columns = resolveColumns(header);
+        if (!columns.containsKey("date") || !columns.containsKey("amount")) {
+            throw new StatementFormatException("CSV header must contain at least 'date' and 'amount' columns");
+        }
+
+        long rowNumber = 0;
+        List<String> record;
+        while ((record = records.next()) != null) {
+            if (record.size() == 1 && record.get(0).isBlank()) {
+                continue;
+            }
+            rowNumber++;
+            consumer.accept(new ParsedRow(
+                    rowNumber,
+                    field(record, columns, "date"),
+                    field(record, columns, "amount"),
+                    field(record, columns, "type"),
+                    field(record, columns, "category"),
+                    field(record, columns, "description")
+            ));
+        }
+    }
+
+    /* ---------------- Helper ---------------- */
+
+    private static Map<String, Integer> resolveColumns(List<String> header) {
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).trim().toLowerCase(Locale.ROOT).replace(' ', '_');
+            String column = HEADER_ALIASES.get(name);
+            if (column != null) {
+                columns.putIfAbsent(column, i);
+            }
+        }
+        return columns;
+    }
+
+    private static String field(List<String> record, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        String value = record.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * Reads one CSV record at a time
+     */
+    private static final class RecordReader {
+        private final Reader reader;
+        private final StringBuilder field = new StringBuilder();
+        private int pending = -2;
+
+        RecordReader(Reader reader) {
+            this.reader = reader;
+        }
+
+        List<String> next() throws IOException {
+            int c = read();
+            if (c == -1) {
+                return null;
+            }
+            List<String> record = new ArrayList<>();
+            boolean quoted = false;
+            field.setLength(0);
+
+            while (true) {
+                if (quoted) {
+                    if (c == -1) {
+                        throw new StatementFormatException("Unterminated quoted field");
+                    }
+                    if (c == '"') {
+                        int next = read();
+                        if (next == '"') {
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                            c = next;
+                            continue;
+                        }
+                    } else {
+                        field.append((char) c);
+                    }
+                } else if (c == '"' && field.isEmpty()) {
+                    quoted = true;
+                } else if (c == ',') {
+                    record.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\r' || c == '\n' || c == -1) {
+                    if (c == '\r') {
+                        int next = read();
+                        if (next != '\n') {
+                            pending = next;
+                        }
+                    }
+                    record.add(field.toString());
+                    return record;
+                } else {
+                    field.append((char) c);
+                }
+                c = read();
+            }
+        }
+
+        private int read() throws IOException {
+            if (pending != -2) {
+                int c = pending;
+                pending = -2;
+                return c;
+            }
+            return reader.read();
+        }
+    }
+}
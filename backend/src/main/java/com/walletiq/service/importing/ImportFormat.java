@@ -0,0 +1,36 @@
+package com.walletiq.service.importing;
+
+import com.walletiq.common.constant.ErrorType;
+import com.walletiq.exception.ApplicationException;
+
+import java.util.Locale;
+
+/**
+ * Supported bank statement formats
+ */
+public enum ImportFormat {
+    CSV,
+    OFX;
+
+    /**
+     * Resolves the format from an explicit value or, failing that, the file name
+     */
+    public static ImportFormat resolve(String format, String fileName) {
+        String candidate = format;
+        if ((candidate == null || candidate.isBlank()) && fileName != null && fileName.contains(".")) {
+            candidate = fileName.substring(fileName.lastIndexOf('.') + 1);
+        }
+        if (candidate != null) {
+            switch (candidate.toUpperCase(Locale.ROOT)) {
+                case "CSV":
+                    return CSV;
+                case "OFX", "QFX":
+                    return OFX;
+                default:
+                    break;
+            }
+        }
+        throw new ApplicationException(ErrorType.UNSUPPORTED_MEDIA_TYPE, "IMPORT.UNSUPPORTED_FORMAT",
+                "Unsupported statement format, expected CSV or OFX");
+    }
+}
@@ -0,0 +1,26 @@
+package com.walletiq.service.importing;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of a bulk import
+ *
+ * @param total         Data rows read from the file
+ * @param imported      Rows written to the database
+ * @param failed        Rows rejected during validation
+ * @param failures      First rejected rows with their reason, capped by {@code app.import.max-reported-failures}
+ * @param elapsedMillis Wall clock time of the whole import
+ */
+public record ImportResult(
+        int total,
+        int imported,
+        int failed,
+        List<Map<String, Object>> failures,
+        long elapsedMillis
+) {
+
+    public long rowsPerSecond() {
+        return elapsedMillis == 0 ? imported : imported * 1000L / elapsedMillis;
+    }
+}
@@ -0,0 +1,124 @@
+package com.walletiq.service.importing;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Locale;
+import java.util.function.Consumer;
+
+/**
+ * Streaming OFX/QFX parser.
+ * <p>Handles both SGML (OFX 1.x, unclosed leaf tags) and XML (OFX 2.x) bodies by
+ * tokenizing tags and treating the text up to the next {@code <} as the value of
+ * the last opened tag. Only {@code STMTTRN} aggregates are read; everything else,
+ * including the SGML header, is skipped.</p>
+ */
+class OfxStatementParser implements StatementParser {
+    private static final int MAX_TAG_LENGTH = 64;
+    private static final int MAX_VALUE_LENGTH = 1024;
+
+    @Override
+    public void parse(Reader reader, Consumer<ParsedRow> consumer) throws IOException {
+        StringBuilder tag = new StringBuilder();
+        StringBuilder value = new StringBuilder();
+        Transaction current = null;
+        String openTag = null;
+        long rowNumber = 0;
+        boolean sawOfx = false;
+
+        int c = reader.read();
+        while (c != -1) {
+            if (c != '<') {
+                if (openTag != null && value.length() < MAX_VALUE_LENGTH) {
+                    value.append((char) c);
+                }
+                c = reader.read();
+                continue;
+            }
+
+            // Value of the previous leaf tag ends where the next tag starts
+            if (current != null && openTag != null) {
+                current.set(openTag, value.toString().trim());
+            }
+            openTag = null;
+            value.setLength(0);
+
+            tag.setLength(0);
+            while ((c = reader.read()) != -1 && c != '>') {
+                if (tag.length() < MAX_TAG_LENGTH) {
+                    tag.append((char) c);
+                }
+            }
+            if (c == -1) {
+                break;
+            }
+            String name = tag.toString().trim().toUpperCase(Locale.ROOT);
+            if (name.equals("OFX")) {
+                sawOfx = true;
+            } else if (name.equals("STMTTRN")) {
+                current = new Transaction();
+            } else if (name.equals("/STMTTRN")) {
+                if (current != null) {
+                    consumer.accept(current.toRow(++rowNumber));
+                }
+                current = null;
+            } else if (!name.startsWith("/") && !name.startsWith("?") && !name.startsWith("!")) {
+                openTag = name;
+            }
+            c = reader.read();
+        }
+
+        if (!sawOfx) {
+            throw new StatementFormatException("The file is not a valid OFX statement");
+        }
+    }
+
+    /**
+     * Fields of the {@code STMTTRN} aggregate being read
+     */
+    private static final class Transaction {
+        private String trnType;
+        private String posted;
+        private String amount;
+        private String name;
+        private String memo;
+
+        void set(String tag, String value) {
+            if (value.isEmpty()) {
+                return;
+            }
+            switch (tag) {
+                case "TRNTYPE" -> trnType = value;
+                case "DTPOSTED" -> posted = value;
+                case "TRNAMT" -> amount = value;
+                case "NAME" -> name = value;
+                case "MEMO" -> memo = value;
+                default -> {
+                }
+            }
+        }
+
+        ParsedRow toRow(long rowNumber) {
+            return new ParsedRow(rowNumber, date(), amount, type(), null, name != null ? name : memo);
+        }
+
+        // DTPOSTED is YYYYMMDD[HHMMSS[.XXX][TZ]]
+        private String date() {
+            if (posted == null || posted.length() < 8) {
+                return posted;
+            }
+            return posted.substring(0, 4) + "-" + posted.substring(4, 6) + "-" + posted.substring(6, 8);
+        }
+
+        // TRNTYPE is informational; the sign of TRNAMT decides unless it is explicit
+        private String type() {
+            if (trnType == null) {
+                return null;
+            }
+            return switch (trnType.toUpperCase(Locale.ROOT)) {
+                case "CREDIT", "DEP", "INT", "DIV", "DIRECTDEP" -> "INCOME";
+                case "DEBIT", "PAYMENT", "POS", "ATM", "FEE", "SRVCHG", "CHECK", "DIRECTDEBIT", "REPEATPMT" -> "EXPENSE";
+                default -> null;
+            };
+        }
+    }
+}
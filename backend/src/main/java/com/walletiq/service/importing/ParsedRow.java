@@ -0,0 +1,21 @@
+package com.walletiq.service.importing;
+
+/**
+ * One statement line as read from the file, not yet validated.
+ *
+ * @param rowNumber   1-based position in the file (data rows only)
+ * @param date        Transaction date as written in the file
+ * @param amount      Signed amount, negative for money going out
+ * @param type        INCOME/EXPENSE if the file states it, otherwise {@code null}
+ * @param category    Category if present
+ * @param description Free text (payee, narration, memo)
+ */
+public record ParsedRow(
+        long rowNumber,
+        String date,
+        String amount,
+        String type,
+        String category,
+        String description
+) {
+}
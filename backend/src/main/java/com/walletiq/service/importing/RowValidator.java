@@ -0,0 +1,113 @@
+package com.walletiq.service.importing;
+
+import com.walletiq.common.constant.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Turns a {@link ParsedRow} into a row that satisfies the {@code transactions} constraints,
+ * or explains why it cannot.
+ */
+final class RowValidator {
+    static final String DEFAULT_CATEGORY = "UNCATEGORIZED";
+
+    private static final int CATEGORY_LENGTH = 100;
+    private static final int DESCRIPTION_LENGTH = 500;
+    private static final BigDecimal MAX_AMOUNT = new BigDecimal("99999999999999999.99");
+    // Commas only as thousands separators, a decimal comma ("12,50") must not read as 1250
+    private static final Pattern THOUSANDS_SEPARATED = Pattern.compile("[+-]?\\d{1,3}(,\\d{3})+(\\.\\d+)?");
+    private static final List<DateTimeFormatter> DATE_FORMATS = List.of(
+            DateTimeFormatter.ISO_LOCAL_DATE,
+            DateTimeFormatter.ofPattern("dd-MM-uuuu"),
+            DateTimeFormatter.ofPattern("dd/MM/uuuu")
+    );
+
+    private RowValidator() {
+    }
+
+    /**
+     * @return the validated row
+     * @throws InvalidRowException with a user facing reason if the row is rejected
+     */
+    static ValidRow validate(ParsedRow row) {
+        LocalDate date = parseDate(row.date());
+        BigDecimal signed = parseAmount(row.amount());
+
+        TransactionType type;
+        if (row.type() != null) {
+            try {
+                type = TransactionType.valueOf(row.type().trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException ex) {
+                throw new InvalidRowException("Unknown type '" + row.type() + "', expected INCOME or EXPENSE");
+            }
+        } else {
+            type = signed.signum() < 0 ? TransactionType.EXPENSE : TransactionType.INCOME;
+        }
+
+        String category = row.category() == null ? DEFAULT_CATEGORY : truncate(row.category(), CATEGORY_LENGTH);
+        String description = row.description() == null ? null : truncate(row.description(), DESCRIPTION_LENGTH);
+        return new ValidRow(date, type, signed.abs(), category, description);
+    }
+
+    private static LocalDate parseDate(String value) {
+        if (value == null) {
+            throw new InvalidRowException("Date is missing");
+        }
+        for (DateTimeFormatter format : DATE_FORMATS) {
+            try {
+                return LocalDate.parse(value, format);
+            } catch (DateTimeParseException ignored) {
+                // try the next format
+            }
+        }
+        throw new InvalidRowException("Invalid date '" + value + "', expected yyyy-MM-dd, dd-MM-yyyy or dd/MM/yyyy");
+    }
+
+    private static BigDecimal parseAmount(String value) {
+        if (value == null) {
+            throw new InvalidRowException("Amount is missing");
+        }
+        if (value.indexOf(',') >= 0 && !THOUSANDS_SEPARATED.matcher(value).matches()) {
+            throw new InvalidRowException("Invalid amount '" + value + "', use '.' for decimals and ',' only between thousands");
+        }
+        BigDecimal amount;
+        try {
+            amount = new BigDecimal(value.replace(",", ""));
+        } catch (NumberFormatException ex) {
+            throw new InvalidRowException("Invalid amount '" + value + "'");
+        }
+        if (amount.signum() == 0) {
+            throw new InvalidRowException("Amount must not be zero");
+        }
+        if (amount.scale() > 2 && amount.stripTrailingZeros().scale() > 2) {
+            throw new InvalidRowException("Amount '" + value + "' has more than 2 decimal places");
+        }
+        if (amount.abs().compareTo(MAX_AMOUNT) > 0) {
+            throw new InvalidRowException("Amount '" + value + "' is too large");
+        }
+        return amount;
+    }
+
+    private static String truncate(String value, int length) {
+        return value.length() <= length ? value : value.substring(0, length);
+    }
+
+    record ValidRow(LocalDate date, TransactionType type, BigDecimal amount, String category, String description) {
+    }
+
+    /**
+     * Row level rejection, reported back to the user and never propagated out of the import
+     */
+    static final class InvalidRowException extends RuntimeException {
+
+        InvalidRowException(String message) {
+            super(message, null, false, false);
+        }
+    }
+}
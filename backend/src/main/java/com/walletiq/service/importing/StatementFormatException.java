@@ -0,0 +1,14 @@
+package com.walletiq.service.importing;
+
+import com.walletiq.common.constant.ErrorType;
+import com.walletiq.exception.ApplicationException;
+
+/**
+ * Thrown when a statement file cannot be read at all (missing header, wrong format)
+ */
+public class StatementFormatException extends ApplicationException {
+
+    public StatementFormatException(String message) {
+        super(ErrorType.VALIDATION_ERROR, "IMPORT.INVALID_FILE", message);
+    }
+}
@@ -0,0 +1,27 @@
+package com.walletiq.service.importing;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.function.Consumer;
+
+/**
+ * Reads a statement file incrementally, handing each row to the consumer as soon
+ * as it is complete. Implementations never hold more than one row in memory.
+ */
+public interface StatementParser {
+
+    /**
+     * Parses rows until the end of input
+     *
+     * @throws IOException              if reading fails
+     * @throws StatementFormatException if the file structure is broken beyond a single row
+     */
+    void parse(Reader reader, Consumer<ParsedRow> consumer) throws IOException;
+
+    static StatementParser of(ImportFormat format) {
+        return switch (format) {
+            case CSV -> new CsvStatementParser();
+            case OFX -> new OfxStatementParser();
+        };
+    }
+}
@@ -0,0 +1,321 @@
+package com.walletiq.service.importing;
+
+import com.walletiq.common.constant.ErrorType;
+import com.walletiq.common.constant.JobType;
+import com.walletiq.common.util.AuthUtil;
+import com.walletiq.common.util.MdcUtil;
+import com.walletiq.config.properties.ImportProperties;
+import com.walletiq.entity.Job;
+import com.walletiq.exception.ApplicationException;
+import com.walletiq.service.TransactionsChangedEvent;
+import com.walletiq.service.job.JobService;
+import com.walletiq.service.rollup.MonthlyRollupService;
+import com.walletiq.service.rollup.RollupDeltas;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.sql.DataSource;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.function.LongConsumer;
+
+/**
+ * Bulk loads bank statements into {@code transactions}.
+ * <p>The import is a two stage pipeline. A virtual thread parses the upload row by
+ * row, validates each row and encodes accepted rows as {@code COPY} CSV into
+ * chunks of {@code app.import.chunk-size} rows. Chunks are handed over through a
+ * bounded queue, so a slow database blocks the parser instead of letting the file
+ * pile up in memory. The calling thread streams each chunk to PostgreSQL with
+ * {@code COPY ... FROM STDIN}.</p>
+ * <p>All chunks, and the matching {@code monthly_rollups} changes, are written in one
+ * transaction: an import either lands completely or not at all, and rejected rows are
+ * reported without aborting the rest.</p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TransactionImportService {
+    private static final String COPY_SQL = "COPY transactions (id, created_at, created_by, user_id, type, amount, "
+            + "category, description, transaction_date) FROM STDIN WITH (FORMAT csv)";
+    private static final String SYSTEM = "system";
+
+    private final DataSource dataSource;
+    private final TransactionTemplate transactionTemplate;
+    private final ImportProperties properties;
+    private final JobService jobService;
+    private final MonthlyRollupService rollupService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Imports every valid row of the statement for the user
+     *
+     * @param input Upload stream, read exactly once and not closed
+     */
+    public ImportResult importStatement(String userId, ImportFormat format, InputStream input) {
+        return importStatement(userId, format, input, imported -> {
+        });
+    }
+
+    /**
+     * Stages the upload in a temporary file and imports it as a background job, the
+     * request returns as soon as the job is queued
+     *
+     * @return the queued job, its result is the {@link ImportResult}
+     */
+    public Job submit(String userId, ImportFormat format, MultipartFile file) throws IOException {
+        Path staged = Files.createTempFile("walletiq-import-", "." + format.name().toLowerCase(Locale.ROOT));
+        try {
+            file.transferTo(staged);
+            return jobService.submit(userId, JobType.TRANSACTION_IMPORT, context -> {
+                try (InputStream input = Files.newInputStream(staged)) {
+                    return importStatement(userId, format, input, imported -> context.progress(imported, null));
+                } finally {
+                    Files.deleteIfExists(staged);
+                }
+            });
+        } catch (IOException | RuntimeException ex) {
+            Files.deleteIfExists(staged);
+            throw ex;
+        }
+    }
+
+    /**
+     * Imports every valid row of the statement for the user
+     *
+     * @param input    Upload stream, read exactly once and not closed
+     * @param progress Receives the number of rows written so far after every chunk
+     */
+    public ImportResult importStatement(String userId, ImportFormat format, InputStream input, LongConsumer progress) {
+        long started = System.nanoTime();
+        String createdBy = AuthUtil.getUsername().orElse(SYSTEM);
+        BlockingQueue<Chunk> queue = new ArrayBlockingQueue<>(properties.queueCapacity());
+        Producer producer = new Producer(StatementParser.of(format), input, queue,
+                new RowEncoder(userId, createdBy, LocalDateTime.now()));
+
+        Thread parser = Thread.ofVirtual().name("import-parser-" + userId).start(MdcUtil.wrap(producer));
+        int imported;
+        try {
+            Integer written = transactionTemplate.execute(status -> {
+                int copied = copy(queue, progress);
+                eventPublisher.publishEvent(TransactionsChangedEvent.bulk(userId));
+                return copied;
+            });
+            imported = written == null ? 0 : written;
+            parser.join();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            parser.interrupt();
+            throw new ApplicationException(ErrorType.SERVICE_UNAVAILABLE, "IMPORT.INTERRUPTED", "Import was interrupted");
+        } catch (RuntimeException ex) {
+            parser.interrupt();
+            throw ex;
+        }
+
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+        ImportResult result = new ImportResult(producer.total, imported, producer.failed,
+                producer.failures, elapsedMillis);
+        log.info("Imported {} of {} {} rows for user {} in {} ms ({} rows/sec)",
+                imported, producer.total, format, userId, elapsedMillis, result.rowsPerSecond());
+        return result;
+    }
+
+    /* ---------------- Writer stage ---------------- */
+
+    private int copy(BlockingQueue<Chunk> queue, LongConsumer progress) {
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+            RollupDeltas deltas = new RollupDeltas();
+            int imported = 0;
+            while (true) {
+                Chunk chunk = queue.take();
+                if (chunk.error() != null) {
+                    throw translate(chunk.error());
+                }
+                if (chunk.isEnd()) {
+                    // A handful of (month, category) rows for the whole file, applied once before commit
+                    rollupService.apply(deltas);
+                    return imported;
+                }
+                copyManager.copyIn(COPY_SQL, new ByteArrayInputStream(chunk.data()));
+                deltas.addAll(chunk.deltas());
+                imported += chunk.rows();
+                progress.accept(imported);
+            }
+        } catch (SQLException | IOException ex) {
+            throw new ApplicationException(ErrorType.INTERNAL_SERVER_ERROR, "IMPORT.WRITE_FAILED",
+                    "Failed to store imported transactions", ex);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Import was interrupted");
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    private static RuntimeException translate(Throwable error) {
+        if (error instanceof RuntimeException runtime) {
+            return runtime;
+        }
+        return new ApplicationException(ErrorType.BAD_REQUEST, "IMPORT.UNREADABLE_FILE",
+                "The uploaded file could not be read", error);
+    }
+
+    /* ---------------- Parser stage ---------------- */
+
+    /**
+     * Parses and validates rows, publishing encoded chunks to the writer. Counters are
+     * only read by the caller after {@link Thread#join()}.
+     */
+    private final class Producer implements Runnable {
+        private final StatementParser parser;
+        private final InputStream input;
+        private final BlockingQueue<Chunk> queue;
+        private final RowEncoder encoder;
+        private final List<Map<String, Object>> failures = new ArrayList<>();
+        private int total;
+        private int failed;
+
+        Producer(StatementParser parser, InputStream input, BlockingQueue<Chunk> queue, RowEncoder encoder) {
+            this.parser = parser;
+            this.input = input;
+            this.queue = queue;
+            this.encoder = encoder;
+        }
+
+        @Override
+        public void run() {
+            try {
+                Reader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8), 64 * 1024);
+                parser.parse(reader, this::accept);
+                if (encoder.rows() > 0) {
+                    publish(encoder.drain());
+                }
+                publish(Chunk.END);
+            } catch (CancellationException ex) {
+                // writer is gone, nobody is listening any more
+            } catch (Throwable ex) {
+                try {
+                    publish(Chunk.failed(ex));
+                } catch (CancellationException ignored) {
+                    // writer is gone, nobody is listening any more
+                }
+            }
+        }
+
+        private void accept(ParsedRow row) {
+            total++;
+            try {
+                encoder.append(RowValidator.validate(row));
+            } catch (RowValidator.InvalidRowException ex) {
+                failed++;
+                if (failures.size() < properties.maxReportedFailures()) {
+                    failures.add(Map.of("row", row.rowNumber(), "error", ex.getMessage()));
+                }
+                return;
+            }
+            if (encoder.rows() >= properties.chunkSize()) {
+                publish(encoder.drain());
+            }
+        }
+
+        private void publish(Chunk chunk) {
+            try {
+                queue.put(chunk);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new CancellationException("Import was cancelled");
+            }
+        }
+    }
+
+    /**
+     * Encodes validated rows in PostgreSQL {@code COPY} CSV format
+     */
+    private static final class RowEncoder {
+        private final String rawUserId;
+        private final String userId;
+        private final String createdBy;
+        private final String createdAt;
+        private final StringBuilder buffer = new StringBuilder(64 * 1024);
+        private RollupDeltas deltas = new RollupDeltas();
+        private int rows;
+
+        RowEncoder(String userId, String createdBy, LocalDateTime createdAt) {
+            this.rawUserId = userId;
+            this.userId = quote(userId);
+            this.createdBy = quote(createdBy);
+            this.createdAt = createdAt.toString();
+        }
+
+        void append(RowValidator.ValidRow row) {
+            buffer.append(UUID.randomUUID()).append(',')
+                    .append(createdAt).append(',')
+                    .append(createdBy).append(',')
+                    .append(userId).append(',')
+                    .append(row.type().name()).append(',')
+                    .append(row.amount().toPlainString()).append(',')
+                    .append(quote(row.category())).append(',');
+            if (row.description() != null) {
+                buffer.append(quote(row.description()));
+            }
+            buffer.append(',').append(row.date()).append('\n');
+            deltas.add(rawUserId, row.date(), row.category(), row.type(), row.amount());
+            rows++;
+        }
+
+        int rows() {
+            return rows;
+        }
+
+        Chunk drain() {
+            Chunk chunk = new Chunk(buffer.toString().getBytes(StandardCharsets.UTF_8), rows, deltas, null);
+            buffer.setLength(0);
+            deltas = new RollupDeltas();
+            rows = 0;
+            return chunk;
+        }
+
+        // Quoted so that an empty string stays distinct from NULL
+        private static String quote(String value) {
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+    }
+
+    private record Chunk(byte[] data, int rows, RollupDeltas deltas, Throwable error) {
+        static final Chunk END = new Chunk(new byte[0], 0, null, null);
+
+        static Chunk failed(Throwable error) {
+            return new Chunk(null, 0, null, error);
+        }
+
+        boolean isEnd() {
+            return this == END;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.walletiq.service.job;
+
+import com.walletiq.repository.JobRepository;
+
+/**
+ * Handle given to a running {@link JobHandler} for reporting progress.
+ * <p>Progress writes are throttled to one per {@code app.jobs.progress-interval}; the
+ * last reported values are always persisted when the job finishes. Not thread-safe,
+ * report from the job's own thread.</p>
+ */
+public final class JobContext {
+    private final String jobId;
+    private final String userId;
+    private final JobRepository jobRepository;
+    private final long intervalNanos;
+    private long processed;
+    private Long total;
+    private long lastFlush;
+
+    JobContext(String jobId, String userId, JobRepository jobRepository, long intervalNanos) {
+        this.jobId = jobId;
+        this.userId = userId;
+        this.jobRepository = jobRepository;
+        this.intervalNanos = intervalNanos;
+        this.lastFlush = System.nanoTime();
+    }
+
+    public String jobId() {
+        return jobId;
+    }
+
+    public String userId() {
+        return userId;
+    }
+
+    /**
+     * @param processed Units of work done so far
+     * @param total     Expected units, {@code null} if unknown
+     */
+    public void progress(long processed, Long total) {
+        this.processed = processed;
+        this.total = total;
+        long now = System.nanoTime();
+        if (now - lastFlush >= intervalNanos) {
+            lastFlush = now;
+            jobRepository.updateProgress(jobId, processed, total);
+        }
+    }
+
+    long processed() {
+        return processed;
+    }
+
+    Long total() {
+        return total;
+    }
+}
@@ -0,0 +1,13 @@
+package com.walletiq.service.job;
+
+/**
+ * Work executed by the job runner.
+ * <p>Runs on a virtual thread, so blocking I/O is fine. The returned value is stored
+ * as JSON and served by the status endpoint; throw an {@code ApplicationException}
+ * to fail the job with a client facing code and message.</p>
+ */
+@FunctionalInterface
+public interface JobHandler {
+
+    Object run(JobContext context) throws Exception;
+}
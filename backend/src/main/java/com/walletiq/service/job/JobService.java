@@ -0,0 +1,247 @@
+package com.walletiq.service.job;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.walletiq.common.constant.ErrorType;
+import com.walletiq.common.constant.JobStatus;
+import com.walletiq.common.constant.JobType;
+import com.walletiq.common.util.MdcUtil;
+import com.walletiq.config.properties.JobProperties;
+import com.walletiq.dto.response.JobResponse;
+import com.walletiq.entity.Job;
+import com.walletiq.exception.ApplicationException;
+import com.walletiq.repository.JobRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+
+/**
+ * Runs long operations (imports, exports, re-indexing) off the request thread.
+ * <p>Every job gets its own virtual thread, so waiting for a slot costs no platform
+ * thread and Tomcat workers return as soon as the job is queued. Two semaphores
+ * bound the actual work: one per user ({@code max-concurrent-per-user}) for fairness
+ * and one global ({@code max-concurrent}) so batch work cannot drain the connection
+ * pool interactive requests depend on. Submissions beyond {@code max-active-per-user}
+ * queued or running jobs are rejected with {@code 429}.</p>
+ * <p>State and progress live in the {@code jobs} table. Every job records the node
+ * running it ({@code app.jobs.node-id}), which confirms its active jobs periodically.
+ * Jobs a node left queued or running when it stopped are marked failed when it starts
+ * again, or by any node once they go unconfirmed for {@code heartbeat-timeout}, for
+ * nodes that never come back under the same id.</p>
+ */
+@Slf4j
+@Service
+public class JobService {
+    private static final List<JobStatus> ACTIVE = List.of(JobStatus.QUEUED, JobStatus.RUNNING);
+    private static final List<JobStatus> FINISHED = List.of(JobStatus.COMPLETED, JobStatus.FAILED);
+    private static final String UNEXPECTED_FAILURE = "JOB.FAILED";
+    private static final String INTERRUPTED = "JOB.INTERRUPTED";
+
+    private final JobRepository jobRepository;
+    private final ObjectMapper objectMapper;
+    private final JobProperties properties;
+    private final Semaphore globalPermits;
+    private final ConcurrentHashMap<String, UserSlots> users = new ConcurrentHashMap<>();
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("job-", 0).factory());
+
+    public JobService(JobRepository jobRepository, ObjectMapper objectMapper, JobProperties properties) {
+        this.jobRepository = jobRepository;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.globalPermits = new Semaphore(properties.maxConcurrent(), true);
+    }
+
+    /**
+     * Persists a {@code QUEUED} job and schedules the handler. The caller's security
+     * context is carried over to the job thread.
+     *
+     * @return the queued job, its id is what clients poll
+     * @throws ApplicationException {@code 429} if the user already has too many active jobs
+     */
+    public Job submit(String userId, JobType type, JobHandler handler) {
+        UserSlots slots = acquireSlot(userId);
+        Job job;
+        try {
+            job = new Job();
+            job.setUserId(userId);
+            job.setType(type);
+            job.setStatus(JobStatus.QUEUED);
+            job.setOwnerNode(properties.nodeId());
+            job.setHeartbeatAt(LocalDateTime.now());
+            job = jobRepository.save(job);
+        } catch (RuntimeException ex) {
+            releaseSlot(userId);
+            throw ex;
+        }
+
+        String jobId = job.getId();
+        // The job logs under the id of the request that submitted it
+        executor.execute(new DelegatingSecurityContextRunnable(
+                MdcUtil.wrap(() -> execute(jobId, userId, slots, handler))));
+        return job;
+    }
+
+    /**
+     * Returns the job if it belongs to the user
+     */
+    public JobResponse get(String userId, String jobId) {
+        return jobRepository.findByIdAndUserId(jobId, userId)
+                .map(JobResponse::from)
+                .orElseThrow(() -> new ApplicationException(ErrorType.RESOURCE_NOT_FOUND, "JOB.NOT_FOUND",
+                        "Job not found"));
+    }
+
+    /**
+     * Jobs do not survive a restart, fail the ones the previous run of this node left
+     * behind. Other nodes' jobs are left alone, they may still be running them
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void failInterrupted() {
+        int failed = jobRepository.failOwnedBy(properties.nodeId(), ACTIVE, JobStatus.FAILED, INTERRUPTED,
+                "The job was interrupted by a server restart, please submit it again", LocalDateTime.now());
+        if (failed > 0) {
+            log.warn("Marked {} interrupted job(s) of node {} as failed", failed, properties.nodeId());
+        }
+    }
+
+    /**
+     * Confirms this node's active jobs, then fails jobs no node confirmed within the timeout
+     */
+    @Scheduled(fixedDelayString = "${app.jobs.heartbeat-interval:PT30S}")
+    public void heartbeat() {
+        LocalDateTime now = LocalDateTime.now();
+        jobRepository.heartbeat(properties.nodeId(), ACTIVE, now);
+        int failed = jobRepository.failAbandoned(now.minus(properties.heartbeatTimeout()), ACTIVE, JobStatus.FAILED,
+                INTERRUPTED, "The server running the job stopped, please submit it again", now);
+        if (failed > 0) {
+            log.warn("Marked {} abandoned job(s) as failed", failed);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.jobs.cleanup-interval:PT1H}")
+    public void purgeFinished() {
+        int deleted = jobRepository.deleteFinishedBefore(FINISHED, LocalDateTime.now().minus(properties.retention()));
+        if (deleted > 0) {
+            log.debug("Purged {} finished job(s)", deleted);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Running jobs are failed by failInterrupted() on the next start, or by heartbeat() of another node
+        executor.shutdownNow();
+    }
+
+    /* ---------------- Helper ---------------- */
+
+    private void execute(String jobId, String userId, UserSlots slots, JobHandler handler) {
+        JobContext context = new JobContext(jobId, userId, jobRepository, properties.progressInterval().toNanos());
+        boolean userPermit = false;
+        boolean globalPermit = false;
+        try {
+            slots.running.acquire();
+            userPermit = true;
+            globalPermits.acquire();
+            globalPermit = true;
+
+            update(jobId, job -> {
+                job.setStatus(JobStatus.RUNNING);
+                job.setStartedAt(LocalDateTime.now());
+            });
+            Object result = handler.run(context);
+            String json = result == null ? null : objectMapper.writeValueAsString(result);
+            finish(jobId, context, job -> {
+                job.setStatus(JobStatus.COMPLETED);
+                job.setResult(json);
+            });
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            fail(jobId, context, INTERRUPTED, "The job was interrupted, please submit it again");
+        } catch (ApplicationException ex) {
+            fail(jobId, context, ex.getCode(), ex.getMessage());
+        } catch (JsonProcessingException ex) {
+            log.error("Job {} result could not be serialized", jobId, ex);
+            fail(jobId, context, UNEXPECTED_FAILURE, "The job failed unexpectedly");
+        } catch (Exception ex) {
+            log.error("Job {} failed", jobId, ex);
+            fail(jobId, context, UNEXPECTED_FAILURE, "The job failed unexpectedly");
+        } finally {
+            if (globalPermit) {
+                globalPermits.release();
+            }
+            if (userPermit) {
+                slots.running.release();
+            }
+            releaseSlot(userId);
+        }
+    }
+
+    private void fail(String jobId, JobContext context, String code, String message) {
+        try {
+            finish(jobId, context, job -> {
+                job.setStatus(JobStatus.FAILED);
+                job.setErrorCode(code);
+                job.setErrorMessage(message);
+            });
+        } catch (RuntimeException ex) {
+            log.error("Could not record failure of job {}", jobId, ex);
+        }
+    }
+
+    private void update(String jobId, Consumer<Job> change) {
+        Job job = jobRepository.findById(jobId)
+                .orElseThrow(() -> new IllegalStateException("Job " + jobId + " no longer exists"));
+        change.accept(job);
+        jobRepository.save(job);
+    }
+
+    private void finish(String jobId, JobContext context, Consumer<Job> change) {
+        update(jobId, job -> {
+            change.accept(job);
+            job.setProcessed(context.processed());
+            job.setTotal(context.total());
+            job.setFinishedAt(LocalDateTime.now());
+        });
+    }
+
+    private UserSlots acquireSlot(String userId) {
+        return users.compute(userId, (key, slots) -> {
+            UserSlots current = slots == null ? new UserSlots(properties.maxConcurrentPerUser()) : slots;
+            if (current.active >= properties.maxActivePerUser()) {
+                throw new ApplicationException(ErrorType.RATE_LIMIT_ERROR, "JOB.TOO_MANY_JOBS",
+                        "Too many jobs in progress, wait for one to finish");
+            }
+            current.active++;
+            return current;
+        });
+    }
+
+    private void releaseSlot(String userId) {
+        users.computeIfPresent(userId, (key, slots) -> --slots.active == 0 ? null : slots);
+    }
+
+    /**
+     * Per-user bookkeeping. {@code active} is only touched inside map compute calls.
+     */
+    private static final class UserSlots {
+        private final Semaphore running;
+        private int active;
+
+        UserSlots(int maxConcurrent) {
+            this.running = new Semaphore(maxConcurrent, true);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.walletiq.service.retrieval;
+
+import com.walletiq.common.constant.TransactionType;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+
+/**
+ * A transaction as seen by the embedding model
+ */
+public record TransactionDocument(
+        String id,
+        TransactionType type,
+        BigDecimal amount,
+        String category,
+        String description,
+        LocalDate transactionDate
+) {
+    static final String COLUMNS = "id, type, amount, category, description, transaction_date";
+    private static final DateTimeFormatter MONTH = DateTimeFormatter.ofPattern("MMMM yyyy", Locale.ENGLISH);
+
+    /**
+     * Reads the {@link #COLUMNS} of the current row
+     */
+    static TransactionDocument from(ResultSet resultSet) throws SQLException {
+        return new TransactionDocument(
+                resultSet.getString("id"),
+                TransactionType.valueOf(resultSet.getString("type")),
+                resultSet.getBigDecimal("amount"),
+                resultSet.getString("category"),
+                resultSet.getString("description"),
+                resultSet.getObject("transaction_date", LocalDate.class)
+        );
+    }
+
+    /**
+     * Text that is embedded, with the words users tend to ask about: type, category,
+     * description and month
+     */
+    public String text() {
+        StringBuilder text = new StringBuilder(96)
+                .append(type.name().toLowerCase(Locale.ROOT)).append(' ')
+                .append(category.toLowerCase(Locale.ROOT).replace('_', ' '));
+        if (description != null && !description.isBlank()) {
+            text.append(": ").append(description.strip());
+        }
+        return text.append(", ").append(amount.toPlainString())
+                .append(" in ").append(MONTH.format(transactionDate))
+                .toString();
+    }
+}
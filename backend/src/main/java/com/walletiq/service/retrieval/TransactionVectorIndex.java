@@ -0,0 +1,416 @@
+package com.walletiq.service.retrieval;
+
+import com.walletiq.common.constant.ErrorType;
+import com.walletiq.config.properties.EmbeddingProperties;
+import com.walletiq.config.properties.VectorIndexProperties;
+import com.walletiq.embedding.EmbeddingModel;
+import com.walletiq.embedding.EmbeddingPipeline;
+import com.walletiq.exception.ApplicationException;
+import com.walletiq.service.TransactionsChangedEvent;
+import com.walletiq.vector.HnswIndex;
+import com.walletiq.vector.HnswParameters;
+import com.walletiq.vector.VectorFilter;
+import com.walletiq.vector.VectorHit;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Per-user HNSW indexes over transaction embeddings, the retrieval step of the advisor.
+ * <p>Each user's transactions form their own partition, so a search never has to
+ * skip other users' vectors and a partition is small enough to build on demand.
+ * Partitions are derived data: one is built from PostgreSQL on first use, kept up to
+ * date by {@link TransactionsChangedEvent}s after commit, and dropped once idle for
+ * {@code app.vector-index.idle-timeout} or older than {@code max-age}. Every node keeps
+ * its own partitions and sends its changes to the others, see {@link #setChangePublisher};
+ * the age cap bounds staleness should a change never arrive.</p>
+ * <p>Changed transactions go through an {@link EmbeddingPipeline}, so a burst of writes
+ * is read with one query and embedded with one provider call instead of one per
+ * event. A transaction is never in two batches at once and every batch re-reads the
+ * current rows, so concurrent writers leave the latest committed state behind whatever
+ * order their events arrive in. A batch read before a partition was (re)built is
+ * skipped for that partition, the build saw newer rows.</p>
+ */
+@Slf4j
+@Service
+public class TransactionVectorIndex {
+    private static final String SELECT_USER = "SELECT " + TransactionDocument.COLUMNS
+            + " FROM transactions WHERE user_id = ?";
+    private static final String SELECT_IDS = "SELECT user_id, " + TransactionDocument.COLUMNS
+            + " FROM transactions WHERE id = ANY (?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final EmbeddingModel embeddingModel;
+    private final VectorIndexProperties properties;
+    private final HnswParameters parameters;
+    private final ConcurrentHashMap<String, Partition> partitions = new ConcurrentHashMap<>();
+    private final AtomicLong fileSequence = new AtomicLong();
+    private final EmbeddingPipeline<PendingChange> pipeline;
+    private final String origin = UUID.randomUUID().toString();
+    private volatile Consumer<VectorIndexChange> publisher = change -> {
+    };
+
+    public TransactionVectorIndex(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                  EmbeddingModel embeddingModel, VectorIndexProperties properties,
+                                  EmbeddingProperties embeddingProperties, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.embeddingModel = embeddingModel;
+        this.properties = properties;
+        this.parameters = new HnswParameters(properties.m(), properties.efConstruction(), properties.efSearch(),
+                properties.exactSearchThreshold());
+        this.pipeline = new EmbeddingPipeline<>("transactions", embeddingProperties.pipeline(),
+                new EmbeddingPipeline.BatchHandler<>() {
+                    @Override
+                    public void handle(List<PendingChange> batch) {
+                        apply(batch);
+                    }
+
+                    @Override
+                    public void failed(List<PendingChange> batch, Exception error) {
+                        // The writes are committed already, start over from PostgreSQL
+                        batch.stream().map(PendingChange::userId).distinct().forEach(TransactionVectorIndex.this::invalidate);
+                    }
+                }, meterRegistry);
+    }
+
+    /**
+     * The user's {@code k} transactions closest in meaning to the query, closest first
+     */
+    public List<VectorHit> search(String userId, String query, int k, VectorFilter filter) {
+        float[] vector = embeddingModel.embed(query);
+        return partition(userId).index().search(vector, k, filter);
+    }
+
+    /**
+     * Drops the user's partition on this node, it is rebuilt on next use
+     */
+    public void invalidate(String userId) {
+        Partition partition = partitions.remove(userId);
+        if (partition != null) {
+            partition.close();
+        }
+    }
+
+    /**
+     * Drops every partition on this node, for when changes of other nodes may have been missed
+     */
+    public void invalidateAll() {
+        partitions.keySet().forEach(this::invalidate);
+    }
+
+    /**
+     * Identifies this node in change messages
+     */
+    public String origin() {
+        return origin;
+    }
+
+    /**
+     * Sends this node's changes to the other nodes, after they were applied locally
+     */
+    public void setChangePublisher(Consumer<VectorIndexChange> publisher) {
+        this.publisher = publisher;
+    }
+
+    /**
+     * Queues the changed transactions of loaded partitions for re-embedding, a bulk
+     * change drops the partition instead, then tells the other nodes
+     */
+    @TransactionalEventListener
+    public void onTransactionsChanged(TransactionsChangedEvent event) {
+        enqueue(event.userId(), event.transactionIds());
+        try {
+            publisher.accept(new VectorIndexChange(origin, event.userId(), event.transactionIds()));
+        } catch (RuntimeException ex) {
+            // Other nodes catch up once their partition reaches max-age
+            log.warn("Failed to publish vector index change of user {}: {}", event.userId(), ex.getMessage());
+        }
+    }
+
+    /**
+     * Applies a change another node made, ignoring this node's own messages
+     */
+    public void onRemoteChange(VectorIndexChange change) {
+        if (change != null && !origin.equals(change.origin())) {
+            enqueue(change.userId(), change.transactionIds());
+        }
+    }
+
+    /**
+     * Drops partitions that have not been searched or updated within the idle timeout,
+     * or were built longer than {@code max-age} ago
+     */
+    @Scheduled(fixedDelayString = "${app.vector-index.eviction-interval:PT1M}")
+    public void evictStale() {
+        long now = System.nanoTime();
+        long idleCutoff = now - properties.idleTimeout().toNanos();
+        long ageCutoff = now - properties.maxAge().toNanos();
+        partitions.forEach((userId, partition) -> {
+            if ((partition.lastUsed - idleCutoff < 0 || partition.builtFrom - ageCutoff < 0)
+                    && partitions.remove(userId, partition)) {
+                partition.close();
+            }
+        });
+    }
+
+    /**
+     * Number of partitions loaded on this node
+     */
+    public int partitionCount() {
+        return partitions.size();
+    }
+
+    /**
+     * Number of vectors in the loaded partitions
+     */
+    public long vectorCount() {
+        long count = 0;
+        for (Partition partition : partitions.values()) {
+            HnswIndex index = partition.index;
+            count += index == null ? 0 : index.size();
+        }
+        return count;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pipeline.close();
+        partitions.values().forEach(Partition::close);
+        partitions.clear();
+    }
+
+    /* ---------------- Helper ---------------- */
+
+    private void enqueue(String userId, Set<String> transactionIds) {
+        if (transactionIds == null) {
+            invalidate(userId);
+            return;
+        }
+        if (!partitions.containsKey(userId)) {
+            // Built from the committed rows on first use anyway
+            return;
+        }
+        for (String transactionId : transactionIds) {
+            if (!pipeline.submit(new PendingChange(userId, transactionId))) {
+                log.warn("Embedding pipeline is full, dropping the vector index of user {}", userId);
+                invalidate(userId);
+                return;
+            }
+        }
+    }
+
+    private Partition partition(String userId) {
+        return partitions.computeIfAbsent(userId, Partition::new);
+    }
+
+    private HnswIndex build(String userId) {
+        long started = System.nanoTime();
+        // Read first and embed afterwards, so a slow embedding call does not hold a connection
+        List<TransactionDocument> documents = readOnlyTransaction.execute(status -> jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(SELECT_USER,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(properties.buildBatchSize());
+            statement.setString(1, userId);
+            return statement;
+        }, (resultSet, rowNum) -> TransactionDocument.from(resultSet)));
+
+        HnswIndex index = newIndex(userId);
+        try {
+            int batchSize = properties.buildBatchSize();
+            for (int from = 0; documents != null && from < documents.size(); from += batchSize) {
+                addAll(index, documents.subList(from, Math.min(from + batchSize, documents.size())));
+            }
+        } catch (RuntimeException ex) {
+            closeQuietly(index);
+            throw ex;
+        }
+        log.debug("Built vector index of {} transactions for user {} in {} ms", index.size(), userId,
+                (System.nanoTime() - started) / 1_000_000);
+        return index;
+    }
+
+    private void addAll(HnswIndex index, List<TransactionDocument> batch) {
+        List<float[]> vectors = embeddingModel.embed(batch.stream().map(TransactionDocument::text).toList());
+        try {
+            for (int i = 0; i < batch.size(); i++) {
+                TransactionDocument document = batch.get(i);
+                index.add(document.id(), vectors.get(i), document.transactionDate(), document.category());
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Re-reads a batch of changed transactions with one query, embeds them with one call
+     * and applies them to the loaded partitions, ids that no longer exist are removed
+     */
+    private void apply(List<PendingChange> batch) {
+        Map<String, Set<String>> changedByUser = new HashMap<>();
+        for (PendingChange change : batch) {
+            if (partitions.containsKey(change.userId())) {
+                changedByUser.computeIfAbsent(change.userId(), userId -> new HashSet<>()).add(change.transactionId());
+            }
+        }
+        if (changedByUser.isEmpty()) {
+            return;
+        }
+        long readAt = System.nanoTime();
+        List<String> transactionIds = changedByUser.values().stream().flatMap(Set::stream).toList();
+        List<Map.Entry<String, TransactionDocument>> rows = jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(SELECT_IDS);
+            statement.setArray(1, connection.createArrayOf("varchar", transactionIds.toArray()));
+            return statement;
+        }, (resultSet, rowNum) -> Map.entry(resultSet.getString("user_id"), TransactionDocument.from(resultSet)));
+        List<float[]> vectors = rows.isEmpty() ? List.of()
+                : embeddingModel.embed(rows.stream().map(row -> row.getValue().text()).toList());
+
+        changedByUser.forEach((userId, changed) -> {
+            Partition partition = partitions.get(userId);
+            if (partition == null) {
+                return;
+            }
+            partition.update(readAt, index -> {
+                Set<String> missing = new HashSet<>(changed);
+                for (int i = 0; i < rows.size(); i++) {
+                    TransactionDocument document = rows.get(i).getValue();
+                    if (userId.equals(rows.get(i).getKey()) && missing.remove(document.id())) {
+                        index.add(document.id(), vectors.get(i), document.transactionDate(), document.category());
+                    }
+                }
+                missing.forEach(index::remove);
+            });
+        });
+    }
+
+    private HnswIndex newIndex(String userId) {
+        try {
+            return HnswIndex.create(nextFile(), embeddingModel.dimensions(), parameters, userId.hashCode());
+        } catch (IOException ex) {
+            throw new ApplicationException(ErrorType.SERVICE_UNAVAILABLE, "RETRIEVAL.INDEX_UNAVAILABLE",
+                    "Transaction search is temporarily unavailable", ex);
+        }
+    }
+
+    private Path nextFile() {
+        return properties.directory().resolve("partition-" + fileSequence.incrementAndGet() + ".vec");
+    }
+
+    private static void closeQuietly(HnswIndex index) {
+        try {
+            index.close();
+        } catch (IOException ex) {
+            log.debug("Failed to delete vector file: {}", ex.getMessage());
+        }
+    }
+
+    private record PendingChange(String userId, String transactionId) {
+    }
+
+    @FunctionalInterface
+    private interface IndexUpdate {
+        void apply(HnswIndex index) throws IOException;
+    }
+
+    /**
+     * One user's index, built lazily under its lock
+     */
+    private final class Partition {
+        private final String userId;
+        private final ReentrantLock lock = new ReentrantLock();
+        private volatile HnswIndex index;
+        private volatile long lastUsed = System.nanoTime();
+        // When the current index started reading its rows
+        private volatile long builtFrom = System.nanoTime();
+        private boolean closed;
+
+        private Partition(String userId) {
+            this.userId = userId;
+        }
+
+        HnswIndex index() {
+            lastUsed = System.nanoTime();
+            HnswIndex current = index;
+            if (current != null) {
+                return current;
+            }
+            lock.lock();
+            try {
+                if (closed) {
+                    // Evicted while we were getting here
+                    return partition(userId).index();
+                }
+                if (index == null) {
+                    builtFrom = System.nanoTime();
+                    index = build(userId);
+                }
+                return index;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Applies an update read at the given time if the index is built from older rows,
+         * then compacts it when too many nodes are deleted
+         */
+        void update(long readAt, IndexUpdate update) {
+            lock.lock();
+            try {
+                HnswIndex current = index;
+                if (current == null || builtFrom - readAt > 0) {
+                    return;
+                }
+                lastUsed = System.nanoTime();
+                update.apply(current);
+                if (current.deletedRatio() > properties.maxDeletedRatio()) {
+                    // Searches still holding the old index finish on it, its mapping outlives the file
+                    index = current.compact(nextFile(), userId.hashCode());
+                    closeQuietly(current);
+                }
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void close() {
+            lock.lock();
+            try {
+                closed = true;
+                if (index != null) {
+                    closeQuietly(index);
+                    index = null;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
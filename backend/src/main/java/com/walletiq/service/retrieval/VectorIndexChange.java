@@ -0,0 +1,38 @@
+package com.walletiq.service.retrieval;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Message telling other nodes that a user's transactions changed, so loaded
+ * partitions re-embed them.
+ * <p>Encoded as three newline separated fields, the transaction ids comma separated
+ * or {@code *} for a bulk change.</p>
+ *
+ * @param origin         Node that made the change, it ignores its own messages
+ * @param transactionIds Changed transactions, {@code null} for a bulk change
+ */
+public record VectorIndexChange(String origin, String userId, Set<String> transactionIds) {
+    private static final String BULK = "*";
+
+    public byte[] encode() {
+        String ids = transactionIds == null ? BULK : String.join(",", transactionIds);
+        return String.join("\n", origin, userId, ids).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return the message, or {@code null} if it is not a vector index change
+     */
+    public static VectorIndexChange decode(byte[] body) {
+        String[] parts = new String(body, StandardCharsets.UTF_8).split("\n", 3);
+        if (parts.length != 3 || parts[1].isEmpty()) {
+            return null;
+        }
+        Set<String> ids = BULK.equals(parts[2]) ? null : Arrays.stream(parts[2].split(","))
+                .filter(id -> !id.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+        return new VectorIndexChange(parts[0], parts[1], ids);
+    }
+}
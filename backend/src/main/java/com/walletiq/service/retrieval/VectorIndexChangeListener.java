@@ -0,0 +1,34 @@
+package com.walletiq.service.retrieval;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.SubscriptionListener;
+
+/**
+ * Receives other nodes' transaction changes from the Redis channel and applies them
+ * to the loaded partitions.
+ * <p>Pub/sub delivery is at most once: messages sent while this node was disconnected
+ * are lost. Every (re)subscription therefore drops the loaded partitions, and
+ * {@code app.vector-index.max-age} bounds staleness should a single message go missing.</p>
+ */
+@Slf4j
+public class VectorIndexChangeListener implements MessageListener, SubscriptionListener {
+
+    private final TransactionVectorIndex vectorIndex;
+
+    public VectorIndexChangeListener(TransactionVectorIndex vectorIndex) {
+        this.vectorIndex = vectorIndex;
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        vectorIndex.onRemoteChange(VectorIndexChange.decode(message.getBody()));
+    }
+
+    @Override
+    public void onChannelSubscribed(byte[] channel, long count) {
+        log.debug("Subscribed to vector index changes, dropping loaded partitions");
+        vectorIndex.invalidateAll();
+    }
+}
@@ -0,0 +1,140 @@
+package com.walletiq.service.rollup;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.LongConsumer;
+
+/**
+ * Keeps {@code monthly_rollups} in step with {@code transactions}.
+ * <p>Writers collect a {@link RollupDeltas} and call {@link #apply} inside their own
+ * transaction, so rollups commit or roll back together with the rows they summarize.
+ * Each user's rollups are guarded by a transaction-scoped advisory lock: writers of
+ * the same user serialize on it, and {@link #rebuild} takes it too, so a rebuild
+ * always sees every committed write and no write lands between its delete and insert.
+ * Writers that subtract a row's old values must have locked the row before reading
+ * them, the advisory lock is only taken here, after the deltas are computed.</p>
+ * <p>Every change publishes a {@link RollupsChangedEvent} in the same transaction.</p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MonthlyRollupService {
+    // Namespace for pg_advisory_xact_lock(int, int), keeps rollup locks apart from any other advisory locks
+    private static final int LOCK_NAMESPACE = 0x524F4C4C;
+    private static final String LOCK_SQL = "SELECT pg_advisory_xact_lock(?, hashtext(?))";
+    private static final String UPSERT_SQL = """
+            INSERT INTO monthly_rollups (user_id, month, category, type, total, tx_count)
+            VALUES (?, ?, ?, ?, ?, ?)
+            ON CONFLICT (user_id, month, category, type) DO UPDATE
+            SET total = monthly_rollups.total + EXCLUDED.total,
+                tx_count = monthly_rollups.tx_count + EXCLUDED.tx_count
+            """;
+    private static final String DELETE_EMPTY_SQL = """
+            DELETE FROM monthly_rollups
+            WHERE user_id = ? AND month = ? AND category = ? AND type = ? AND tx_count = 0
+            """;
+    private static final String DELETE_USER_SQL = "DELETE FROM monthly_rollups WHERE user_id = ?";
+    private static final String REBUILD_USER_SQL = """
+            INSERT INTO monthly_rollups (user_id, month, category, type, total, tx_count)
+            SELECT user_id, date_trunc('month', transaction_date)::date, category, type, sum(amount), count(*)
+            FROM transactions
+            WHERE user_id = ?
+            GROUP BY user_id, date_trunc('month', transaction_date)::date, category, type
+            """;
+
+    private static final String FINGERPRINT_SQL = """
+            SELECT md5(coalesce(string_agg(concat_ws('|', month, category, type, total, tx_count), ','
+                                           ORDER BY month, category, type), ''))
+            FROM monthly_rollups
+            WHERE user_id = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Applies the deltas in the caller's transaction
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void apply(RollupDeltas deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        Set<String> users = new LinkedHashSet<>();
+        List<Object[]> upserts = new ArrayList<>();
+        List<Object[]> decrements = new ArrayList<>();
+        deltas.forEach((key, delta) -> {
+            users.add(key.userId());
+            Object[] row = {key.userId(), Date.valueOf(key.month()), key.category(), key.type().name()};
+            upserts.add(new Object[]{row[0], row[1], row[2], row[3], delta.amount(), delta.count()});
+            if (delta.count() < 0) {
+                decrements.add(row);
+            }
+        });
+
+        // Sorted keys, so users are locked in a consistent order
+        users.forEach(this::lock);
+        jdbcTemplate.batchUpdate(UPSERT_SQL, upserts);
+        if (!decrements.isEmpty()) {
+            jdbcTemplate.batchUpdate(DELETE_EMPTY_SQL, decrements);
+        }
+        eventPublisher.publishEvent(new RollupsChangedEvent(users));
+    }
+
+    /**
+     * Digest of the user's rollups, it changes with every committed write that changes
+     * one of their totals or counts and is the same on every node
+     */
+    public String fingerprint(String userId) {
+        return jdbcTemplate.queryForObject(FINGERPRINT_SQL, String.class, userId);
+    }
+
+    /**
+     * Recomputes one user's rollups from {@code transactions} in a single transaction
+     */
+    public void rebuild(String userId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            lock(userId);
+            jdbcTemplate.update(DELETE_USER_SQL, userId);
+            jdbcTemplate.update(REBUILD_USER_SQL, userId);
+            eventPublisher.publishEvent(new RollupsChangedEvent(Set.of(userId)));
+        });
+    }
+
+    /**
+     * Recomputes the rollups of every user that has transactions or rollups, one
+     * transaction per user so writers are only ever blocked for a single user
+     *
+     * @param progress Receives the number of users rebuilt so far
+     * @return number of users rebuilt
+     */
+    public int rebuildAll(LongConsumer progress) {
+        List<String> users = jdbcTemplate.queryForList(
+                "SELECT user_id FROM transactions UNION SELECT user_id FROM monthly_rollups", String.class);
+        int rebuilt = 0;
+        for (String userId : users) {
+            rebuild(userId);
+            progress.accept(++rebuilt);
+        }
+        log.info("Rebuilt monthly rollups for {} user(s)", rebuilt);
+        return rebuilt;
+    }
+
+    private void lock(String userId) {
+        jdbcTemplate.query(LOCK_SQL, resultSet -> {
+        }, LOCK_NAMESPACE, userId);
+    }
+}
@@ -0,0 +1,63 @@
+package com.walletiq.service.rollup;
+
+import com.walletiq.common.constant.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.BiConsumer;
+
+/**
+ * Net change to apply to {@code monthly_rollups}, accumulated while transactions are
+ * written and applied once before commit. Keys are kept sorted so concurrent writers
+ * touch rollup rows in the same order. Not thread-safe.
+ */
+public final class RollupDeltas {
+    private final Map<Key, Delta> deltas = new TreeMap<>();
+
+    public void add(String userId, LocalDate date, String category, TransactionType type, BigDecimal amount) {
+        merge(new Key(userId, date.withDayOfMonth(1), category, type), amount, 1);
+    }
+
+    public void remove(String userId, LocalDate date, String category, TransactionType type, BigDecimal amount) {
+        merge(new Key(userId, date.withDayOfMonth(1), category, type), amount.negate(), -1);
+    }
+
+    public void addAll(RollupDeltas other) {
+        other.deltas.forEach((key, delta) -> merge(key, delta.amount(), delta.count()));
+    }
+
+    public boolean isEmpty() {
+        return deltas.isEmpty();
+    }
+
+    void forEach(BiConsumer<Key, Delta> action) {
+        deltas.forEach(action);
+    }
+
+    private void merge(Key key, BigDecimal amount, long count) {
+        Delta merged = deltas.merge(key, new Delta(amount, count),
+                (left, right) -> new Delta(left.amount().add(right.amount()), left.count() + right.count()));
+        // An update that moves nothing (same month, category and type) cancels out
+        if (merged.count() == 0 && merged.amount().signum() == 0) {
+            deltas.remove(key);
+        }
+    }
+
+    record Key(String userId, LocalDate month, String category, TransactionType type) implements Comparable<Key> {
+        private static final Comparator<Key> ORDER = Comparator.comparing(Key::userId)
+                .thenComparing(Key::month)
+                .thenComparing(Key::category)
+                .thenComparing(Key::type);
+
+        @Override
+        public int compareTo(Key other) {
+            return ORDER.compare(this, other);
+        }
+    }
+
+    record Delta(BigDecimal amount, long count) {
+    }
+}
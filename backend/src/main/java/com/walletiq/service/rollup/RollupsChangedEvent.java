@@ -0,0 +1,10 @@
+package com.walletiq.service.rollup;
+
+import java.util.Set;
+
+/**
+ * Published inside the transaction that changed the users' monthly rollups,
+ * listeners that cache derived data react after commit
+ */
+public record RollupsChangedEvent(Set<String> userIds) {
+}
@@ -0,0 +1,492 @@
+package com.walletiq.vector;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.SplittableRandom;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Approximate nearest neighbour index over unit vectors (HNSW, Malkov and Yashunin).
+ * <p>Nodes are linked in a hierarchy of proximity graphs: every node is on the bottom
+ * layer and each layer above holds an exponentially thinning sample. A search walks
+ * greedily down the sparse layers to a good starting point and then runs a bounded
+ * best-first search on the bottom layer, touching a few hundred vectors instead of all
+ * of them.</p>
+ * <p>Vectors are kept off-heap in a {@link MappedVectorStore}, the heap only holds the
+ * links and the payload (id, date, category) used by filters. Deleting a node marks it
+ * as deleted: it keeps routing searches but is never returned, and {@link #compact}
+ * builds a copy without deleted nodes once they pile up.</p>
+ * <p>Searches run concurrently under a read lock, inserts and deletes take the write
+ * lock.</p>
+ */
+public final class HnswIndex implements Closeable {
+    private static final int MAX_LEVEL = 16;
+    private static final int INITIAL_CAPACITY = 64;
+    private static final Comparator<Candidate> CLOSEST_FIRST = (a, b) -> Float.compare(b.score, a.score);
+    private static final Comparator<Candidate> FURTHEST_FIRST = (a, b) -> Float.compare(a.score, b.score);
+
+    private final HnswParameters parameters;
+    private final MappedVectorStore vectors;
+    private final double levelMultiplier;
+    private final SplittableRandom random;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Guarded by lock, indexed by slot
+    private String[] ids = new String[INITIAL_CAPACITY];
+    private int[] epochDays = new int[INITIAL_CAPACITY];
+    private int[] categories = new int[INITIAL_CAPACITY];
+    private int[][][] links = new int[INITIAL_CAPACITY][][];
+    private final BitSet deleted = new BitSet();
+    private final Map<String, Integer> slotsById = new HashMap<>();
+    private final Map<String, Integer> categoryCodes = new HashMap<>();
+    private int slots;
+    private int entryPoint = -1;
+    private int topLevel = -1;
+
+    private HnswIndex(MappedVectorStore vectors, HnswParameters parameters, long seed) {
+        this.vectors = vectors;
+        this.parameters = parameters;
+        this.levelMultiplier = 1 / Math.log(parameters.m());
+        this.random = new SplittableRandom(seed);
+    }
+
+    /**
+     * Creates an empty index whose vectors are mapped from {@code file}
+     *
+     * @param seed Seeds the layer assignment, the same inserts in the same order build the same graph
+     */
+    public static HnswIndex create(Path file, int dimensions, HnswParameters parameters, long seed) throws IOException {
+        return new HnswIndex(new MappedVectorStore(file, dimensions), parameters, seed);
+    }
+
+    public int dimensions() {
+        return vectors.dimensions();
+    }
+
+    /**
+     * Number of vectors that can be returned by a search
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slotsById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Share of graph nodes that are deleted
+     */
+    public double deletedRatio() {
+        lock.readLock().lock();
+        try {
+            return slots == 0 ? 0 : (double) (slots - slotsById.size()) / slots;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Adds a unit vector, replacing the vector previously added with the same id
+     */
+    public void add(String id, float[] vector, LocalDate date, String category) throws IOException {
+        if (vector.length != vectors.dimensions()) {
+            throw new IllegalArgumentException("Expected " + vectors.dimensions() + " dimensions, got " + vector.length);
+        }
+        lock.writeLock().lock();
+        try {
+            int slot = slots;
+            ensureCapacity(slot + 1);
+            vectors.write(slot, vector);
+            ids[slot] = id;
+            epochDays[slot] = (int) date.toEpochDay();
+            categories[slot] = categoryCodes.computeIfAbsent(category, c -> categoryCodes.size());
+            link(slot, vector);
+            slots++;
+            Integer previous = slotsById.put(id, slot);
+            if (previous != null) {
+                deleted.set(previous);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return whether the id was present
+     */
+    public boolean remove(String id) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotsById.remove(id);
+            if (slot == null) {
+                return false;
+            }
+            deleted.set(slot);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Approximate {@code k} nearest vectors to the query among those matching the
+     * filter, closest first.
+     * <p>A filter that leaves only a few vectors ({@code exactSearchThreshold}) is
+     * answered by scanning them exactly. Otherwise the graph is searched with a
+     * candidate list widened by the inverse of the filter's selectivity, so roughly
+     * {@code efSearch} matching vectors are still considered.</p>
+     */
+    public List<VectorHit> search(float[] query, int k, VectorFilter filter) {
+        lock.readLock().lock();
+        try {
+            int live = slotsById.size();
+            if (live == 0 || k <= 0) {
+                return List.of();
+            }
+            Matcher matcher = matcher(filter);
+            if (matcher == null) {
+                return List.of();
+            }
+            int matching = matcher.all ? live : countMatching(matcher);
+            if (matching == 0) {
+                return List.of();
+            }
+            if (!matcher.all && matching <= Math.max(k, parameters.exactSearchThreshold())) {
+                return scan(query, k, matcher);
+            }
+
+            int ef = Math.max(parameters.efSearch(), k);
+            if (!matcher.all) {
+                ef = (int) Math.min(matching, Math.ceil(ef * (double) live / matching));
+            }
+            Candidate start = descend(query, 0);
+            PriorityQueue<Candidate> results = searchLayer(query, start, ef, 0, matcher);
+            return hits(results, k);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Exact {@code k} nearest vectors by scanning every matching vector, the baseline
+     * approximate results are measured against
+     */
+    public List<VectorHit> exactSearch(float[] query, int k, VectorFilter filter) {
+        lock.readLock().lock();
+        try {
+            Matcher matcher = matcher(filter);
+            return matcher == null || k <= 0 ? List.of() : scan(query, k, matcher);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Builds a copy holding only the vectors that are not deleted
+     */
+    public HnswIndex compact(Path file, long seed) throws IOException {
+        lock.readLock().lock();
+        try {
+            HnswIndex copy = create(file, vectors.dimensions(), parameters, seed);
+            try {
+                String[] categoryNames = new String[categoryCodes.size()];
+                categoryCodes.forEach((name, code) -> categoryNames[code] = name);
+                for (int slot = 0; slot < slots; slot++) {
+                    if (!deleted.get(slot)) {
+                        copy.add(ids[slot], vectors.read(slot), LocalDate.ofEpochDay(epochDays[slot]),
+                                categoryNames[categories[slot]]);
+                    }
+                }
+            } catch (IOException | RuntimeException ex) {
+                copy.close();
+                throw ex;
+            }
+            return copy;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        vectors.close();
+    }
+
+    /* ---------------- Construction ---------------- */
+
+    private void link(int slot, float[] vector) {
+        int level = randomLevel();
+        links[slot] = new int[level + 1][];
+        for (int layer = 0; layer <= level; layer++) {
+            links[slot][layer] = new int[maxLinks(layer) + 1];
+        }
+        if (entryPoint < 0) {
+            entryPoint = slot;
+            topLevel = level;
+            return;
+        }
+
+        Candidate start = descend(vector, level + 1);
+        for (int layer = Math.min(level, topLevel); layer >= 0; layer--) {
+            PriorityQueue<Candidate> found = searchLayer(vector, start, parameters.efConstruction(), layer, null);
+            List<Candidate> closest = new ArrayList<>(found);
+            closest.sort(CLOSEST_FIRST);
+            start = closest.getFirst();
+
+            List<Candidate> selected = selectNeighbours(closest, parameters.m());
+            int[] own = links[slot][layer];
+            for (Candidate neighbour : selected) {
+                own[++own[0]] = neighbour.node;
+                addLink(neighbour.node, layer, slot, neighbour.score);
+            }
+        }
+        if (level > topLevel) {
+            entryPoint = slot;
+            topLevel = level;
+        }
+    }
+
+    private void addLink(int node, int layer, int target, float score) {
+        int[] own = links[node][layer];
+        if (own[0] < own.length - 1) {
+            own[++own[0]] = target;
+            return;
+        }
+        // Full, keep the most diverse set among the current links and the new one
+        List<Candidate> candidates = new ArrayList<>(own[0] + 1);
+        candidates.add(new Candidate(target, score));
+        for (int i = 1; i <= own[0]; i++) {
+            candidates.add(new Candidate(own[i], vectors.dot(node, own[i])));
+        }
+        candidates.sort(CLOSEST_FIRST);
+        List<Candidate> kept = selectNeighbours(candidates, own.length - 1);
+        own[0] = kept.size();
+        for (int i = 0; i < kept.size(); i++) {
+            own[i + 1] = kept.get(i).node;
+        }
+    }
+
+    /**
+     * Neighbour selection heuristic: a candidate is skipped when it is closer to an
+     * already selected neighbour than to the base node, which keeps links pointing in
+     * different directions. Skipped candidates fill up the remaining places.
+     *
+     * @param candidates Scored against the base node, closest first
+     */
+    private List<Candidate> selectNeighbours(List<Candidate> candidates, int max) {
+        List<Candidate> selected = new ArrayList<>(max);
+        List<Candidate> skipped = new ArrayList<>();
+        for (Candidate candidate : candidates) {
+            if (selected.size() >= max) {
+                break;
+            }
+            boolean diverse = true;
+            for (Candidate chosen : selected) {
+                if (vectors.dot(candidate.node, chosen.node) > candidate.score) {
+                    diverse = false;
+                    break;
+                }
+            }
+            (diverse ? selected : skipped).add(candidate);
+        }
+        for (int i = 0; i < skipped.size() && selected.size() < max; i++) {
+            selected.add(skipped.get(i));
+        }
+        return selected;
+    }
+
+    private int randomLevel() {
+        double level = -Math.log(1 - random.nextDouble()) * levelMultiplier;
+        return (int) Math.min(level, MAX_LEVEL);
+    }
+
+    private int maxLinks(int layer) {
+        return layer == 0 ? 2 * parameters.m() : parameters.m();
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= ids.length) {
+            return;
+        }
+        int capacity = Math.max(required, ids.length + (ids.length >> 1));
+        ids = Arrays.copyOf(ids, capacity);
+        epochDays = Arrays.copyOf(epochDays, capacity);
+        categories = Arrays.copyOf(categories, capacity);
+        links = Arrays.copyOf(links, capacity);
+    }
+
+    /* ---------------- Search ---------------- */
+
+    /**
+     * Greedy walk from the entry point down to {@code bottom}, one closest node per layer
+     */
+    private Candidate descend(float[] query, int bottom) {
+        int current = entryPoint;
+        float best = vectors.dot(current, query);
+        for (int layer = topLevel; layer >= bottom; layer--) {
+            boolean improved = true;
+            while (improved) {
+                improved = false;
+                int[] neighbours = links[current][layer];
+                for (int i = 1; i <= neighbours[0]; i++) {
+                    float score = vectors.dot(neighbours[i], query);
+                    if (score > best) {
+                        best = score;
+                        current = neighbours[i];
+                        improved = true;
+                    }
+                }
+            }
+        }
+        return new Candidate(current, best);
+    }
+
+    /**
+     * Best-first search of one layer. Every node is used for routing, only nodes the
+     * matcher accepts are collected.
+     *
+     * @param matcher {@code null} to collect every node, deleted ones included
+     * @return up to {@code ef} collected nodes, furthest first
+     */
+    private PriorityQueue<Candidate> searchLayer(float[] query, Candidate start, int ef, int layer, Matcher matcher) {
+        BitSet visited = new BitSet(slots);
+        PriorityQueue<Candidate> candidates = new PriorityQueue<>(CLOSEST_FIRST);
+        PriorityQueue<Candidate> results = new PriorityQueue<>(FURTHEST_FIRST);
+        visited.set(start.node);
+        candidates.add(start);
+        if (matcher == null || matcher.matches(start.node)) {
+            results.add(start);
+        }
+
+        while (!candidates.isEmpty()) {
+            Candidate current = candidates.poll();
+            if (results.size() >= ef && current.score < results.peek().score) {
+                break;
+            }
+            int[] neighbours = links[current.node][layer];
+            for (int i = 1; i <= neighbours[0]; i++) {
+                int node = neighbours[i];
+                if (visited.get(node)) {
+                    continue;
+                }
+                visited.set(node);
+                float score = vectors.dot(node, query);
+                if (results.size() < ef || score > results.peek().score) {
+                    Candidate candidate = new Candidate(node, score);
+                    candidates.add(candidate);
+                    if (matcher == null || matcher.matches(node)) {
+                        results.add(candidate);
+                        if (results.size() > ef) {
+                            results.poll();
+                        }
+                    }
+                }
+            }
+        }
+        return results;
+    }
+
+    private List<VectorHit> scan(float[] query, int k, Matcher matcher) {
+        PriorityQueue<Candidate> results = new PriorityQueue<>(FURTHEST_FIRST);
+        for (int slot = 0; slot < slots; slot++) {
+            if (!matcher.matches(slot)) {
+                continue;
+            }
+            float score = vectors.dot(slot, query);
+            if (results.size() < k) {
+                results.add(new Candidate(slot, score));
+            } else if (score > results.peek().score) {
+                results.poll();
+                results.add(new Candidate(slot, score));
+            }
+        }
+        return hits(results, k);
+    }
+
+    private List<VectorHit> hits(PriorityQueue<Candidate> results, int k) {
+        List<Candidate> closest = new ArrayList<>(results);
+        closest.sort(CLOSEST_FIRST);
+        List<VectorHit> hits = new ArrayList<>(Math.min(k, closest.size()));
+        for (int i = 0; i < closest.size() && i < k; i++) {
+            hits.add(new VectorHit(ids[closest.get(i).node], closest.get(i).score));
+        }
+        return hits;
+    }
+
+    /* ---------------- Filter ---------------- */
+
+    /**
+     * @return {@code null} if no vector can match
+     */
+    private Matcher matcher(VectorFilter filter) {
+        if (filter == null || filter.isEmpty()) {
+            return new Matcher(Integer.MIN_VALUE, Integer.MAX_VALUE, null, true);
+        }
+        int from = filter.from() == null ? Integer.MIN_VALUE : (int) filter.from().toEpochDay();
+        int to = filter.to() == null ? Integer.MAX_VALUE : (int) filter.to().toEpochDay();
+        if (from > to) {
+            return null;
+        }
+        BitSet codes = null;
+        if (filter.categories() != null && !filter.categories().isEmpty()) {
+            codes = new BitSet(categoryCodes.size());
+            for (String category : filter.categories()) {
+                Integer code = categoryCodes.get(category);
+                if (code != null) {
+                    codes.set(code);
+                }
+            }
+            if (codes.isEmpty()) {
+                return null;
+            }
+        }
+        return new Matcher(from, to, codes, false);
+    }
+
+    private int countMatching(Matcher matcher) {
+        int count = 0;
+        for (int slot = 0; slot < slots; slot++) {
+            if (matcher.matches(slot)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private final class Matcher {
+        private final int from;
+        private final int to;
+        private final BitSet codes;
+        private final boolean all;
+
+        private Matcher(int from, int to, BitSet codes, boolean all) {
+            this.from = from;
+            this.to = to;
+            this.codes = codes;
+            this.all = all;
+        }
+
+        boolean matches(int slot) {
+            if (deleted.get(slot)) {
+                return false;
+            }
+            int day = epochDays[slot];
+            return day >= from && day <= to && (codes == null || codes.get(categories[slot]));
+        }
+    }
+
+    private record Candidate(int node, float score) {
+    }
+}
@@ -0,0 +1,18 @@
+package com.walletiq.vector;
+
+/**
+ * Graph construction and search parameters of an {@link HnswIndex}
+ *
+ * @param m                    Links per node on the upper layers, twice as many on the bottom layer
+ * @param efConstruction       Candidates considered when linking a new node
+ * @param efSearch             Candidates kept while searching, at least {@code k}
+ * @param exactSearchThreshold Filtered searches matching at most this many vectors scan them exactly
+ */
+public record HnswParameters(int m, int efConstruction, int efSearch, int exactSearchThreshold) {
+
+    public HnswParameters {
+        if (m < 2 || efConstruction < 1 || efSearch < 1 || exactSearchThreshold < 0) {
+            throw new IllegalArgumentException("Invalid HNSW parameters");
+        }
+    }
+}
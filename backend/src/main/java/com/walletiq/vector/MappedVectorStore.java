@@ -0,0 +1,121 @@
+package com.walletiq.vector;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Fixed-dimension float vectors in a memory-mapped file, addressed by slot.
+ * <p>Vectors live in the page cache instead of the Java heap, so a large index adds
+ * nothing to garbage collection and the OS pages out vectors of idle partitions. The
+ * file grows in segments of {@value #SEGMENT_SLOTS} slots, each mapped separately
+ * since one mapping is limited to 2 GB.</p>
+ * <p>Not synchronized: the owning {@link HnswIndex} writes a slot before publishing it
+ * under its lock, reads use absolute offsets and never move a buffer position.</p>
+ * <p>The file is scratch space, it is truncated when opened and deleted when closed.
+ * A mapping stays valid until it is garbage collected, so searches still holding the
+ * store finish normally after {@link #close()}.</p>
+ */
+final class MappedVectorStore implements Closeable {
+    private static final int SEGMENT_SHIFT = 12;
+    private static final int SEGMENT_SLOTS = 1 << SEGMENT_SHIFT;
+    private static final int SLOT_MASK = SEGMENT_SLOTS - 1;
+
+    private final Path file;
+    private final FileChannel channel;
+    private final int dimensions;
+    private final int stride;
+    private volatile ByteBuffer[] segments = new ByteBuffer[0];
+
+    MappedVectorStore(Path file, int dimensions) throws IOException {
+        this.file = file;
+        this.dimensions = dimensions;
+        this.stride = dimensions * Float.BYTES;
+        Files.createDirectories(file.getParent());
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    int dimensions() {
+        return dimensions;
+    }
+
+    void write(int slot, float[] vector) throws IOException {
+        ByteBuffer segment = writableSegment(slot >>> SEGMENT_SHIFT);
+        int offset = (slot & SLOT_MASK) * stride;
+        for (int i = 0; i < dimensions; i++) {
+            segment.putFloat(offset + i * Float.BYTES, vector[i]);
+        }
+    }
+
+    float[] read(int slot) {
+        ByteBuffer segment = segments[slot >>> SEGMENT_SHIFT];
+        int offset = (slot & SLOT_MASK) * stride;
+        float[] vector = new float[dimensions];
+        for (int i = 0; i < dimensions; i++) {
+            vector[i] = segment.getFloat(offset + i * Float.BYTES);
+        }
+        return vector;
+    }
+
+    /**
+     * Dot product of the stored vector and {@code query}
+     */
+    float dot(int slot, float[] query) {
+        ByteBuffer segment = segments[slot >>> SEGMENT_SHIFT];
+        int offset = (slot & SLOT_MASK) * stride;
+        float sum = 0;
+        for (int i = 0; i < dimensions; i++) {
+            sum += segment.getFloat(offset + i * Float.BYTES) * query[i];
+        }
+        return sum;
+    }
+
+    /**
+     * Dot product of two stored vectors
+     */
+    float dot(int a, int b) {
+        ByteBuffer[] current = segments;
+        ByteBuffer first = current[a >>> SEGMENT_SHIFT];
+        ByteBuffer second = current[b >>> SEGMENT_SHIFT];
+        int firstOffset = (a & SLOT_MASK) * stride;
+        int secondOffset = (b & SLOT_MASK) * stride;
+        float sum = 0;
+        for (int i = 0; i < dimensions; i++) {
+            sum += first.getFloat(firstOffset + i * Float.BYTES) * second.getFloat(secondOffset + i * Float.BYTES);
+        }
+        return sum;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            channel.close();
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /* ---------------- Helper ---------------- */
+
+    private ByteBuffer writableSegment(int index) throws IOException {
+        ByteBuffer[] current = segments;
+        if (index < current.length) {
+            return current[index];
+        }
+        // Slots are appended, so the next segment is the only one that can be missing
+        long segmentBytes = (long) SEGMENT_SLOTS * stride;
+        ByteBuffer segment = channel.map(FileChannel.MapMode.READ_WRITE, index * segmentBytes, segmentBytes)
+                .order(ByteOrder.nativeOrder());
+        ByteBuffer[] grown = Arrays.copyOf(current, index + 1);
+        grown[index] = segment;
+        segments = grown;
+        return segment;
+    }
+}
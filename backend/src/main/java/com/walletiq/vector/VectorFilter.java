@@ -0,0 +1,20 @@
+package com.walletiq.vector;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+/**
+ * Restricts a search to vectors whose payload matches
+ *
+ * @param from       First date included, {@code null} for no lower bound
+ * @param to         Last date included, {@code null} for no upper bound
+ * @param categories Categories included, {@code null} or empty for any
+ */
+public record VectorFilter(LocalDate from, LocalDate to, Set<String> categories) {
+
+    public static final VectorFilter NONE = new VectorFilter(null, null, null);
+
+    public boolean isEmpty() {
+        return from == null && to == null && (categories == null || categories.isEmpty());
+    }
+}
@@ -0,0 +1,10 @@
+package com.walletiq.vector;
+
+/**
+ * One search result
+ *
+ * @param id    Id the vector was added with
+ * @param score Cosine similarity to the query, higher is closer
+ */
+public record VectorHit(String id, float score) {
+}
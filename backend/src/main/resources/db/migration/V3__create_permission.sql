@@ -0,0 +1,20 @@
+CREATE TABLE permissions
+(
+    id         VARCHAR(255)                NOT NULL,
+    created_at TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    updated_at TIMESTAMP WITHOUT TIME ZONE,
+    created_by VARCHAR(255)                NOT NULL,
+    updated_by VARCHAR(255),
+    name       VARCHAR(255)                NOT NULL,
+    CONSTRAINT pk_permissions PRIMARY KEY (id),
+    CONSTRAINT uc_permissions_name UNIQUE (name)
+);
+
+CREATE TABLE role_permissions
+(
+    role_id       VARCHAR(255) NOT NULL,
+    permission_id VARCHAR(255) NOT NULL,
+    CONSTRAINT pk_role_permissions PRIMARY KEY (role_id, permission_id),
+    CONSTRAINT fk_role_permissions_role FOREIGN KEY (role_id) REFERENCES roles (id) ON DELETE CASCADE,
+    CONSTRAINT fk_role_permissions_permission FOREIGN KEY (permission_id) REFERENCES permissions (id) ON DELETE CASCADE
+);
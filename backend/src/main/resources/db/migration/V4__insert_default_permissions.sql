@@ -0,0 +1,33 @@
+-- Insert default permissions and grant them to the default roles
+-- This migration is idempotent and safe to re-run
+
+INSERT INTO permissions (id, name, created_at, created_by)
+SELECT gen_random_uuid()::varchar, p.name, now(), 'system'
+FROM (VALUES ('USER_READ'),
+             ('USER_WRITE'),
+             ('TRANSACTION_READ'),
+             ('TRANSACTION_WRITE'),
+             ('BUDGET_READ'),
+             ('BUDGET_WRITE'),
+             ('ADVISOR_USE'),
+             ('ADMIN_READ'),
+             ('ADMIN_WRITE')) AS p(name)
+WHERE NOT EXISTS (SELECT 1
+                  FROM permissions
+                  WHERE permissions.name = p.name);
+
+-- USER: everything except administration
+INSERT INTO role_permissions (role_id, permission_id)
+SELECT r.id, p.id
+FROM roles r
+         JOIN permissions p ON p.name NOT LIKE 'ADMIN_%'
+WHERE r.name = 'USER'
+ON CONFLICT DO NOTHING;
+
+-- ADMIN: everything
+INSERT INTO role_permissions (role_id, permission_id)
+SELECT r.id, p.id
+FROM roles r
+         CROSS JOIN permissions p
+WHERE r.name = 'ADMIN'
+ON CONFLICT DO NOTHING;
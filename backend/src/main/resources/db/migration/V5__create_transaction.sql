@@ -0,0 +1,18 @@
+CREATE TABLE transactions
+(
+    id               VARCHAR(255)                NOT NULL,
+    created_at       TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    updated_at       TIMESTAMP WITHOUT TIME ZONE,
+    created_by       VARCHAR(255)                NOT NULL,
+    updated_by       VARCHAR(255),
+    user_id          VARCHAR(255)                NOT NULL,
+    type             VARCHAR(20)                 NOT NULL,
+    amount           NUMERIC(19, 2)              NOT NULL,
+    category         VARCHAR(100)                NOT NULL,
+    description      VARCHAR(500),
+    transaction_date DATE                        NOT NULL,
+    CONSTRAINT pk_transactions PRIMARY KEY (id)
+);
+
+-- Serves keyset pagination: WHERE user_id = ? AND (transaction_date, id) < (?, ?) ORDER BY transaction_date DESC, id DESC
+CREATE INDEX idx_transactions_user_date_id ON transactions (user_id, transaction_date DESC, id DESC);
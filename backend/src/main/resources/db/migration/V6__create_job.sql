@@ -0,0 +1,24 @@
+CREATE TABLE jobs
+(
+    id            VARCHAR(255)                NOT NULL,
+    created_at    TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    updated_at    TIMESTAMP WITHOUT TIME ZONE,
+    created_by    VARCHAR(255)                NOT NULL,
+    updated_by    VARCHAR(255),
+    user_id       VARCHAR(255)                NOT NULL,
+    type          VARCHAR(30)                 NOT NULL,
+    status        VARCHAR(20)                 NOT NULL,
+    processed     BIGINT                      NOT NULL DEFAULT 0,
+    total         BIGINT,
+    result        TEXT,
+    error_code    VARCHAR(100),
+    error_message VARCHAR(1000),
+    started_at    TIMESTAMP WITHOUT TIME ZONE,
+    finished_at   TIMESTAMP WITHOUT TIME ZONE,
+    owner_node    VARCHAR(100),
+    heartbeat_at  TIMESTAMP WITHOUT TIME ZONE,
+    CONSTRAINT pk_jobs PRIMARY KEY (id)
+);
+
+-- Recovery after restart and retention cleanup
+CREATE INDEX idx_jobs_status_finished ON jobs (status, finished_at);
@@ -0,0 +1,16 @@
+CREATE TABLE monthly_rollups
+(
+    user_id  VARCHAR(255)   NOT NULL,
+    month    DATE           NOT NULL,
+    category VARCHAR(100)   NOT NULL,
+    type     VARCHAR(20)    NOT NULL,
+    total    NUMERIC(19, 2) NOT NULL,
+    tx_count BIGINT         NOT NULL,
+    CONSTRAINT pk_monthly_rollups PRIMARY KEY (user_id, month, category, type)
+);
+
+-- Seed from existing history, afterwards rows are maintained with every transaction write
+INSERT INTO monthly_rollups (user_id, month, category, type, total, tx_count)
+SELECT user_id, date_trunc('month', transaction_date)::date, category, type, sum(amount), count(*)
+FROM transactions
+GROUP BY user_id, date_trunc('month', transaction_date)::date, category, type;
@@ -0,0 +1,22 @@
+CREATE TABLE refresh_tokens
+(
+    id         VARCHAR(255)                NOT NULL,
+    created_at TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    updated_at TIMESTAMP WITHOUT TIME ZONE,
+    created_by VARCHAR(255)                NOT NULL,
+    updated_by VARCHAR(255),
+    user_id    VARCHAR(255)                NOT NULL,
+    family_id  VARCHAR(26)                 NOT NULL,
+    token_hash CHAR(64)                    NOT NULL,
+    expires_at TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    used_at    TIMESTAMP WITHOUT TIME ZONE,
+    revoked_at TIMESTAMP WITHOUT TIME ZONE,
+    CONSTRAINT pk_refresh_tokens PRIMARY KEY (id)
+);
+
+-- Revoking a session (family) and every session of a user
+CREATE INDEX idx_refresh_tokens_family ON refresh_tokens (family_id);
+CREATE INDEX idx_refresh_tokens_user ON refresh_tokens (user_id);
+
+-- Rebuilding the revocation filter and retention cleanup
+CREATE INDEX idx_refresh_tokens_expires ON refresh_tokens (expires_at);
@@ -0,0 +1,187 @@
+package com.walletiq.api.interceptor;
+
+import com.walletiq.api.annotation.ConditionalGet;
+import com.walletiq.dataversion.DataAggregate;
+import com.walletiq.dataversion.DataVersions;
+import com.walletiq.dataversion.LocalDataVersions;
+import com.walletiq.entity.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConditionalGetInterceptorTest {
+
+	private static final String USER = "user-1";
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final LocalDataVersions dataVersions = new LocalDataVersions(1_000, Duration.ofHours(1));
+	private final ConditionalGetInterceptor interceptor = new ConditionalGetInterceptor(dataVersions, meterRegistry,
+			Duration.ZERO);
+
+	@BeforeEach
+	void setUp() {
+		User user = User.builder().id(USER).email("user@walletiq.com").build();
+		SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(user, null, List.of()));
+	}
+
+	@AfterEach
+	void tearDown() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void answersUnchangedDataWithNotModified() throws Exception {
+		MockHttpServletRequest first = request(null);
+		assertThat(interceptor.preHandle(first, new MockHttpServletResponse(), handler("summary"))).isTrue();
+		String etag = (String) first.getAttribute(ConditionalGetInterceptor.ETAG_ATTRIBUTE);
+		assertThat(etag).startsWith("W/\"");
+
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		assertThat(interceptor.preHandle(request(etag), response, handler("summary"))).isFalse();
+
+		assertThat(response.getStatus()).isEqualTo(304);
+		assertThat(response.getHeader("ETag")).isEqualTo(etag);
+		assertThat(response.getHeader("Cache-Control")).isEqualTo("private, no-cache");
+		assertThat(meterRegistry.counter("http.conditional.requests", "endpoint", "GET /dashboard/summary",
+				"result", "not_modified").count()).isEqualTo(1);
+		assertThat(meterRegistry.get("http.conditional.hit.ratio").gauge().value()).isEqualTo(0.5);
+	}
+
+	@Test
+	void changesETagOnceDataChanged() throws Exception {
+		String before = etag(request(null), "summary");
+
+		dataVersions.bump(USER, DataAggregate.ROLLUPS);
+
+		MockHttpServletRequest request = request(before);
+		assertThat(interceptor.preHandle(request, new MockHttpServletResponse(), handler("summary"))).isTrue();
+		assertThat(request.getAttribute(ConditionalGetInterceptor.ETAG_ATTRIBUTE)).isNotEqualTo(before);
+	}
+
+	@Test
+	void withholdsETagUntilTheWriteSettled() throws Exception {
+		dataVersions.bump(USER, DataAggregate.ROLLUPS);
+		AtomicLong now = new AtomicLong(System.currentTimeMillis());
+		ConditionalGetInterceptor settling = new ConditionalGetInterceptor(dataVersions, meterRegistry,
+				Duration.ofSeconds(5), now::get);
+
+		MockHttpServletRequest during = request("*");
+		assertThat(settling.preHandle(during, new MockHttpServletResponse(), handler("summary"))).isTrue();
+		assertThat(during.getAttribute(ConditionalGetInterceptor.ETAG_ATTRIBUTE)).isNull();
+
+		// A stamp bumped within the millisecond it was created sits one microsecond past it
+		now.addAndGet(5_001);
+		MockHttpServletRequest after = request(null);
+		assertThat(settling.preHandle(after, new MockHttpServletResponse(), handler("summary"))).isTrue();
+		assertThat(after.getAttribute(ConditionalGetInterceptor.ETAG_ATTRIBUTE)).isNotNull();
+		assertThat(meterRegistry.counter("http.conditional.requests", "endpoint", "GET /dashboard/summary",
+				"result", "settling").count()).isEqualTo(1);
+	}
+
+	@Test
+	void ignoresChangesToOtherAggregates() throws Exception {
+		String before = etag(request(null), "summary");
+
+		dataVersions.bump(USER, DataAggregate.TRANSACTIONS);
+
+		assertThat(interceptor.preHandle(request(before), new MockHttpServletResponse(), handler("summary"))).isFalse();
+	}
+
+	@Test
+	void variesWithQueryAndRepresentation() throws Exception {
+		String json = etag(request(null), "summary");
+
+		MockHttpServletRequest range = request(null);
+		range.setQueryString("from=2026-01");
+		MockHttpServletRequest cbor = request(null);
+		cbor.addHeader("Accept", "application/cbor");
+
+		assertThat(etag(range, "summary")).isNotEqualTo(json);
+		assertThat(etag(cbor, "summary")).isNotEqualTo(json);
+	}
+
+	@Test
+	void leavesOtherRequestsAlone() throws Exception {
+		MockHttpServletRequest unannotated = request(null);
+		MockHttpServletRequest post = request(null);
+		post.setMethod("POST");
+
+		assertThat(interceptor.preHandle(unannotated, new MockHttpServletResponse(), handler("unversioned"))).isTrue();
+		assertThat(interceptor.preHandle(post, new MockHttpServletResponse(), handler("summary"))).isTrue();
+
+		assertThat(unannotated.getAttribute(ConditionalGetInterceptor.ETAG_ATTRIBUTE)).isNull();
+		assertThat(post.getAttribute(ConditionalGetInterceptor.ETAG_ATTRIBUTE)).isNull();
+	}
+
+	@Test
+	void servesUnconditionallyWhenVersionsUnavailable() throws Exception {
+		ConditionalGetInterceptor unavailable = new ConditionalGetInterceptor(new DataVersions() {
+			@Override
+			public long[] current(String userId, DataAggregate... aggregates) {
+				throw new IllegalStateException("Redis is down");
+			}
+
+			@Override
+			public void bump(String userId, DataAggregate aggregate) {
+			}
+		}, meterRegistry, Duration.ZERO);
+		MockHttpServletRequest request = request("*");
+
+		assertThat(unavailable.preHandle(request, new MockHttpServletResponse(), handler("summary"))).isTrue();
+		assertThat(request.getAttribute(ConditionalGetInterceptor.ETAG_ATTRIBUTE)).isNull();
+		assertThat(meterRegistry.counter("http.conditional.requests", "endpoint", "GET /dashboard/summary",
+				"result", "unavailable").count()).isEqualTo(1);
+	}
+
+	@Test
+	void comparesEntityTagsWeakly() {
+		String etag = "W/\"0123abcd\"";
+
+		assertThat(ConditionalGetInterceptor.matches("\"0123abcd\"", etag)).isTrue();
+		assertThat(ConditionalGetInterceptor.matches("W/\"ffff\", W/\"0123abcd\"", etag)).isTrue();
+		assertThat(ConditionalGetInterceptor.matches("*", etag)).isTrue();
+		assertThat(ConditionalGetInterceptor.matches("W/\"ffff\"", etag)).isFalse();
+		assertThat(ConditionalGetInterceptor.matches(null, etag)).isFalse();
+	}
+
+	private String etag(MockHttpServletRequest request, String handler) throws Exception {
+		interceptor.preHandle(request, new MockHttpServletResponse(), handler(handler));
+		return (String) request.getAttribute(ConditionalGetInterceptor.ETAG_ATTRIBUTE);
+	}
+
+	private static MockHttpServletRequest request(String ifNoneMatch) {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/dashboard/summary");
+		request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/dashboard/summary");
+		if (ifNoneMatch != null) {
+			request.addHeader("If-None-Match", ifNoneMatch);
+		}
+		return request;
+	}
+
+	private static HandlerMethod handler(String name) throws NoSuchMethodException {
+		return new HandlerMethod(new Handlers(), Handlers.class.getMethod(name));
+	}
+
+	public static class Handlers {
+
+		@ConditionalGet(DataAggregate.ROLLUPS)
+		public void summary() {
+		}
+
+		public void unversioned() {
+		}
+	}
+}
@@ -0,0 +1,160 @@
+package com.walletiq.api.interceptor;
+
+import com.walletiq.api.annotation.PublicEndpoint;
+import com.walletiq.api.annotation.RateLimited;
+import com.walletiq.api.annotation.RequirePermission;
+import com.walletiq.config.properties.EndpointMetricsProperties;
+import com.walletiq.metrics.RequestPhases;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.CountAtBucket;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.DispatcherType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EndpointMetricsInterceptorTest {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final EndpointMetricsInterceptor interceptor = new EndpointMetricsInterceptor(meterRegistry,
+			new EndpointMetricsProperties(true, false, List.of(Duration.ofMillis(50), Duration.ofMillis(250)),
+					List.of(new EndpointMetricsProperties.RouteProperties("POST", "/things/**",
+							List.of(Duration.ofSeconds(1), Duration.ofSeconds(5))))));
+
+	@AfterEach
+	void tearDown() {
+		RequestPhases.end();
+	}
+
+	@Test
+	void timesRequestTaggedFromEndpointAnnotations() throws Exception {
+		handle("GET", "/things/{id}", handler("find"), 200);
+
+		Timer latency = meterRegistry.get("http.endpoint.latency")
+				.tags("endpoint", "GET /things/{id}", "access", "authenticated", "permission", "THING_READ",
+						"rate_limited", "true", "status", "200", "outcome", "SUCCESS")
+				.timer();
+		assertThat(latency.count()).isEqualTo(1);
+	}
+
+	@Test
+	void tagsPublicEndpointAndStatus() throws Exception {
+		handle("GET", "/things", handler("list"), 404);
+
+		assertThat(meterRegistry.get("http.endpoint.latency")
+				.tags("access", "public", "permission", "none", "rate_limited", "false", "status", "404",
+						"outcome", "CLIENT_ERROR")
+				.timer().count()).isEqualTo(1);
+	}
+
+	@Test
+	void usesSloBucketsOfMatchingRoute() throws Exception {
+		handle("GET", "/things/{id}", handler("find"), 200);
+		handle("POST", "/things/{id}", handler("update"), 200);
+
+		assertThat(buckets("GET /things/{id}")).containsExactly(0.05, 0.25);
+		assertThat(buckets("POST /things/{id}")).containsExactly(1.0, 5.0);
+	}
+
+	@Test
+	void recordsDatabaseAndSerializationPhases() throws Exception {
+		MockHttpServletRequest request = request("GET", "/things/{id}");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		HandlerMethod handler = handler("find");
+
+		interceptor.preHandle(request, response, handler);
+		RequestPhases.current().addDatabase(TimeUnit.MILLISECONDS.toNanos(7));
+		RequestPhases.current().addDatabase(TimeUnit.MILLISECONDS.toNanos(3));
+		RequestPhases.current().addSerialization(TimeUnit.MILLISECONDS.toNanos(2));
+		interceptor.afterCompletion(request, response, handler, null);
+
+		assertThat(phase("db").totalTime(TimeUnit.MILLISECONDS)).isEqualTo(10);
+		assertThat(phase("serialization").totalTime(TimeUnit.MILLISECONDS)).isEqualTo(2);
+		assertThat(RequestPhases.current()).isNull();
+	}
+
+	@Test
+	void timesAsyncRequestOnceAcrossDispatches() throws Exception {
+		MockHttpServletRequest request = request("GET", "/things/{id}");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		HandlerMethod handler = handler("find");
+
+		interceptor.preHandle(request, response, handler);
+		RequestPhases phases = RequestPhases.current();
+		phases.addDatabase(TimeUnit.MILLISECONDS.toNanos(4));
+		interceptor.afterConcurrentHandlingStarted(request, response, handler);
+		assertThat(RequestPhases.current()).isNull();
+
+		request.setDispatcherType(DispatcherType.ASYNC);
+		interceptor.preHandle(request, response, handler);
+		assertThat(RequestPhases.current()).isSameAs(phases);
+		interceptor.afterCompletion(request, response, handler, null);
+
+		assertThat(meterRegistry.get("http.endpoint.latency").timer().count()).isEqualTo(1);
+		assertThat(phase("db").totalTime(TimeUnit.MILLISECONDS)).isEqualTo(4);
+	}
+
+	@Test
+	void ignoresRequestsNotHandledByController() throws Exception {
+		MockHttpServletRequest request = request("GET", "/static/app.js");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		interceptor.preHandle(request, response, new Object());
+		interceptor.afterCompletion(request, response, new Object(), null);
+
+		assertThat(meterRegistry.find("http.endpoint.latency").timers()).isEmpty();
+	}
+
+	private void handle(String method, String pattern, HandlerMethod handler, int status) throws Exception {
+		MockHttpServletRequest request = request(method, pattern);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		interceptor.preHandle(request, response, handler);
+		response.setStatus(status);
+		interceptor.afterCompletion(request, response, handler, null);
+	}
+
+	private double[] buckets(String endpoint) {
+		CountAtBucket[] counts = meterRegistry.get("http.endpoint.latency").tag("endpoint", endpoint).timer()
+				.takeSnapshot().histogramCounts();
+		return Arrays.stream(counts).mapToDouble(bucket -> bucket.bucket(TimeUnit.SECONDS)).toArray();
+	}
+
+	private Timer phase(String phase) {
+		return meterRegistry.get("http.endpoint.phase").tag("phase", phase).timer();
+	}
+
+	private static MockHttpServletRequest request(String method, String pattern) {
+		MockHttpServletRequest request = new MockHttpServletRequest(method, pattern);
+		request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, pattern);
+		return request;
+	}
+
+	private static HandlerMethod handler(String name) throws NoSuchMethodException {
+		return new HandlerMethod(new ThingController(), ThingController.class.getMethod(name));
+	}
+
+	static class ThingController {
+
+		@RequirePermission("THING_READ")
+		@RateLimited
+		public void find() {
+		}
+
+		@PublicEndpoint
+		public void list() {
+		}
+
+		public void update() {
+		}
+	}
+}
@@ -0,0 +1,146 @@
+package com.walletiq.api.interceptor;
+
+import com.walletiq.api.annotation.RequirePermission;
+import com.walletiq.entity.User;
+import com.walletiq.exception.PermissionDeniedException;
+import com.walletiq.repository.RoleRepository;
+import com.walletiq.security.permission.PermissionRegistry;
+import com.walletiq.security.permission.RolePermissionStore;
+import jakarta.servlet.DispatcherType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.method.HandlerMethod;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PermissionInterceptorTest {
+
+	private final RoleRepository repository = mock(RoleRepository.class);
+	private final PermissionRegistry registry = new PermissionRegistry();
+	private final RolePermissionStore store = new RolePermissionStore(repository, registry);
+	private final PermissionInterceptor interceptor = new PermissionInterceptor(registry, store);
+
+	@AfterEach
+	void tearDown() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void allowsCallersHoldingEveryPermission() throws Exception {
+		grants(grant("USER", "TRANSACTION_READ"), grant("USER", "TRANSACTION_WRITE"));
+		authenticate(Set.of("USER"));
+
+		assertThat(interceptor.preHandle(request(), new MockHttpServletResponse(), handler("readAndWrite"))).isTrue();
+	}
+
+	@Test
+	void deniesCallersMissingAnyPermission() throws Exception {
+		grants(grant("USER", "TRANSACTION_READ"));
+		authenticate(Set.of("USER"));
+
+		assertThatThrownBy(() -> interceptor.preHandle(request(), new MockHttpServletResponse(), handler("readAndWrite")))
+				.isInstanceOf(PermissionDeniedException.class);
+	}
+
+	@Test
+	void combinesTheGrantsOfEveryRole() throws Exception {
+		grants(grant("USER", "TRANSACTION_READ"), grant("WRITER", "TRANSACTION_WRITE"));
+		authenticate(Set.of("USER", "WRITER"));
+
+		assertThat(interceptor.preHandle(request(), new MockHttpServletResponse(), handler("readAndWrite"))).isTrue();
+	}
+
+	@Test
+	void deniesPermissionsNoRoleIsGranted() throws Exception {
+		grants(grant("ADMIN", "TRANSACTION_READ"));
+		authenticate(Set.of("ADMIN"));
+
+		assertThatThrownBy(() -> interceptor.preHandle(request(), new MockHttpServletResponse(), handler("unknown")))
+				.isInstanceOf(PermissionDeniedException.class);
+	}
+
+	@Test
+	void failsClosedBeforeTheFirstReload() throws Exception {
+		authenticate(Set.of("ADMIN"));
+
+		assertThatThrownBy(() -> interceptor.preHandle(request(), new MockHttpServletResponse(), handler("readAndWrite")))
+				.isInstanceOf(PermissionDeniedException.class);
+	}
+
+	@Test
+	void readsRolesFromAuthoritiesWithoutAUserPrincipal() throws Exception {
+		grants(grant("USER", "TRANSACTION_READ"), grant("USER", "TRANSACTION_WRITE"));
+		SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken("service", null,
+				List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+
+		assertThat(interceptor.preHandle(request(), new MockHttpServletResponse(), handler("readAndWrite"))).isTrue();
+	}
+
+	@Test
+	void letsUnannotatedEndpointsAndAsyncDispatchesThrough() throws Exception {
+		MockHttpServletRequest async = request();
+		async.setDispatcherType(DispatcherType.ASYNC);
+
+		assertThat(interceptor.preHandle(request(), new MockHttpServletResponse(), handler("open"))).isTrue();
+		assertThat(interceptor.preHandle(async, new MockHttpServletResponse(), handler("readAndWrite"))).isTrue();
+	}
+
+	/* ---------------- Helper ---------------- */
+
+	private void grants(RoleRepository.RolePermissionView... grants) {
+		when(repository.findAllGrants()).thenReturn(List.of(grants));
+		store.reload();
+	}
+
+	private static void authenticate(Set<String> roles) {
+		User user = User.builder().id("user-1").email("user@walletiq.com").roles(roles).build();
+		SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(user, null, List.of()));
+	}
+
+	private static MockHttpServletRequest request() {
+		return new MockHttpServletRequest("GET", "/transactions");
+	}
+
+	private static HandlerMethod handler(String name) throws NoSuchMethodException {
+		return new HandlerMethod(new Handlers(), Handlers.class.getMethod(name));
+	}
+
+	private static RoleRepository.RolePermissionView grant(String role, String permission) {
+		return new RoleRepository.RolePermissionView() {
+			@Override
+			public String getRole() {
+				return role;
+			}
+
+			@Override
+			public String getPermission() {
+				return permission;
+			}
+		};
+	}
+
+	public static class Handlers {
+
+		@RequirePermission({"TRANSACTION_READ", "TRANSACTION_WRITE"})
+		public void readAndWrite() {
+		}
+
+		@RequirePermission("AUDIT_EXPORT")
+		public void unknown() {
+		}
+
+		public void open() {
+		}
+	}
+}
@@ -0,0 +1,93 @@
+package com.walletiq.api.interceptor;
+
+import com.walletiq.api.annotation.RateLimited;
+import com.walletiq.exception.ErrorResponseWriter;
+import com.walletiq.ratelimit.RateLimitDecision;
+import com.walletiq.ratelimit.RateLimiter;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RateLimitInterceptorTest {
+
+	private final RateLimiter rateLimiter = mock(RateLimiter.class);
+	private final RateLimitInterceptor interceptor = new RateLimitInterceptor(rateLimiter, mock(ErrorResponseWriter.class));
+
+	@Test
+	void enforcesTheCompiledLimits() throws Exception {
+		when(rateLimiter.tryAcquire(anyString(), eq(10), eq(60_000L))).thenReturn(RateLimitDecision.allow(10, 9, 0));
+		interceptor.onContextRefreshed(refreshed("limited", "open"));
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		assertThat(interceptor.preHandle(new MockHttpServletRequest(), response, handler("limited"))).isTrue();
+
+		verify(rateLimiter).tryAcquire("Handlers#limited:ip:127.0.0.1", 10, 60_000L);
+		assertThat(response.getHeader(RateLimitInterceptor.HEADER_REMAINING)).isEqualTo("9");
+	}
+
+	@Test
+	void failsTheStartOnAZeroLimit() {
+		assertThatThrownBy(() -> interceptor.onContextRefreshed(refreshed("limited", "zero")))
+				.isInstanceOf(IllegalStateException.class)
+				.hasMessage("Invalid @RateLimited on Handlers#zero: maxRequests must be at least 1, was 0");
+	}
+
+	@Test
+	void failsTheStartOnAnEmptyApiKeyWindow() {
+		assertThatThrownBy(() -> interceptor.onContextRefreshed(refreshed("noApiKeyWindow")))
+				.isInstanceOf(IllegalStateException.class)
+				.hasMessageContaining("apiKeyWindowSeconds must be at least 1");
+	}
+
+	/* ---------------- Helper ---------------- */
+
+	private static ContextRefreshedEvent refreshed(String... handlers) throws NoSuchMethodException {
+		Map<RequestMappingInfo, HandlerMethod> handlerMethods = new LinkedHashMap<>();
+		for (String name : handlers) {
+			handlerMethods.put(RequestMappingInfo.paths("/" + name).build(), handler(name));
+		}
+		RequestMappingHandlerMapping handlerMapping = mock(RequestMappingHandlerMapping.class);
+		when(handlerMapping.getHandlerMethods()).thenReturn(handlerMethods);
+		ApplicationContext context = mock(ApplicationContext.class);
+		when(context.getBean("requestMappingHandlerMapping", RequestMappingHandlerMapping.class)).thenReturn(handlerMapping);
+		return new ContextRefreshedEvent(context);
+	}
+
+	private static HandlerMethod handler(String name) throws NoSuchMethodException {
+		return new HandlerMethod(new Handlers(), Handlers.class.getMethod(name));
+	}
+
+	public static class Handlers {
+
+		@RateLimited(maxRequests = 10, windowSeconds = 60)
+		public void limited() {
+		}
+
+		@RateLimited(maxRequests = 0)
+		public void zero() {
+		}
+
+		@RateLimited(apiKeyMaxRequests = 100, apiKeyWindowSeconds = 0)
+		public void noApiKeyWindow() {
+		}
+
+		public void open() {
+		}
+	}
+}
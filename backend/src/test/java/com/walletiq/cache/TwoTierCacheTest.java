@@ -0,0 +1,136 @@
+package com.walletiq.cache;
+
+import com.walletiq.config.properties.CachingProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TwoTierCacheTest {
+
+	private final CachingProperties properties = new CachingProperties(CachingProperties.Mode.REDIS, "walletiq::",
+			Duration.ofHours(1), Map.of(), "invalidations", 500,
+			new CachingProperties.NearCacheProperties(100, Duration.ofMinutes(1)));
+	private final CacheManager remote = new ConcurrentMapCacheManager();
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private TwoTierCacheManager node1;
+	private TwoTierCacheManager node2;
+
+	@BeforeEach
+	void setUp() {
+		node1 = new TwoTierCacheManager(properties, remote, meterRegistry);
+		node2 = new TwoTierCacheManager(properties, remote, new SimpleMeterRegistry());
+		// In-memory stand-in for the pub/sub channel
+		node1.setInvalidationPublisher(node2::onInvalidation);
+		node2.setInvalidationPublisher(node1::onInvalidation);
+	}
+
+	@Test
+	void loadsOnceAndServesOtherNodesFromRemote() {
+		AtomicInteger loads = new AtomicInteger();
+
+		assertThat(node1.getCache("c").get("k", () -> "v" + loads.incrementAndGet())).isEqualTo("v1");
+		assertThat(node1.getCache("c").get("k", () -> "v" + loads.incrementAndGet())).isEqualTo("v1");
+		assertThat(node2.getCache("c").get("k", () -> "v" + loads.incrementAndGet())).isEqualTo("v1");
+
+		assertThat(loads).hasValue(1);
+		assertThat(node2.getCache("c").remoteHits()).isEqualTo(1);
+	}
+
+	@Test
+	void writesDropNearCopiesOnOtherNodes() {
+		node1.getCache("c").put("k", "old");
+		assertThat(node2.getCache("c").get("k", String.class)).isEqualTo("old");
+
+		node1.getCache("c").put("k", "new");
+
+		assertThat(node2.getCache("c").near().getIfPresent("k")).isNull();
+		assertThat(node2.getCache("c").get("k", String.class)).isEqualTo("new");
+	}
+
+	@Test
+	void evictByPrefixOnlyDropsMatchingKeys() {
+		node1.getCache("c").put("u1:a", "a");
+		node1.getCache("c").put("u2:a", "b");
+		node2.getCache("c").get("u1:a");
+		node2.getCache("c").get("u2:a");
+
+		node1.getCache("c").evictByPrefix("u1:");
+
+		assertThat(node1.getCache("c").near().asMap()).containsOnlyKeys("u2:a");
+		assertThat(node2.getCache("c").near().asMap()).containsOnlyKeys("u2:a");
+	}
+
+	@Test
+	void ignoresOwnAndUnknownMessages() {
+		node1.getCache("c").put("k", "v");
+
+		node1.onInvalidation(new CacheInvalidation(node1.origin(), "c", CacheInvalidation.Kind.CLEAR, null));
+		node1.onInvalidation(new CacheInvalidation("other", "unknown", CacheInvalidation.Kind.CLEAR, null));
+		node1.onInvalidation(null);
+
+		assertThat(node1.getCache("c").near().getIfPresent("k")).isEqualTo("v");
+		assertThat(node1.getCacheNames()).containsExactly("c");
+	}
+
+	@Test
+	void invalidationRoundTripsThroughEncoding() {
+		CacheInvalidation prefix = new CacheInvalidation("n1", "dashboard", CacheInvalidation.Kind.PREFIX, "u1:\nodd");
+		CacheInvalidation clear = new CacheInvalidation("n1", "dashboard", CacheInvalidation.Kind.CLEAR, null);
+
+		assertThat(CacheInvalidation.decode(prefix.encode())).isEqualTo(prefix);
+		assertThat(CacheInvalidation.decode(clear.encode())).isEqualTo(clear);
+		assertThat(CacheInvalidation.decode("not a message".getBytes())).isNull();
+	}
+
+	@Test
+	void degradesToNearTierWhenRemoteFails() {
+		List<String> published = new ArrayList<>();
+		TwoTierCache cache = new TwoTierCache("c", "n1",
+				com.github.benmanes.caffeine.cache.Caffeine.newBuilder().recordStats().build(),
+				new FailingCache(), invalidation -> published.add(invalidation.key()));
+
+		assertThat(cache.get("k", () -> "v")).isEqualTo("v");
+		assertThat(cache.get("k", () -> "other")).isEqualTo("v");
+		assertThat(cache.remoteErrors()).isEqualTo(2);
+		assertThat(published).containsExactly("k");
+	}
+
+	@Test
+	void exportsHitRatios() {
+		node1.getCache("c").get("k", () -> "v");
+		node1.getCache("c").get("k");
+
+		assertThat(meterRegistry.get("cache.tier.hit.ratio").tags("cache", "c", "tier", "near").gauge().value())
+				.isEqualTo(0.5);
+		assertThat(meterRegistry.get("cache.tier.gets").tags("cache", "c", "tier", "remote", "result", "miss")
+				.functionCounter().count()).isEqualTo(1);
+	}
+
+	private static class FailingCache extends org.springframework.cache.concurrent.ConcurrentMapCache {
+
+		FailingCache() {
+			super("c");
+		}
+
+		@Override
+		public ValueWrapper get(Object key) {
+			throw new IllegalStateException("down");
+		}
+
+		@Override
+		public void put(Object key, Object value) {
+			throw new IllegalStateException("down");
+		}
+	}
+}
@@ -0,0 +1,99 @@
+package com.walletiq.common.response;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.walletiq.common.constant.ErrorType;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class ErrorResponseTemplateTest {
+
+	private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+	@Test
+	void rendersWhatJacksonWouldSerialize() throws Exception {
+		ErrorResponseTemplate template = ErrorResponseTemplate.of(ErrorType.RATE_LIMIT_ERROR, "RATE_LIMIT.EXCEEDED");
+		ErrorResponse.ErrorDetail detail = ErrorResponse.ErrorDetail.builder()
+				.type(ErrorType.RATE_LIMIT_ERROR)
+				.code("RATE_LIMIT.EXCEEDED")
+				.detail("Too many requests, retry after 7 seconds")
+				.path("/api/v1/transactions/search")
+				.traceId("01JA8Z3K4M5N6P7Q8R9S0T1V2W")
+				.retryAfter(7)
+				.build();
+
+		byte[] rendered = template.render(detail.detail(), detail.path(), detail.traceId(), 7);
+		byte[] serialized = objectMapper.writeValueAsBytes(ErrorResponse.of(detail));
+
+		assertThat(withoutTimestamp(rendered)).isEqualTo(withoutTimestamp(serialized));
+		assertThat(fieldNames(rendered)).isEqualTo(fieldNames(serialized));
+		Instant timestamp = Instant.parse(objectMapper.readTree(rendered).path("error").path("timestamp").asText());
+		assertThat(timestamp).isCloseTo(detail.timestamp(), within(1, ChronoUnit.SECONDS));
+	}
+
+	@Test
+	void leavesOutMissingFields() throws Exception {
+		JsonNode error = objectMapper.readTree(ErrorResponseTemplate.of(ErrorType.AUTHENTICATION_ERROR, "AUTH.UNAUTHORIZED")
+				.render(null, null, null, null)).path("error");
+
+		assertThat(error.has("detail")).isFalse();
+		assertThat(error.has("path")).isFalse();
+		assertThat(error.has("traceId")).isFalse();
+		assertThat(error.has("retryAfter")).isFalse();
+		assertThat(error.path("status").asInt()).isEqualTo(401);
+		assertThat(error.path("timestamp").asText()).isNotEmpty();
+	}
+
+	@Test
+	void escapesDynamicFields() throws Exception {
+		String detail = "Quote \" backslash \\ newline \n tab \t bell \u0007 and ünïcödé";
+		String path = "/api/v1/transactions/\"><script>";
+
+		JsonNode error = objectMapper.readTree(ErrorResponseTemplate.of(ErrorType.AUTHORIZATION_ERROR, "AUTH.ACCESS_DENIED")
+				.render(detail, path, "trace", null)).path("error");
+
+		assertThat(error.path("detail").asText()).isEqualTo(detail);
+		assertThat(error.path("path").asText()).isEqualTo(path);
+	}
+
+	@Test
+	void writesStatusHeadersAndBody() throws Exception {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		ErrorResponseTemplate.of(ErrorType.SERVICE_UNAVAILABLE, "DATABASE.BUSY")
+				.write(response, "The service is busy, please retry shortly", "/api/v1/dashboard", "trace", 1);
+
+		assertThat(response.getStatus()).isEqualTo(503);
+		assertThat(response.getContentType()).isEqualTo("application/json");
+		assertThat(response.getHeader("Retry-After")).isEqualTo("1");
+		assertThat(response.getContentLength()).isEqualTo(response.getContentAsByteArray().length);
+		assertThat(objectMapper.readTree(response.getContentAsByteArray()).path("error").path("code").asText())
+				.isEqualTo("DATABASE.BUSY");
+	}
+
+	@Test
+	void reusesTemplateOfSameTypeAndCode() {
+		assertThat(ErrorResponseTemplate.of(ErrorType.AUTHENTICATION_ERROR, "AUTH.UNAUTHORIZED"))
+				.isSameAs(ErrorResponseTemplate.of(ErrorType.AUTHENTICATION_ERROR, "AUTH.UNAUTHORIZED"));
+	}
+
+	private JsonNode withoutTimestamp(byte[] body) throws Exception {
+		JsonNode tree = objectMapper.readTree(body);
+		((ObjectNode) tree.path("error")).remove("timestamp");
+		return tree;
+	}
+
+	private String fieldNames(byte[] body) throws Exception {
+		StringBuilder names = new StringBuilder();
+		objectMapper.readTree(body).path("error").fieldNames().forEachRemaining(name -> names.append(name).append(','));
+		return names.toString();
+	}
+}
@@ -0,0 +1,36 @@
+package com.walletiq.common.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MdcUtilTest {
+
+	@AfterEach
+	void clearMdc() {
+		MDC.clear();
+	}
+
+	@Test
+	void carriesMdcToOtherThreadsAndRestoresTheirOwn() throws Exception {
+		MDC.put(RequestContextUtil.REQUEST_ID, "request-1");
+		Runnable task = MdcUtil.wrap(() -> assertThat(RequestContextUtil.getOrGenerateRequestId()).isEqualTo("request-1"));
+
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			executor.submit(task).get();
+			String inherited = CompletableFuture.supplyAsync(() -> MDC.get(RequestContextUtil.REQUEST_ID),
+					MdcUtil.propagating(executor)).get();
+			assertThat(inherited).isEqualTo("request-1");
+		}
+
+		MDC.put(RequestContextUtil.REQUEST_ID, "worker");
+		task.run();
+		assertThat(MDC.get(RequestContextUtil.REQUEST_ID)).isEqualTo("worker");
+	}
+}
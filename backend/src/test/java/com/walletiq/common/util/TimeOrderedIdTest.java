@@ -0,0 +1,36 @@
+package com.walletiq.common.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimeOrderedIdTest {
+
+	@Test
+	void generatesCrockfordBase32OfFixedLength() {
+		assertThat(TimeOrderedId.next()).hasSize(TimeOrderedId.LENGTH).matches("[0-9A-HJKMNP-TV-Z]+");
+		assertThat(TimeOrderedId.next(0)).startsWith("0000000000");
+	}
+
+	@Test
+	void sortsByCreationTime() {
+		long now = System.currentTimeMillis();
+
+		assertThat(TimeOrderedId.next(now)).isLessThan(TimeOrderedId.next(now + 1));
+		assertThat(TimeOrderedId.next(now)).isLessThan(TimeOrderedId.next(now + 86_400_000L));
+		assertThat(TimeOrderedId.next(now).substring(0, 10)).isEqualTo(TimeOrderedId.next(now).substring(0, 10));
+	}
+
+	@Test
+	void generatesUniqueIdsWithinSameMillisecond() {
+		Set<String> ids = new HashSet<>();
+		for (int i = 0; i < 100_000; i++) {
+			ids.add(TimeOrderedId.next(1_700_000_000_000L));
+		}
+
+		assertThat(ids).hasSize(100_000);
+	}
+}
@@ -0,0 +1,85 @@
+package com.walletiq.config.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.walletiq.common.constant.TransactionType;
+import com.walletiq.config.properties.CachingProperties;
+import com.walletiq.dto.response.DashboardResponse;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisKeyCommands;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+class CacheConfigTest {
+
+	private final GenericJackson2JsonRedisSerializer serializer =
+			CacheConfig.valueSerializer(new ObjectMapper().registerModule(new JavaTimeModule()));
+
+	@Test
+	void roundTripsRecordsWithTheirType() {
+		DashboardResponse response = new DashboardResponse(YearMonth.of(2024, 1), YearMonth.of(2024, 2),
+				new BigDecimal("100.00"), new BigDecimal("40.50"), new BigDecimal("59.50"),
+				List.of(new DashboardResponse.MonthlyTotal(YearMonth.of(2024, 1), new BigDecimal("100.00"),
+						new BigDecimal("40.50"))),
+				List.of(new DashboardResponse.CategoryTotal("FOOD", TransactionType.EXPENSE, new BigDecimal("40.50"), 3)));
+
+		byte[] bytes = serializer.serialize(response);
+
+		assertThat(new String(bytes, StandardCharsets.UTF_8)).contains("\"@class\":\"" + DashboardResponse.class.getName());
+		assertThat(serializer.deserialize(bytes)).isEqualTo(response);
+	}
+
+	@Test
+	void evictsByPatternWithScanInsteadOfKeys() {
+		RedisConnectionFactory connectionFactory = mock(RedisConnectionFactory.class);
+		// Real default methods, so the connection's key commands land on keyCommands()
+		RedisConnection connection = mock(RedisConnection.class, withSettings().defaultAnswer(CALLS_REAL_METHODS));
+		RedisKeyCommands keyCommands = mock(RedisKeyCommands.class);
+		when(connectionFactory.getConnection()).thenReturn(connection);
+		doReturn(keyCommands).when(connection).keyCommands();
+		when(keyCommands.scan(any(ScanOptions.class))).thenReturn(mock());
+		CachingProperties properties = new CachingProperties(CachingProperties.Mode.REDIS, "walletiq::",
+				Duration.ofHours(1), Map.of(), "invalidations", 250, null);
+		RedisCache cache = (RedisCache) CacheConfig.redisCacheManager(properties, new ObjectMapper(), connectionFactory)
+				.getCache("dashboard");
+
+		cache.clear("u1::*");
+
+		ArgumentCaptor<ScanOptions> options = ArgumentCaptor.forClass(ScanOptions.class);
+		verify(keyCommands).scan(options.capture());
+		assertThat(options.getValue().getCount()).isEqualTo(250);
+		assertThat(options.getValue().getPattern()).isEqualTo("walletiq::dashboard::u1::*");
+		verify(keyCommands, never()).keys(any());
+	}
+
+	@Test
+	void refusesTypesOutsideTheAllowList() {
+		byte[] bytes = "{\"@class\":\"org.springframework.context.support.ClassPathXmlApplicationContext\"}"
+				.getBytes(StandardCharsets.UTF_8);
+
+		assertThatThrownBy(() -> serializer.deserialize(bytes)).isInstanceOf(SerializationException.class);
+	}
+}
@@ -0,0 +1,247 @@
+package com.walletiq.config.persistence;
+
+import com.walletiq.config.properties.ReadReplicaProperties;
+import com.walletiq.dataversion.DataAggregate;
+import com.walletiq.dataversion.LocalDataVersions;
+import com.walletiq.entity.User;
+import com.walletiq.service.TransactionsChangedEvent;
+import com.walletiq.service.rollup.RollupsChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReplicaRouterTest {
+
+	private static final String USER = "user-1";
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final AtomicLong now = new AtomicLong();
+	// Past the read-your-writes window of the stamps the test creates
+	private final AtomicLong epochMillis = new AtomicLong(System.currentTimeMillis() + 6_000);
+	private final LocalDataVersions dataVersions = new LocalDataVersions(1_000, Duration.ofHours(1));
+	private final DataSource primary = mock(DataSource.class);
+	private final DataSource replica = mock(DataSource.class);
+	private final Connection primaryConnection = mock(Connection.class);
+	private final Connection replicaConnection = mock(Connection.class);
+	private final ResultSet lag = mock(ResultSet.class);
+	private final ReplicaRouter router = new ReplicaRouter(replica,
+			new ReadReplicaProperties(true, "jdbc:postgresql://replica/walletiq", "postgres", "postgres", 4,
+					Duration.ofSeconds(1), Duration.ofSeconds(1), Duration.ofSeconds(5)),
+			dataVersions, meterRegistry, now::get, epochMillis::get);
+	private final DataSource readOnly = ReplicaRouter.readOnlyDataSource(primary, () -> router);
+	private final Reads reads = replicaReads(readOnly);
+
+	@BeforeEach
+	void setUp() throws SQLException {
+		Statement statement = mock(Statement.class);
+		when(primary.getConnection()).thenReturn(primaryConnection);
+		when(replica.getConnection()).thenReturn(replicaConnection);
+		when(primaryConnection.createStatement()).thenReturn(mock(Statement.class));
+		when(primaryConnection.prepareStatement(anyString())).thenReturn(mock(PreparedStatement.class));
+		when(replicaConnection.createStatement()).thenReturn(statement);
+		when(replicaConnection.prepareStatement(anyString())).thenReturn(mock(PreparedStatement.class));
+		when(statement.executeQuery(anyString())).thenReturn(lag);
+		when(lag.next()).thenReturn(true);
+
+		User user = User.builder().id(USER).email("user@walletiq.com").build();
+		SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(user, null, List.of()));
+	}
+
+	@AfterEach
+	void tearDown() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void readsFromTheReplicaWhileItKeepsUp() throws SQLException {
+		replicaLag(0.2);
+
+		assertThat(reads.connection()).isSameAs(replicaConnection);
+		assertThat(reads("replica")).isEqualTo(1);
+		assertThat(meterRegistry.get("db.replica.lag").gauge().value()).isEqualTo(0.2);
+	}
+
+	@Test
+	void readsFromThePrimaryOutsideReadFromReplicaMethods() throws SQLException {
+		replicaLag(0);
+
+		assertThat(readOnly.getConnection()).isSameAs(primaryConnection);
+		assertThat(reads("replica")).isZero();
+	}
+
+	@Test
+	void readsJobsFromThePrimaryRightAfterTheirWrite() throws SQLException {
+		replicaLag(0);
+		// Jobs run on their own thread, without a user
+		SecurityContextHolder.clearContext();
+		LazyConnectionDataSourceProxy routing = new LazyConnectionDataSourceProxy(primary);
+		routing.setReadOnlyDataSource(readOnly);
+		DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(routing);
+		TransactionTemplate readOnlyTransaction = new TransactionTemplate(transactionManager);
+		readOnlyTransaction.setReadOnly(true);
+
+		// JobService.submit saves the job, its thread then reads it back like SimpleJpaRepository.findById
+		new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+				statement(routing, "INSERT INTO jobs (id, status) VALUES (?, 'QUEUED')"));
+		readOnlyTransaction.executeWithoutResult(status -> statement(routing, "SELECT * FROM jobs WHERE id = ?"));
+
+		verify(primaryConnection, times(2)).prepareStatement(anyString());
+		verify(replicaConnection, never()).prepareStatement(anyString());
+	}
+
+	@Test
+	void readsFromThePrimaryUntilTheFirstLagCheck() throws SQLException {
+		assertThat(reads.connection()).isSameAs(primaryConnection);
+		assertThat(reads("unavailable")).isEqualTo(1);
+		assertThat(meterRegistry.get("db.replica.lag").gauge().value()).isNaN();
+	}
+
+	@Test
+	void readsFromThePrimaryWhileTheReplicaLags() throws SQLException {
+		replicaLag(3);
+		assertThat(reads.connection()).isSameAs(primaryConnection);
+
+		replicaLag(0.5);
+		assertThat(reads.connection()).isSameAs(replicaConnection);
+
+		assertThat(reads("lag")).isEqualTo(1);
+		assertThat(reads("replica")).isEqualTo(1);
+	}
+
+	@Test
+	void readsOwnWritesFromThePrimary() throws SQLException {
+		replicaLag(0);
+		router.onTransactionsChanged(TransactionsChangedEvent.of(USER, "tx-1"));
+
+		assertThat(reads.connection()).isSameAs(primaryConnection);
+
+		now.addAndGet(TimeUnit.SECONDS.toNanos(6));
+		assertThat(reads.connection()).isSameAs(replicaConnection);
+
+		router.onRollupsChanged(new RollupsChangedEvent(Set.of("user-2")));
+		assertThat(reads.connection()).isSameAs(replicaConnection);
+
+		assertThat(reads("read_your_writes")).isEqualTo(1);
+		assertThat(reads("replica")).isEqualTo(2);
+	}
+
+	@Test
+	void readsOwnWritesServedByOtherNodesFromThePrimary() throws SQLException {
+		replicaLag(0);
+		assertThat(reads.connection()).isSameAs(replicaConnection);
+
+		// Bumped by the node that served the write
+		dataVersions.bump(USER, DataAggregate.ROLLUPS);
+		epochMillis.set(System.currentTimeMillis());
+		assertThat(reads.connection()).isSameAs(primaryConnection);
+
+		epochMillis.addAndGet(6_000);
+		assertThat(reads.connection()).isSameAs(replicaConnection);
+		assertThat(reads("read_your_writes")).isEqualTo(1);
+	}
+
+	@Test
+	void readsFromThePrimaryWhenTheReplicaRefusesConnections() throws SQLException {
+		replicaLag(0);
+		when(replica.getConnection()).thenThrow(new SQLException("Connection refused"));
+
+		assertThat(reads.connection()).isSameAs(primaryConnection);
+		assertThat(reads.connection()).isSameAs(primaryConnection);
+
+		verify(replica, times(2)).getConnection();
+		assertThat(reads("unavailable")).isEqualTo(2);
+
+		router.checkLag();
+		assertThat(meterRegistry.get("db.replica.lag").gauge().value()).isNaN();
+	}
+
+	@Test
+	void routesOnlyReadOnlyConnectionsThroughTheLazyProxy() throws SQLException {
+		replicaLag(0);
+		LazyConnectionDataSourceProxy routing = new LazyConnectionDataSourceProxy(primary);
+		routing.setReadOnlyDataSource(readOnly);
+		Reads lazyReads = replicaReads(routing);
+
+		lazyReads.statement(true);
+		verify(primaryConnection, never()).prepareStatement(anyString());
+
+		lazyReads.statement(false);
+		verify(primaryConnection).prepareStatement(anyString());
+		assertThat(reads("replica")).isEqualTo(1);
+	}
+
+	private void replicaLag(double seconds) throws SQLException {
+		when(lag.getDouble(1)).thenReturn(seconds);
+		router.checkLag();
+	}
+
+	private double reads(String route) {
+		return meterRegistry.counter("db.replica.reads", "route", route).count();
+	}
+
+	private static void statement(DataSource dataSource, String sql) {
+		try {
+			DataSourceUtils.getConnection(dataSource).prepareStatement(sql);
+		} catch (SQLException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	private static Reads replicaReads(DataSource dataSource) {
+		ProxyFactory proxyFactory = new ProxyFactory(new ReplicaReads(dataSource));
+		proxyFactory.addAdvisor(ReadReplicaConfig.readFromReplicaAdvisor());
+		return (Reads) proxyFactory.getProxy();
+	}
+
+	interface Reads {
+		Connection connection() throws SQLException;
+
+		void statement(boolean readOnly) throws SQLException;
+	}
+
+	record ReplicaReads(DataSource dataSource) implements Reads {
+
+		@Override
+		@ReadFromReplica
+		public Connection connection() throws SQLException {
+			return dataSource.getConnection();
+		}
+
+		@Override
+		@ReadFromReplica
+		public void statement(boolean readOnly) throws SQLException {
+			try (Connection connection = dataSource.getConnection()) {
+				connection.setReadOnly(readOnly);
+				connection.prepareStatement("SELECT 1");
+			}
+		}
+	}
+}
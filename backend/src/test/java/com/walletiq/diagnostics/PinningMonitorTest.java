@@ -0,0 +1,50 @@
+package com.walletiq.diagnostics;
+
+import com.walletiq.config.properties.PinningProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PinningMonitorTest {
+
+	private final Object lock = new Object();
+
+	@Test
+	void attributesPinningToApplicationFrame() throws Exception {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		PinningMonitor monitor = new PinningMonitor(new PinningProperties(true, Duration.ofMillis(10), 10), registry);
+		monitor.start();
+		try {
+			Thread.ofVirtual().start(this::sleepWhileHoldingMonitor).join();
+
+			List<PinningReport> report = awaitReport(monitor);
+			assertThat(report.getFirst().location()).contains("PinningMonitorTest.sleepWhileHoldingMonitor");
+			assertThat(registry.find("jvm.threads.virtual.pinned").counter()).isNotNull();
+		} finally {
+			monitor.stop();
+		}
+	}
+
+	private void sleepWhileHoldingMonitor() {
+		synchronized (lock) {
+			try {
+				Thread.sleep(50);
+			} catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	private static List<PinningReport> awaitReport(PinningMonitor monitor) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+		while (monitor.report().isEmpty() && System.nanoTime() < deadline) {
+			Thread.sleep(50);
+		}
+		return monitor.report();
+	}
+}
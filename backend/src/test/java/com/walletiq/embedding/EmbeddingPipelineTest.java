@@ -0,0 +1,235 @@
+package com.walletiq.embedding;
+
+import com.walletiq.config.properties.EmbeddingProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EmbeddingPipelineTest {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final List<List<Integer>> batches = new CopyOnWriteArrayList<>();
+	private EmbeddingPipeline<Integer> pipeline;
+
+	@AfterEach
+	void tearDown() {
+		if (pipeline != null) {
+			pipeline.close(5, TimeUnit.SECONDS);
+		}
+	}
+
+	@Test
+	void sendsFullBatchWithoutWaiting() throws InterruptedException {
+		CountDownLatch done = new CountDownLatch(1);
+		pipeline = pipeline(properties(4, Duration.ofMinutes(1), 1, 100, 1), batch -> {
+			batches.add(batch);
+			done.countDown();
+		});
+
+		for (int i = 0; i < 4; i++) {
+			assertThat(pipeline.submit(i)).isTrue();
+		}
+
+		assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(batches).containsExactly(List.of(0, 1, 2, 3));
+	}
+
+	@Test
+	void sendsPartialBatchOnceOldestKeyWaitedMaxWait() throws InterruptedException {
+		CountDownLatch done = new CountDownLatch(1);
+		pipeline = pipeline(properties(64, Duration.ofMillis(50), 1, 100, 1), batch -> {
+			batches.add(batch);
+			done.countDown();
+		});
+
+		long started = System.nanoTime();
+		pipeline.submit(1);
+		pipeline.submit(2);
+
+		assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(System.nanoTime() - started).isGreaterThanOrEqualTo(Duration.ofMillis(50).toNanos());
+		assertThat(batches).containsExactly(List.of(1, 2));
+	}
+
+	@Test
+	void queuesKeyOnlyOnce() throws InterruptedException {
+		CountDownLatch done = new CountDownLatch(1);
+		pipeline = pipeline(properties(64, Duration.ofMillis(50), 1, 100, 1), batch -> {
+			batches.add(batch);
+			done.countDown();
+		});
+
+		pipeline.submit(1);
+		pipeline.submit(1);
+		pipeline.submit(2);
+
+		assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(batches).containsExactly(List.of(1, 2));
+	}
+
+	@Test
+	void retriesFailedBatch() throws InterruptedException {
+		AtomicInteger attempts = new AtomicInteger();
+		CountDownLatch done = new CountDownLatch(1);
+		pipeline = pipeline(properties(1, Duration.ZERO, 1, 100, 3), batch -> {
+			if (attempts.incrementAndGet() < 3) {
+				throw new IllegalStateException("provider unavailable");
+			}
+			done.countDown();
+		});
+
+		pipeline.submit(1);
+
+		assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(attempts).hasValue(3);
+		assertThat(meterRegistry.counter("embedding.pipeline.retries", "pipeline", "test").count()).isEqualTo(2);
+	}
+
+	@Test
+	void reportsBatchThatFailedEveryAttempt() throws InterruptedException {
+		AtomicInteger attempts = new AtomicInteger();
+		List<Integer> failed = new CopyOnWriteArrayList<>();
+		CountDownLatch done = new CountDownLatch(1);
+		pipeline = new EmbeddingPipeline<>("test", properties(2, Duration.ZERO, 1, 100, 2),
+				new EmbeddingPipeline.BatchHandler<>() {
+					@Override
+					public void handle(List<Integer> batch) {
+						attempts.incrementAndGet();
+						throw new IllegalStateException("provider unavailable");
+					}
+
+					@Override
+					public void failed(List<Integer> batch, Exception error) {
+						failed.addAll(batch);
+						done.countDown();
+					}
+				}, meterRegistry);
+
+		pipeline.submit(1);
+
+		assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(attempts).hasValue(2);
+		assertThat(failed).containsExactly(1);
+		assertThat(meterRegistry.counter("embedding.pipeline.failed", "pipeline", "test").count()).isEqualTo(1);
+	}
+
+	@Test
+	void limitsBatchesInFlight() throws InterruptedException {
+		AtomicInteger running = new AtomicInteger();
+		AtomicInteger maxRunning = new AtomicInteger();
+		CountDownLatch done = new CountDownLatch(20);
+		pipeline = pipeline(properties(1, Duration.ZERO, 2, 100, 1), batch -> {
+			maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+			Thread.sleep(10);
+			running.decrementAndGet();
+			done.countDown();
+		});
+
+		for (int i = 0; i < 20; i++) {
+			pipeline.submit(i);
+		}
+
+		assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(maxRunning.get()).isEqualTo(2);
+	}
+
+	@Test
+	void neverRunsKeyInTwoBatchesAtOnce() throws InterruptedException {
+		Set<Integer> running = ConcurrentHashMap.newKeySet();
+		List<Integer> overlaps = new CopyOnWriteArrayList<>();
+		AtomicInteger handled = new AtomicInteger();
+		pipeline = pipeline(properties(4, Duration.ZERO, 4, 1_000, 1), batch -> {
+			for (Integer key : batch) {
+				if (!running.add(key)) {
+					overlaps.add(key);
+				}
+			}
+			Thread.sleep(2);
+			batch.forEach(running::remove);
+			handled.addAndGet(batch.size());
+		});
+
+		for (int round = 0; round < 50; round++) {
+			for (int key = 0; key < 5; key++) {
+				pipeline.submit(key);
+			}
+			Thread.sleep(1);
+		}
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while ((pipeline.queued() > 0 || pipeline.inFlightBatches() > 0) && System.nanoTime() < deadline) {
+			Thread.sleep(5);
+		}
+
+		assertThat(overlaps).isEmpty();
+		assertThat(handled.get()).isPositive();
+	}
+
+	@Test
+	void rejectsKeysOnceQueueStaysFull() throws InterruptedException {
+		CountDownLatch release = new CountDownLatch(1);
+		CountDownLatch started = new CountDownLatch(1);
+		pipeline = pipeline(properties(1, Duration.ZERO, 1, 2, 1), batch -> {
+			started.countDown();
+			release.await();
+		});
+
+		pipeline.submit(0);
+		assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+		// The only slot is taken, so these stay queued
+		assertThat(pipeline.submit(1)).isTrue();
+		assertThat(pipeline.submit(2)).isTrue();
+
+		assertThat(pipeline.submit(3)).isFalse();
+		assertThat(meterRegistry.counter("embedding.pipeline.rejected", "pipeline", "test").count()).isEqualTo(1);
+		release.countDown();
+	}
+
+	@Test
+	void admitsWaitingSubmitterOnceQueueDrains() throws InterruptedException {
+		List<Integer> handled = Collections.synchronizedList(new ArrayList<>());
+		CountDownLatch release = new CountDownLatch(1);
+		pipeline = pipeline(new EmbeddingProperties.PipelineProperties(1, Duration.ZERO, 1, 1, Duration.ofSeconds(5),
+				1, Duration.ZERO, Duration.ZERO), batch -> {
+			release.await();
+			handled.addAll(batch);
+		});
+
+		pipeline.submit(0);
+		pipeline.submit(1);
+		Thread waiter = Thread.ofVirtual().start(() -> pipeline.submit(2));
+		Thread.sleep(50);
+		release.countDown();
+		waiter.join(5_000);
+
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (handled.size() < 3 && System.nanoTime() < deadline) {
+			Thread.sleep(5);
+		}
+		assertThat(new HashSet<>(handled)).containsExactlyInAnyOrder(0, 1, 2);
+	}
+
+	private EmbeddingPipeline<Integer> pipeline(EmbeddingProperties.PipelineProperties properties,
+			EmbeddingPipeline.BatchHandler<Integer> handler) {
+		return new EmbeddingPipeline<>("test", properties, handler, meterRegistry);
+	}
+
+	private static EmbeddingProperties.PipelineProperties properties(int maxBatchSize, Duration maxWait,
+			int maxInFlight, int maxQueued, int maxAttempts) {
+		return new EmbeddingProperties.PipelineProperties(maxBatchSize, maxWait, maxInFlight, maxQueued,
+				Duration.ofMillis(20), maxAttempts, Duration.ofMillis(1), Duration.ofMillis(5));
+	}
+}
@@ -0,0 +1,104 @@
+package com.walletiq.exception;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.walletiq.common.constant.ErrorType;
+import com.walletiq.common.response.ErrorResponseTemplate;
+import com.walletiq.common.util.RequestContextUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ErrorResponseWriterTest {
+
+	private static final ErrorResponseTemplate RATE_LIMITED =
+			ErrorResponseTemplate.of(ErrorType.RATE_LIMIT_ERROR, "RATE_LIMIT.EXCEEDED");
+	private static final String TRACE_ID = "01JA8Z3K4M5N6P7Q8R9S0T1V2W";
+
+	private final ObjectMapper jsonMapper = Jackson2ObjectMapperBuilder.json().build();
+	private final ObjectMapper cborMapper = Jackson2ObjectMapperBuilder.cbor().build();
+	private final ObjectMapper smileMapper = Jackson2ObjectMapperBuilder.smile().build();
+	private final ErrorResponseWriter writer = new ErrorResponseWriter(
+			new MappingJackson2CborHttpMessageConverter(cborMapper),
+			new MappingJackson2SmileHttpMessageConverter(smileMapper));
+
+	@AfterEach
+	void tearDown() {
+		MDC.clear();
+	}
+
+	@Test
+	void writesJsonTemplateByDefault() throws Exception {
+		for (String accept : new String[]{null, "*/*", "application/json", "application/json, application/cbor"}) {
+			MockHttpServletResponse response = write(accept);
+
+			assertThat(response.getContentType()).startsWith(MediaType.APPLICATION_JSON_VALUE);
+			assertThat(jsonMapper.readTree(response.getContentAsByteArray()).path("error").path("code").asText())
+					.isEqualTo("RATE_LIMIT.EXCEEDED");
+		}
+	}
+
+	@Test
+	void writesCborWhenPreferred() throws Exception {
+		MockHttpServletResponse response = write("application/cbor");
+
+		assertThat(response.getStatus()).isEqualTo(429);
+		assertThat(response.getContentType()).isEqualTo("application/cbor");
+		assertThat(response.getHeader("Retry-After")).isEqualTo("7");
+		assertSameAsJson(cborMapper.readTree(response.getContentAsByteArray()));
+	}
+
+	@Test
+	void writesSmileWhenPreferred() throws Exception {
+		MockHttpServletResponse response = write("application/x-jackson-smile, application/json;q=0.5");
+
+		assertThat(response.getContentType()).isEqualTo("application/x-jackson-smile");
+		assertSameAsJson(smileMapper.readTree(response.getContentAsByteArray()));
+	}
+
+	@Test
+	void honoursQualityValues() {
+		assertThat(ErrorResponseWriter.binaryFormat("application/cbor;q=0.5, application/json")).isNull();
+		assertThat(ErrorResponseWriter.binaryFormat("application/json;q=0.5, application/cbor"))
+				.isEqualTo(MediaType.APPLICATION_CBOR);
+		// Malformed headers are answered in JSON
+		assertThat(ErrorResponseWriter.binaryFormat("application/cbor;q=high")).isNull();
+	}
+
+	private MockHttpServletResponse write(String accept) throws Exception {
+		MDC.put(RequestContextUtil.REQUEST_ID, TRACE_ID);
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/transactions");
+		if (accept != null) {
+			request.addHeader("Accept", accept);
+		}
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		writer.write(request, response, RATE_LIMITED, "Too many requests, retry after 7 seconds", 7);
+		return response;
+	}
+
+	private void assertSameAsJson(JsonNode binary) throws Exception {
+		JsonNode json = jsonMapper.readTree(write(null).getContentAsByteArray());
+
+		assertThat(fieldNames(binary.path("error"))).isEqualTo(fieldNames(json.path("error")));
+		assertThat(binary.path("success").asBoolean(true)).isFalse();
+		assertThat(binary.path("error").path("traceId").asText()).isEqualTo(TRACE_ID);
+		assertThat(binary.path("error").path("retryAfter").asInt()).isEqualTo(7);
+	}
+
+	private static List<String> fieldNames(JsonNode node) {
+		List<String> names = new ArrayList<>();
+		node.fieldNames().forEachRemaining(names::add);
+		return names;
+	}
+}
@@ -0,0 +1,96 @@
+package com.walletiq.llm;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LocalLanguageModelTest {
+
+	private static final String PROMPT = """
+			Monthly totals:
+			- 2026-09: income 5000.00, expense 3200.00
+			- 2026-10: income 5000.00, expense 2900.00
+			Question: how am I doing?
+			""";
+
+	@Test
+	void streamsTokensThatAddUpToTheAnswer() throws IOException {
+		LanguageModel model = new LocalLanguageModel(Duration.ZERO, Duration.ZERO);
+		List<String> tokens = new CopyOnWriteArrayList<>();
+
+		model.stream(PROMPT, tokens::add);
+
+		assertThat(tokens).hasSizeGreaterThan(10);
+		assertThat(String.join("", tokens)).isEqualTo(model.complete(PROMPT))
+				.isEqualTo("""
+						Here is what your records show:
+						- 2026-09: income 5000.00, expense 3200.00
+						- 2026-10: income 5000.00, expense 2900.00""");
+	}
+
+	@Test
+	void delaysFirstTokenAndEveryFurtherToken() throws IOException {
+		LanguageModel model = new LocalLanguageModel(Duration.ofMillis(100), Duration.ofMillis(5));
+		long started = System.nanoTime();
+		AtomicReference<Long> firstToken = new AtomicReference<>();
+		List<String> tokens = new CopyOnWriteArrayList<>();
+
+		model.stream(PROMPT, token -> {
+			firstToken.compareAndSet(null, System.nanoTime() - started);
+			tokens.add(token);
+		});
+
+		long elapsed = System.nanoTime() - started;
+		assertThat(firstToken.get()).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+		assertThat(elapsed).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(100 + 5L * (tokens.size() - 1)));
+	}
+
+	@Test
+	void interruptCancelsGeneration() throws InterruptedException {
+		LanguageModel model = new LocalLanguageModel(Duration.ZERO, Duration.ofMillis(50));
+		List<String> tokens = new CopyOnWriteArrayList<>();
+		CountDownLatch firstToken = new CountDownLatch(1);
+		AtomicReference<Throwable> failure = new AtomicReference<>();
+
+		Thread generation = Thread.ofVirtual().start(() -> {
+			try {
+				model.stream(PROMPT, token -> {
+					tokens.add(token);
+					firstToken.countDown();
+				});
+			} catch (Throwable ex) {
+				failure.set(ex);
+			}
+		});
+		assertThat(firstToken.await(5, TimeUnit.SECONDS)).isTrue();
+		generation.interrupt();
+		generation.join(5_000);
+
+		assertThat(failure.get()).isInstanceOf(CancellationException.class);
+		assertThat(tokens).hasSizeLessThan(5);
+	}
+
+	@Test
+	void stopsWhenSinkFails() {
+		LanguageModel model = new LocalLanguageModel(Duration.ZERO, Duration.ZERO);
+		List<String> tokens = new CopyOnWriteArrayList<>();
+
+		assertThatThrownBy(() -> model.stream(PROMPT, token -> {
+			tokens.add(token);
+			if (tokens.size() == 3) {
+				throw new IOException("Broken pipe");
+			}
+		})).isInstanceOf(IOException.class).hasMessage("Broken pipe");
+		assertThat(tokens).hasSize(3);
+	}
+}
@@ -0,0 +1,49 @@
+package com.walletiq.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LocalRateLimiterTest {
+
+	private final AtomicLong nanos = new AtomicLong(TimeUnit.SECONDS.toNanos(1000));
+	private final LocalRateLimiter limiter = new LocalRateLimiter(nanos::get, () -> 1_000_000L);
+
+	@Test
+	void admitsUpToLimitThenRejects() {
+		for (int i = 0; i < 3; i++) {
+			RateLimitDecision decision = limiter.tryAcquire("k", 3, 60_000);
+			assertThat(decision.allowed()).isTrue();
+			assertThat(decision.remaining()).isEqualTo(2 - i);
+		}
+
+		RateLimitDecision rejected = limiter.tryAcquire("k", 3, 60_000);
+		assertThat(rejected.allowed()).isFalse();
+		assertThat(rejected.retryAfterSeconds()).isEqualTo(20);
+	}
+
+	@Test
+	void refillsContinuously() {
+		for (int i = 0; i < 3; i++) {
+			limiter.tryAcquire("k", 3, 60_000);
+		}
+		nanos.addAndGet(TimeUnit.SECONDS.toNanos(20));
+
+		assertThat(limiter.tryAcquire("k", 3, 60_000).allowed()).isTrue();
+		assertThat(limiter.tryAcquire("k", 3, 60_000).allowed()).isFalse();
+	}
+
+	@Test
+	void keysAreIndependentAndIdleKeysAreEvicted() {
+		limiter.tryAcquire("a", 1, 1_000);
+		assertThat(limiter.tryAcquire("a", 1, 1_000).allowed()).isFalse();
+		assertThat(limiter.tryAcquire("b", 1, 1_000).allowed()).isTrue();
+
+		nanos.addAndGet(TimeUnit.SECONDS.toNanos(2));
+		limiter.evictIdle();
+		assertThat(limiter.size()).isZero();
+	}
+}
@@ -0,0 +1,40 @@
+package com.walletiq.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SlidingWindowRateLimiterTest {
+
+	private final AtomicLong millis = new AtomicLong(1_000_000L);
+	private final SlidingWindowRateLimiter limiter = new SlidingWindowRateLimiter(
+			new InMemorySlidingWindowLog(millis::get), new LocalRateLimiter());
+
+	@Test
+	void limitHoldsOverSlidingWindow() {
+		limiter.tryAcquire("k", 2, 10_000);
+		millis.addAndGet(4_000);
+		limiter.tryAcquire("k", 2, 10_000);
+
+		RateLimitDecision rejected = limiter.tryAcquire("k", 2, 10_000);
+		assertThat(rejected.allowed()).isFalse();
+		assertThat(rejected.retryAfterSeconds()).isEqualTo(6);
+
+		// the first request leaves the window, the second one is still inside
+		millis.addAndGet(6_000);
+		assertThat(limiter.tryAcquire("k", 2, 10_000).allowed()).isTrue();
+		assertThat(limiter.tryAcquire("k", 2, 10_000).allowed()).isFalse();
+	}
+
+	@Test
+	void fallsBackToLocalLimiterWhenStoreFails() {
+		SlidingWindowRateLimiter failing = new SlidingWindowRateLimiter((key, limit, window) -> {
+			throw new IllegalStateException("connection refused");
+		}, new LocalRateLimiter());
+
+		assertThat(failing.tryAcquire("k", 1, 10_000).allowed()).isTrue();
+		assertThat(failing.tryAcquire("k", 1, 10_000).allowed()).isFalse();
+	}
+}
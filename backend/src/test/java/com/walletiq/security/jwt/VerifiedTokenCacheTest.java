@@ -0,0 +1,162 @@
+package com.walletiq.security.jwt;
+
+import com.walletiq.config.properties.JwtProperties;
+import com.walletiq.security.refresh.RevokedSessions;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class VerifiedTokenCacheTest {
+
+	private static final TokenDigest DIGEST = TokenDigest.of("token-1");
+
+	private final AtomicLong ticker = new AtomicLong();
+	private final AtomicLong epochMillis = new AtomicLong(1_700_000_000_500L);
+	private final VerifiedTokenCache cache = cache(true);
+
+	@AfterEach
+	void tearDown() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void expiresEntriesWithTheirToken() {
+		cache.put(DIGEST, token("jti-1", 60));
+		assertThat(cache.get(DIGEST)).isNotNull();
+
+		advance(59);
+		assertThat(cache.get(DIGEST)).isNotNull();
+
+		advance(1);
+		assertThat(cache.get(DIGEST)).isNull();
+	}
+
+	@Test
+	void neverReturnsExpiredTokens() {
+		cache.put(DIGEST, token("jti-1", -1));
+
+		assertThat(cache.get(DIGEST)).isNull();
+	}
+
+	@Test
+	void cachesNothingWhenDisabled() {
+		VerifiedTokenCache disabled = cache(false);
+
+		disabled.put(DIGEST, token("jti-1", 60));
+
+		assertThat(disabled.get(DIGEST)).isNull();
+		assertThat(disabled.size()).isZero();
+	}
+
+	@Test
+	void revokesASingleToken() {
+		VerifiedToken revoked = token("jti-1", 60);
+		cache.put(DIGEST, revoked);
+
+		cache.onTokenRevoked(new TokenRevokedEvent("u1", "jti-1", now(), revoked.expiresAt()));
+
+		assertThat(cache.get(DIGEST)).isNull();
+		assertThat(cache.isRevoked(revoked)).isTrue();
+		assertThat(cache.isRevoked(token("jti-2", 60))).isFalse();
+	}
+
+	@Test
+	void revokesTokensOfASubjectIssuedUpToTheRevocation() {
+		// iat has second precision, the token issued 500 ms before the revocation reads as the same second
+		VerifiedToken before = token("jti-1", 60);
+		cache.put(DIGEST, before);
+
+		cache.onTokenRevoked(new TokenRevokedEvent("u1", null, now(), null));
+
+		assertThat(cache.get(DIGEST)).isNull();
+		assertThat(cache.isRevoked(before)).isTrue();
+		advance(1);
+		assertThat(cache.isRevoked(token("jti-2", 60))).isFalse();
+	}
+
+	@Test
+	void forgetsRevocationsOnceTheirTokensExpired() {
+		VerifiedToken revoked = token("jti-1", 60);
+		VerifiedToken ofRevokedSubject = token("u2", "jti-2", 900);
+		cache.onTokenRevoked(new TokenRevokedEvent("u1", "jti-1", now(), revoked.expiresAt()));
+		cache.onTokenRevoked(new TokenRevokedEvent("u2", null, now(), null));
+
+		advance(61);
+		cache.purgeExpiredRevocations();
+		assertThat(cache.isRevoked(revoked)).isFalse();
+		assertThat(cache.isRevoked(ofRevokedSubject)).isTrue();
+
+		// Subject revocations are kept for the maximum token lifetime
+		advance(900);
+		cache.purgeExpiredRevocations();
+		assertThat(cache.isRevoked(ofRevokedSubject)).isFalse();
+	}
+
+	@Test
+	void rejectsCachedTokensOfRevokedSessions() throws Exception {
+		JwtService jwtService = mock(JwtService.class);
+		RevokedSessions revokedSessions = mock(RevokedSessions.class);
+		when(revokedSessions.isRevoked("session-1")).thenReturn(true);
+		// Real expiry, the filter checks it against the system clock
+		cache.put(DIGEST, VerifiedToken.of("jti-1", "session-1", "u1", "u1@walletiq.com", Set.of("USER"),
+				Instant.now(), Instant.now().plusSeconds(60)));
+		JwtAuthenticationFilter filter = new JwtAuthenticationFilter(jwtService, cache, revokedSessions, properties(true));
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.addHeader("Authorization", "Bearer token-1");
+
+		filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+		assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+		verify(jwtService, never()).verify(anyString());
+	}
+
+	/* ---------------- Helper ---------------- */
+
+	private VerifiedTokenCache cache(boolean enabled) {
+		return new VerifiedTokenCache(properties(enabled), new SimpleMeterRegistry(), ticker::get, epochMillis::get);
+	}
+
+	private VerifiedToken token(String tokenId, long expiresInSeconds) {
+		return token("u1", tokenId, expiresInSeconds);
+	}
+
+	private VerifiedToken token(String subject, String tokenId, long expiresInSeconds) {
+		return VerifiedToken.of(tokenId, "session-1", subject, subject + "@walletiq.com", Set.of("USER"),
+				now().truncatedTo(ChronoUnit.SECONDS), now().plusSeconds(expiresInSeconds));
+	}
+
+	private Instant now() {
+		return Instant.ofEpochMilli(epochMillis.get());
+	}
+
+	private void advance(long seconds) {
+		ticker.addAndGet(TimeUnit.SECONDS.toNanos(seconds));
+		epochMillis.addAndGet(TimeUnit.SECONDS.toMillis(seconds));
+	}
+
+	private static JwtProperties properties(boolean enabled) {
+		return new JwtProperties("walletiq", "Authorization", "Bearer",
+				new JwtProperties.AccessTokenProperties(900_000L),
+				new JwtProperties.RefreshTokenProperties(604_800_000L),
+				null,
+				new JwtProperties.RSAProperties("SHA256withRSA", 2048, null, null),
+				new JwtProperties.VerificationCacheProperties(enabled, 1_000));
+	}
+}
@@ -0,0 +1,102 @@
+package com.walletiq.security.lockout;
+
+import com.walletiq.common.constant.ErrorType;
+import com.walletiq.exception.LoginLockedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LoginAttemptServiceTest {
+
+	private static final Duration WINDOW = Duration.ofMinutes(15);
+	private static final String EMAIL = "victim@walletiq.com";
+	private static final String ADDRESS = "203.0.113.7";
+
+	private final AtomicLong now = new AtomicLong(Duration.ofDays(20_000).toMillis());
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final LoginAttemptService service = new LoginAttemptService(sketch(), sketch(), 5, 20, meterRegistry);
+
+	@Test
+	void locksAccountAfterMaxFailures() {
+		for (int i = 0; i < 4; i++) {
+			service.loginFailed(EMAIL, "198.51.100." + i);
+		}
+		assertThatCode(() -> service.checkAllowed(EMAIL, ADDRESS)).doesNotThrowAnyException();
+
+		service.loginFailed(" Victim@WalletIQ.com", "198.51.100.9");
+
+		assertThatThrownBy(() -> service.checkAllowed(EMAIL, ADDRESS))
+				.isInstanceOfSatisfying(LoginLockedException.class, ex -> {
+					assertThat(ex.getErrorType()).isEqualTo(ErrorType.AUTHENTICATION_ERROR);
+					assertThat(ex.getCode()).isEqualTo(LoginLockedException.ACCOUNT_LOCKED);
+					assertThat(ex.getRetryAfterSeconds()).isBetween(12 * 60, 15 * 60);
+				});
+		assertThat(meterRegistry.counter("auth.login.rejected", "reason", "account").count()).isEqualTo(1);
+		assertThatCode(() -> service.checkAllowed("someone@walletiq.com", ADDRESS)).doesNotThrowAnyException();
+	}
+
+	@Test
+	void unlocksOnceFailuresLeftTheWindow() {
+		for (int i = 0; i < 5; i++) {
+			service.loginFailed(EMAIL, null);
+		}
+
+		now.addAndGet(WINDOW.toMillis());
+
+		assertThatCode(() -> service.checkAllowed(EMAIL, ADDRESS)).doesNotThrowAnyException();
+	}
+
+	@Test
+	void limitsFailuresPerAddressAcrossAccounts() {
+		for (int i = 0; i < 20; i++) {
+			service.loginFailed("user" + i + "@walletiq.com", ADDRESS);
+		}
+
+		assertThatThrownBy(() -> service.checkAllowed("new@walletiq.com", ADDRESS))
+				.isInstanceOfSatisfying(LoginLockedException.class, ex -> {
+					assertThat(ex.getErrorType()).isEqualTo(ErrorType.RATE_LIMIT_ERROR);
+					assertThat(ex.getCode()).isEqualTo(LoginLockedException.TOO_MANY_ATTEMPTS);
+					assertThat(ex.getRetryAfterSeconds()).isPositive();
+				});
+		assertThatCode(() -> service.checkAllowed("new@walletiq.com", "198.51.100.1")).doesNotThrowAnyException();
+	}
+
+	@Test
+	void sprayDoesNotLockOutUntargetedAccounts() {
+		WindowedCountMinSketch accounts = new WindowedCountMinSketch(WINDOW, 5, 4, 4_096, 42, now::get);
+		LoginAttemptService sprayed = new LoginAttemptService(accounts, sketch(), 5, 20, meterRegistry);
+
+		// 25 failures per counter on average, far more accounts than the sketch tells apart
+		for (int i = 0; i < 100_000; i++) {
+			sprayed.loginFailed("leaked" + i + "@example.com", null);
+		}
+
+		for (int i = 0; i < 1_000; i++) {
+			String email = "customer" + i + "@walletiq.com";
+			assertThatCode(() -> sprayed.checkAllowed(email, null)).doesNotThrowAnyException();
+		}
+	}
+
+	@Test
+	void sketchNeverUndercounts() {
+		WindowedCountMinSketch sketch = new WindowedCountMinSketch(WINDOW, 5, 4, 256, 42, now::get);
+		for (int i = 0; i < 10_000; i++) {
+			sketch.increment("key" + (i % 1_000));
+		}
+
+		for (int i = 0; i < 1_000; i++) {
+			assertThat(sketch.snapshot("key" + i).estimate()).isGreaterThanOrEqualTo(10);
+		}
+		assertThat(sketch.snapshot("key0").load()).isEqualTo(10_000 / 256.0);
+	}
+
+	private WindowedCountMinSketch sketch() {
+		return new WindowedCountMinSketch(WINDOW, 5, 4, 65_536, 42, now::get);
+	}
+}
@@ -0,0 +1,114 @@
+package com.walletiq.security.password;
+
+import com.walletiq.common.constant.ErrorType;
+import com.walletiq.exception.ApplicationException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IsolatedPasswordEncoderTest {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final CountDownLatch release = new CountDownLatch(1);
+	private final ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+			new ArrayBlockingQueue<>(1));
+
+	@AfterEach
+	void tearDown() {
+		release.countDown();
+		executor.shutdownNow();
+	}
+
+	@Test
+	void hashesAndVerifiesOnTheExecutor() {
+		IsolatedPasswordEncoder encoder = new IsolatedPasswordEncoder(4, executor, Duration.ofSeconds(5), meterRegistry);
+
+		String hash = encoder.encode("correct horse");
+
+		assertThat(hash).startsWith("$2a$04$");
+		assertThat(encoder.matches("correct horse", hash)).isTrue();
+		assertThat(encoder.matches("battery staple", hash)).isFalse();
+		// Recorded by the task before its result is handed back, unlike the executor's completed count
+		assertThat(meterRegistry.timer("auth.password.wait").count()).isEqualTo(3);
+		assertThat(meterRegistry.timer("auth.password.hash", "operation", "encode").count()).isEqualTo(1);
+		assertThat(meterRegistry.timer("auth.password.hash", "operation", "matches").count()).isEqualTo(2);
+	}
+
+	@Test
+	void upgradesHashesOfAnotherStrength() {
+		IsolatedPasswordEncoder encoder = new IsolatedPasswordEncoder(5, executor, Duration.ofSeconds(5), meterRegistry);
+
+		assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("secret"))).isTrue();
+		assertThat(encoder.upgradeEncoding(encoder.encode("secret"))).isFalse();
+		assertThat(encoder.upgradeEncoding("{noop}secret")).isTrue();
+		assertThat(IsolatedPasswordEncoder.strengthOf("$2b$12$abcdefghijklmnopqrstuv")).isEqualTo(12);
+	}
+
+	@Test
+	void refusesWhenQueueIsFull() throws Exception {
+		CountDownLatch hashing = new CountDownLatch(1);
+		IsolatedPasswordEncoder encoder = new IsolatedPasswordEncoder(blocking(hashing), 4, executor,
+				Duration.ofSeconds(5), meterRegistry);
+		// One hash on the only thread, one in the queue
+		Thread.ofVirtual().start(() -> encoder.matches("a", "hash"));
+		assertThat(hashing.await(5, TimeUnit.SECONDS)).isTrue();
+		Thread.ofVirtual().start(() -> encoder.matches("b", "hash"));
+		while (executor.getQueue().isEmpty()) {
+			Thread.onSpinWait();
+		}
+
+		long started = System.nanoTime();
+		assertThatThrownBy(() -> encoder.matches("c", "hash"))
+				.isInstanceOfSatisfying(ApplicationException.class, ex -> {
+					assertThat(ex.getErrorType()).isEqualTo(ErrorType.SERVICE_UNAVAILABLE);
+					assertThat(ex.getCode()).isEqualTo("AUTH.BUSY");
+				});
+		assertThat(System.nanoTime() - started).isLessThan(TimeUnit.SECONDS.toNanos(1));
+		assertThat(meterRegistry.counter("auth.password.rejected").count()).isEqualTo(1);
+	}
+
+	@Test
+	void givesUpAfterMaxWait() {
+		IsolatedPasswordEncoder encoder = new IsolatedPasswordEncoder(blocking(new CountDownLatch(1)), 4, executor,
+				Duration.ofMillis(50), meterRegistry);
+
+		assertThatThrownBy(() -> encoder.matches("a", "hash"))
+				.isInstanceOfSatisfying(ApplicationException.class,
+						ex -> assertThat(ex.getCode()).isEqualTo("AUTH.BUSY"));
+		assertThat(meterRegistry.counter("auth.password.rejected").count()).isEqualTo(1);
+	}
+
+	/**
+	 * Encoder whose checks hang until the test ends
+	 */
+	private PasswordEncoder blocking(CountDownLatch hashing) {
+		return new PasswordEncoder() {
+			@Override
+			public String encode(CharSequence rawPassword) {
+				throw new UnsupportedOperationException();
+			}
+
+			@Override
+			public boolean matches(CharSequence rawPassword, String encodedPassword) {
+				hashing.countDown();
+				try {
+					return release.await(10, TimeUnit.SECONDS);
+				} catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+					return false;
+				}
+			}
+		};
+	}
+}
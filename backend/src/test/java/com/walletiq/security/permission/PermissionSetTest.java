@@ -0,0 +1,63 @@
+package com.walletiq.security.permission;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PermissionSetTest {
+
+	@Test
+	void containsAllRequiresEveryBit() {
+		PermissionSet granted = PermissionSet.of(0, 3, 5);
+
+		assertThat(granted.containsAll(PermissionSet.of(3))).isTrue();
+		assertThat(granted.containsAll(PermissionSet.of(0, 5))).isTrue();
+		assertThat(granted.containsAll(PermissionSet.of(3, 4))).isFalse();
+		assertThat(granted.containsAll(PermissionSet.EMPTY)).isTrue();
+		assertThat(PermissionSet.EMPTY.containsAll(PermissionSet.of(0))).isFalse();
+	}
+
+	@Test
+	void spansSeveralWords() {
+		PermissionSet granted = PermissionSet.of(1, 64, 130);
+
+		assertThat(granted.containsAll(PermissionSet.of(64, 130))).isTrue();
+		assertThat(granted.containsAll(PermissionSet.of(1, 65))).isFalse();
+		assertThat(PermissionSet.of(1).containsAll(PermissionSet.of(1, 64))).isFalse();
+	}
+
+	@Test
+	void unionGrantsAnyRolesPermissions() {
+		PermissionSet user = PermissionSet.of(0, 1);
+		PermissionSet auditor = PermissionSet.of(70);
+
+		PermissionSet both = user.or(auditor);
+
+		assertThat(both.containsAll(PermissionSet.of(0, 1, 70))).isTrue();
+		assertThat(auditor.or(user).containsAll(PermissionSet.of(0, 70))).isTrue();
+		assertThat(user.or(PermissionSet.EMPTY)).isSameAs(user);
+		assertThat(PermissionSet.EMPTY.or(user)).isSameAs(user);
+	}
+
+	@Test
+	void emptyOnlyWithoutBits() {
+		assertThat(PermissionSet.EMPTY.isEmpty()).isTrue();
+		assertThat(PermissionSet.of().isEmpty()).isTrue();
+		assertThat(PermissionSet.of(64).isEmpty()).isFalse();
+	}
+
+	@Test
+	void registryKeepsPositionsOfKnownNames() {
+		PermissionRegistry registry = new PermissionRegistry();
+		PermissionSet read = registry.resolve(List.of("TRANSACTION_READ"));
+
+		PermissionSet both = registry.resolve(List.of("TRANSACTION_WRITE", "TRANSACTION_READ"));
+
+		assertThat(registry.size()).isEqualTo(2);
+		assertThat(both.containsAll(read)).isTrue();
+		assertThat(read.containsAll(registry.resolve(List.of("TRANSACTION_WRITE")))).isFalse();
+		assertThat(registry.resolve(List.of("TRANSACTION_READ")).containsAll(read)).isTrue();
+	}
+}
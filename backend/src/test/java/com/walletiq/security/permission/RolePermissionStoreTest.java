@@ -0,0 +1,75 @@
+package com.walletiq.security.permission;
+
+import com.walletiq.repository.RoleRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RolePermissionStoreTest {
+
+	private final RoleRepository repository = mock(RoleRepository.class);
+	private final PermissionRegistry registry = new PermissionRegistry();
+	private final RolePermissionStore store = new RolePermissionStore(repository, registry);
+
+	@Test
+	void grantsNothingBeforeTheFirstLoad() {
+		PermissionSet required = registry.resolve(List.of("TRANSACTION_READ"));
+
+		assertThat(store.permissionsOf(Set.of("ADMIN")).isEmpty()).isTrue();
+		assertThat(store.permissionsOf(Set.of("ADMIN", "USER")).containsAll(required)).isFalse();
+	}
+
+	@Test
+	void compilesGrantsPerRole() {
+		when(repository.findAllGrants()).thenReturn(List.of(
+				grant("USER", "TRANSACTION_READ"),
+				grant("ADMIN", "TRANSACTION_READ"),
+				grant("ADMIN", "ROLLUP_REBUILD"),
+				grant("GUEST", null)));
+
+		store.reload();
+
+		PermissionSet read = registry.resolve(List.of("TRANSACTION_READ"));
+		PermissionSet rebuild = registry.resolve(List.of("ROLLUP_REBUILD"));
+		assertThat(store.permissionsOf(Set.of("USER")).containsAll(read)).isTrue();
+		assertThat(store.permissionsOf(Set.of("USER")).containsAll(rebuild)).isFalse();
+		assertThat(store.permissionsOf(Set.of("ADMIN")).containsAll(read.or(rebuild))).isTrue();
+		assertThat(store.permissionsOf(Set.of("GUEST")).isEmpty()).isTrue();
+		assertThat(store.permissionsOf(Set.of("UNKNOWN")).isEmpty()).isTrue();
+		assertThat(store.permissionsOf(Set.of("USER", "UNKNOWN")).containsAll(read)).isTrue();
+	}
+
+	@Test
+	void keepsGrantsWhenReloadFails() {
+		when(repository.findAllGrants())
+				.thenReturn(List.of(grant("USER", "TRANSACTION_READ")))
+				.thenThrow(new IllegalStateException("database down"));
+		store.reload();
+
+		store.reload();
+
+		assertThat(store.permissionsOf(Set.of("USER")).containsAll(registry.resolve(List.of("TRANSACTION_READ"))))
+				.isTrue();
+	}
+
+	/* ---------------- Helper ---------------- */
+
+	private static RoleRepository.RolePermissionView grant(String role, String permission) {
+		return new RoleRepository.RolePermissionView() {
+			@Override
+			public String getRole() {
+				return role;
+			}
+
+			@Override
+			public String getPermission() {
+				return permission;
+			}
+		};
+	}
+}
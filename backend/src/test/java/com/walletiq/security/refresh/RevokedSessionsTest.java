@@ -0,0 +1,125 @@
+package com.walletiq.security.refresh;
+
+import com.walletiq.config.properties.RefreshTokenProperties;
+import com.walletiq.repository.RefreshTokenRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RevokedSessionsTest {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final RefreshTokenRepository repository = mock(RefreshTokenRepository.class);
+	private final RevokedSessions sessions = new RevokedSessions(repository,
+			new RefreshTokenProperties(true, RefreshTokenProperties.Mode.LOCAL, "revocations", 1_000, 0.01,
+					Duration.ofMinutes(1)), meterRegistry);
+
+	@Test
+	void answersLiveSessionsFromTheFilter() {
+		when(repository.findRevokedFamilies(any(LocalDateTime.class))).thenReturn(List.of("revoked"));
+		sessions.rebuild();
+
+		assertThat(sessions.isRevoked("live")).isFalse();
+
+		verify(repository, never()).existsByFamilyIdAndRevokedAtIsNotNull(anyString());
+		assertThat(checks("live")).isEqualTo(1);
+		assertThat(meterRegistry.timer("auth.revocation.lookup", "path", "filter").count()).isEqualTo(1);
+	}
+
+	@Test
+	void confirmsFilterHitsOnce() {
+		when(repository.findRevokedFamilies(any(LocalDateTime.class))).thenReturn(List.of("revoked"));
+		when(repository.existsByFamilyIdAndRevokedAtIsNotNull("revoked")).thenReturn(true);
+		sessions.rebuild();
+
+		assertThat(sessions.isRevoked("revoked")).isTrue();
+		assertThat(sessions.isRevoked("revoked")).isTrue();
+
+		verify(repository).existsByFamilyIdAndRevokedAtIsNotNull("revoked");
+		assertThat(checks("revoked")).isEqualTo(2);
+	}
+
+	@Test
+	void countsFalsePositives() {
+		// Rebuilt with room for twice what it holds, then filled up to the 1_000 it is sized for
+		when(repository.findRevokedFamilies(any(LocalDateTime.class))).thenReturn(families("revoked-", 500));
+		sessions.rebuild();
+		sessions.onReplicated(families("replicated-", 500));
+
+		List<String> live = families("live-", 10_000);
+		long rejected = live.stream().filter(sessions::isRevoked).count();
+
+		assertThat(rejected).isZero();
+		assertThat(checks("false_positive")).isBetween(20.0, 300.0);
+		assertThat(checks("live") + checks("false_positive")).isEqualTo(10_000);
+		assertThat(meterRegistry.get("auth.revocation.filter.false.positive.rate").gauge().value())
+				.isBetween(0.005, 0.02);
+	}
+
+	@Test
+	void addsRevocationsBetweenRebuilds() {
+		when(repository.findRevokedFamilies(any(LocalDateTime.class))).thenReturn(List.of());
+		sessions.rebuild();
+
+		sessions.onSessionsRevoked(new SessionsRevokedEvent("user-1", List.of("logged-out")));
+		sessions.onReplicated(List.of("revoked-elsewhere"));
+
+		assertThat(sessions.isRevoked("logged-out")).isTrue();
+		assertThat(sessions.isRevoked("revoked-elsewhere")).isTrue();
+		verify(repository, never()).existsByFamilyIdAndRevokedAtIsNotNull(anyString());
+	}
+
+	@Test
+	void keepsRevocationsCommittedDuringRebuild() {
+		when(repository.findRevokedFamilies(any(LocalDateTime.class))).thenAnswer(invocation -> {
+			// Committed after the query read its snapshot
+			sessions.onReplicated(List.of("during-rebuild"));
+			return List.of();
+		});
+		sessions.rebuild();
+
+		assertThat(sessions.isRevoked("during-rebuild")).isTrue();
+	}
+
+	@Test
+	void checksDatabaseUntilFirstRebuild() {
+		when(repository.existsByFamilyIdAndRevokedAtIsNotNull("live")).thenReturn(false);
+		when(repository.existsByFamilyIdAndRevokedAtIsNotNull("down")).thenThrow(new IllegalStateException("DB down"));
+
+		assertThat(sessions.isRevoked("live")).isFalse();
+		assertThat(sessions.isRevoked("down")).isTrue();
+		assertThat(sessions.isRevoked(null)).isFalse();
+	}
+
+	@Test
+	void broadcastsLocalRevocationsOnly() {
+		List<String> published = new ArrayList<>();
+		sessions.setPublisher(published::addAll);
+
+		sessions.onSessionsRevoked(new SessionsRevokedEvent("user-1", List.of("a", "b")));
+		sessions.onReplicated(List.of("c"));
+
+		assertThat(published).containsExactly("a", "b");
+	}
+
+	private double checks(String result) {
+		return meterRegistry.counter("auth.revocation.checks", "result", result).count();
+	}
+
+	private static List<String> families(String prefix, int count) {
+		return IntStream.range(0, count).mapToObj(i -> prefix + i).toList();
+	}
+}
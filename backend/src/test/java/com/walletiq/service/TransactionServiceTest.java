@@ -0,0 +1,98 @@
+package com.walletiq.service;
+
+import com.walletiq.common.constant.TransactionType;
+import com.walletiq.dto.request.TransactionRequest;
+import com.walletiq.entity.Transaction;
+import com.walletiq.exception.ApplicationException;
+import com.walletiq.repository.TransactionCountEstimator;
+import com.walletiq.repository.TransactionRepository;
+import com.walletiq.service.retrieval.TransactionVectorIndex;
+import com.walletiq.service.rollup.MonthlyRollupService;
+import com.walletiq.service.rollup.RollupDeltas;
+import jakarta.persistence.LockModeType;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.jpa.repository.Lock;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TransactionServiceTest {
+
+	private final TransactionRepository repository = mock(TransactionRepository.class);
+	private final MonthlyRollupService rollupService = mock(MonthlyRollupService.class);
+	private final TransactionService service = new TransactionService(repository, mock(TransactionCountEstimator.class),
+			rollupService, mock(TransactionVectorIndex.class), mock(ApplicationEventPublisher.class));
+
+	@Test
+	void locksTheRowBeforeComputingRollupDeltas() {
+		when(repository.findOwnedForUpdate("u1", "tx-1")).thenReturn(Optional.of(transaction()));
+
+		service.update("u1", "tx-1", new TransactionRequest(TransactionType.EXPENSE, new BigDecimal("12.50"), "FOOD",
+				null, LocalDate.of(2024, 3, 5)));
+
+		ArgumentCaptor<RollupDeltas> deltas = ArgumentCaptor.forClass(RollupDeltas.class);
+		InOrder order = inOrder(repository, rollupService);
+		order.verify(repository).findOwnedForUpdate("u1", "tx-1");
+		order.verify(rollupService).apply(deltas.capture());
+		assertThat(deltas.getValue().isEmpty()).isFalse();
+		verify(repository, never()).findById(anyString());
+	}
+
+	@Test
+	void deletesOnlyTheLockedRow() {
+		when(repository.findOwnedForUpdate("u1", "tx-1")).thenReturn(Optional.of(transaction()));
+
+		service.delete("u1", "tx-1");
+
+		InOrder order = inOrder(repository, rollupService);
+		order.verify(repository).findOwnedForUpdate("u1", "tx-1");
+		order.verify(repository).delete(any(Transaction.class));
+		order.verify(rollupService).apply(any(RollupDeltas.class));
+	}
+
+	@Test
+	void rowDeletedConcurrentlyLeavesRollupsAlone() {
+		// The losing writer waits on the row lock and finds the row gone
+		when(repository.findOwnedForUpdate("u1", "tx-1")).thenReturn(Optional.empty());
+
+		assertThatThrownBy(() -> service.delete("u1", "tx-1"))
+				.isInstanceOf(ApplicationException.class)
+				.hasMessage("Transaction not found");
+		verify(rollupService, never()).apply(any(RollupDeltas.class));
+	}
+
+	@Test
+	void finderTakesARowLock() throws NoSuchMethodException {
+		Lock lock = TransactionRepository.class.getMethod("findOwnedForUpdate", String.class, String.class)
+				.getAnnotation(Lock.class);
+
+		assertThat(lock.value()).isEqualTo(LockModeType.PESSIMISTIC_WRITE);
+	}
+
+	/* ---------------- Helper ---------------- */
+
+	private static Transaction transaction() {
+		Transaction transaction = new Transaction();
+		transaction.setId("tx-1");
+		transaction.setUserId("u1");
+		transaction.setType(TransactionType.EXPENSE);
+		transaction.setAmount(new BigDecimal("10.00"));
+		transaction.setCategory("FOOD");
+		transaction.setTransactionDate(LocalDate.of(2024, 3, 5));
+		return transaction;
+	}
+}
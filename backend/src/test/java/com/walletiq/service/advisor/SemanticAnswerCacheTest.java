@@ -0,0 +1,132 @@
+package com.walletiq.service.advisor;
+
+import com.walletiq.config.properties.AdvisorProperties;
+import com.walletiq.embedding.EmbeddingModel;
+import com.walletiq.embedding.HashingEmbeddingModel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SemanticAnswerCacheTest {
+
+	private static final String USER = "user-1";
+	private static final String VERSION = "v1";
+
+	private final EmbeddingModel model = new HashingEmbeddingModel(256);
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final AtomicLong now = new AtomicLong();
+	private final SemanticAnswerCache cache = new SemanticAnswerCache(properties(true, 3), meterRegistry, now::get);
+
+	@Test
+	void servesAnswerToSameQuestionWordedSlightlyDifferently() {
+		cache.put(USER, model.embed("How much did I spend on food this month?"), VERSION, "answer",
+				Duration.ofSeconds(3));
+
+		assertThat(cache.lookup(USER, model.embed("how much did i spend on food this month"), VERSION))
+				.hasValueSatisfying(hit -> {
+					assertThat(hit.answer()).isEqualTo("answer");
+					assertThat(hit.similarity()).isGreaterThanOrEqualTo(0.95f);
+				});
+		assertThat(meterRegistry.counter("advisor.answer.cache.lookups", "result", "hit").count()).isEqualTo(1);
+		assertThat(meterRegistry.timer("advisor.answer.cache.saved").totalTime(TimeUnit.SECONDS))
+				.isEqualTo(3);
+	}
+
+	@Test
+	void missesDifferentQuestion() {
+		cache.put(USER, model.embed("How much did I spend on food this month?"), VERSION, "food", Duration.ofSeconds(3));
+
+		assertThat(cache.lookup(USER, model.embed("How much did I spend on travel this month?"), VERSION)).isEmpty();
+		assertThat(cache.lookup(USER, model.embed("How much did I spend on food last month?"), VERSION)).isEmpty();
+		assertThat(meterRegistry.counter("advisor.answer.cache.lookups", "result", "miss").count()).isEqualTo(2);
+		assertThat(meterRegistry.get("advisor.answer.cache.hit.ratio").gauge().value()).isZero();
+	}
+
+	@Test
+	void missesOnceDataVersionChanged() {
+		float[] question = model.embed("What is my biggest expense category?");
+		cache.put(USER, question, VERSION, "rent", Duration.ofSeconds(3));
+
+		assertThat(cache.lookup(USER, question, "v2")).isEmpty();
+		// Answers of the old version are gone for good
+		assertThat(cache.lookup(USER, question, VERSION)).isEmpty();
+		assertThat(cache.size()).isZero();
+	}
+
+	@Test
+	void keepsUsersApart() {
+		float[] question = model.embed("What is my biggest expense category?");
+		cache.put(USER, question, VERSION, "rent", Duration.ofSeconds(3));
+
+		assertThat(cache.lookup("user-2", question, VERSION)).isEmpty();
+	}
+
+	@Test
+	void invalidateDropsUsersAnswers() {
+		float[] question = model.embed("What is my biggest expense category?");
+		cache.put(USER, question, VERSION, "rent", Duration.ofSeconds(3));
+
+		cache.invalidate(USER);
+
+		assertThat(cache.lookup(USER, question, VERSION)).isEmpty();
+	}
+
+	@Test
+	void expiresAnswersAfterTimeToLive() {
+		float[] question = model.embed("What is my biggest expense category?");
+		cache.put(USER, question, VERSION, "rent", Duration.ofSeconds(3));
+
+		now.addAndGet(Duration.ofMinutes(59).toNanos());
+		assertThat(cache.lookup(USER, question, VERSION)).isPresent();
+		now.addAndGet(Duration.ofMinutes(2).toNanos());
+		assertThat(cache.lookup(USER, question, VERSION)).isEmpty();
+	}
+
+	@Test
+	void evictsLeastRecentlyUsedBeyondMaxEntries() {
+		float[] rent = model.embed("rent payments this year");
+		float[] food = model.embed("food delivery orders");
+		float[] travel = model.embed("flight and train tickets");
+		float[] phone = model.embed("phone and internet bills");
+		cache.put(USER, rent, VERSION, "rent", Duration.ofSeconds(1));
+		cache.put(USER, food, VERSION, "food", Duration.ofSeconds(1));
+		cache.put(USER, travel, VERSION, "travel", Duration.ofSeconds(1));
+		assertThat(cache.lookup(USER, rent, VERSION)).isPresent();
+
+		cache.put(USER, phone, VERSION, "phone", Duration.ofSeconds(1));
+
+		assertThat(cache.size()).isEqualTo(3);
+		assertThat(cache.lookup(USER, rent, VERSION)).isPresent();
+		assertThat(cache.lookup(USER, food, VERSION)).isEmpty();
+	}
+
+	@Test
+	void replacesAnswerToSimilarQuestion() {
+		cache.put(USER, model.embed("How much did I spend on food this month?"), VERSION, "first", Duration.ofSeconds(1));
+		cache.put(USER, model.embed("how much did I spend on food this month"), VERSION, "second", Duration.ofSeconds(1));
+
+		assertThat(cache.size()).isEqualTo(1);
+		assertThat(cache.lookup(USER, model.embed("How much did I spend on food this month?"), VERSION))
+				.hasValueSatisfying(hit -> assertThat(hit.answer()).isEqualTo("second"));
+	}
+
+	@Test
+	void doesNothingWhenDisabled() {
+		SemanticAnswerCache disabled = new SemanticAnswerCache(properties(false, 3), new SimpleMeterRegistry());
+		float[] question = model.embed("What is my biggest expense category?");
+
+		disabled.put(USER, question, VERSION, "rent", Duration.ofSeconds(3));
+
+		assertThat(disabled.lookup(USER, question, VERSION)).isEmpty();
+		assertThat(disabled.size()).isZero();
+	}
+
+	private static AdvisorProperties.AnswerCacheProperties properties(boolean enabled, int maxEntriesPerUser) {
+		return new AdvisorProperties.AnswerCacheProperties(enabled, 0.95, maxEntriesPerUser, 100, Duration.ofHours(1));
+	}
+}
@@ -0,0 +1,115 @@
+package com.walletiq.service.exporting;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.walletiq.common.constant.ErrorType;
+import com.walletiq.common.response.ErrorResponse;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ExportWriterTest {
+
+	private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+	private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+	@Test
+	void csvQuotesSeparatorsQuotesAndLineBreaks() throws Exception {
+		CsvExportWriter writer = new CsvExportWriter(output);
+
+		writer.begin();
+		writer.row(row("FOOD, DINING", "Cafe \"Blue\"\nsecond line"));
+		writer.row(row("RENT", null));
+		writer.finish(2);
+
+		assertThat(text()).isEqualTo("id,type,amount,category,description,date\r\n"
+				+ "tx-1,EXPENSE,12.50,\"FOOD, DINING\",\"Cafe \"\"Blue\"\"\nsecond line\",2024-03-05\r\n"
+				+ "tx-1,EXPENSE,12.50,RENT,,2024-03-05\r\n");
+	}
+
+	@Test
+	void csvDefusesFormulas() throws Exception {
+		CsvExportWriter writer = new CsvExportWriter(output);
+
+		writer.row(row("=HYPERLINK(\"http://evil\")", "+1"));
+		writer.row(row("-2+3", "@SUM(A1)"));
+		writer.row(row("\tTAB", "a=b"));
+		writer.finish(3);
+
+		assertThat(text()).isEqualTo(
+				"tx-1,EXPENSE,12.50,\"'=HYPERLINK(\"\"http://evil\"\")\",'+1,2024-03-05\r\n"
+						+ "tx-1,EXPENSE,12.50,'-2+3,'@SUM(A1),2024-03-05\r\n"
+						+ "tx-1,EXPENSE,12.50,'\tTAB,a=b,2024-03-05\r\n");
+	}
+
+	@Test
+	void ndjsonEscapesEveryRowOntoOneLine() throws Exception {
+		NdjsonExportWriter writer = new NdjsonExportWriter(objectMapper, output);
+
+		writer.begin();
+		writer.row(row("FOOD \"out\"", "line one\nline two\t  \\ end"));
+		writer.row(row("=1+1", null));
+		writer.finish(2);
+
+		String[] lines = text().split("\n", -1);
+		assertThat(lines).hasSize(4);
+		assertThat(lines[3]).isEmpty();
+		JsonNode first = objectMapper.readTree(lines[0]);
+		assertThat(first.get("category").asText()).isEqualTo("FOOD \"out\"");
+		assertThat(first.get("description").asText()).isEqualTo("line one\nline two\t  \\ end");
+		assertThat(first.get("amount").decimalValue()).isEqualByComparingTo("12.50");
+		assertThat(first.get("transactionDate").asText()).isEqualTo("2024-03-05");
+		JsonNode second = objectMapper.readTree(lines[1]);
+		assertThat(second.get("category").asText()).isEqualTo("=1+1");
+		assertThat(second.get("description").isNull()).isTrue();
+		JsonNode trailer = objectMapper.readTree(lines[2]);
+		assertThat(trailer.get("success").asBoolean()).isTrue();
+		assertThat(trailer.at("/data/count").asLong()).isEqualTo(2);
+	}
+
+	@Test
+	void ndjsonEndsWithTheErrorWhenTheExportBreaksOff() throws Exception {
+		NdjsonExportWriter writer = new NdjsonExportWriter(objectMapper, output);
+
+		writer.row(row("FOOD", null));
+		writer.fail(ErrorResponse.of(ErrorResponse.ErrorDetail.builder()
+				.type(ErrorType.SERVICE_UNAVAILABLE)
+				.code("EXPORT.FAILED")
+				.detail("Export failed")
+				.build()));
+
+		String[] lines = text().split("\n");
+		assertThat(lines).hasSize(2);
+		JsonNode trailer = objectMapper.readTree(lines[1]);
+		assertThat(trailer.get("success").asBoolean()).isFalse();
+		assertThat(trailer.at("/error/code").asText()).isEqualTo("EXPORT.FAILED");
+	}
+
+	/* ---------------- Helper ---------------- */
+
+	private static ResultSet row(String category, String description) throws SQLException {
+		ResultSet resultSet = mock(ResultSet.class);
+		when(resultSet.getString(1)).thenReturn("tx-1");
+		when(resultSet.getString(2)).thenReturn("EXPENSE");
+		when(resultSet.getBigDecimal(3)).thenReturn(new BigDecimal("12.50"));
+		when(resultSet.getString(4)).thenReturn(category);
+		when(resultSet.getString(5)).thenReturn(description);
+		when(resultSet.getString(6)).thenReturn("2024-03-05");
+		return resultSet;
+	}
+
+	private String text() throws IOException {
+		output.flush();
+		return output.toString(StandardCharsets.UTF_8);
+	}
+}
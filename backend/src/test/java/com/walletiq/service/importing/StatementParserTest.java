@@ -0,0 +1,91 @@
+package com.walletiq.service.importing;
+
+import com.walletiq.common.constant.TransactionType;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StatementParserTest {
+
+	@Test
+	void csvHandlesQuotesAndLineBreaks() throws IOException {
+		String csv = "Date,Amount,Category,Narration\r\n"
+				+ "2024-01-05,-120.50,Food,\"Cafe, \"\"Blue\"\"\"\r\n"
+				+ "\r\n"
+				+ "06/01/2024,2500,Salary,\"multi\nline\"\n";
+
+		List<ParsedRow> rows = parse(ImportFormat.CSV, csv);
+
+		assertThat(rows).hasSize(2);
+		assertThat(rows.get(0).description()).isEqualTo("Cafe, \"Blue\"");
+		assertThat(rows.get(0).amount()).isEqualTo("-120.50");
+		assertThat(rows.get(1).rowNumber()).isEqualTo(2);
+		assertThat(rows.get(1).description()).isEqualTo("multi\nline");
+	}
+
+	@Test
+	void csvRequiresDateAndAmountColumns() {
+		assertThatThrownBy(() -> parse(ImportFormat.CSV, "when,value\n2024-01-01,1\n"))
+				.isInstanceOf(StatementFormatException.class);
+	}
+
+	@Test
+	void ofxReadsSgmlTransactions() throws IOException {
+		String ofx = "OFXHEADER:100\nDATA:OFXSGML\n\n<OFX><BANKMSGSRSV1><STMTTRNRS><STMTRS><BANKTRANLIST>\n"
+				+ "<STMTTRN><TRNTYPE>DEBIT<DTPOSTED>20240105120000[0:GMT]<TRNAMT>-42.10<NAME>Grocer</STMTTRN>\n"
+				+ "<STMTTRN><TRNTYPE>CREDIT<DTPOSTED>20240106<TRNAMT>1000.00<MEMO>Refund</STMTTRN>\n"
+				+ "</BANKTRANLIST></STMTRS></STMTTRNRS></BANKMSGSRSV1></OFX>";
+
+		List<ParsedRow> rows = parse(ImportFormat.OFX, ofx);
+
+		assertThat(rows).hasSize(2);
+		assertThat(rows.get(0).date()).isEqualTo("2024-01-05");
+		assertThat(rows.get(0).type()).isEqualTo("EXPENSE");
+		assertThat(rows.get(0).description()).isEqualTo("Grocer");
+		assertThat(rows.get(1).description()).isEqualTo("Refund");
+	}
+
+	@Test
+	void validatorDerivesTypeFromSign() {
+		RowValidator.ValidRow row = RowValidator.validate(
+				new ParsedRow(1, "05-01-2024", "-1,250.00", null, null, null));
+
+		assertThat(row.type()).isEqualTo(TransactionType.EXPENSE);
+		assertThat(row.amount()).isEqualByComparingTo(new BigDecimal("1250.00"));
+		assertThat(row.date()).isEqualTo(LocalDate.of(2024, 1, 5));
+		assertThat(row.category()).isEqualTo(RowValidator.DEFAULT_CATEGORY);
+	}
+
+	@Test
+	void validatorRejectsBadRows() {
+		assertThatThrownBy(() -> RowValidator.validate(new ParsedRow(1, "2024-13-01", "1", null, null, null)))
+				.isInstanceOf(RowValidator.InvalidRowException.class);
+		assertThatThrownBy(() -> RowValidator.validate(new ParsedRow(1, "2024-01-01", "1.001", null, null, null)))
+				.isInstanceOf(RowValidator.InvalidRowException.class);
+	}
+
+	@Test
+	void validatorRejectsDecimalCommas() {
+		assertThatThrownBy(() -> RowValidator.validate(new ParsedRow(1, "2024-01-01", "12,50", null, null, null)))
+				.isInstanceOf(RowValidator.InvalidRowException.class)
+				.hasMessageContaining("'12,50'");
+		assertThatThrownBy(() -> RowValidator.validate(new ParsedRow(1, "2024-01-01", "1,2345.00", null, null, null)))
+				.isInstanceOf(RowValidator.InvalidRowException.class);
+		assertThat(RowValidator.validate(new ParsedRow(1, "2024-01-01", "12,500", null, null, null)).amount())
+				.isEqualByComparingTo(new BigDecimal("12500"));
+	}
+
+	private static List<ParsedRow> parse(ImportFormat format, String content) throws IOException {
+		List<ParsedRow> rows = new ArrayList<>();
+		StatementParser.of(format).parse(new StringReader(content), rows::add);
+		return rows;
+	}
+}
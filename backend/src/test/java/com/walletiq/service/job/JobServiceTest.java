@@ -0,0 +1,159 @@
+package com.walletiq.service.job;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.walletiq.common.constant.ErrorType;
+import com.walletiq.common.constant.JobStatus;
+import com.walletiq.common.constant.JobType;
+import com.walletiq.config.properties.JobProperties;
+import com.walletiq.entity.Job;
+import com.walletiq.exception.ApplicationException;
+import com.walletiq.repository.JobRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class JobServiceTest {
+
+	private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+	private final JobRepository repository = mock(JobRepository.class);
+	private JobService service;
+
+	@BeforeEach
+	void setUp() {
+		when(repository.save(any(Job.class))).thenAnswer(invocation -> {
+			Job job = invocation.getArgument(0);
+			if (job.getId() == null) {
+				job.setId(UUID.randomUUID().toString());
+			}
+			jobs.put(job.getId(), job);
+			return job;
+		});
+		when(repository.findById(anyString())).thenAnswer(invocation -> Optional.ofNullable(jobs.get(invocation.<String>getArgument(0))));
+		service = new JobService(repository, new ObjectMapper(),
+				new JobProperties(4, 1, 2, Duration.ofSeconds(1), Duration.ofHours(1),
+						"node-1", Duration.ofMinutes(5)));
+	}
+
+	@AfterEach
+	void tearDown() {
+		service.shutdown();
+	}
+
+	@Test
+	void runsJobAndStoresResult() throws Exception {
+		Job job = service.submit("u1", JobType.TRANSACTION_IMPORT, context -> Map.of("rows", 3));
+
+		awaitStatus(job.getId(), JobStatus.COMPLETED);
+		assertThat(jobs.get(job.getId()).getResult()).isEqualTo("{\"rows\":3}");
+	}
+
+	@Test
+	void capsActiveAndConcurrentJobsPerUser() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicInteger running = new AtomicInteger();
+		AtomicInteger maxRunning = new AtomicInteger();
+		JobHandler blocking = context -> {
+			maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+			release.await(5, TimeUnit.SECONDS);
+			running.decrementAndGet();
+			return null;
+		};
+
+		Job first = service.submit("u1", JobType.TRANSACTION_IMPORT, blocking);
+		Job second = service.submit("u1", JobType.TRANSACTION_IMPORT, blocking);
+		assertThatThrownBy(() -> service.submit("u1", JobType.TRANSACTION_IMPORT, blocking))
+				.isInstanceOf(ApplicationException.class);
+		Job other = service.submit("u2", JobType.TRANSACTION_IMPORT, context -> null);
+		awaitStatus(other.getId(), JobStatus.COMPLETED);
+
+		release.countDown();
+		awaitStatus(first.getId(), JobStatus.COMPLETED);
+		awaitStatus(second.getId(), JobStatus.COMPLETED);
+		assertThat(maxRunning.get()).isEqualTo(1);
+
+		// Slots are returned once jobs finish
+		Job third = service.submit("u1", JobType.TRANSACTION_IMPORT, context -> null);
+		awaitStatus(third.getId(), JobStatus.COMPLETED);
+	}
+
+	@Test
+	void recordsApplicationErrors() throws Exception {
+		Job job = service.submit("u1", JobType.TRANSACTION_IMPORT, context -> {
+			throw new ApplicationException(ErrorType.BAD_REQUEST, "IMPORT.X", "bad file");
+		});
+
+		awaitStatus(job.getId(), JobStatus.FAILED);
+		assertThat(jobs.get(job.getId()).getErrorCode()).isEqualTo("IMPORT.X");
+	}
+
+	@Test
+	void recordsTheOwnerNode() throws Exception {
+		Job job = service.submit("u1", JobType.TRANSACTION_IMPORT, context -> null);
+
+		awaitStatus(job.getId(), JobStatus.COMPLETED);
+		assertThat(jobs.get(job.getId()).getOwnerNode()).isEqualTo("node-1");
+		assertThat(jobs.get(job.getId()).getHeartbeatAt()).isNotNull();
+	}
+
+	@Test
+	void failsOnlyOwnJobsOnStart() {
+		service.failInterrupted();
+
+		verify(repository).failOwnedBy(eq("node-1"), any(), eq(JobStatus.FAILED), eq("JOB.INTERRUPTED"), anyString(),
+				any(LocalDateTime.class));
+		verify(repository, never()).failAbandoned(any(), any(), any(), anyString(), anyString(), any());
+	}
+
+	@Test
+	void failsJobsOfOtherNodesOnlyOnceTheyStopConfirmingThem() {
+		service.heartbeat();
+
+		verify(repository).heartbeat(eq("node-1"), any(), any(LocalDateTime.class));
+		verify(repository).failAbandoned(any(LocalDateTime.class), any(), eq(JobStatus.FAILED), eq("JOB.INTERRUPTED"),
+				anyString(), any(LocalDateTime.class));
+	}
+
+	@Test
+	void jobWhoseRowVanishedStillReleasesItsSlots() throws Exception {
+		CountDownLatch removed = new CountDownLatch(1);
+		Job job = service.submit("u1", JobType.TRANSACTION_IMPORT, context -> {
+			jobs.remove(context.jobId());
+			removed.countDown();
+			return null;
+		});
+		assertThat(removed.await(5, TimeUnit.SECONDS)).isTrue();
+
+		// One job running at a time per user, so this one waits for the first to give up its permit
+		Job next = service.submit("u1", JobType.TRANSACTION_IMPORT, context -> null);
+		awaitStatus(next.getId(), JobStatus.COMPLETED);
+		assertThat(jobs).doesNotContainKey(job.getId());
+	}
+
+	private void awaitStatus(String jobId, JobStatus status) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (jobs.get(jobId).getStatus() != status) {
+			assertThat(System.nanoTime()).as("job %s reaches %s", jobId, status).isLessThan(deadline);
+			Thread.sleep(10);
+		}
+	}
+}
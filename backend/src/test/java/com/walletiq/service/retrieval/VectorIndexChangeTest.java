@@ -0,0 +1,31 @@
+package com.walletiq.service.retrieval;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VectorIndexChangeTest {
+
+	@Test
+	void roundTripsChangedTransactions() {
+		VectorIndexChange change = new VectorIndexChange("node-1", "u1", Set.of("tx-1", "tx-2"));
+
+		assertThat(VectorIndexChange.decode(change.encode())).isEqualTo(change);
+	}
+
+	@Test
+	void roundTripsBulkChanges() {
+		VectorIndexChange change = new VectorIndexChange("node-1", "u1", null);
+
+		assertThat(VectorIndexChange.decode(change.encode())).isEqualTo(change);
+	}
+
+	@Test
+	void ignoresOtherMessages() {
+		assertThat(VectorIndexChange.decode("hello".getBytes(StandardCharsets.UTF_8))).isNull();
+		assertThat(VectorIndexChange.decode("node-1\n\ntx-1".getBytes(StandardCharsets.UTF_8))).isNull();
+	}
+}
@@ -0,0 +1,55 @@
+package com.walletiq.service.rollup;
+
+import com.walletiq.common.constant.TransactionType;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RollupDeltasTest {
+
+	@Test
+	void updateWithinSameBucketNetsToAmountChange() {
+		RollupDeltas deltas = new RollupDeltas();
+		deltas.remove("u1", LocalDate.of(2024, 3, 5), "FOOD", TransactionType.EXPENSE, new BigDecimal("10.00"));
+		deltas.add("u1", LocalDate.of(2024, 3, 28), "FOOD", TransactionType.EXPENSE, new BigDecimal("12.50"));
+
+		List<RollupDeltas.Delta> entries = new ArrayList<>();
+		deltas.forEach((key, delta) -> entries.add(delta));
+
+		assertThat(entries).containsExactly(new RollupDeltas.Delta(new BigDecimal("2.50"), 0));
+	}
+
+	@Test
+	void unchangedUpdateCancelsOut() {
+		RollupDeltas deltas = new RollupDeltas();
+		deltas.remove("u1", LocalDate.of(2024, 3, 5), "FOOD", TransactionType.EXPENSE, new BigDecimal("10.00"));
+		deltas.add("u1", LocalDate.of(2024, 3, 5), "FOOD", TransactionType.EXPENSE, new BigDecimal("10.0"));
+
+		assertThat(deltas.isEmpty()).isTrue();
+	}
+
+	@Test
+	void mergedChunksKeepKeysSorted() {
+		RollupDeltas first = new RollupDeltas();
+		first.add("u1", LocalDate.of(2024, 5, 1), "RENT", TransactionType.EXPENSE, BigDecimal.TEN);
+		RollupDeltas second = new RollupDeltas();
+		second.add("u1", LocalDate.of(2024, 1, 9), "RENT", TransactionType.EXPENSE, BigDecimal.ONE);
+		second.add("u1", LocalDate.of(2024, 5, 20), "RENT", TransactionType.EXPENSE, BigDecimal.ONE);
+		first.addAll(second);
+
+		List<LocalDate> months = new ArrayList<>();
+		List<Long> counts = new ArrayList<>();
+		first.forEach((key, delta) -> {
+			months.add(key.month());
+			counts.add(delta.count());
+		});
+
+		assertThat(months).containsExactly(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 5, 1));
+		assertThat(counts).containsExactly(1L, 2L);
+	}
+}
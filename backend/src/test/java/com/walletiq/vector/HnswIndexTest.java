@@ -0,0 +1,155 @@
+package com.walletiq.vector;
+
+import com.walletiq.embedding.HashingEmbeddingModel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class HnswIndexTest {
+	private static final int DIMENSIONS = 32;
+	private static final LocalDate START = LocalDate.of(2024, 1, 1);
+	private static final List<String> CATEGORIES = List.of("FOOD", "RENT", "TRAVEL", "SALARY");
+
+	@TempDir
+	Path directory;
+
+	private final Random random = new Random(42);
+	private HnswIndex index;
+
+	@AfterEach
+	void tearDown() throws IOException {
+		if (index != null) {
+			index.close();
+		}
+	}
+
+	@Test
+	void approximateResultsMatchExactSearch() throws IOException {
+		index = HnswIndex.create(directory.resolve("a.vec"), DIMENSIONS, new HnswParameters(16, 100, 64, 0), 1);
+		fill(5_000);
+
+		double recall = 0;
+		for (int q = 0; q < 100; q++) {
+			float[] query = randomUnitVector();
+			recall += overlap(index.search(query, 10, VectorFilter.NONE), index.exactSearch(query, 10, VectorFilter.NONE));
+		}
+
+		assertThat(recall / 100).isGreaterThanOrEqualTo(0.9);
+	}
+
+	@Test
+	void filtersByDateAndCategory() throws IOException {
+		index = HnswIndex.create(directory.resolve("a.vec"), DIMENSIONS, new HnswParameters(16, 100, 64, 0), 1);
+		fill(3_000);
+		VectorFilter filter = new VectorFilter(START.plusDays(30), START.plusDays(59), Set.of("FOOD"));
+
+		double recall = 0;
+		for (int q = 0; q < 50; q++) {
+			float[] query = randomUnitVector();
+			List<VectorHit> hits = index.search(query, 10, filter);
+			for (VectorHit hit : hits) {
+				int i = Integer.parseInt(hit.id().substring(3));
+				assertThat(CATEGORIES.get(i % CATEGORIES.size())).isEqualTo("FOOD");
+				assertThat(i % 365).isBetween(30, 59);
+			}
+			recall += overlap(hits, index.exactSearch(query, 10, filter));
+		}
+
+		assertThat(recall / 50).isGreaterThanOrEqualTo(0.9);
+		assertThat(index.search(randomUnitVector(), 10, new VectorFilter(null, null, Set.of("UNKNOWN")))).isEmpty();
+	}
+
+	@Test
+	void replacesAndRemovesById() throws IOException {
+		index = HnswIndex.create(directory.resolve("a.vec"), DIMENSIONS, new HnswParameters(8, 50, 32, 100), 1);
+		fill(200);
+		float[] target = randomUnitVector();
+
+		index.add("tx-7", target, START, "FOOD");
+		assertThat(index.search(target, 1, VectorFilter.NONE).getFirst().id()).isEqualTo("tx-7");
+		assertThat(index.size()).isEqualTo(200);
+
+		assertThat(index.remove("tx-7")).isTrue();
+		assertThat(index.remove("tx-7")).isFalse();
+		assertThat(index.search(target, 200, VectorFilter.NONE)).extracting(VectorHit::id).doesNotContain("tx-7");
+		assertThat(index.size()).isEqualTo(199);
+	}
+
+	@Test
+	void compactionDropsDeletedNodes() throws IOException {
+		index = HnswIndex.create(directory.resolve("a.vec"), DIMENSIONS, new HnswParameters(8, 50, 32, 100), 1);
+		fill(100);
+		for (int i = 0; i < 50; i++) {
+			index.remove("tx-" + i);
+		}
+		assertThat(index.deletedRatio()).isEqualTo(0.5);
+
+		HnswIndex compacted = index.compact(directory.resolve("b.vec"), 1);
+		index.close();
+		index = compacted;
+
+		assertThat(Files.exists(directory.resolve("a.vec"))).isFalse();
+		assertThat(index.size()).isEqualTo(50);
+		assertThat(index.deletedRatio()).isZero();
+		float[] query = randomUnitVector();
+		assertThat(index.search(query, 5, VectorFilter.NONE)).isEqualTo(index.exactSearch(query, 5, VectorFilter.NONE));
+	}
+
+	@Test
+	void hashingModelIsDeterministicAndSharesStems() {
+		HashingEmbeddingModel model = new HashingEmbeddingModel(256);
+		float[] grocery = model.embed("expense groceries: weekly grocery run");
+
+		assertThat(model.embed("expense groceries: weekly grocery run")).isEqualTo(grocery);
+		assertThat(dot(grocery, model.embed("grocery shopping")))
+				.isGreaterThan(dot(grocery, model.embed("salary credited")));
+		assertThat(dot(grocery, grocery)).isCloseTo(1f, within(1e-5f));
+	}
+
+	/* ---------------- Helper ---------------- */
+
+	private void fill(int count) throws IOException {
+		for (int i = 0; i < count; i++) {
+			index.add("tx-" + i, randomUnitVector(), START.plusDays(i % 365), CATEGORIES.get(i % CATEGORIES.size()));
+		}
+	}
+
+	private float[] randomUnitVector() {
+		float[] vector = new float[DIMENSIONS];
+		double norm = 0;
+		for (int i = 0; i < DIMENSIONS; i++) {
+			vector[i] = (float) random.nextGaussian();
+			norm += vector[i] * vector[i];
+		}
+		for (int i = 0; i < DIMENSIONS; i++) {
+			vector[i] /= (float) Math.sqrt(norm);
+		}
+		return vector;
+	}
+
+	private static double overlap(List<VectorHit> approximate, List<VectorHit> exact) {
+		Set<String> expected = new HashSet<>();
+		exact.forEach(hit -> expected.add(hit.id()));
+		return approximate.stream().filter(hit -> expected.contains(hit.id())).count() / (double) exact.size();
+	}
+
+	private static float dot(float[] a, float[] b) {
+		float sum = 0;
+		for (int i = 0; i < a.length; i++) {
+			sum += a[i] * b[i];
+		}
+		return sum;
+	}
+}
@@ -0,0 +1,124 @@
+package com.walletiq.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares a JMH JSON result ({@code -rf json}) with a baseline recorded on the same
+ * machine and exits with status 1 if any benchmark regressed.
+ * <p>A benchmark regressed if its score got worse by more than {@code --threshold}
+ * percent (default 10) beyond the error margins of both runs, or if it allocates more
+ * than {@code --alloc-threshold} percent (default 5) plus 8 bytes more per operation.
+ * Allocation is only compared when both runs used {@code -prof gc}. Benchmarks missing
+ * from either file are listed but do not fail the comparison.</p>
+ * <p>Usage: {@code java -cp target/benchmarks.jar com.walletiq.benchmarks.BaselineComparison
+ * target/baseline.json target/results.json [--threshold=10] [--alloc-threshold=5]}</p>
+ */
+public final class BaselineComparison {
+    private static final String ALLOCATION = "gc.alloc.rate.norm";
+    private static final double ALLOCATION_NOISE_BYTES = 8;
+
+    private BaselineComparison() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BaselineComparison <baseline.json> <current.json> "
+                    + "[--threshold=percent] [--alloc-threshold=percent]");
+            System.exit(2);
+        }
+        double threshold = option(args, "--threshold=", 10) / 100;
+        double allocThreshold = option(args, "--alloc-threshold=", 5) / 100;
+        ObjectMapper objectMapper = new ObjectMapper();
+        Map<String, JsonNode> baseline = read(objectMapper, Path.of(args[0]));
+        Map<String, JsonNode> current = read(objectMapper, Path.of(args[1]));
+
+        int regressions = 0;
+        System.out.printf("%-70s %14s %14s %8s %12s %12s%n", "Benchmark", "Baseline", "Current", "Change",
+                "Base B/op", "Curr B/op");
+        for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+            JsonNode before = baseline.get(entry.getKey());
+            JsonNode after = entry.getValue();
+            if (before == null) {
+                System.out.printf("%-70s %14s %14s%n", entry.getKey(), "-", score(after) + " (new)");
+                continue;
+            }
+            boolean higherIsBetter = "thrpt".equals(after.path("mode").asText());
+            double base = before.path("primaryMetric").path("score").asDouble();
+            double now = after.path("primaryMetric").path("score").asDouble();
+            double margin = error(before) + error(after);
+            double worse = higherIsBetter ? base - now : now - base;
+            boolean slower = worse > margin && worse > Math.abs(base) * threshold;
+
+            Double baseAlloc = allocation(before);
+            Double nowAlloc = allocation(after);
+            boolean allocates = baseAlloc != null && nowAlloc != null
+                    && nowAlloc > baseAlloc * (1 + allocThreshold) + ALLOCATION_NOISE_BYTES;
+
+            String verdict = slower || allocates ? "  REGRESSION" + (slower ? " time" : "") + (allocates ? " alloc" : "") : "";
+            if (!verdict.isEmpty()) {
+                regressions++;
+            }
+            System.out.printf("%-70s %14.3f %14.3f %+7.1f%% %12s %12s%s%n", entry.getKey(), base, now,
+                    base == 0 ? 0 : (now - base) / base * 100, bytes(baseAlloc), bytes(nowAlloc), verdict);
+        }
+        baseline.keySet().stream()
+                .filter(key -> !current.containsKey(key))
+                .forEach(key -> System.out.printf("%-70s %14s%n", key, "(not run)"));
+
+        System.out.printf("%n%d regression(s)%n", regressions);
+        System.exit(regressions == 0 ? 0 : 1);
+    }
+
+    /* ---------------- Helper ---------------- */
+
+    /**
+     * Results keyed by benchmark name, mode and parameters
+     */
+    private static Map<String, JsonNode> read(ObjectMapper objectMapper, Path file) throws IOException {
+        Map<String, JsonNode> results = new LinkedHashMap<>();
+        for (JsonNode result : objectMapper.readTree(file.toFile())) {
+            StringBuilder key = new StringBuilder(result.path("benchmark").asText()
+                    .replace("com.walletiq.benchmarks.", ""))
+                    .append(" [").append(result.path("mode").asText()).append(']');
+            Map<String, String> params = new TreeMap<>();
+            result.path("params").properties().forEach(param -> params.put(param.getKey(), param.getValue().asText()));
+            params.forEach((name, value) -> key.append(' ').append(name).append('=').append(value));
+            results.put(key.toString(), result);
+        }
+        return results;
+    }
+
+    private static double error(JsonNode result) {
+        double error = result.path("primaryMetric").path("scoreError").asDouble(0);
+        return Double.isNaN(error) ? 0 : error;
+    }
+
+    private static Double allocation(JsonNode result) {
+        JsonNode metric = result.path("secondaryMetrics").path(ALLOCATION);
+        return metric.isMissingNode() ? null : metric.path("score").asDouble();
+    }
+
+    private static String score(JsonNode result) {
+        return String.format("%.3f", result.path("primaryMetric").path("score").asDouble());
+    }
+
+    private static String bytes(Double allocation) {
+        return allocation == null ? "-" : String.format("%.1f", allocation);
+    }
+
+    private static double option(String[] args, String prefix, double fallback) {
+        for (String arg : args) {
+            if (arg.startsWith(prefix)) {
+                return Double.parseDouble(arg.substring(prefix.length()));
+            }
+        }
+        return fallback;
+    }
+}
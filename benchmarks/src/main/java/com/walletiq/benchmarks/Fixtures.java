@@ -0,0 +1,61 @@
+package com.walletiq.benchmarks;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.walletiq.common.constant.TransactionType;
+import com.walletiq.dto.response.TransactionResponse;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TimeZone;
+
+/**
+ * Payloads and the object mapper shared by the benchmarks
+ */
+public final class Fixtures {
+    private static final String[] CATEGORIES = {"FOOD", "GROCERIES", "RENT", "TRAVEL", "SHOPPING", "UTILITIES"};
+
+    private Fixtures() {
+    }
+
+    /**
+     * Transactions as the list endpoint returns them, newest first
+     */
+    public static List<TransactionResponse> transactions(int count) {
+        List<TransactionResponse> transactions = new ArrayList<>(count);
+        LocalDate date = LocalDate.of(2026, 10, 1);
+        for (int i = 0; i < count; i++) {
+            transactions.add(new TransactionResponse(
+                    "8f14e45f-ceea-467a-9575-" + String.format("%012d", i),
+                    i % 5 == 0 ? TransactionType.INCOME : TransactionType.EXPENSE,
+                    BigDecimal.valueOf(125_075L + i * 311L, 2),
+                    CATEGORIES[i % CATEGORIES.length],
+                    "Card payment #" + (4_000 + i),
+                    date.minusDays(i)));
+        }
+        return List.copyOf(transactions);
+    }
+
+    /**
+     * Configured like the application's mapper ({@code spring.jackson.*} in application-dev.yaml)
+     */
+    public static ObjectMapper objectMapper() {
+        return builder().build();
+    }
+
+    /**
+     * Configured like the application's CBOR or Smile mapper ({@code BinaryContentConfig})
+     */
+    public static ObjectMapper objectMapper(JsonFactory factory) {
+        return builder().factory(factory).build();
+    }
+
+    private static Jackson2ObjectMapperBuilder builder() {
+        return Jackson2ObjectMapperBuilder.json()
+                .timeZone(TimeZone.getTimeZone("Asia/Kolkata"))
+                .simpleDateFormat("yyyy-MM-dd HH:mm:ss");
+    }
+}
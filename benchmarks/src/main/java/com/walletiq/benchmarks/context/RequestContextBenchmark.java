@@ -0,0 +1,74 @@
+package com.walletiq.benchmarks.context;
+
+import com.walletiq.common.util.RequestContextUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link RequestContextUtil} lookups made while handling a request: the request id
+ * assigned by the request id filter, inherited through the MDC (job and stream threads),
+ * and outside of any request, where a new one is generated.
+ * <p>The request is bound to the benchmark thread, as the dispatcher servlet binds it to
+ * the request thread.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class RequestContextBenchmark {
+    private static final String REQUEST_ID = "01JA8Z3K4M5N6P7Q8R9S0T1V2W";
+
+    /**
+     * assigned: request attribute set by the filter, inherited: only the MDC, none: no request bound
+     */
+    @Param({"assigned", "inherited", "none"})
+    public String context;
+
+    @Setup(Level.Trial)
+    public void bind() {
+        RequestContextHolder.resetRequestAttributes();
+        MDC.clear();
+        if (context.equals("inherited")) {
+            MDC.put(RequestContextUtil.REQUEST_ID, REQUEST_ID);
+        } else if (context.equals("assigned")) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/transactions");
+            request.setAttribute(RequestContextUtil.REQUEST_ID, REQUEST_ID);
+            RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void unbind() {
+        RequestContextHolder.resetRequestAttributes();
+        MDC.clear();
+    }
+
+    @Benchmark
+    public String getOrGenerateRequestId() {
+        return RequestContextUtil.getOrGenerateRequestId();
+    }
+
+    @Benchmark
+    public String getCurrentRequestPath() {
+        return RequestContextUtil.getCurrentRequestPath();
+    }
+}
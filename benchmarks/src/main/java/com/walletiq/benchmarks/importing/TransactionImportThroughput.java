@@ -0,0 +1,89 @@
+package com.walletiq.benchmarks.importing;
+
+import com.walletiq.config.properties.ImportProperties;
+import com.walletiq.service.importing.ImportFormat;
+import com.walletiq.service.importing.ImportResult;
+import com.walletiq.service.importing.TransactionImportService;
+import com.walletiq.service.rollup.MonthlyRollupService;
+import org.postgresql.ds.PGSimpleDataSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Rows/sec of the CSV import pipeline against a real PostgreSQL.
+ * <p>Not a JMH benchmark: one import is a multi-second operation, so each run is timed
+ * end to end (parse, validate, COPY, commit). Imported rows are deleted afterwards.
+ * Connection settings come from {@code -Dbench.db.url/user/password}, the row count from
+ * {@code -Dbench.rows}. Run with {@code java -cp benchmarks/target/benchmarks.jar
+ * com.walletiq.benchmarks.importing.TransactionImportThroughput}.</p>
+ */
+public class TransactionImportThroughput {
+    private static final String USER_ID = "import-benchmark-user";
+    private static final String[] CATEGORIES = {"Food", "Rent", "Travel", "Salary", "Utilities", "Shopping"};
+
+    public static void main(String[] args) throws Exception {
+        int rows = Integer.getInteger("bench.rows", 100_000);
+        int runs = Integer.getInteger("bench.runs", 5);
+
+        PGSimpleDataSource dataSource = new PGSimpleDataSource();
+        dataSource.setUrl(System.getProperty("bench.db.url", "jdbc:postgresql://localhost:5432/walletiq"));
+        dataSource.setUser(System.getProperty("bench.db.user", "postgres"));
+        dataSource.setPassword(System.getProperty("bench.db.password", "postgres"));
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        TransactionImportService service = new TransactionImportService(dataSource, transactionTemplate,
+                new ImportProperties(5_000, 4, 1_000), null,
+                new MonthlyRollupService(jdbcTemplate, transactionTemplate, event -> {
+                }), event -> {
+                });
+        byte[] csv = generate(rows);
+        System.out.printf("Generated %d rows (%.1f MB)%n", rows, csv.length / 1024.0 / 1024.0);
+
+        try {
+            for (int run = 1; run <= runs; run++) {
+                ImportResult result = service.importStatement(USER_ID, ImportFormat.CSV, new ByteArrayInputStream(csv));
+                System.out.printf("run %d: %d rows in %d ms, %d rows/sec%n",
+                        run, result.imported(), result.elapsedMillis(), result.rowsPerSecond());
+                cleanUp(dataSource);
+            }
+        } finally {
+            cleanUp(dataSource);
+        }
+    }
+
+    private static byte[] generate(int rows) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        LocalDate start = LocalDate.of(2015, 1, 1);
+        StringBuilder csv = new StringBuilder(rows * 64);
+        csv.append("date,amount,category,description\n");
+        for (int i = 0; i < rows; i++) {
+            long cents = random.nextLong(1, 500_000) * (random.nextInt(4) == 0 ? 1 : -1);
+            csv.append(start.plusDays(random.nextInt(3650))).append(',')
+                    .append(BigDecimal.valueOf(cents, 2).toPlainString()).append(',')
+                    .append(CATEGORIES[random.nextInt(CATEGORIES.length)]).append(',')
+                    .append("\"Statement line ").append(i).append("\"\n");
+        }
+        return csv.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void cleanUp(PGSimpleDataSource dataSource) throws Exception {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement delete = connection.prepareStatement("DELETE FROM transactions WHERE user_id = ?");
+             PreparedStatement deleteRollups = connection.prepareStatement("DELETE FROM monthly_rollups WHERE user_id = ?")) {
+            delete.setString(1, USER_ID);
+            delete.executeUpdate();
+            deleteRollups.setString(1, USER_ID);
+            deleteRollups.executeUpdate();
+        }
+    }
+}
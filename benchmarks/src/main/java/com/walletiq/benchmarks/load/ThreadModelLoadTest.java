@@ -0,0 +1,164 @@
+package com.walletiq.benchmarks.load;
+
+import com.walletiq.WalletiqBackendApplication;
+import com.walletiq.entity.User;
+import com.walletiq.security.jwt.JwtService;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Closed-loop load test of platform-thread vs. virtual-thread request handling on a
+ * blocking, database-bound endpoint ({@code GET /test/blocking-db}).
+ * <p>Boots the application once per thread model on a random port against the local dev
+ * database, then runs {@code C} clients that each send the next request as soon as the
+ * previous one returns. Reports throughput, p50/p99 latency and non-200 responses per
+ * concurrency level. Settings: {@code -Dload.concurrency=50,400,1000}, {@code -Dload.millis}
+ * (time each request holds a connection), {@code -Dload.seconds}, {@code -Dload.warmup}.
+ * Run with {@code java -cp benchmarks/target/benchmarks.jar
+ * com.walletiq.benchmarks.load.ThreadModelLoadTest}.</p>
+ */
+public class ThreadModelLoadTest {
+
+    public static void main(String[] args) throws Exception {
+        int[] concurrency = Arrays.stream(System.getProperty("load.concurrency", "50,400,1000").split(","))
+                .mapToInt(value -> Integer.parseInt(value.trim()))
+                .toArray();
+        int millis = Integer.getInteger("load.millis", 20);
+        int seconds = Integer.getInteger("load.seconds", 10);
+        int warmup = Integer.getInteger("load.warmup", 3);
+
+        List<String> rows = new ArrayList<>();
+        for (boolean virtual : new boolean[]{false, true}) {
+            try (ConfigurableApplicationContext context = start(virtual)) {
+                String port = context.getEnvironment().getProperty("local.server.port");
+                String token = context.getBean(JwtService.class).issueAccessToken(User.builder()
+                        .id("load-test-user")
+                        .email("load-test@walletiq.com")
+                        .roles(Set.of("USER"))
+                        .build());
+                URI uri = URI.create("http://localhost:" + port + "/api/v1/test/blocking-db?millis=" + millis);
+
+                for (int clients : concurrency) {
+                    run(uri, token, clients, warmup);
+                    Result result = run(uri, token, clients, seconds);
+                    rows.add(String.format("%-9s %6d %10.0f %9.1f %9.1f %8d",
+                            virtual ? "virtual" : "platform", clients, result.throughput(),
+                            result.percentile(0.50), result.percentile(0.99), result.errors()));
+                }
+            }
+        }
+
+        System.out.printf("%nGET /test/blocking-db?millis=%d, %d s per level%n", millis, seconds);
+        System.out.printf("%-9s %6s %10s %9s %9s %8s%n", "threads", "conc", "req/s", "p50 ms", "p99 ms", "errors");
+        rows.forEach(System.out::println);
+    }
+
+    private static ConfigurableApplicationContext start(boolean virtual) {
+        return SpringApplication.run(WalletiqBackendApplication.class,
+                "--server.port=0",
+                "--spring.threads.virtual.enabled=" + virtual,
+                "--app.diagnostics.load-test.enabled=true",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN",
+                "--logging.level.com.walletiq=WARN",
+                "--logging.level.org.springframework.web=WARN",
+                "--logging.level.org.springframework.security=WARN",
+                "--logging.level.org.hibernate.SQL=WARN");
+    }
+
+    private static Result run(URI uri, String token, int clients, int seconds) throws Exception {
+        HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(30))
+                .build();
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        List<Future<Samples>> futures = new ArrayList<>();
+        long started = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                futures.add(executor.submit(() -> {
+                    Samples samples = new Samples();
+                    while (running.get()) {
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+                            samples.add(System.nanoTime() - start, response.statusCode() == 200);
+                        } catch (IOException ex) {
+                            samples.add(System.nanoTime() - start, false);
+                        }
+                    }
+                    return samples;
+                }));
+            }
+            Thread.sleep(seconds * 1000L);
+            running.set(false);
+        }
+        double elapsed = (System.nanoTime() - started) / 1e9;
+
+        Samples all = new Samples();
+        for (Future<Samples> future : futures) {
+            all.addAll(future.get());
+        }
+        return all.toResult(elapsed);
+    }
+
+    private static final class Samples {
+        private long[] latencies = new long[1024];
+        private int size;
+        private long errors;
+
+        void add(long nanos, boolean ok) {
+            if (!ok) {
+                errors++;
+            }
+            if (size == latencies.length) {
+                latencies = Arrays.copyOf(latencies, size * 2);
+            }
+            latencies[size++] = nanos;
+        }
+
+        void addAll(Samples other) {
+            for (int i = 0; i < other.size; i++) {
+                add(other.latencies[i], true);
+            }
+            errors += other.errors;
+        }
+
+        Result toResult(double elapsedSeconds) {
+            long[] sorted = Arrays.copyOf(latencies, size);
+            Arrays.sort(sorted);
+            return new Result(sorted, size / elapsedSeconds, errors);
+        }
+    }
+
+    private record Result(long[] sortedLatencies, double throughput, long errors) {
+
+        double percentile(double p) {
+            if (sortedLatencies.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.min(sortedLatencies.length - 1, Math.ceil(p * sortedLatencies.length) - 1);
+            return sortedLatencies[Math.max(0, index)] / 1e6;
+        }
+    }
+}
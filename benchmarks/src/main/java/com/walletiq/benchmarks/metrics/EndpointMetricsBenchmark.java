@@ -0,0 +1,88 @@
+package com.walletiq.benchmarks.metrics;
+
+import com.walletiq.api.annotation.RateLimited;
+import com.walletiq.api.annotation.RequirePermission;
+import com.walletiq.api.interceptor.EndpointMetricsInterceptor;
+import com.walletiq.config.properties.EndpointMetricsProperties;
+import com.walletiq.metrics.RequestPhases;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What {@link EndpointMetricsInterceptor} adds to every request: starting the phases,
+ * recording one statement and one body write, and recording the latency and phase timers
+ * into a Prometheus registry, from 8 threads hitting the same endpoint.
+ * <p>{@code histogram=true} is the production setting, with percentile histogram and SLO
+ * buckets. Compare the score with the microseconds to milliseconds a request takes;
+ * the request object itself is reused, as its creation is the container's cost.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(8)
+@Fork(2)
+public class EndpointMetricsBenchmark {
+
+    @Param({"true", "false"})
+    public boolean histogram;
+
+    private EndpointMetricsInterceptor interceptor;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private HandlerMethod handler;
+
+    @Setup
+    public void setup() throws NoSuchMethodException {
+        EndpointMetricsProperties properties = new EndpointMetricsProperties(true, histogram,
+                List.of(Duration.ofMillis(25), Duration.ofMillis(50), Duration.ofMillis(100),
+                        Duration.ofMillis(250), Duration.ofMillis(500), Duration.ofSeconds(1)),
+                List.of());
+        interceptor = new EndpointMetricsInterceptor(new PrometheusMeterRegistry(PrometheusConfig.DEFAULT), properties);
+        request = new MockHttpServletRequest("GET", "/api/v1/transactions/search");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/transactions/search");
+        response = new MockHttpServletResponse();
+        handler = new HandlerMethod(new SearchController(), SearchController.class.getMethod("search"));
+    }
+
+    @Benchmark
+    public void instrumentedRequest() {
+        interceptor.preHandle(request, response, handler);
+        RequestPhases phases = RequestPhases.current();
+        phases.addDatabase(1_000);
+        phases.addSerialization(1_000);
+        interceptor.afterCompletion(request, response, handler, null);
+    }
+
+    /**
+     * Stand-in for a controller method, annotated like the search endpoint
+     */
+    public static class SearchController {
+
+        @RequirePermission("TRANSACTION_READ")
+        @RateLimited(maxRequests = 20)
+        public void search() {
+        }
+    }
+}
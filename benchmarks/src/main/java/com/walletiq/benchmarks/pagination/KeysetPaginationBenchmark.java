@@ -0,0 +1,148 @@
+package com.walletiq.benchmarks.pagination;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OFFSET + COUNT(*) pagination (what {@code Page} does) vs. keyset pagination
+ * at increasing page depth, against a real PostgreSQL.
+ * <p>Seeds {@value #ROWS} transactions for one user on first run. Connection settings
+ * come from {@code -Dbench.db.url/user/password} and default to the local dev database;
+ * pass them to the fork with {@code -jvmArgs}.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class KeysetPaginationBenchmark {
+    private static final String USER_ID = "benchmark-user";
+    private static final int ROWS = 200_000;
+    private static final int PAGE_SIZE = 20;
+
+    private static final String COLUMNS = "id, type, amount, category, description, transaction_date";
+    private static final String OFFSET_SQL = "SELECT " + COLUMNS + " FROM transactions WHERE user_id = ? "
+            + "ORDER BY transaction_date DESC, id DESC LIMIT ? OFFSET ?";
+    private static final String COUNT_SQL = "SELECT count(*) FROM transactions WHERE user_id = ?";
+    private static final String KEYSET_SQL = "SELECT " + COLUMNS + " FROM transactions WHERE user_id = ? "
+            + "AND (transaction_date, id) < (?, ?) ORDER BY transaction_date DESC, id DESC LIMIT ?";
+
+    @Param({"0", "1000", "10000", "100000"})
+    public int depth;
+
+    private Connection connection;
+    private PreparedStatement offsetQuery;
+    private PreparedStatement countQuery;
+    private PreparedStatement keysetQuery;
+    private Date cursorDate;
+    private String cursorId;
+
+    @Setup(Level.Trial)
+    public void setup() throws SQLException {
+        connection = DriverManager.getConnection(
+                System.getProperty("bench.db.url", "jdbc:postgresql://localhost:5432/walletiq"),
+                System.getProperty("bench.db.user", "postgres"),
+                System.getProperty("bench.db.password", "postgres"));
+        seed();
+
+        offsetQuery = connection.prepareStatement(OFFSET_SQL);
+        countQuery = connection.prepareStatement(COUNT_SQL);
+        keysetQuery = connection.prepareStatement(KEYSET_SQL);
+
+        // The cursor a client would hold after paging down to this depth
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT transaction_date, id FROM transactions WHERE user_id = ? "
+                        + "ORDER BY transaction_date DESC, id DESC LIMIT 1 OFFSET ?")) {
+            statement.setString(1, USER_ID);
+            statement.setInt(2, Math.max(0, depth - 1));
+            try (ResultSet rs = statement.executeQuery()) {
+                rs.next();
+                cursorDate = depth == 0 ? Date.valueOf("9999-12-31") : rs.getDate(1);
+                cursorId = depth == 0 ? "" : rs.getString(2);
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public void offsetWithCount(Blackhole blackhole) throws SQLException {
+        offsetQuery.setString(1, USER_ID);
+        offsetQuery.setInt(2, PAGE_SIZE);
+        offsetQuery.setInt(3, depth);
+        consume(offsetQuery, blackhole);
+
+        countQuery.setString(1, USER_ID);
+        consume(countQuery, blackhole);
+    }
+
+    @Benchmark
+    public void keyset(Blackhole blackhole) throws SQLException {
+        keysetQuery.setString(1, USER_ID);
+        keysetQuery.setDate(2, cursorDate);
+        keysetQuery.setString(3, cursorId);
+        keysetQuery.setInt(4, PAGE_SIZE + 1);
+        consume(keysetQuery, blackhole);
+    }
+
+    /* ---------------- Helper ---------------- */
+
+    private static void consume(PreparedStatement statement, Blackhole blackhole) throws SQLException {
+        try (ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+                blackhole.consume(rs.getString(1));
+            }
+        }
+    }
+
+    private void seed() throws SQLException {
+        try (PreparedStatement existing = connection.prepareStatement(COUNT_SQL)) {
+            existing.setString(1, USER_ID);
+            try (ResultSet rs = existing.executeQuery()) {
+                rs.next();
+                if (rs.getLong(1) >= ROWS) {
+                    return;
+                }
+            }
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DELETE FROM transactions WHERE user_id = '" + USER_ID + "'");
+            statement.execute("""
+                    INSERT INTO transactions (id, created_at, created_by, user_id, type, amount, category, description, transaction_date)
+                    SELECT gen_random_uuid()::varchar, now(), 'benchmark', '%s',
+                           CASE WHEN g %% 10 = 0 THEN 'INCOME' ELSE 'EXPENSE' END,
+                           round((random() * 500)::numeric, 2),
+                           (ARRAY['FOOD','RENT','TRAVEL','SHOPPING','BILLS'])[1 + g %% 5],
+                           'Benchmark row ' || g,
+                           DATE '2010-01-01' + (g %% 5000)
+                    FROM generate_series(1, %d) AS g
+                    """.formatted(USER_ID, ROWS));
+            statement.execute("ANALYZE transactions");
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.walletiq.benchmarks.ratelimit;
+
+import com.walletiq.ratelimit.InMemorySlidingWindowLog;
+import com.walletiq.ratelimit.LocalRateLimiter;
+import com.walletiq.ratelimit.RateLimitDecision;
+import com.walletiq.ratelimit.RateLimiter;
+import com.walletiq.ratelimit.SlidingWindowRateLimiter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request rate limit checks with 1,000 distinct clients hitting one endpoint from 8
+ * threads: the per-node limiter and the sliding window log behind the cluster-wide
+ * limiter (in memory here, so the numbers exclude the Redis round trip).
+ * <p>At this request rate every client is over its limit within the first iteration,
+ * so the numbers are those of the rejected path: what a client hammering an endpoint
+ * costs the node.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(8)
+@Fork(2)
+public class RateLimiterBenchmark {
+    private static final int CLIENTS = 1_000;
+    private static final int LIMIT = 60;
+    private static final long WINDOW_MILLIS = 60_000;
+
+    private String[] keys;
+    private RateLimiter local;
+    private RateLimiter slidingWindow;
+
+    @Setup
+    public void setup() {
+        keys = new String[CLIENTS];
+        for (int i = 0; i < CLIENTS; i++) {
+            keys[i] = "rate-limit:user-" + i + ":/api/v1/transactions/search";
+        }
+        local = new LocalRateLimiter();
+        slidingWindow = new SlidingWindowRateLimiter(new InMemorySlidingWindowLog(), new LocalRateLimiter());
+    }
+
+    @Benchmark
+    public RateLimitDecision local() {
+        return local.tryAcquire(nextKey(), LIMIT, WINDOW_MILLIS);
+    }
+
+    @Benchmark
+    public RateLimitDecision slidingWindow() {
+        return slidingWindow.tryAcquire(nextKey(), LIMIT, WINDOW_MILLIS);
+    }
+
+    private String nextKey() {
+        return keys[ThreadLocalRandom.current().nextInt(CLIENTS)];
+    }
+}
@@ -0,0 +1,79 @@
+package com.walletiq.benchmarks.response;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.walletiq.benchmarks.Fixtures;
+import com.walletiq.common.constant.ErrorType;
+import com.walletiq.common.response.ErrorResponse;
+import com.walletiq.common.response.ErrorResponse.ErrorDetail;
+import com.walletiq.common.response.ResponseWrapper;
+import com.walletiq.common.util.ResponseUtil;
+import com.walletiq.dto.response.TransactionResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the envelopes to bytes, as the message converter writes
+ * them, with the mapper configured like the application's.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class EnvelopeSerializationBenchmark {
+
+    @Param({"20", "100"})
+    public int pageSize;
+
+    private ObjectMapper objectMapper;
+    private ResponseWrapper<TransactionResponse> single;
+    private ResponseWrapper<Map<String, Object>> page;
+    private ErrorResponse error;
+
+    @Setup
+    public void setup() {
+        objectMapper = Fixtures.objectMapper();
+        List<TransactionResponse> transactions = Fixtures.transactions(pageSize);
+        single = ResponseWrapper.ok("Transaction fetched successfully", transactions.getFirst());
+        page = ResponseUtil.paginated("Transactions fetched successfully",
+                new PageImpl<>(transactions, PageRequest.of(0, pageSize), 1_337)).getBody();
+        error = ErrorResponse.of(ErrorDetail.builder()
+                .type(ErrorType.RESOURCE_NOT_FOUND)
+                .code("TRANSACTION.NOT_FOUND")
+                .detail("Transaction not found")
+                .path("/api/v1/transactions/8f14e45f-ceea-467a-9575-000000000042")
+                .build());
+    }
+
+    @Benchmark
+    public byte[] single() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(single);
+    }
+
+    @Benchmark
+    public byte[] page() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] error() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(error);
+    }
+}
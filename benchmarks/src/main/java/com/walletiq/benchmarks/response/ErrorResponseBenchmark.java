@@ -0,0 +1,70 @@
+package com.walletiq.benchmarks.response;
+
+import com.walletiq.common.constant.ErrorType;
+import com.walletiq.common.response.ErrorResponse;
+import com.walletiq.common.response.ErrorResponse.ErrorDetail;
+import com.walletiq.common.response.ErrorResponse.FieldError;
+import com.walletiq.common.util.RequestContextUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building error bodies the way {@code GlobalExceptionHandler} does: a plain
+ * business error, a validation error with field errors, and a server error that also
+ * generates a trace id.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ErrorResponseBenchmark {
+    private static final String PATH = "/api/v1/transactions/8f14e45f-ceea-467a-9575-000000000042";
+    private static final List<FieldError> FIELD_ERRORS = List.of(
+            new FieldError("amount", "Amount must be positive", new BigDecimal("-12.50")),
+            new FieldError("transactionDate", "Transaction date is required"));
+
+    @Benchmark
+    public ErrorResponse notFound() {
+        return ErrorResponse.of(ErrorDetail.builder()
+                .type(ErrorType.RESOURCE_NOT_FOUND)
+                .code("TRANSACTION.NOT_FOUND")
+                .detail("Transaction not found")
+                .path(PATH)
+                .build());
+    }
+
+    @Benchmark
+    public ErrorResponse validation() {
+        return ErrorResponse.of(ErrorDetail.builder()
+                .type(ErrorType.VALIDATION_ERROR)
+                .code("TRANSACTION.INVALID")
+                .detail("Request validation failed")
+                .path(PATH)
+                .errors(FIELD_ERRORS)
+                .build());
+    }
+
+    @Benchmark
+    public ErrorResponse internalError() {
+        return ErrorResponse.of(ErrorDetail.builder()
+                .type(ErrorType.INTERNAL_SERVER_ERROR)
+                .code("INTERNAL.UNEXPECTED")
+                .detail("An unexpected error occurred")
+                .path(PATH)
+                .traceId(RequestContextUtil.generateTraceId())
+                .build());
+    }
+}
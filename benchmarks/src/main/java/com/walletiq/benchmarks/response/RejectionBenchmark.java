@@ -0,0 +1,69 @@
+package com.walletiq.benchmarks.response;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.walletiq.benchmarks.Fixtures;
+import com.walletiq.common.constant.ErrorType;
+import com.walletiq.common.response.ErrorResponse;
+import com.walletiq.common.response.ErrorResponse.ErrorDetail;
+import com.walletiq.common.response.ErrorResponseTemplate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rejections per millisecond under a flood, 8 threads writing 429 bodies into a response:
+ * built and serialized with Jackson as {@code GlobalExceptionHandler} used to, and written
+ * from the pre-serialized {@link ErrorResponseTemplate}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(8)
+@Fork(2)
+public class RejectionBenchmark {
+    private static final String PATH = "/api/v1/transactions/search";
+    private static final String TRACE_ID = "01JA8Z3K4M5N6P7Q8R9S0T1V2W";
+    private static final String DETAIL = "Too many requests, retry after 42 seconds";
+    private static final ErrorResponseTemplate TEMPLATE =
+            ErrorResponseTemplate.of(ErrorType.RATE_LIMIT_ERROR, "RATE_LIMIT.EXCEEDED");
+
+    private final ObjectMapper objectMapper = Fixtures.objectMapper();
+
+    @Benchmark
+    public MockHttpServletResponse jackson() throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        ErrorDetail detail = ErrorDetail.builder()
+                .type(ErrorType.RATE_LIMIT_ERROR)
+                .code("RATE_LIMIT.EXCEEDED")
+                .detail(DETAIL)
+                .path(PATH)
+                .traceId(TRACE_ID)
+                .retryAfter(42)
+                .build();
+        response.setStatus(detail.status());
+        response.setContentType("application/json");
+        response.setHeader("Retry-After", "42");
+        objectMapper.writeValue(response.getOutputStream(), ErrorResponse.of(detail));
+        return response;
+    }
+
+    @Benchmark
+    public MockHttpServletResponse template() throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        TEMPLATE.write(response, DETAIL, PATH, TRACE_ID, 42);
+        return response;
+    }
+}
@@ -0,0 +1,72 @@
+package com.walletiq.benchmarks.response;
+
+import com.walletiq.benchmarks.Fixtures;
+import com.walletiq.common.pagination.CursorPage;
+import com.walletiq.common.response.ResponseWrapper;
+import com.walletiq.common.util.ResponseUtil;
+import com.walletiq.dto.response.TransactionResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building the success envelopes every controller returns: {@link ResponseWrapper#ok},
+ * its {@link ResponseUtil} shortcut, and the paginated variants with their
+ * {@code Map.of} payload and page metadata.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ResponseEnvelopeBenchmark {
+    private static final String MESSAGE = "Transactions fetched successfully";
+
+    private TransactionResponse transaction;
+    private Page<TransactionResponse> page;
+    private CursorPage<TransactionResponse> cursorPage;
+
+    @Setup
+    public void setup() {
+        List<TransactionResponse> transactions = Fixtures.transactions(20);
+        transaction = transactions.getFirst();
+        page = new PageImpl<>(transactions, PageRequest.of(0, 20), 1_337);
+        cursorPage = new CursorPage<>(transactions, 20, true, "MjAyNi0wOS0xMnw4ZjE0ZTQ1Zg", null);
+    }
+
+    @Benchmark
+    public ResponseWrapper<TransactionResponse> wrapperOk() {
+        return ResponseWrapper.ok(MESSAGE, transaction);
+    }
+
+    @Benchmark
+    public ResponseEntity<ResponseWrapper<TransactionResponse>> responseUtilOk() {
+        return ResponseUtil.ok(MESSAGE, transaction);
+    }
+
+    @Benchmark
+    public ResponseEntity<ResponseWrapper<Map<String, Object>>> paginated() {
+        return ResponseUtil.paginated(MESSAGE, page);
+    }
+
+    @Benchmark
+    public ResponseEntity<ResponseWrapper<Map<String, Object>>> cursorPaginated() {
+        return ResponseUtil.cursorPaginated(MESSAGE, cursorPage);
+    }
+}
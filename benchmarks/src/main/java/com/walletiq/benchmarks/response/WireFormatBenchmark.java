@@ -0,0 +1,123 @@
+package com.walletiq.benchmarks.response;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.walletiq.benchmarks.Fixtures;
+import com.walletiq.common.response.ResponseWrapper;
+import com.walletiq.common.util.ResponseUtil;
+import com.walletiq.dto.response.TransactionResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A page of transactions in each representation a client can negotiate: JSON, JSON as
+ * sent with {@code server.compression.enabled} (gzip), CBOR and Smile.
+ * <p>{@code write} is the server's cost per response, {@code read} the client's cost to
+ * parse it. Run the class's {@code main} for the size of each representation:
+ * {@code java -cp benchmarks/target/benchmarks.jar com.walletiq.benchmarks.response.WireFormatBenchmark}</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class WireFormatBenchmark {
+
+    @Param({"json", "json-gzip", "cbor", "smile"})
+    public String format;
+
+    @Param({"100", "1000"})
+    public int pageSize;
+
+    private ObjectMapper objectMapper;
+    private boolean gzip;
+    private ResponseWrapper<Map<String, Object>> page;
+    private byte[] encoded;
+
+    @Setup
+    public void setup() throws IOException {
+        objectMapper = mapper(format);
+        gzip = format.equals("json-gzip");
+        page = page(pageSize);
+        encoded = write();
+    }
+
+    @Benchmark
+    public byte[] write() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(pageSize * 256);
+        if (gzip) {
+            try (GZIPOutputStream compressed = new GZIPOutputStream(bytes, 8192)) {
+                objectMapper.writeValue(compressed, page);
+            }
+        } else {
+            objectMapper.writeValue(bytes, page);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Benchmark
+    public JsonNode read() throws IOException {
+        InputStream input = new ByteArrayInputStream(encoded);
+        return objectMapper.readTree(gzip ? new GZIPInputStream(input, 8192) : input);
+    }
+
+    /**
+     * Prints the size of a page in every representation
+     */
+    public static void main(String[] args) throws IOException {
+        System.out.printf("%-10s %10s %12s %10s%n", "Format", "Page size", "Bytes", "vs JSON");
+        for (int pageSize : new int[]{20, 100, 1000}) {
+            long json = 0;
+            for (String format : List.of("json", "json-gzip", "cbor", "smile")) {
+                WireFormatBenchmark benchmark = new WireFormatBenchmark();
+                benchmark.format = format;
+                benchmark.pageSize = pageSize;
+                benchmark.setup();
+                long size = benchmark.encoded.length;
+                json = format.equals("json") ? size : json;
+                System.out.printf("%-10s %10d %12d %9.0f%%%n", format, pageSize, size, 100.0 * size / json);
+            }
+        }
+    }
+
+    /* ---------------- Helper ---------------- */
+
+    private static ObjectMapper mapper(String format) {
+        return switch (format) {
+            case "json", "json-gzip" -> Fixtures.objectMapper();
+            case "cbor" -> Fixtures.objectMapper(new CBORFactory());
+            case "smile" -> Fixtures.objectMapper(new SmileFactory());
+            default -> throw new IllegalArgumentException("Unknown format " + format);
+        };
+    }
+
+    private static ResponseWrapper<Map<String, Object>> page(int pageSize) {
+        List<TransactionResponse> transactions = Fixtures.transactions(pageSize);
+        return ResponseUtil.paginated("Transactions fetched successfully",
+                new PageImpl<>(transactions, PageRequest.of(0, pageSize), 12_345)).getBody();
+    }
+}
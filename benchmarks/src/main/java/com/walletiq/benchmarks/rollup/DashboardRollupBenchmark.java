@@ -0,0 +1,131 @@
+package com.walletiq.benchmarks.rollup;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dashboard totals computed with GROUP BY over {@code transactions} vs. read from
+ * {@code monthly_rollups}, for ranges of increasing length.
+ * <p>Uses the {@code benchmark-user} history seeded by
+ * {@link com.walletiq.benchmarks.pagination.KeysetPaginationBenchmark} (run that first) and
+ * rebuilds the user's rollups on setup. Connection settings come from
+ * {@code -Dbench.db.url/user/password}, passed to the fork with {@code -jvmArgs}.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DashboardRollupBenchmark {
+    private static final String USER_ID = "benchmark-user";
+    private static final LocalDate LAST_MONTH = LocalDate.of(2023, 9, 1);
+
+    private static final String GROUP_BY_SQL = """
+            SELECT date_trunc('month', transaction_date)::date, category, type, sum(amount), count(*)
+            FROM transactions
+            WHERE user_id = ? AND transaction_date >= ? AND transaction_date < ?
+            GROUP BY 1, 2, 3
+            """;
+    private static final String ROLLUP_SQL = """
+            SELECT month, category, type, total, tx_count
+            FROM monthly_rollups
+            WHERE user_id = ? AND month BETWEEN ? AND ?
+            """;
+
+    @Param({"1", "12", "120"})
+    public int months;
+
+    private Connection connection;
+    private PreparedStatement groupByQuery;
+    private PreparedStatement rollupQuery;
+    private Date from;
+    private Date to;
+    private Date toExclusive;
+
+    @Setup(Level.Trial)
+    public void setup() throws SQLException {
+        connection = DriverManager.getConnection(
+                System.getProperty("bench.db.url", "jdbc:postgresql://localhost:5432/walletiq"),
+                System.getProperty("bench.db.user", "postgres"),
+                System.getProperty("bench.db.password", "postgres"));
+        rebuildRollups();
+
+        groupByQuery = connection.prepareStatement(GROUP_BY_SQL);
+        rollupQuery = connection.prepareStatement(ROLLUP_SQL);
+        from = Date.valueOf(LAST_MONTH.minusMonths(months - 1));
+        to = Date.valueOf(LAST_MONTH);
+        toExclusive = Date.valueOf(LAST_MONTH.plusMonths(1));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public void groupBy(Blackhole blackhole) throws SQLException {
+        groupByQuery.setString(1, USER_ID);
+        groupByQuery.setDate(2, from);
+        groupByQuery.setDate(3, toExclusive);
+        consume(groupByQuery, blackhole);
+    }
+
+    @Benchmark
+    public void rollup(Blackhole blackhole) throws SQLException {
+        rollupQuery.setString(1, USER_ID);
+        rollupQuery.setDate(2, from);
+        rollupQuery.setDate(3, to);
+        consume(rollupQuery, blackhole);
+    }
+
+    /* ---------------- Helper ---------------- */
+
+    private static void consume(PreparedStatement statement, Blackhole blackhole) throws SQLException {
+        try (ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+                blackhole.consume(rs.getBigDecimal(4));
+            }
+        }
+    }
+
+    private void rebuildRollups() throws SQLException {
+        connection.setAutoCommit(false);
+        try (PreparedStatement delete = connection.prepareStatement("DELETE FROM monthly_rollups WHERE user_id = ?");
+             PreparedStatement insert = connection.prepareStatement("""
+                     INSERT INTO monthly_rollups (user_id, month, category, type, total, tx_count)
+                     SELECT user_id, date_trunc('month', transaction_date)::date, category, type, sum(amount), count(*)
+                     FROM transactions WHERE user_id = ?
+                     GROUP BY 1, 2, 3, 4
+                     """)) {
+            delete.setString(1, USER_ID);
+            delete.executeUpdate();
+            insert.setString(1, USER_ID);
+            insert.executeUpdate();
+            connection.commit();
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.walletiq.benchmarks.security;
+
+import com.walletiq.config.properties.JwtProperties;
+import com.walletiq.entity.User;
+import com.walletiq.security.jwt.JwtService;
+import com.walletiq.security.jwt.RsaKeyProvider;
+import com.walletiq.security.jwt.TokenDigest;
+import com.walletiq.security.jwt.VerifiedToken;
+import com.walletiq.security.jwt.VerifiedTokenCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.security.KeyPair;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cold RSA verification vs. a {@link VerifiedTokenCache} hit, with 16 threads to
+ * approximate a busy request pool.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(16)
+@Fork(1)
+public class JwtVerificationBenchmark {
+    private static final int TOKENS = 1_000;
+
+    private JwtService jwtService;
+    private VerifiedTokenCache cache;
+    private String[] tokens;
+
+    @Setup
+    public void setup() {
+        JwtProperties properties = new JwtProperties(
+                "walletiq", "Authorization", "Bearer",
+                new JwtProperties.AccessTokenProperties(86_400_000L),
+                new JwtProperties.RefreshTokenProperties(604_800_000L),
+                null,
+                new JwtProperties.RSAProperties("SHA256withRSA", 2048, null, null),
+                new JwtProperties.VerificationCacheProperties(true, 100_000)
+        );
+        KeyPair keyPair = RsaKeyProvider.generate(2048);
+        jwtService = new JwtService(properties,
+                new RsaKeyProvider((RSAPublicKey) keyPair.getPublic(), (RSAPrivateKey) keyPair.getPrivate()));
+        cache = new VerifiedTokenCache(properties, new SimpleMeterRegistry());
+
+        tokens = new String[TOKENS];
+        for (int i = 0; i < TOKENS; i++) {
+            tokens[i] = jwtService.issueAccessToken(User.builder()
+                    .id("user-" + i)
+                    .email("user" + i + "@walletiq.com")
+                    .roles(Set.of("USER"))
+                    .build());
+            cache.put(TokenDigest.of(tokens[i]), jwtService.verify(tokens[i]));
+        }
+    }
+
+    @Benchmark
+    public VerifiedToken coldVerification() {
+        return jwtService.verify(randomToken());
+    }
+
+    @Benchmark
+    public VerifiedToken cachedVerification() {
+        VerifiedToken token = cache.get(TokenDigest.of(randomToken()));
+        return cache.isRevoked(token) ? null : token;
+    }
+
+    private String randomToken() {
+        return tokens[ThreadLocalRandom.current().nextInt(TOKENS)];
+    }
+}
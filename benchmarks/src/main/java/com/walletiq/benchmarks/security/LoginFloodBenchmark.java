@@ -0,0 +1,114 @@
+package com.walletiq.benchmarks.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.walletiq.benchmarks.Fixtures;
+import com.walletiq.common.response.ResponseWrapper;
+import com.walletiq.dto.response.TransactionResponse;
+import com.walletiq.exception.ApplicationException;
+import com.walletiq.security.password.IsolatedPasswordEncoder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Latency of a non-auth endpoint (serializing a page of 100 transactions) while twice
+ * as many threads as there are cores keep checking BCrypt passwords: no flood, checks
+ * run inline on the request threads, and checks run on {@link IsolatedPasswordEncoder}
+ * configured as {@code PasswordEncoderConfig} does. Compare the p0.99 of the sample
+ * time; with isolation it should stay close to the run without a flood.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(2)
+@Fork(2)
+public class LoginFloodBenchmark {
+    private static final int STRENGTH = 10;
+    private static final String PASSWORD = "correct horse battery staple";
+
+    @Param({"none", "inline", "isolated"})
+    public String mode;
+
+    private final ObjectMapper objectMapper = Fixtures.objectMapper();
+    private final ResponseWrapper<List<TransactionResponse>> page = ResponseWrapper.ok(
+            "Transactions fetched successfully", Fixtures.transactions(100));
+    private final List<Thread> flood = new ArrayList<>();
+    private IsolatedPasswordEncoder isolated;
+    private volatile boolean flooding;
+
+    @Setup(Level.Trial)
+    public void startFlood() {
+        if ("none".equals(mode)) {
+            return;
+        }
+        int cores = Runtime.getRuntime().availableProcessors();
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(STRENGTH);
+        String hash = bcrypt.encode(PASSWORD);
+        PasswordEncoder encoder = bcrypt;
+        if ("isolated".equals(mode)) {
+            int threads = Math.max(1, cores / 2);
+            isolated = new IsolatedPasswordEncoder(STRENGTH, new ThreadPoolExecutor(threads, threads, 0,
+                    TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(64),
+                    Thread.ofPlatform().name("password-hash-", 0).daemon(true).factory()),
+                    Duration.ofSeconds(3), new SimpleMeterRegistry());
+            encoder = isolated;
+        }
+
+        flooding = true;
+        for (int i = 0; i < cores * 2; i++) {
+            PasswordEncoder checks = encoder;
+            flood.add(Thread.ofPlatform().name("login-flood-", i).daemon(true).start(() -> {
+                while (flooding) {
+                    try {
+                        checks.matches(PASSWORD, hash);
+                    } catch (ApplicationException busy) {
+                        // 503 AUTH.BUSY, the client retries a little later
+                        LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+                    }
+                }
+            }));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stopFlood() throws InterruptedException {
+        flooding = false;
+        for (Thread thread : flood) {
+            thread.join();
+        }
+        flood.clear();
+        if (isolated != null) {
+            isolated.close();
+        }
+    }
+
+    @Benchmark
+    public byte[] nonAuthEndpoint() throws IOException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
@@ -0,0 +1,126 @@
+package com.walletiq.benchmarks.startup;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time-to-ready of the packaged application, started plainly and in the fast-start setup.
+ * <p>Build the backend jar with {@code ./mvnw -Pfast-start package} and start the local database and
+ * Redis ({@code docker compose -f docker/compose.db-only.yml up -d}). The benchmark extracts the
+ * jar, creates a class data sharing archive from a training run that exits once the context is
+ * refreshed, then starts every setup {@code startup.runs} times, taking turns, and measures from
+ * launching the JVM until {@code /actuator/health} answers 200. Setups:</p>
+ * <ul>
+ *     <li>{@code plain}: {@code java -jar} with the dev profile, as before</li>
+ *     <li>{@code aot}: extracted jar, AOT bean definitions and the {@code fast-start} profile</li>
+ *     <li>{@code aot+cds}: the same with the class data sharing archive</li>
+ * </ul>
+ * <p>Settings: {@code -Dstartup.jar} (the exec jar), {@code -Dstartup.runs}, {@code -Dstartup.port}.
+ * Process output goes to {@code benchmarks/target/startup/<setup>.log}. Run from the repository
+ * root with {@code java -cp benchmarks/target/benchmarks.jar com.walletiq.benchmarks.startup.StartupBenchmark}.</p>
+ */
+public class StartupBenchmark {
+    private static final Duration READY_TIMEOUT = Duration.ofMinutes(2);
+
+    public static void main(String[] args) throws Exception {
+        Path jar = Path.of(System.getProperty("startup.jar", "backend/target/backend-0.0.1-SNAPSHOT-exec.jar")).toAbsolutePath();
+        int runs = Integer.getInteger("startup.runs", 5);
+        int port = Integer.getInteger("startup.port", 18081);
+        Path work = Path.of("benchmarks", "target", "startup").toAbsolutePath();
+        Path extracted = work.resolve("application");
+        Path archive = work.resolve("application.jsa");
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        Files.createDirectories(work);
+
+        execute(work.resolve("extract.log"), java, "-Djarmode=tools", "-jar", jar.toString(),
+                "extract", "--destination", extracted.toString(), "--force");
+        Path application = extracted.resolve(jar.getFileName());
+        Files.deleteIfExists(archive);
+        execute(work.resolve("training.log"), java, "-XX:ArchiveClassesAtExit=" + archive,
+                "-Dspring.aot.enabled=true", "-Dspring.context.exit=onRefresh",
+                "-Dspring.profiles.active=dev,fast-start", "-jar", application.toString());
+
+        String portArgument = "--server.port=" + port;
+        Map<String, List<String>> setups = new LinkedHashMap<>();
+        setups.put("plain", List.of(java, "-Dspring.profiles.active=dev", "-jar", jar.toString(), portArgument));
+        setups.put("aot", List.of(java, "-Dspring.aot.enabled=true", "-Dspring.profiles.active=dev,fast-start",
+                "-jar", application.toString(), portArgument));
+        setups.put("aot+cds", List.of(java, "-XX:SharedArchiveFile=" + archive, "-Dspring.aot.enabled=true",
+                "-Dspring.profiles.active=dev,fast-start", "-jar", application.toString(), portArgument));
+
+        URI health = URI.create("http://localhost:" + port + "/api/v1/actuator/health");
+        Map<String, long[]> results = new LinkedHashMap<>();
+        setups.keySet().forEach(name -> results.put(name, new long[runs]));
+        for (int run = 0; run < runs; run++) {
+            for (Map.Entry<String, List<String>> setup : setups.entrySet()) {
+                long millis = timeToReady(setup.getValue(), work.resolve(setup.getKey() + ".log"), health);
+                results.get(setup.getKey())[run] = millis;
+                System.out.printf("%-8s run %d: %6d ms%n", setup.getKey(), run + 1, millis);
+            }
+        }
+
+        System.out.printf("%nTime to ready (GET /actuator/health = 200), %d runs each%n", runs);
+        System.out.printf("%-8s %8s %8s %8s%n", "setup", "min ms", "p50 ms", "max ms");
+        results.forEach((name, millis) -> {
+            long[] sorted = millis.clone();
+            Arrays.sort(sorted);
+            System.out.printf("%-8s %8d %8d %8d%n", name, sorted[0], sorted[sorted.length / 2], sorted[sorted.length - 1]);
+        });
+    }
+
+    /* ---------------- Helper ---------------- */
+
+    private static long timeToReady(List<String> command, Path log, URI health) throws Exception {
+        HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        HttpRequest request = HttpRequest.newBuilder(health).timeout(Duration.ofSeconds(5)).build();
+
+        long started = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        try {
+            while (System.nanoTime() - started < READY_TIMEOUT.toNanos()) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("Exited with status " + process.exitValue() + ", see " + log);
+                }
+                try {
+                    if (http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+                    }
+                } catch (IOException ex) {
+                    // Not listening yet
+                }
+                Thread.sleep(10);
+            }
+            throw new IllegalStateException("Not ready within " + READY_TIMEOUT + ", see " + log);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private static void execute(Path log, String... command) throws Exception {
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        int status = process.waitFor();
+        if (status != 0) {
+            throw new IllegalStateException(String.join(" ", command) + " failed with status " + status + ", see " + log);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.walletiq.benchmarks.vector;
+
+import com.walletiq.embedding.EmbeddingModel;
+import com.walletiq.embedding.HashingEmbeddingModel;
+import com.walletiq.vector.HnswIndex;
+import com.walletiq.vector.HnswParameters;
+import com.walletiq.vector.VectorFilter;
+import com.walletiq.vector.VectorHit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HNSW search vs. an exact scan over one user's partition, unfiltered and with a
+ * date range plus category filter.
+ * <p>Transactions are synthetic and embedded with the {@link HashingEmbeddingModel}, so
+ * the run needs neither a database nor network. Recall@10 of the approximate search
+ * against the exact scan is printed once per partition size during setup.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VectorSearchBenchmark {
+    private static final int K = 10;
+    private static final int QUERIES = 200;
+    private static final LocalDate START = LocalDate.of(2022, 1, 1);
+    private static final String[] CATEGORIES = {"FOOD", "GROCERIES", "RENT", "TRAVEL", "SHOPPING", "UTILITIES",
+            "ENTERTAINMENT", "HEALTH", "SALARY", "EDUCATION"};
+    private static final String[] MERCHANTS = {"swiggy", "zomato", "big basket", "uber", "ola", "amazon", "flipkart",
+            "netflix", "spotify", "apollo pharmacy", "indigo", "irctc", "electricity board", "airtel", "landlord",
+            "starbucks", "dmart", "udemy", "gym membership", "petrol pump"};
+    private static final String[] QUESTIONS = {"how much did I spend on food delivery", "groceries this month",
+            "cab rides to office", "streaming subscriptions", "flight and train tickets", "medicine purchases",
+            "rent payments", "phone and internet bills", "online shopping orders", "coffee"};
+
+    @Param({"1000", "10000", "50000"})
+    public int transactions;
+
+    private Path directory;
+    private HnswIndex index;
+    private float[][] queries;
+    private VectorFilter filter;
+    private int next;
+
+    @Setup
+    public void setup() throws IOException {
+        EmbeddingModel model = new HashingEmbeddingModel(256);
+        directory = Files.createTempDirectory("walletiq-vector-benchmark");
+        index = HnswIndex.create(directory.resolve("partition.vec"), model.dimensions(),
+                new HnswParameters(16, 100, 64, 2_000), 1);
+
+        Random random = new Random(7);
+        long started = System.nanoTime();
+        for (int i = 0; i < transactions; i++) {
+            String category = CATEGORIES[random.nextInt(CATEGORIES.length)];
+            String merchant = MERCHANTS[random.nextInt(MERCHANTS.length)];
+            LocalDate date = START.plusDays(random.nextInt(3 * 365));
+            String text = "expense " + category.toLowerCase() + ": " + merchant + " order #" + random.nextInt(10_000)
+                    + ", " + (random.nextInt(500_000) / 100.0) + " in " + date.getMonth() + " " + date.getYear();
+            index.add("tx-" + i, model.embed(text), date, category);
+        }
+        System.out.printf("%nBuilt %d vectors in %d ms%n", transactions, (System.nanoTime() - started) / 1_000_000);
+
+        queries = new float[QUERIES][];
+        for (int i = 0; i < QUERIES; i++) {
+            queries[i] = model.embed(QUESTIONS[i % QUESTIONS.length] + " " + MERCHANTS[i % MERCHANTS.length]);
+        }
+        filter = new VectorFilter(START.plusDays(365), START.plusDays(2 * 365 - 1), Set.of("FOOD", "GROCERIES"));
+        System.out.printf("Recall@%d unfiltered %.3f, filtered %.3f%n", K, recall(VectorFilter.NONE), recall(filter));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        index.close();
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public List<VectorHit> hnsw() {
+        return index.search(nextQuery(), K, VectorFilter.NONE);
+    }
+
+    @Benchmark
+    public List<VectorHit> exact() {
+        return index.exactSearch(nextQuery(), K, VectorFilter.NONE);
+    }
+
+    @Benchmark
+    public List<VectorHit> hnswFiltered() {
+        return index.search(nextQuery(), K, filter);
+    }
+
+    @Benchmark
+    public List<VectorHit> exactFiltered() {
+        return index.exactSearch(nextQuery(), K, filter);
+    }
+
+    private float[] nextQuery() {
+        next = (next + 1) % QUERIES;
+        return queries[next];
+    }
+
+    private double recall(VectorFilter filter) {
+        double found = 0;
+        for (float[] query : queries) {
+            Set<String> expected = new HashSet<>();
+            index.exactSearch(query, K, filter).forEach(hit -> expected.add(hit.id()));
+            found += index.search(query, K, filter).stream().filter(hit -> expected.contains(hit.id())).count()
+                    / (double) Math.max(1, expected.size());
+        }
+        return found / queries.length;
+    }
+}